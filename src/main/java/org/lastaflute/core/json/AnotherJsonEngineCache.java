@@ -0,0 +1,204 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.json;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The cache of another JSON engines per variant of mapping option. <br>
+ * Engines are thread-safe, so engines for the same option settings are shared. <br>
+ * Formatters are compared by their settings, and functions (e.g. trigger, filter) by their instances.
+ * So capturing lambda per request is a new variant every time, and the least recently used is evicted over the limit.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class AnotherJsonEngineCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(AnotherJsonEngineCache.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int limit; // positive
+    protected final Map<List<Object>, RealJsonEngine> engineMap; // access-ordered as LRU, guarded by cacheLock
+    protected final Object cacheLock = new Object();
+    protected final AtomicLong evictedCount = new AtomicLong(); // for visibility
+    protected volatile boolean evictionWarned; // to suppress noisy logging
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param limit The limit count of cached variants, the least recently used is evicted over it. (Positive)
+     */
+    public AnotherJsonEngineCache(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The argument 'limit' should be positive: " + limit);
+        }
+        this.limit = limit;
+        this.engineMap = new LinkedHashMap<List<Object>, RealJsonEngine>(16, 0.75f, /*accessOrder*/true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, RealJsonEngine> eldest) {
+                if (size() > limit) { // e.g. capturing lambda in option per request
+                    handleEviction(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // ===================================================================================
+    //                                                                        Cache Access
+    //                                                                        ============
+    /**
+     * Find the cached engine for the option or create it by the creator.
+     * @param mappingOption The optional option for another engine. (NotNull, EmptyAllowed: when default options)
+     * @param engineCreator The creator of new engine for the option, called when not cached. (NotNull)
+     * @return The JSON engine for the option. (NotNull)
+     */
+    public RealJsonEngine findOrCreate(OptionalThing<JsonMappingOption> mappingOption, Supplier<RealJsonEngine> engineCreator) {
+        final List<Object> variantKey = buildVariantKey(mappingOption);
+        synchronized (cacheLock) { // get() also updates access order
+            final RealJsonEngine cached = engineMap.get(variantKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final RealJsonEngine created = engineCreator.get(); // outside lock, creation might be heavy
+        synchronized (cacheLock) {
+            final RealJsonEngine existing = engineMap.get(variantKey);
+            if (existing != null) { // created by other thread at the same time
+                return existing;
+            }
+            engineMap.put(variantKey, created);
+            if (logger.isDebugEnabled()) {
+                logger.debug("...Caching another JSON engine: variants={}, option={}", engineMap.size(), mappingOption);
+            }
+            return created;
+        }
+    }
+
+    protected void handleEviction(List<Object> evictedKey) { // in lock
+        evictedCount.incrementAndGet();
+        if (!evictionWarned) {
+            evictionWarned = true;
+            logger.warn("Too many variants of another JSON engine so the least recently used is evicted: limit={}, evicted={}" //
+                    + " (e.g. formatter or lambda is created per request in mapping option?)", limit, evictedKey);
+        }
+    }
+
+    /**
+     * Clear all cached engines, e.g. when classes are reloaded.
+     */
+    public void clear() {
+        synchronized (cacheLock) {
+            engineMap.clear();
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                           Variant Key
+    //                                           -----------
+    protected List<Object> buildVariantKey(OptionalThing<JsonMappingOption> mappingOption) {
+        final List<Object> keyList = new ArrayList<Object>(20);
+        if (!mappingOption.isPresent()) {
+            return keyList; // empty means default
+        }
+        final JsonMappingOption op = mappingOption.get();
+        // same items as acceptAnother() of the option
+        keyList.add(op.getLocalDateFormatter().map(ter -> buildFormatterKey(ter)).orElse(null));
+        keyList.add(op.getLocalDateFormattingTrigger().orElse(null));
+        keyList.add(op.getLocalDateTimeFormatter().map(ter -> buildFormatterKey(ter)).orElse(null));
+        keyList.add(op.getLocalDateTimeFormattingTrigger().orElse(null));
+        keyList.add(op.getLocalTimeFormatter().map(ter -> buildFormatterKey(ter)).orElse(null));
+        keyList.add(op.getLocalTimeFormattingTrigger().orElse(null));
+        keyList.add(op.getZonedDateTimeFormatter().map(ter -> buildFormatterKey(ter)).orElse(null));
+        keyList.add(op.getBooleanDeserializer().orElse(null));
+        keyList.add(op.getBooleanSerializer().orElse(null));
+        keyList.add(op.isEmptyToNullReading());
+        keyList.add(op.isNullToEmptyWriting());
+        keyList.add(op.isEverywhereQuoteWriting());
+        keyList.add(op.getSimpleTextReadingFilter().orElse(null));
+        keyList.add(op.isListNullToEmptyReading());
+        keyList.add(op.isListNullToEmptyWriting());
+        keyList.add(op.getFieldNaming().orElse(null));
+        keyList.add(new ArrayList<Object>(op.getYourCollections()));
+        keyList.add(new ArrayList<Object>(op.getYourScalars()));
+        keyList.add(op.getYourUltimateCustomizer().orElse(null));
+        return keyList;
+    }
+
+    protected String buildFormatterKey(DateTimeFormatter formatter) {
+        // formatter does not implement equals() so compare by settings
+        final StringBuilder sb = new StringBuilder();
+        sb.append(formatter); // pattern
+        sb.append("|").append(formatter.getLocale());
+        sb.append("|").append(formatter.getZone());
+        sb.append("|").append(formatter.getChronology());
+        sb.append("|").append(formatter.getResolverStyle());
+        sb.append("|").append(formatter.getResolverFields());
+        sb.append("|").append(formatter.getDecimalStyle());
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "anotherEngineCache:{variants=" + getVariantCount() + "/" + limit + ", evicted=" + evictedCount.get() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The count of distinct variants of cached engine.
+     */
+    public int getVariantCount() {
+        synchronized (cacheLock) {
+            return engineMap.size();
+        }
+    }
+
+    /**
+     * @return The count of engines evicted from the cache because of over limit.
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+}
@@ -15,6 +15,9 @@
  */
 package org.lastaflute.core.json;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 
 import org.dbflute.optional.OptionalThing;
@@ -51,6 +54,32 @@ public interface JsonManager {
      */
     <BEAN> BEAN fromJsonParameteried(String json, ParameterizedType parameterizedType);
 
+    /**
+     * Convert from the JSON stream to the specified bean. <br>
+     * It parses the stream directly without whole string, e.g. for large request body. (the reader is not closed here) <br>
+     * Default implementation reads it as string at once for managers that cannot parse stream.
+     * @param <BEAN> The type of JSON bean.
+     * @param reader The reader of JSON to be parsed. (NotNull, EmptyAllowed: returns new-only)
+     * @param beanType The type of bean to convert, should have default constructor. (NotNull)
+     * @return The new-created bean that has the JSON values. (NotNull: if empty JSON, new-only)
+     */
+    default <BEAN> BEAN fromJsonReader(Reader reader, Class<BEAN> beanType) {
+        return fromJson(RealJsonEngine.readJsonAsString(reader), beanType);
+    }
+
+    /**
+     * Convert from the JSON stream to the parameterized bean. <br>
+     * It parses the stream directly without whole string, e.g. for large request body. (the reader is not closed here) <br>
+     * Default implementation reads it as string at once for managers that cannot parse stream.
+     * @param <BEAN> The type of JSON bean as root.
+     * @param reader The reader of JSON to be parsed. (NotNull, EmptyAllowed: returns new-only)
+     * @param parameterizedType The parameterized type of bean to convert, should have default constructor. (NotNull)
+     * @return The new-created bean that has the JSON values, also List and Map. (NotNull: if empty JSON, new-only)
+     */
+    default <BEAN> BEAN fromJsonParameteriedReader(Reader reader, ParameterizedType parameterizedType) {
+        return fromJsonParameteried(RealJsonEngine.readJsonAsString(reader), parameterizedType);
+    }
+
     /**
      * Convert from the source object to JSON string.
      * @param bean The instance of bean to encode. (NotNull)
@@ -58,6 +87,21 @@ public interface JsonManager {
      */
     String toJson(Object bean);
 
+    /**
+     * Convert from the source object to JSON, writing it to the writer. <br>
+     * It writes the JSON directly without whole string, e.g. for large response. (the writer is not closed here) <br>
+     * Default implementation writes the JSON string at once for managers that cannot write stream.
+     * @param bean The instance of bean to encode. (NotNull)
+     * @param writer The writer that the encoded JSON is written to. (NotNull)
+     */
+    default void toJsonWriter(Object bean, Writer writer) {
+        try {
+            writer.write(toJson(bean));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the JSON to the writer: " + writer, e);
+        }
+    }
+
     /**
      * Create new JSON engine as another rule. <br>
      * (inheriting basic settings e.g. serializeNulls, yourCollections)
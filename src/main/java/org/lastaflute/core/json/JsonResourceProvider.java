@@ -83,4 +83,13 @@ public interface JsonResourceProvider {
     default RealJsonEngine swtichJsonEngine() {
         return null; // use default
     }
+
+    /**
+     * Provide the limit count of cached variants for another engine (e.g. switched mapping option). <br>
+     * Engines for the same option settings are shared, and the least recently used is evicted over the limit.
+     * @return The integer for the count. (MinusAllowed: if zero or minus, no cache)
+     */
+    default int provideAnotherEngineCacheLimit() {
+        return 100;
+    }
 }
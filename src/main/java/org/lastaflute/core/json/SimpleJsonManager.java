@@ -15,6 +15,8 @@
  */
 package org.lastaflute.core.json;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.util.List;
 
@@ -29,6 +31,7 @@ import org.lastaflute.core.direction.FwCoreDirection;
 import org.lastaflute.core.json.bind.JsonYourCollectionResource;
 import org.lastaflute.core.json.engine.GsonJsonEngine;
 import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.core.smartdeploy.ManagedHotdeploy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +70,9 @@ public class SimpleJsonManager implements JsonManager {
     /** The real parser of JSON. (NotNull: after initialization) */
     protected RealJsonEngine realJsonParser;
 
+    /** The cache of another engines per option variant. (NullAllowed: if no cache) */
+    protected AnotherJsonEngineCache anotherEngineCache;
+
     // ===================================================================================
     //                                                                          Initialize
     //                                                                          ==========
@@ -89,6 +95,7 @@ public class SimpleJsonManager implements JsonManager {
         // should be last because of using other instance variable
         final RealJsonEngine provided = provider != null ? provider.swtichJsonEngine() : null;
         realJsonParser = provided != null ? provided : createDefaultJsonParser();
+        anotherEngineCache = prepareAnotherEngineCache(provider);
         showBootLogging();
     }
 
@@ -123,6 +130,15 @@ public class SimpleJsonManager implements JsonManager {
         return createGsonJsonEngine(jsonMappingOption);
     }
 
+    protected AnotherJsonEngineCache prepareAnotherEngineCache(JsonResourceProvider provider) {
+        final int limit = provider != null ? provider.provideAnotherEngineCacheLimit() : 100;
+        return limit > 0 ? newAnotherJsonEngineCache(limit) : null;
+    }
+
+    protected AnotherJsonEngineCache newAnotherJsonEngineCache(int limit) {
+        return new AnotherJsonEngineCache(limit);
+    }
+
     protected void showBootLogging() {
         if (logger.isInfoEnabled()) {
             logger.info("[JSON Manager]");
@@ -257,19 +273,43 @@ public class SimpleJsonManager implements JsonManager {
         return realJsonParser.fromJsonParameteried(json, parameterizedType);
     }
 
+    @Override
+    public <BEAN> BEAN fromJsonReader(Reader reader, Class<BEAN> beanType) {
+        assertArgumentNotNull("reader", reader);
+        assertArgumentNotNull("beanType", beanType);
+        return realJsonParser.fromJsonReader(reader, beanType);
+    }
+
+    @Override
+    public <BEAN> BEAN fromJsonParameteriedReader(Reader reader, ParameterizedType parameterizedType) {
+        assertArgumentNotNull("reader", reader);
+        assertArgumentNotNull("parameterizedType", parameterizedType);
+        return realJsonParser.fromJsonParameteriedReader(reader, parameterizedType);
+    }
+
     @Override
     public String toJson(Object bean) {
         assertArgumentNotNull("bean", bean);
         return realJsonParser.toJson(bean);
     }
 
+    @Override
+    public void toJsonWriter(Object bean, Writer writer) {
+        assertArgumentNotNull("bean", bean);
+        assertArgumentNotNull("writer", writer);
+        realJsonParser.toJsonWriter(bean, writer);
+    }
+
     // ===================================================================================
     //                                                                        Another Rule
     //                                                                        ============
     @Override
     public RealJsonEngine newAnotherEngine(OptionalThing<JsonMappingOption> mappingOption) {
         assertArgumentNotNull("mappingOption", mappingOption);
-        return createGsonJsonEngine(mappingOption);
+        if (anotherEngineCache == null || ManagedHotdeploy.isHotdeploy()) { // option may have reloaded classes
+            return createGsonJsonEngine(mappingOption);
+        }
+        return anotherEngineCache.findOrCreate(mappingOption, () -> createGsonJsonEngine(mappingOption));
     }
 
     // ===================================================================================
@@ -287,6 +327,10 @@ public class SimpleJsonManager implements JsonManager {
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
+    public AnotherJsonEngineCache getAnotherEngineCache() { // null allowed, for e.g. monitoring
+        return anotherEngineCache;
+    }
+
     public OptionalThing<JsonMappingOption> getJsonMappingOption() { // for e.g. LastaDoc
         return jsonMappingOption;
     }
@@ -15,6 +15,8 @@
  */
 package org.lastaflute.core.json.engine;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
@@ -260,21 +262,33 @@ public class GsonJsonEngine implements RealJsonEngine // adapters here
     @Override
     public <BEAN> BEAN fromJsonParameteried(String json, ParameterizedType parameterizedType) {
         final BEAN bean = gson.fromJson(json, parameterizedType); // if empty JSON, new-only instance
-        if (bean != null) {
-            return bean;
-        } else { // e.g. empty string JSON
-            final Class<?> rawClass = DfReflectionUtil.getRawClass(parameterizedType.getRawType()); // null allowed?
-            if (List.class.equals(rawClass)) {
-                @SuppressWarnings("unchecked")
-                final BEAN emptyList = (BEAN) DfCollectionUtil.newArrayListSized(2); // empty but mutable for coherence
-                return emptyList;
-            } else if (Map.class.equals(rawClass)) {
-                @SuppressWarnings("unchecked")
-                final BEAN emptyList = (BEAN) DfCollectionUtil.newHashMapSized(2); // empty but mutable for coherence
-                return emptyList;
-            } else {
-                return newEmptyInstance(parameterizedType);
-            }
+        return bean != null ? bean : newEmptyParameterized(parameterizedType);
+    }
+
+    @Override
+    public <BEAN> BEAN fromJsonReader(Reader reader, Class<BEAN> beanType) { // are not null, already checked
+        final BEAN bean = gson.fromJson(reader, beanType); // streaming, no whole string
+        return bean != null ? bean : newEmptyInstance(beanType);
+    }
+
+    @Override
+    public <BEAN> BEAN fromJsonParameteriedReader(Reader reader, ParameterizedType parameterizedType) {
+        final BEAN bean = gson.fromJson(reader, parameterizedType); // streaming, no whole string
+        return bean != null ? bean : newEmptyParameterized(parameterizedType);
+    }
+
+    protected <BEAN> BEAN newEmptyParameterized(ParameterizedType parameterizedType) { // e.g. empty string JSON
+        final Class<?> rawClass = DfReflectionUtil.getRawClass(parameterizedType.getRawType()); // null allowed?
+        if (List.class.equals(rawClass)) {
+            @SuppressWarnings("unchecked")
+            final BEAN emptyList = (BEAN) DfCollectionUtil.newArrayListSized(2); // empty but mutable for coherence
+            return emptyList;
+        } else if (Map.class.equals(rawClass)) {
+            @SuppressWarnings("unchecked")
+            final BEAN emptyList = (BEAN) DfCollectionUtil.newHashMapSized(2); // empty but mutable for coherence
+            return emptyList;
+        } else {
+            return newEmptyInstance(parameterizedType);
         }
     }
 
@@ -297,6 +311,11 @@ public class GsonJsonEngine implements RealJsonEngine // adapters here
         return gson.toJson(bean);
     }
 
+    @Override
+    public void toJsonWriter(Object bean, Writer writer) { // are not null, already checked
+        gson.toJson(bean, writer); // streaming, no whole string
+    }
+
     // ===================================================================================
     //                                                                            Accessor
     //                                                                            ========
@@ -15,6 +15,9 @@
  */
 package org.lastaflute.core.json.engine;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 
 /**
@@ -49,10 +52,67 @@ public interface RealJsonEngine {
      */
     <BEAN> BEAN fromJsonParameteried(String json, ParameterizedType parameterizedType);
 
+    /**
+     * Convert from the JSON stream to the bean new-created by the specified type. <br>
+     * The reader is not closed here, and default implementation reads it as string at once.
+     * @param <BEAN> The type of JSON bean.
+     * @param reader The reader of JSON to be parsed. (NotNull, EmptyAllowed: returns new-only)
+     * @param beanType The type of bean to convert, should have default constructor. (NotNull)
+     * @return The new-created bean that has the JSON values. (NotNull: if empty JSON, new-only)
+     */
+    default <BEAN> BEAN fromJsonReader(Reader reader, Class<BEAN> beanType) {
+        return fromJson(readJsonAsString(reader), beanType);
+    }
+
+    /**
+     * Convert from the JSON stream to the parameterized bean. <br>
+     * The reader is not closed here, and default implementation reads it as string at once.
+     * @param <BEAN> The type of JSON bean as root.
+     * @param reader The reader of JSON to be parsed. (NotNull, EmptyAllowed: returns new-only)
+     * @param parameterizedType The parameterized type of bean to convert, should have default constructor. (NotNull)
+     * @return The new-created bean that has the JSON values, also List and Map. (NotNull: if empty JSON, new-only)
+     */
+    default <BEAN> BEAN fromJsonParameteriedReader(Reader reader, ParameterizedType parameterizedType) {
+        return fromJsonParameteried(readJsonAsString(reader), parameterizedType);
+    }
+
+    /**
+     * Read the JSON stream as string for engines (and managers) that cannot parse stream.
+     * @param reader The reader of JSON. (NotNull)
+     * @return The whole string from the reader. (NotNull, EmptyAllowed)
+     */
+    static String readJsonAsString(Reader reader) {
+        final StringBuilder sb = new StringBuilder();
+        final char[] buffer = new char[4096];
+        try {
+            int length;
+            while ((length = reader.read(buffer)) >= 0) {
+                sb.append(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the JSON from the reader: " + reader, e);
+        }
+        return sb.toString();
+    }
+
     /**
      * Convert from the source object to JSON string.
      * @param bean The instance of bean to encode. (NotNull)
      * @return The encoded JSON string. (NotNull)
      */
     String toJson(Object bean);
+
+    /**
+     * Convert from the source object to JSON, writing it to the writer. <br>
+     * The writer is not flushed and closed here, and default implementation writes whole string at once.
+     * @param bean The instance of bean to encode. (NotNull)
+     * @param writer The writer that the encoded JSON is written to. (NotNull)
+     */
+    default void toJsonWriter(Object bean, Writer writer) {
+        try {
+            writer.write(toJson(bean));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the JSON to the writer: " + writer, e);
+        }
+    }
 }
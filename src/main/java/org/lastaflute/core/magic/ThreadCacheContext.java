@@ -91,11 +91,213 @@ public class ThreadCacheContext {
         }
     }
 
+    // -----------------------------------------------------
+    //                                            Fixed Slot
+    //                                            ----------
+    // framework entries are stored in fixed slots (array index) instead of string-keyed map
+    protected static final int SLOT_BEGIN_TIME = 0;
+    protected static final int SLOT_PROCESS_HASH = 1;
+    protected static final int SLOT_REQUEST_PATH = 2;
+    protected static final int SLOT_ENTRY_METHOD = 3;
+    protected static final int SLOT_USER_BEAN = 4;
+    protected static final int SLOT_VALIDATOR_CALLED = 5;
+    protected static final int SLOT_VALIDATOR_ERROR_HOOK = 6;
+    protected static final int SLOT_VALIDATOR_TYPE_FAILURE = 7;
+    protected static final int SLOT_TRANSACTION_MEMORIES = 8;
+    protected static final int SLOT_MAIL_COUNTER = 9;
+    protected static final int SLOT_REMOTE_API_COUNTER = 10;
+    protected static final int SLOT_REMOTE_API_COUNTER_INITIALIZER = 11;
+
+    /** The keys of fixed slots, the index is slot index. */
+    protected static final String[] SLOT_KEYS = { // same order as slot index
+            FW_BEGIN_TIME, FW_PROCESS_HASH // core
+            , FW_REQUEST_PATH, FW_ENTRY_METHOD, FW_USER_BEAN // basic
+            , FW_VALIDATOR_CALLED, FW_VALIDATOR_ERROR_HOOK, FW_VALIDATOR_TYPE_FAILURE // validation
+            , FW_TRANSACTION_MEMORIES, FW_MAIL_COUNTER // transaction, mail
+            , FW_REMOTE_API_COUNTER, FW_REMOTE_API_COUNTER_INITIALIZER // remote API
+    };
+
+    /** The map of slot index for string-keyed access to framework entries. (NotNull, ReadOnly) */
+    protected static final Map<String, Integer> slotIndexMap;
+    static {
+        final Map<String, Integer> indexMap = new HashMap<String, Integer>(SLOT_KEYS.length * 2);
+        for (int i = 0; i < SLOT_KEYS.length; i++) {
+            indexMap.put(SLOT_KEYS[i], i);
+        }
+        slotIndexMap = Collections.unmodifiableMap(indexMap);
+    }
+
+    /** The prefix of framework keys, others are never in fixed slots. */
+    protected static final String FW_KEY_PREFIX = "fw:";
+
+    protected static int findSlotIndex(String key) {
+        if (key == null || !key.startsWith(FW_KEY_PREFIX)) { // application key, no need to look up
+            return -1;
+        }
+        final Integer slotIndex = slotIndexMap.get(key); // only string-keyed access, typed access uses index directly
+        return slotIndex != null ? slotIndex : -1;
+    }
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
     /** The thread-local for this. */
-    private static final ThreadLocal<Map<String, Object>> threadLocal = new ThreadLocal<Map<String, Object>>();
+    private static final ThreadLocal<ThreadCacheStore> threadLocal = new ThreadLocal<ThreadCacheStore>();
+
+    /**
+     * The store of thread cache, which is copy-on-write after snapshot. <br>
+     * Framework entries are in fixed slots (array) and application entries are in map. <br>
+     * It is accessed only by the owner thread, and shared slots and maps are never changed.
+     */
+    protected static class ThreadCacheStore {
+
+        protected Object[] slots; // not null, framework entries indexed by slot
+        protected boolean slotsShared; // true if the slots are shared with snapshot, copied when write
+        protected boolean slotsInherited; // true if the slots may contain parent's thread-completed values
+        protected Map<String, Object> cacheMap; // not null, application entries
+        protected boolean mapShared; // true if the map is shared with snapshot, copied when write
+        protected boolean mapInherited; // true if the map may contain parent's thread-completed values
+        protected Map<String, Object> readOnlyMap; // null allowed: not built yet or changed after building
+
+        public ThreadCacheStore() {
+            this.slots = new Object[SLOT_KEYS.length];
+            this.cacheMap = new HashMap<String, Object>();
+        }
+
+        public ThreadCacheStore(ThreadCacheSnapshot snapshot) { // as child
+            this.slots = snapshot.frozenSlots;
+            this.slotsShared = true;
+            this.slotsInherited = true;
+            this.cacheMap = snapshot.frozenMap;
+            this.mapShared = true;
+            this.mapInherited = true;
+        }
+
+        // -----------------------------------------------------
+        //                                          Keyed Access
+        //                                          ------------
+        public Object get(String key) {
+            final int slotIndex = findSlotIndex(key);
+            if (slotIndex >= 0) { // framework key
+                return getSlot(slotIndex);
+            }
+            final Object value = cacheMap.get(key);
+            return mapInherited && isNotInheritable(value) ? null : value;
+        }
+
+        public void put(String key, Object value) {
+            readOnlyMap = null;
+            final int slotIndex = findSlotIndex(key);
+            if (slotIndex >= 0) { // framework key
+                putSlot(slotIndex, value);
+                return;
+            }
+            prepareWritableMap().put(key, value);
+        }
+
+        public Object remove(String key) {
+            final int slotIndex = findSlotIndex(key);
+            if (slotIndex >= 0) { // framework key
+                return removeSlot(slotIndex);
+            }
+            final Object existing = get(key);
+            if (existing == null && !cacheMap.containsKey(key)) { // no copy if no change
+                return null;
+            }
+            readOnlyMap = null;
+            prepareWritableMap().remove(key);
+            return existing;
+        }
+
+        protected Map<String, Object> prepareWritableMap() {
+            if (mapShared) { // copy-on-write
+                cacheMap = mapInherited ? filterInheritable(cacheMap) : new HashMap<String, Object>(cacheMap);
+                mapShared = false;
+                mapInherited = false;
+            }
+            return cacheMap;
+        }
+
+        // -----------------------------------------------------
+        //                                           Slot Access
+        //                                           -----------
+        public Object getSlot(int slotIndex) {
+            final Object value = slots[slotIndex];
+            return slotsInherited && isNotInheritable(value) ? null : value;
+        }
+
+        public void putSlot(int slotIndex, Object value) {
+            readOnlyMap = null;
+            prepareWritableSlots()[slotIndex] = value;
+        }
+
+        public Object removeSlot(int slotIndex) {
+            final Object existing = getSlot(slotIndex);
+            if (slots[slotIndex] == null) { // no copy if no change
+                return null;
+            }
+            readOnlyMap = null;
+            prepareWritableSlots()[slotIndex] = null;
+            return existing;
+        }
+
+        protected Object[] prepareWritableSlots() {
+            if (slotsShared) { // copy-on-write, small array so cheap
+                final Object[] copied = slots.clone();
+                if (slotsInherited) {
+                    for (int i = 0; i < copied.length; i++) {
+                        if (isNotInheritable(copied[i])) {
+                            copied[i] = null;
+                        }
+                    }
+                }
+                slots = copied;
+                slotsShared = false;
+                slotsInherited = false;
+            }
+            return slots;
+        }
+
+        // -----------------------------------------------------
+        //                                              Snapshot
+        //                                              --------
+        public ThreadCacheSnapshot snapshot() {
+            slotsShared = true; // caller also copies when next write
+            mapShared = true;
+            return new ThreadCacheSnapshot(slots, cacheMap);
+        }
+
+        public Map<String, Object> toReadOnlyMap() { // basically for framework e.g. caller-runs
+            if (readOnlyMap != null) { // no change after building
+                return readOnlyMap;
+            }
+            final Map<String, Object> builtMap = new HashMap<String, Object>(slots.length + cacheMap.size());
+            for (int i = 0; i < slots.length; i++) {
+                final Object value = getSlot(i);
+                if (value != null) {
+                    builtMap.put(SLOT_KEYS[i], value);
+                }
+            }
+            builtMap.putAll(mapInherited ? filterInheritable(cacheMap) : cacheMap);
+            readOnlyMap = Collections.unmodifiableMap(builtMap);
+            return readOnlyMap;
+        }
+
+        protected static Map<String, Object> filterInheritable(Map<String, Object> cacheMap) {
+            final Map<String, Object> filteredMap = new HashMap<String, Object>(cacheMap.size());
+            cacheMap.forEach((key, value) -> {
+                if (!isNotInheritable(value)) {
+                    filteredMap.put(key, value);
+                }
+            });
+            return filteredMap;
+        }
+
+        protected static boolean isNotInheritable(Object value) {
+            // the initializer has no state so it can be shared (and every thread has it)
+            return value instanceof ThreadCompleted && value != remoteApiCounterInitializer;
+        }
+    }
 
     // ===================================================================================
     //                                                                          Initialize
@@ -115,10 +317,40 @@ public class ThreadCacheContext {
      */
     public static void initialize() {
         clear();
-        threadLocal.set(new HashMap<String, Object>());
+        threadLocal.set(new ThreadCacheStore());
 
         // for e.g. Lasta RemoteApi-0.3.7 (depends on LastaFlute-1.0.0), deleted at future
-        setObject(FW_REMOTE_API_COUNTER_INITIALIZER, remoteApiCounterInitializer);
+        setSlotObject(SLOT_REMOTE_API_COUNTER_INITIALIZER, remoteApiCounterInitializer);
+    }
+
+    /**
+     * Initialize this cache by the snapshot of parent thread, e.g. in asynchronous process. <br>
+     * The snapshot is shared without copy until this thread writes something,
+     * and writing in this thread never changes the parent's cache. <br>
+     * Don't forget to clear the cache in finally clause as {@link #initialize()}.
+     * @param snapshot The snapshot of thread cache taken in parent thread. (NotNull)
+     */
+    public static void initialize(ThreadCacheSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The argument 'snapshot' should not be null.");
+        }
+        clear();
+        if (snapshot.isEmpty()) { // e.g. parent has no cache
+            initialize();
+            return;
+        }
+        // the snapshot has the remote API initializer if the parent was initialized
+        threadLocal.set(new ThreadCacheStore(snapshot));
+    }
+
+    /**
+     * Take the snapshot of this cache to be inherited by child threads. <br>
+     * It does not copy the cache, this thread's cache is copied when next writing instead.
+     * @return The snapshot of thread cache. (NotNull, EmptyAllowed: when no cache)
+     */
+    public static ThreadCacheSnapshot snapshot() {
+        final ThreadCacheStore store = threadLocal.get();
+        return store != null ? store.snapshot() : ThreadCacheSnapshot.EMPTY;
     }
 
     // ===================================================================================
@@ -177,6 +409,31 @@ public class ThreadCacheContext {
         return obj != null && (boolean) obj;
     }
 
+    // -----------------------------------------------------
+    //                                           Slot Access
+    //                                           -----------
+    @SuppressWarnings("unchecked")
+    protected static <OBJ> OBJ getSlotObject(int slotIndex) { // for framework entries, without string hash
+        if (!exists()) {
+            throwThreadCacheNotInitializedException(SLOT_KEYS[slotIndex]);
+        }
+        return (OBJ) threadLocal.get().getSlot(slotIndex);
+    }
+
+    protected static void setSlotObject(int slotIndex, Object value) {
+        if (!exists()) {
+            throwThreadCacheNotInitializedException(SLOT_KEYS[slotIndex]);
+        }
+        threadLocal.get().putSlot(slotIndex, value);
+    }
+
+    protected static void removeSlotObject(int slotIndex) {
+        if (!exists()) {
+            throwThreadCacheNotInitializedException(SLOT_KEYS[slotIndex]);
+        }
+        threadLocal.get().removeSlot(slotIndex);
+    }
+
     public static boolean exists() {
         return (threadLocal.get() != null);
     }
@@ -202,81 +459,87 @@ public class ThreadCacheContext {
     // ===================================================================================
     //                                                                           Framework
     //                                                                           =========
+    /**
+     * Get the read-only map of all cache entries, which merges fixed slots and application map. <br>
+     * It is built by copying the entries at first call, so avoid it in hot path. <br>
+     * The built map is reused until next change of the cache.
+     * @return The read-only snapshot map of the current entries. (NotNull)
+     */
     public static Map<String, Object> getReadOnlyCacheMap() { // for framework
         if (!exists()) {
             return DfCollectionUtil.emptyMap();
         }
-        return Collections.unmodifiableMap(threadLocal.get());
+        return threadLocal.get().toReadOnlyMap();
     }
 
     // -----------------------------------------------------
     //                                             Core Item
     //                                             ---------
     public static String findBeginTime() {
-        return exists() ? (String) getObject(FW_BEGIN_TIME) : null;
+        return exists() ? (String) getSlotObject(SLOT_BEGIN_TIME) : null;
     }
 
     public static void registerBeginTime(LocalDateTime beginTime) {
-        setObject(FW_BEGIN_TIME, beginTime);
+        setSlotObject(SLOT_BEGIN_TIME, beginTime);
     }
 
     public static String findProcessHash() {
-        return exists() ? (String) getObject(FW_PROCESS_HASH) : null;
+        return exists() ? (String) getSlotObject(SLOT_PROCESS_HASH) : null;
     }
 
     public static void registerProcessHash(String processHash) {
-        setObject(FW_PROCESS_HASH, processHash);
+        setSlotObject(SLOT_PROCESS_HASH, processHash);
     }
 
     // -----------------------------------------------------
     //                                            Basic Item
     //                                            ----------
     public static String findRequestPath() {
-        return exists() ? (String) getObject(FW_REQUEST_PATH) : null;
+        return exists() ? (String) getSlotObject(SLOT_REQUEST_PATH) : null;
     }
 
     public static void registerRequestPath(String requestPath) {
-        setObject(FW_REQUEST_PATH, requestPath);
+        setSlotObject(SLOT_REQUEST_PATH, requestPath);
     }
 
     public static Method findEntryMethod() {
-        return exists() ? (Method) getObject(FW_ENTRY_METHOD) : null;
+        return exists() ? (Method) getSlotObject(SLOT_ENTRY_METHOD) : null;
     }
 
     public static void registerEntryMethod(Method entryMethod) {
-        setObject(FW_ENTRY_METHOD, entryMethod);
+        setSlotObject(SLOT_ENTRY_METHOD, entryMethod);
     }
 
     public static Object findUserBean() { // object not to depend on web
-        return exists() ? getObject(FW_USER_BEAN) : null;
+        return exists() ? getSlotObject(SLOT_USER_BEAN) : null;
     }
 
     public static void registerUserBean(Object userBean) {
-        setObject(FW_USER_BEAN, userBean);
+        setSlotObject(SLOT_USER_BEAN, userBean);
     }
 
     // -----------------------------------------------------
     //                                             Validator
     //                                             ---------
     public static boolean isValidatorCalled() {
-        return exists() && getObject(FW_VALIDATOR_CALLED) != null;
+        return exists() && getSlotObject(SLOT_VALIDATOR_CALLED) != null;
     }
 
     public static void markValidatorCalled() {
-        setObject(FW_VALIDATOR_CALLED, MARK_OBJ);
+        setSlotObject(SLOT_VALIDATOR_CALLED, MARK_OBJ);
     }
 
     public static VaErrorHook findValidatorErrorHook() {
-        return exists() ? getObject(FW_VALIDATOR_ERROR_HOOK) : null;
+        return exists() ? getSlotObject(SLOT_VALIDATOR_ERROR_HOOK) : null;
     }
 
     public static void registerValidatorErrorHook(VaErrorHook errorHook) {
-        setObject(FW_VALIDATOR_ERROR_HOOK, errorHook);
+        setSlotObject(SLOT_VALIDATOR_ERROR_HOOK, errorHook);
     }
 
     public static Object findValidatorTypeFailure(Class<?> keyType) { // object not to depend on web
         if (exists()) {
-            final Map<Class<?>, Object> failureMap = getObject(FW_VALIDATOR_TYPE_FAILURE);
+            final Map<Class<?>, Object> failureMap = getSlotObject(SLOT_VALIDATOR_TYPE_FAILURE);
             return failureMap != null ? failureMap.get(keyType) : null;
         } else {
             return null;
@@ -284,21 +547,28 @@ public class ThreadCacheContext {
     }
 
     public static void registerValidatorTypeFailure(Class<?> keyType, Object failureBean) {
-        Map<Class<?>, Object> failureMap = getObject(FW_VALIDATOR_TYPE_FAILURE);
-        if (failureMap == null) {
+        // copied not to change the map shared with other threads by snapshot
+        final Map<Class<?>, Object> existingMap = getSlotObject(SLOT_VALIDATOR_TYPE_FAILURE);
+        final Map<Class<?>, Object> failureMap;
+        if (existingMap != null) {
+            failureMap = new HashMap<Class<?>, Object>(existingMap);
+        } else {
             failureMap = new HashMap<Class<?>, Object>();
-            setObject(FW_VALIDATOR_TYPE_FAILURE, failureMap);
         }
         failureMap.put(keyType, failureBean);
+        setSlotObject(SLOT_VALIDATOR_TYPE_FAILURE, failureMap);
     }
 
     public static void removeValidatorTypeFailure(Class<?> keyType) {
         if (exists()) {
-            Map<Class<?>, Object> failureMap = getObject(FW_VALIDATOR_TYPE_FAILURE);
-            if (failureMap != null && failureMap.get(keyType) != null) {
-                failureMap.remove(keyType);
-                if (failureMap.isEmpty()) {
-                    removeObject(FW_VALIDATOR_TYPE_FAILURE);
+            final Map<Class<?>, Object> existingMap = getSlotObject(SLOT_VALIDATOR_TYPE_FAILURE);
+            if (existingMap != null && existingMap.get(keyType) != null) {
+                if (existingMap.size() == 1) {
+                    removeSlotObject(SLOT_VALIDATOR_TYPE_FAILURE);
+                } else {
+                    final Map<Class<?>, Object> failureMap = new HashMap<Class<?>, Object>(existingMap);
+                    failureMap.remove(keyType);
+                    setSlotObject(SLOT_VALIDATOR_TYPE_FAILURE, failureMap);
                 }
             }
         }
@@ -308,32 +578,32 @@ public class ThreadCacheContext {
     //                                           Transaction
     //                                           -----------
     public static SavedTransactionMemories findTransactionMemories() {
-        return exists() ? getObject(FW_TRANSACTION_MEMORIES) : null;
+        return exists() ? getSlotObject(SLOT_TRANSACTION_MEMORIES) : null;
     }
 
     public static void registerTransactionMemories(SavedTransactionMemories memories) {
-        setObject(FW_TRANSACTION_MEMORIES, memories);
+        setSlotObject(SLOT_TRANSACTION_MEMORIES, memories);
     }
 
     // -----------------------------------------------------
     //                                                 Mail
     //                                                ------
     public static PostedMailCounter findMailCounter() {
-        return exists() ? getObject(FW_MAIL_COUNTER) : null;
+        return exists() ? getSlotObject(SLOT_MAIL_COUNTER) : null;
     }
 
     public static void registerMailCounter(PostedMailCounter memories) {
-        setObject(FW_MAIL_COUNTER, memories);
+        setSlotObject(SLOT_MAIL_COUNTER, memories);
     }
 
     // -----------------------------------------------------
     //                                             RemoteApi
     //                                             ---------
     public static CalledRemoteApiCounter findRemoteApiCounter() {
-        return exists() ? getObject(FW_REMOTE_API_COUNTER) : null;
+        return exists() ? getSlotObject(SLOT_REMOTE_API_COUNTER) : null;
     }
 
     public static void registerRemoteApiCounter(CalledRemoteApiCounter memories) {
-        setObject(FW_REMOTE_API_COUNTER, memories);
+        setSlotObject(SLOT_REMOTE_API_COUNTER, memories);
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The snapshot of thread cache for child threads e.g. asynchronous process. <br>
+ * The cache map is shared without copy and is never changed after the snapshot,
+ * because both the caller and the children copy it when they write (copy-on-write). <br>
+ * Values of {@link ThreadCompleted} are hidden from the children.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ThreadCacheSnapshot {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final ThreadCacheSnapshot EMPTY = new ThreadCacheSnapshot(new Object[0], Collections.emptyMap());
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Object[] frozenSlots; // not null, never changed, framework entries
+    protected final Map<String, Object> frozenMap; // not null, never changed, application entries
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected ThreadCacheSnapshot(Object[] frozenSlots, Map<String, Object> frozenMap) { // only by thread cache context
+        this.frozenSlots = frozenSlots;
+        this.frozenMap = frozenMap;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "threadCacheSnapshot:{slots=" + frozenSlots.length + ", " + frozenMap.keySet() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isEmpty() {
+        if (!frozenMap.isEmpty()) {
+            return false;
+        }
+        for (Object slot : frozenSlots) {
+            if (slot != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -15,7 +15,13 @@
  */
 package org.lastaflute.core.magic.async;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.lastaflute.core.magic.async.ConcurrentAsyncCall.ConcurrentAsyncImportance;
 import org.lastaflute.core.magic.async.exception.ConcurrentParallelRunnerException;
+import org.lastaflute.core.magic.async.future.LaSupplyFutureUtil;
 import org.lastaflute.core.magic.async.future.YourFuture;
 
 /**
@@ -51,6 +57,79 @@ public interface AsyncManager {
      */
     YourFuture async(ConcurrentAsyncCall noArgLambda);
 
+    /**
+     * Execute asynchronous process that returns result by other thread. <br>
+     * The contexts are inherited as async(), and the result is passed to the composable future.
+     * <pre>
+     * CompletableFuture&lt;Member&gt; <span style="color: #553000">memberFuture</span> = asyncManager.<span style="color: #CC4747">supply</span>(() <span style="font-size: 120%">-</span>&gt;</span> {
+     *     <span style="color: #70226C">return</span> ... <span style="color: #3F7E5E">// slow process here</span>
+     * });
+     * ... <span style="color: #3F7E5E">// other process in caller thread</span>
+     * Member <span style="color: #553000">member</span> = <span style="color: #553000">memberFuture</span>.join();
+     * </pre>
+     * <p>Cancelling or failing the future interrupts the process if still running.</p>
+     * @param <RESULT> The type of result.
+     * @param noArgLambda The callback for asynchronous process that returns result. (NotNull)
+     * @return The future of the result, completed exceptionally if the process fails. (NotNull)
+     */
+    default <RESULT> CompletableFuture<RESULT> supply(ConcurrentAsyncSupplyCall<RESULT> noArgLambda) { // plain for compatible
+        final CompletableFuture<RESULT> resultFuture = new CompletableFuture<RESULT>();
+        async(new ConcurrentAsyncCall() {
+            @Override
+            public void callback() {
+                try {
+                    resultFuture.complete(noArgLambda.callback());
+                } catch (Throwable cause) { // handled by caller via the future
+                    resultFuture.completeExceptionally(cause);
+                }
+            }
+
+            @Override
+            public ConcurrentAsyncImportance importance() {
+                return noArgLambda.importance();
+            }
+
+            @Override
+            public ConcurrentAsyncOption option() {
+                return noArgLambda.option();
+            }
+        });
+        return resultFuture;
+    }
+
+    /**
+     * Execute asynchronous process that returns result within the timeout.
+     * @param <RESULT> The type of result.
+     * @param noArgLambda The callback for asynchronous process that returns result. (NotNull)
+     * @param timeoutMillis The timeout milliseconds, the process is cancelled over it. (Positive)
+     * @return The future of the result, completed by TimeoutException if over timeout. (NotNull)
+     */
+    default <RESULT> CompletableFuture<RESULT> supply(ConcurrentAsyncSupplyCall<RESULT> noArgLambda, long timeoutMillis) {
+        LaSupplyFutureUtil.assertTimeoutMillisPositive(timeoutMillis);
+        return LaSupplyFutureUtil.applyTimeoutByOneShotTimer(supply(noArgLambda), timeoutMillis); // plain for compatible
+    }
+
+    /**
+     * Execute asynchronous processes at the same time and gather the results (fan-out/fan-in).
+     * <pre>
+     * List&lt;Object&gt; <span style="color: #553000">resultList</span> = asyncManager.<span style="color: #CC4747">supplyAll</span>(Arrays.asList(() <span style="font-size: 120%">-</span>&gt;</span> {
+     *     <span style="color: #70226C">return</span> ... <span style="color: #3F7E5E">// source A</span>
+     * }, () <span style="font-size: 120%">-</span>&gt;</span> {
+     *     <span style="color: #70226C">return</span> ... <span style="color: #3F7E5E">// source B</span>
+     * }), 3000L).join();
+     * </pre>
+     * <p>When one process fails or timeout, the others are cancelled.</p>
+     * @param <RESULT> The type of result.
+     * @param callList The list of callback for asynchronous process that returns result. (NotNull, EmptyAllowed)
+     * @param timeoutMillis The timeout milliseconds for all processes. (Positive)
+     * @return The future of result list in the same order as the call list. (NotNull)
+     */
+    default <RESULT> CompletableFuture<List<RESULT>> supplyAll(List<ConcurrentAsyncSupplyCall<RESULT>> callList, long timeoutMillis) {
+        LaSupplyFutureUtil.assertTimeoutMillisPositive(timeoutMillis);
+        final CompletableFuture<List<RESULT>> resultFuture = LaSupplyFutureUtil.supplyAll(callList, call -> supply(call));
+        return LaSupplyFutureUtil.applyTimeoutByOneShotTimer(resultFuture, timeoutMillis); // plain for compatible
+    }
+
     /**
      * Execute parallel process and wait for ending of all threads.
      * <pre>
@@ -72,4 +151,18 @@ public interface AsyncManager {
      * @throws ConcurrentParallelRunnerException When any runner does not reach goal.
      */
     void parallel(ConcurrentParallelCall runnerLambda, ConcurrentParallelOpCall opLambda);
+
+    /**
+     * Get the metrics of thread pools for asynchronous process. <br>
+     * e.g. queue depth, active threads, rejected count, wait time and run time
+     * <pre>
+     * asyncManager.<span style="color: #CC4747">getPoolMetricsList()</span>.forEach(<span style="color: #553000">metrics</span> <span style="font-size: 120%">-</span>&gt;</span> {
+     *     logger.info(<span style="color: #553000">metrics</span>.toString());
+     * });
+     * </pre>
+     * @return The read-only list of metrics, primary, secondary, tertiary and waiting (if created). (NotNull, EmptyAllowed: if no metrics)
+     */
+    default List<ConcurrentAsyncPoolMetrics> getPoolMetricsList() {
+        return Collections.emptyList(); // for compatible, e.g. your own manager
+    }
 }
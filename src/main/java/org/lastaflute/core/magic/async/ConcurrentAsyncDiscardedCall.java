@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+/**
+ * The callback for asynchronous process discarded by backpressure of thread pool.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+@FunctionalInterface
+public interface ConcurrentAsyncDiscardedCall {
+
+    /**
+     * Callback when the asynchronous process is discarded, called in the caller thread of async(). <br>
+     * The future of the discarded process has been cancelled.
+     * @param task The discarded task that has your asynchronous call. (NotNull)
+     */
+    void callback(ConcurrentAsyncTask task);
+}
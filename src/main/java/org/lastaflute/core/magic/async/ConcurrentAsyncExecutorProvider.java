@@ -15,6 +15,8 @@
  */
 package org.lastaflute.core.magic.async;
 
+import org.lastaflute.core.magic.async.ConcurrentAsyncCall.ConcurrentAsyncImportance;
+
 /**
  * @author jflute
  */
@@ -31,4 +33,40 @@ public interface ConcurrentAsyncExecutorProvider {
     default Integer provideMaxPoolSize() {
         return null;
     }
+
+    /**
+     * @param importance The importance of the pool, primary, secondary or tertiary. (NotNull)
+     * @return The option of the pool e.g. sizing, backpressure policy. (NullAllowed: if null, as default)
+     */
+    default ConcurrentAsyncPoolOption providePoolOption(ConcurrentAsyncImportance importance) {
+        return null;
+    }
+
+    /**
+     * @return The capacity of waiting queue for tasks rejected by pools, fails over it. (NullAllowed: if null, as default)
+     */
+    default Integer provideWaitingQueueCapacity() {
+        return null;
+    }
+
+    /**
+     * @return The max pool size of shared thread pool for parallel process. (NullAllowed: if null, as default)
+     */
+    default Integer provideParallelMaxPoolSize() {
+        return null;
+    }
+
+    /**
+     * @return The sink to export metrics of thread pools periodically. (NullAllowed: if null, no export)
+     */
+    default ConcurrentAsyncMetricsSink provideMetricsSink() {
+        return null;
+    }
+
+    /**
+     * @return The interval seconds of exporting metrics to the sink. (NullAllowed: if null, as default)
+     */
+    default Integer provideMetricsExportIntervalSeconds() {
+        return null;
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import java.util.List;
+
+/**
+ * The sink to export metrics of asynchronous thread pools periodically. <br>
+ * e.g. logging, sending to your monitoring system
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+@FunctionalInterface
+public interface ConcurrentAsyncMetricsSink {
+
+    /**
+     * Export the metrics, called in the exporting thread (not request thread). <br>
+     * Counters are cumulative, so call reset() of the metrics if you need values per interval.
+     * @param metricsList The list of metrics for each pool e.g. primary, secondary, tertiary, waiting. (NotNull)
+     */
+    void export(List<ConcurrentAsyncPoolMetrics> metricsList);
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of one thread pool for asynchronous process, e.g. primary, secondary, tertiary, waiting. <br>
+ * Counters are updated by several threads without lock, and current values are read from the executor.
+ * <pre>
+ * queueDepth, activeThreads : current state of the executor
+ * waitTime                  : from submit to start of running (includes time in waiting queue)
+ * runTime                   : from start to end of running
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ConcurrentAsyncPoolMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String poolTitle; // not null, e.g. primary
+    protected final ExecutorService executor; // not null
+    protected final LongAdder submittedCount = new LongAdder();
+    protected final LongAdder rejectedCount = new LongAdder(); // pool full (handled by policy)
+    protected final LongAdder discardedCount = new LongAdder(); // discarded or failed by policy
+    protected final LongAdder startedCount = new LongAdder();
+    protected final LongAdder completedCount = new LongAdder();
+    protected final LongAdder waitNanosTotal = new LongAdder();
+    protected final LongAccumulator waitNanosMax = new LongAccumulator(Math::max, 0L);
+    protected final LongAdder runNanosTotal = new LongAdder();
+    protected final LongAccumulator runNanosMax = new LongAccumulator(Math::max, 0L);
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param poolTitle The title of the pool for display. (NotNull)
+     * @param executor The executor of the pool. (NotNull)
+     */
+    public ConcurrentAsyncPoolMetrics(String poolTitle, ExecutorService executor) {
+        assertArgumentNotNull("poolTitle", poolTitle);
+        assertArgumentNotNull("executor", executor);
+        this.poolTitle = poolTitle;
+        this.executor = executor;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void recordSubmitted() {
+        submittedCount.increment();
+    }
+
+    public void recordRejected() {
+        rejectedCount.increment();
+    }
+
+    public void recordDiscarded() {
+        discardedCount.increment();
+    }
+
+    /**
+     * @param waitNanos The nano time from submit to start. (NotMinus)
+     */
+    public void recordStarted(long waitNanos) {
+        startedCount.increment();
+        waitNanosTotal.add(waitNanos);
+        waitNanosMax.accumulate(waitNanos);
+    }
+
+    /**
+     * @param runNanos The nano time from start to end. (NotMinus)
+     */
+    public void recordFinished(long runNanos) {
+        completedCount.increment();
+        runNanosTotal.add(runNanos);
+        runNanosMax.accumulate(runNanos);
+    }
+
+    // ===================================================================================
+    //                                                                       Current State
+    //                                                                       =============
+    /**
+     * @return The count of tasks waiting in the queue of the pool. (MinusAllowed: -1 if unknown executor)
+     */
+    public int getQueueDepth() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : -1;
+    }
+
+    /**
+     * @return The count of threads running tasks now. (MinusAllowed: -1 if unknown executor)
+     */
+    public int getActiveThreadCount() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getActiveCount() : -1;
+    }
+
+    /**
+     * @return The count of threads in the pool now. (MinusAllowed: -1 if unknown executor)
+     */
+    public int getPoolSize() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getPoolSize() : -1;
+    }
+
+    /**
+     * @return The max count of threads in the pool. (MinusAllowed: -1 if unknown executor)
+     */
+    public int getMaxPoolSize() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getMaximumPoolSize() : -1;
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public long getAverageWaitMillis() {
+        return average(waitNanosTotal.sum(), startedCount.sum());
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanosMax.get());
+    }
+
+    public long getAverageRunMillis() {
+        return average(runNanosTotal.sum(), completedCount.sum());
+    }
+
+    public long getMaxRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(runNanosMax.get());
+    }
+
+    protected long average(long totalNanos, long count) {
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos / count) : 0L;
+    }
+
+    /**
+     * Reset the counters and statistics, e.g. after periodical export. <br>
+     * Values updated while resetting may be lost, it is enough for metrics.
+     */
+    public void reset() {
+        submittedCount.reset();
+        rejectedCount.reset();
+        discardedCount.reset();
+        startedCount.reset();
+        completedCount.reset();
+        waitNanosTotal.reset();
+        waitNanosMax.reset();
+        runNanosTotal.reset();
+        runNanosMax.reset();
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(poolTitle).append(":{");
+        sb.append("queue=").append(getQueueDepth());
+        sb.append(", active=").append(getActiveThreadCount()).append("/").append(getPoolSize()).append("/").append(getMaxPoolSize());
+        sb.append(", submitted=").append(submittedCount.sum());
+        sb.append(", completed=").append(completedCount.sum());
+        sb.append(", rejected=").append(rejectedCount.sum());
+        sb.append(", discarded=").append(discardedCount.sum());
+        sb.append(", wait=").append(getAverageWaitMillis()).append("(max ").append(getMaxWaitMillis()).append(")ms");
+        sb.append(", run=").append(getAverageRunMillis()).append("(max ").append(getMaxRunMillis()).append(")ms");
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getPoolTitle() {
+        return poolTitle;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.sum();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The option of thread pool for asynchronous process, per importance (primary, secondary, tertiary). <br>
+ * It decides the sizing and the backpressure policy when the pool is full.
+ * <pre>
+ * e.g. bounded queue and caller-runs
+ *  new ConcurrentAsyncPoolOption().maxPoolSize(20).queueCapacity(100).callerRuns();
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ConcurrentAsyncPoolOption {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected Integer maxPoolSize; // null allowed, null means provider's max pool size
+    protected int queueCapacity; // zero means no queue (hand-off)
+    protected ConcurrentAsyncRejectedPolicy rejectedPolicy = ConcurrentAsyncRejectedPolicy.WAITING_QUEUE;
+    protected ConcurrentAsyncDiscardedCall discardedCall; // null allowed, only for discarding policy
+
+    public enum ConcurrentAsyncRejectedPolicy {
+        /** retried in waiting queue (bounded), fail when the waiting queue is full (default) */
+        WAITING_QUEUE,
+        /** executed in caller thread, with caller's contexts restored after execution */
+        CALLER_RUNS,
+        /** the oldest task in the queue is discarded for the new task (new one is discarded if no queue) */
+        DISCARD_OLDEST,
+        /** the new task is discarded */
+        DISCARD,
+        /** exception is thrown to caller */
+        FAIL_FAST
+    }
+
+    // ===================================================================================
+    //                                                                              Sizing
+    //                                                                              ======
+    /**
+     * @param maxPoolSize The max count of threads in the pool. (Positive)
+     * @return this. (NotNull)
+     */
+    public ConcurrentAsyncPoolOption maxPoolSize(int maxPoolSize) {
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("The argument 'maxPoolSize' should be positive: " + maxPoolSize);
+        }
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    /**
+     * @param queueCapacity The capacity of queue for waiting tasks when all threads are busy. (NotMinus: zero means no queue)
+     * @return this. (NotNull)
+     */
+    public ConcurrentAsyncPoolOption queueCapacity(int queueCapacity) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("The argument 'queueCapacity' should not be minus: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                     Rejected Policy
+    //                                                                     ===============
+    public ConcurrentAsyncPoolOption waitingQueue() {
+        return policy(ConcurrentAsyncRejectedPolicy.WAITING_QUEUE, null);
+    }
+
+    public ConcurrentAsyncPoolOption callerRuns() {
+        return policy(ConcurrentAsyncRejectedPolicy.CALLER_RUNS, null);
+    }
+
+    public ConcurrentAsyncPoolOption discardOldest() {
+        return policy(ConcurrentAsyncRejectedPolicy.DISCARD_OLDEST, null);
+    }
+
+    /**
+     * @param discardedLambda The callback for the discarded (oldest or new) task. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ConcurrentAsyncPoolOption discardOldest(ConcurrentAsyncDiscardedCall discardedLambda) {
+        assertArgumentNotNull("discardedLambda", discardedLambda);
+        return policy(ConcurrentAsyncRejectedPolicy.DISCARD_OLDEST, discardedLambda);
+    }
+
+    public ConcurrentAsyncPoolOption discard() {
+        return policy(ConcurrentAsyncRejectedPolicy.DISCARD, null);
+    }
+
+    /**
+     * @param discardedLambda The callback for the discarded new task. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ConcurrentAsyncPoolOption discard(ConcurrentAsyncDiscardedCall discardedLambda) {
+        assertArgumentNotNull("discardedLambda", discardedLambda);
+        return policy(ConcurrentAsyncRejectedPolicy.DISCARD, discardedLambda);
+    }
+
+    public ConcurrentAsyncPoolOption failFast() {
+        return policy(ConcurrentAsyncRejectedPolicy.FAIL_FAST, null);
+    }
+
+    protected ConcurrentAsyncPoolOption policy(ConcurrentAsyncRejectedPolicy rejectedPolicy, ConcurrentAsyncDiscardedCall discardedCall) {
+        this.rejectedPolicy = rejectedPolicy;
+        this.discardedCall = discardedCall;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "{maxPoolSize=" + maxPoolSize + ", queueCapacity=" + queueCapacity + ", policy=" + rejectedPolicy
+                + (discardedCall != null ? "(callback)" : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public OptionalThing<Integer> getMaxPoolSize() {
+        return OptionalThing.ofNullable(maxPoolSize, () -> {
+            throw new IllegalStateException("Not found the max pool size.");
+        });
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public ConcurrentAsyncRejectedPolicy getRejectedPolicy() {
+        return rejectedPolicy;
+    }
+
+    public OptionalThing<ConcurrentAsyncDiscardedCall> getDiscardedCall() {
+        return OptionalThing.ofNullable(discardedCall, () -> {
+            throw new IllegalStateException("Not found the discarded call.");
+        });
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import org.lastaflute.core.magic.async.ConcurrentAsyncCall.ConcurrentAsyncImportance;
+
+/**
+ * The callback for asynchronous process that returns result.
+ * @param <RESULT> The type of result.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+@FunctionalInterface
+public interface ConcurrentAsyncSupplyCall<RESULT> {
+
+    /**
+     * Callback your asynchronous process in the other thread.
+     * @return The result of the process, passed to the future. (NullAllowed)
+     */
+    RESULT callback();
+
+    default ConcurrentAsyncImportance importance() {
+        return null; // as default
+    }
+
+    default ConcurrentAsyncOption option() {
+        return new ConcurrentAsyncOption();
+    }
+}
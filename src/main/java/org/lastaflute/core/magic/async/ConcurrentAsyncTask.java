@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import java.util.concurrent.FutureTask;
+
+/**
+ * The task of asynchronous process submitted to thread pool. <br>
+ * It keeps your asynchronous call so that e.g. backpressure handling can identify it.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ConcurrentAsyncTask extends FutureTask<Void> {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ConcurrentAsyncCall asyncCall; // not null
+    protected final String keyword; // not null, e.g. secondary@1a2b3c
+    protected final ConcurrentAsyncPoolMetrics poolMetrics; // null allowed: when no metrics
+    protected final long submittedNanos; // for wait time
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param asyncCall Your asynchronous call. (NotNull)
+     * @param runnable The runnable that executes the call with inherited contexts. (NotNull)
+     * @param keyword The keyword of the pool for logging. (NotNull)
+     * @param poolMetrics The metrics of the pool to record wait and run time. (NullAllowed: when no metrics)
+     */
+    public ConcurrentAsyncTask(ConcurrentAsyncCall asyncCall, Runnable runnable, String keyword, ConcurrentAsyncPoolMetrics poolMetrics) {
+        super(runnable, null);
+        this.asyncCall = asyncCall;
+        this.keyword = keyword;
+        this.poolMetrics = poolMetrics;
+        this.submittedNanos = System.nanoTime();
+    }
+
+    // ===================================================================================
+    //                                                                                 Run
+    //                                                                                 ===
+    @Override
+    public void run() {
+        if (poolMetrics == null) {
+            super.run();
+            return;
+        }
+        final long startedNanos = System.nanoTime();
+        poolMetrics.recordStarted(startedNanos - submittedNanos); // including time in waiting queue
+        try {
+            super.run();
+        } finally {
+            poolMetrics.recordFinished(System.nanoTime() - startedNanos);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "asyncTask:{" + keyword + ", " + asyncCall + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ConcurrentAsyncCall getAsyncCall() {
+        return asyncCall;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public ConcurrentAsyncPoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+}
@@ -30,6 +30,7 @@ public class ConcurrentParallelOption {
     //                                                                           =========
     protected List<Object> parameterList; // null allowed
     protected boolean throwImmediatelyByFirstCause; // null allowed
+    protected Integer concurrencyLimit; // null allowed, null means no limit
 
     // ===================================================================================
     //                                                                              Facade
@@ -45,12 +46,26 @@ public class ConcurrentParallelOption {
         return this;
     }
 
+    /**
+     * Limit the count of runners executed at the same time in this parallel process. <br>
+     * Other runners wait for the finished runners. (threads are shared with other parallel processes)
+     * @param concurrencyLimit The max count of runners at the same time. (Positive)
+     * @return this. (NotNull)
+     */
+    public ConcurrentParallelOption concurrencyLimit(int concurrencyLimit) {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("The argument 'concurrencyLimit' should be positive: " + concurrencyLimit);
+        }
+        this.concurrencyLimit = concurrencyLimit;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
     @Override
     public String toString() {
-        return "{parameterList=" + parameterList + "}";
+        return "{parameterList=" + parameterList + ", concurrencyLimit=" + concurrencyLimit + "}";
     }
 
     // ===================================================================================
@@ -65,4 +80,10 @@ public class ConcurrentParallelOption {
     public boolean isThrowImmediatelyByFirstCause() {
         return throwImmediatelyByFirstCause;
     }
+
+    public OptionalThing<Integer> getConcurrencyLimit() {
+        return OptionalThing.ofNullable(concurrencyLimit, () -> {
+            throw new IllegalStateException("Not found the concurrency limit.");
+        });
+    }
 }
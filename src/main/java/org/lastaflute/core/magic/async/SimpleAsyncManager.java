@@ -20,20 +20,27 @@ import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 
 import org.dbflute.bhv.core.BehaviorCommandHook;
@@ -57,15 +64,19 @@ import org.lastaflute.core.direction.FwAssistantDirector;
 import org.lastaflute.core.direction.FwCoreDirection;
 import org.lastaflute.core.exception.ExceptionTranslator;
 import org.lastaflute.core.magic.ThreadCacheContext;
-import org.lastaflute.core.magic.ThreadCompleted;
+import org.lastaflute.core.magic.ThreadCacheSnapshot;
 import org.lastaflute.core.magic.async.ConcurrentAsyncCall.ConcurrentAsyncImportance;
 import org.lastaflute.core.magic.async.ConcurrentAsyncOption.ConcurrentAsyncInheritType;
+import org.lastaflute.core.magic.async.ConcurrentAsyncPoolOption.ConcurrentAsyncRejectedPolicy;
+import org.lastaflute.core.magic.async.exception.ConcurrentAsyncRejectedException;
 import org.lastaflute.core.magic.async.exception.ConcurrentParallelRunnerException;
 import org.lastaflute.core.magic.async.future.BasicYourFuture;
 import org.lastaflute.core.magic.async.future.DestructiveYourFuture;
+import org.lastaflute.core.magic.async.future.LaSupplyFutureUtil;
 import org.lastaflute.core.magic.async.future.YourFuture;
 import org.lastaflute.core.magic.async.race.LaCountdownRace;
 import org.lastaflute.core.magic.async.race.LaCountdownRaceExecution;
+import org.lastaflute.core.magic.async.race.LaCountdownRaceExecutor;
 import org.lastaflute.core.magic.async.race.LaCountdownRaceRunner;
 import org.lastaflute.core.magic.async.race.exception.LaCountdownRaceExecutionException;
 import org.lastaflute.core.magic.destructive.BowgunDestructiveAdjuster;
@@ -118,9 +129,21 @@ public class SimpleAsyncManager implements AsyncManager {
     /** The service of executor for waiting queue. (NullAllowed: lazy-loaded) */
     protected ExecutorService waitingQueueExecutorService;
 
-    // #thinking countdown-race needs batch thread so cannot pool...!? by jflute
-    ///** The service of executor for countdown race process. (NotNull: after initialization) */
-    //protected ExecutorService countdownRaceExecutorService;
+    /** The capacity of waiting queue, fails over it. (NotZero: after initialization) */
+    protected int waitingQueueCapacity;
+
+    /** The shared executor for countdown race of parallel process, runners run in reserved lanes. (NotNull: after initialization) */
+    protected LaCountdownRaceExecutor countdownRaceExecutor;
+
+    /** The map of metrics for each pool, keyed by executor. (NotNull) */
+    protected final Map<ExecutorService, ConcurrentAsyncPoolMetrics> poolMetricsMap =
+            new ConcurrentHashMap<ExecutorService, ConcurrentAsyncPoolMetrics>();
+
+    /** The service of executor for exporting metrics periodically. (NullAllowed: when no sink) */
+    protected ScheduledExecutorService metricsExportService;
+
+    /** The scheduler for timeout of result-bearing asynchronous process. (NullAllowed: lazy-loaded) */
+    protected volatile ScheduledExecutorService timeoutScheduler;
 
     // ===================================================================================
     //                                                                          Initialize
@@ -137,65 +160,168 @@ public class SimpleAsyncManager implements AsyncManager {
         if (defaultConcurrentAsyncOption == null) {
             defaultConcurrentAsyncOption = new ConcurrentAsyncOption();
         }
+        waitingQueueCapacity = prepareWaitingQueueCapacity(provider);
         primaryExecutorService = createDefaultPrimaryExecutorService(provider);
         secondaryExecutorService = createDefaultSecondaryExecutorService(provider);
-        tertiaryExecutorService = createDefaultSecondaryExecutorService(provider);
+        tertiaryExecutorService = createDefaultTertiaryExecutorService(provider);
+        countdownRaceExecutor = createCountdownRaceExecutor(provider);
+        registerPoolMetrics("primary", primaryExecutorService);
+        registerPoolMetrics("secondary", secondaryExecutorService);
+        registerPoolMetrics("tertiary", tertiaryExecutorService);
+        metricsExportService = prepareMetricsExport(provider);
         showBootLogging();
     }
 
+    /**
+     * Destroy this component, shutting down the internal executors. <br>
+     * This is basically called by DI container when it is destroyed.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (countdownRaceExecutor != null) {
+            countdownRaceExecutor.shutdown(); // running races are finished as they are
+        }
+        if (metricsExportService != null) {
+            metricsExportService.shutdownNow(); // no more export
+        }
+        if (timeoutScheduler != null) {
+            timeoutScheduler.shutdownNow(); // queued timeouts are not needed
+        }
+    }
+
     protected FwCoreDirection assistCoreDirection() {
         return assistantDirector.assistCoreDirection();
     }
 
     protected ExecutorService createDefaultPrimaryExecutorService(ConcurrentAsyncExecutorProvider provider) {
-        return createDefaultExecutorService(provider);
+        return createDefaultExecutorService(provider, ConcurrentAsyncImportance.PRIMARY);
     }
 
     protected ExecutorService createDefaultSecondaryExecutorService(ConcurrentAsyncExecutorProvider provider) {
-        return createDefaultExecutorService(provider);
+        return createDefaultExecutorService(provider, ConcurrentAsyncImportance.SECONDARY);
+    }
+
+    protected ExecutorService createDefaultTertiaryExecutorService(ConcurrentAsyncExecutorProvider provider) {
+        return createDefaultExecutorService(provider, ConcurrentAsyncImportance.TERTIARY);
     }
 
     // -----------------------------------------------------
     //                              Default Executor Service
     //                              ------------------------
-    protected ExecutorService createDefaultExecutorService(ConcurrentAsyncExecutorProvider provider) {
-        final int corePoolSize = 0;
-        Integer maximumPoolSize = provider != null ? provider.provideMaxPoolSize() : null;
-        if (maximumPoolSize == null) {
-            maximumPoolSize = 10;
-        }
+    protected ExecutorService createDefaultExecutorService(ConcurrentAsyncExecutorProvider provider) { // for compatible
+        return createDefaultExecutorService(provider, ConcurrentAsyncImportance.SECONDARY);
+    }
+
+    protected ExecutorService createDefaultExecutorService(ConcurrentAsyncExecutorProvider provider, ConcurrentAsyncImportance importance) {
+        final ConcurrentAsyncPoolOption poolOption = preparePoolOption(provider, importance);
+        final Integer maximumPoolSize = poolOption.getMaxPoolSize().orElseGet(() -> {
+            final Integer providedSize = provider != null ? provider.provideMaxPoolSize() : null;
+            return providedSize != null ? providedSize : 10;
+        });
+        final int queueCapacity = poolOption.getQueueCapacity();
+        // threads over core size are created only when queue is full, so core is max if queue exists
+        final int corePoolSize = queueCapacity > 0 ? maximumPoolSize : 0;
         final long keepAliveTime = 60L;
         final TimeUnit seconds = TimeUnit.SECONDS;
-        final BlockingQueue<Runnable> workQueue = createDefaultBlockingQueue();
-        final RejectedExecutionHandler rejected = createRejectedExecutionHandler();
-        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, seconds, workQueue, rejected);
+        final BlockingQueue<Runnable> workQueue = createDefaultBlockingQueue(queueCapacity);
+        final RejectedExecutionHandler rejected = createRejectedExecutionHandler(poolOption);
+        final ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, seconds, workQueue, rejected);
+        if (corePoolSize > 0) {
+            executor.allowCoreThreadTimeOut(true); // no thread if no task as before
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("...Creating the {} executor service: {}", importance.name().toLowerCase(), poolOption);
+        }
+        return executor;
+    }
+
+    protected ConcurrentAsyncPoolOption preparePoolOption(ConcurrentAsyncExecutorProvider provider, ConcurrentAsyncImportance importance) {
+        final ConcurrentAsyncPoolOption poolOption = provider != null ? provider.providePoolOption(importance) : null;
+        return poolOption != null ? poolOption : new ConcurrentAsyncPoolOption(); // as default
     }
 
     protected BlockingQueue<Runnable> createDefaultBlockingQueue() {
         return new SynchronousQueue<Runnable>(); // waits when pool short
     }
 
+    protected BlockingQueue<Runnable> createDefaultBlockingQueue(int queueCapacity) {
+        if (queueCapacity > 0) {
+            return new LinkedBlockingQueue<Runnable>(queueCapacity); // bounded
+        }
+        return createDefaultBlockingQueue();
+    }
+
+    // -----------------------------------------------------
+    //                               Countdown Race Executor
+    //                               -----------------------
+    protected LaCountdownRaceExecutor createCountdownRaceExecutor(ConcurrentAsyncExecutorProvider provider) {
+        Integer poolSize = provider != null ? provider.provideParallelMaxPoolSize() : null;
+        if (poolSize == null) {
+            poolSize = 50;
+        }
+        return new LaCountdownRaceExecutor("lasta-parallel-", poolSize);
+    }
+
     // -----------------------------------------------------
     //                            Rejected Execution Handler
     //                            --------------------------
-    protected RejectedExecutionHandler createRejectedExecutionHandler() {
+    protected RejectedExecutionHandler createRejectedExecutionHandler() { // for compatible
+        return createRejectedExecutionHandler(new ConcurrentAsyncPoolOption());
+    }
+
+    protected RejectedExecutionHandler createRejectedExecutionHandler(ConcurrentAsyncPoolOption poolOption) {
         return (runnable, executor) -> {
-            handleRejectedExecution(runnable, executor);
+            handleRejectedExecution(runnable, executor, poolOption);
         };
     }
 
+    protected void handleRejectedExecution(Runnable runnable, ThreadPoolExecutor executor, ConcurrentAsyncPoolOption poolOption) { // caller thread
+        findPoolMetrics(executor).ifPresent(metrics -> metrics.recordRejected());
+        final ConcurrentAsyncRejectedPolicy policy = poolOption.getRejectedPolicy();
+        if (ConcurrentAsyncRejectedPolicy.WAITING_QUEUE.equals(policy)) {
+            handleRejectedExecution(runnable, executor);
+        } else if (ConcurrentAsyncRejectedPolicy.CALLER_RUNS.equals(policy)) {
+            handleRejectedAsCallerRuns(runnable, executor);
+        } else if (ConcurrentAsyncRejectedPolicy.DISCARD_OLDEST.equals(policy)) {
+            handleRejectedAsDiscardOldest(runnable, executor, poolOption);
+        } else if (ConcurrentAsyncRejectedPolicy.DISCARD.equals(policy)) {
+            handleDiscardedTask(runnable, executor, poolOption);
+        } else if (ConcurrentAsyncRejectedPolicy.FAIL_FAST.equals(policy)) {
+            throwAsyncRejectedException(runnable, executor, "The thread pool is full.", null);
+        } else { // no way
+            throw new IllegalStateException("Unknown rejected policy: " + policy);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                         Waiting Queue
+    //                                         -------------
     protected void handleRejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) { // caller thread
         if (logger.isDebugEnabled()) {
             logger.debug("#flow #async ...Registering the runnable to waiting queue as retry: " + runnable);
         }
-        getWaitingQueueExecutorService().execute(() -> {
-            try {
-                retryPuttingQueue(runnable, executor);
-            } catch (InterruptedException e) {
-                final String torExp = buildExecutorHashExp(executor);
-                logger.warn("*Failed to put the runnable to the executor" + torExp + "'s queue: " + runnable, e);
-            }
-        });
+        final ExecutorService waitingService = getWaitingQueueExecutorService();
+        final OptionalThing<ConcurrentAsyncPoolMetrics> waitingMetrics = findPoolMetrics(waitingService);
+        final long submittedNanos = System.nanoTime();
+        try {
+            waitingService.execute(() -> {
+                final long startedNanos = System.nanoTime();
+                waitingMetrics.ifPresent(metrics -> metrics.recordStarted(startedNanos - submittedNanos));
+                try {
+                    retryPuttingQueue(runnable, executor);
+                } catch (InterruptedException e) {
+                    final String torExp = buildExecutorHashExp(executor);
+                    logger.warn("*Failed to put the runnable to the executor" + torExp + "'s queue: " + runnable, e);
+                } finally {
+                    waitingMetrics.ifPresent(metrics -> metrics.recordFinished(System.nanoTime() - startedNanos));
+                }
+            });
+            waitingMetrics.ifPresent(metrics -> metrics.recordSubmitted());
+        } catch (RejectedExecutionException e) { // waiting queue is also full
+            waitingMetrics.ifPresent(metrics -> metrics.recordRejected());
+            throwAsyncRejectedException(runnable, executor, "The waiting queue is also full: capacity=" + waitingQueueCapacity, e);
+        }
     }
 
     protected ExecutorService getWaitingQueueExecutorService() { // caller thread
@@ -207,13 +333,22 @@ public class SimpleAsyncManager implements AsyncManager {
                 return waitingQueueExecutorService;
             }
             logger.info("#flow #async ...Creating the executor service for waiting queue.");
-            waitingQueueExecutorService = newWaitingQueueExecutorService();
+            final ExecutorService service = newWaitingQueueExecutorService();
+            registerPoolMetrics("waiting", service); // before publishing the service
+            waitingQueueExecutorService = service;
             return waitingQueueExecutorService;
         }
     }
 
     protected ExecutorService newWaitingQueueExecutorService() { // caller thread
-        return Executors.newFixedThreadPool(2); // not only one just in case
+        final int threadCount = 2; // not only one just in case
+        final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<Runnable>(waitingQueueCapacity); // not to grow infinitely
+        return new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, workQueue); // abort if full
+    }
+
+    protected int prepareWaitingQueueCapacity(ConcurrentAsyncExecutorProvider provider) {
+        final Integer capacity = provider != null ? provider.provideWaitingQueueCapacity() : null;
+        return capacity != null ? capacity : 10000;
     }
 
     protected void retryPuttingQueue(Runnable runnable, ThreadPoolExecutor executor) throws InterruptedException { // waiting queue thread
@@ -228,10 +363,140 @@ public class SimpleAsyncManager implements AsyncManager {
         }
     }
 
+    // -----------------------------------------------------
+    //                                           Caller Runs
+    //                                           -----------
+    protected void handleRejectedAsCallerRuns(Runnable runnable, ThreadPoolExecutor executor) { // caller thread
+        if (executor.isShutdown()) { // no way to run
+            throwAsyncRejectedException(runnable, executor, "The thread pool has been shut down.", null);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("#flow #async ...Running the runnable in caller thread because the pool is full: " + runnable);
+        }
+        // the runnable prepares and clears contexts so caller's contexts should be restored
+        final Map<String, Object> callerThreadCacheMap =
+                ThreadCacheContext.exists() ? new HashMap<String, Object>(ThreadCacheContext.getReadOnlyCacheMap()) : null;
+        final AccessContext callerAccessContext = PreparedAccessContext.getAccessContextOnThread();
+        final CallbackContext callerCallbackContext = CallbackContext.getCallbackContextOnThread();
+        try {
+            runnable.run(); // exception is handled in the runnable
+        } finally {
+            if (callerThreadCacheMap != null) {
+                ThreadCacheContext.initialize();
+                callerThreadCacheMap.forEach((key, value) -> ThreadCacheContext.setObject(key, value));
+            } else {
+                ThreadCacheContext.clear();
+            }
+            if (callerAccessContext != null) {
+                PreparedAccessContext.setAccessContextOnThread(callerAccessContext);
+            } else {
+                PreparedAccessContext.clearAccessContextOnThread();
+            }
+            if (callerCallbackContext != null) {
+                CallbackContext.setCallbackContextOnThread(callerCallbackContext);
+            } else {
+                CallbackContext.clearCallbackContextOnThread();
+            }
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                               Discard
+    //                                               -------
+    protected void handleRejectedAsDiscardOldest(Runnable runnable, ThreadPoolExecutor executor, ConcurrentAsyncPoolOption poolOption) { // caller thread
+        final Runnable oldest = executor.getQueue().poll(); // null if no queue
+        if (oldest != null && executor.getQueue().offer(runnable)) {
+            handleDiscardedTask(oldest, executor, poolOption);
+        } else { // no queue or other thread put new one
+            handleDiscardedTask(runnable, executor, poolOption);
+        }
+    }
+
+    protected void handleDiscardedTask(Runnable discarded, ThreadPoolExecutor executor, ConcurrentAsyncPoolOption poolOption) {
+        findPoolMetrics(executor).ifPresent(metrics -> metrics.recordDiscarded());
+        if (discarded instanceof Future<?>) { // basically ConcurrentAsyncTask
+            ((Future<?>) discarded).cancel(false); // not to wait for the discarded forever
+        }
+        if (discarded instanceof ConcurrentAsyncTask) {
+            final ConcurrentAsyncCall asyncCall = ((ConcurrentAsyncTask) discarded).getAsyncCall();
+            if (asyncCall instanceof SupplyAsyncCall<?>) { // supply() caller waits for the result
+                final String torExp = buildExecutorHashExp(executor);
+                final String msg = "Discarded the asynchronous process because the executor" + torExp + " is full: " + discarded;
+                ((SupplyAsyncCall<?>) asyncCall).discard(new ConcurrentAsyncRejectedException(msg));
+            }
+        }
+        final OptionalThing<ConcurrentAsyncDiscardedCall> optCall = poolOption.getDiscardedCall();
+        if (optCall.isPresent() && discarded instanceof ConcurrentAsyncTask) {
+            optCall.get().callback((ConcurrentAsyncTask) discarded);
+        } else {
+            final String torExp = buildExecutorHashExp(executor);
+            logger.warn("*Discarded the asynchronous process because the executor" + torExp + " is full: " + discarded);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                    Rejected Exception
+    //                                    ------------------
+    protected void throwAsyncRejectedException(Runnable runnable, ThreadPoolExecutor executor, String reason, Throwable cause) {
+        findPoolMetrics(executor).ifPresent(metrics -> metrics.recordDiscarded()); // failed so not executed
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Rejected the asynchronous process by the full thread pool.");
+        br.addItem("Advice");
+        br.addElement("Too many asynchronous processes are requested at the same time.");
+        br.addElement("Reduce the processes or adjust the pool option by ConcurrentAsyncExecutorProvider.");
+        br.addItem("Reason");
+        br.addElement(reason);
+        br.addItem("Executor");
+        br.addElement(executor);
+        br.addItem("Runnable");
+        br.addElement(runnable);
+        final String msg = br.buildExceptionMessage();
+        throw new ConcurrentAsyncRejectedException(msg, cause);
+    }
+
     protected String buildExecutorHashExp(ExecutorService executor) {
         return "@" + Integer.toHexString(executor.hashCode());
     }
 
+    // -----------------------------------------------------
+    //                                          Pool Metrics
+    //                                          ------------
+    protected void registerPoolMetrics(String poolTitle, ExecutorService executor) {
+        poolMetricsMap.put(executor, newPoolMetrics(poolTitle, executor));
+    }
+
+    protected ConcurrentAsyncPoolMetrics newPoolMetrics(String poolTitle, ExecutorService executor) {
+        return new ConcurrentAsyncPoolMetrics(poolTitle, executor);
+    }
+
+    protected OptionalThing<ConcurrentAsyncPoolMetrics> findPoolMetrics(ExecutorService executor) {
+        return OptionalThing.ofNullable(poolMetricsMap.get(executor), () -> {
+            throw new IllegalStateException("Not found the metrics for the executor: " + executor);
+        });
+    }
+
+    protected ScheduledExecutorService prepareMetricsExport(ConcurrentAsyncExecutorProvider provider) {
+        final ConcurrentAsyncMetricsSink sink = provider != null ? provider.provideMetricsSink() : null;
+        if (sink == null) {
+            return null;
+        }
+        final Integer providedSeconds = provider.provideMetricsExportIntervalSeconds();
+        final long intervalSeconds = providedSeconds != null ? providedSeconds : 60L;
+        final ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "lasta-async-metrics");
+            thread.setDaemon(true); // not to block shutdown of application
+            return thread;
+        });
+        service.scheduleWithFixedDelay(() -> {
+            try {
+                sink.export(getPoolMetricsList());
+            } catch (RuntimeException e) { // not to stop next export
+                logger.warn("Failed to export the metrics of async pools to the sink: " + sink, e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        return service;
+    }
+
     // -----------------------------------------------------
     //                                          Boot Logging
     //                                          ------------
@@ -242,6 +507,9 @@ public class SimpleAsyncManager implements AsyncManager {
             logger.info(" primaryExecutorService: " + buildExecutorNamedExp(primaryExecutorService));
             logger.info(" secondaryExecutorService: " + buildExecutorNamedExp(secondaryExecutorService));
             logger.info(" tertiaryExecutorService: " + buildExecutorNamedExp(tertiaryExecutorService));
+            logger.info(" waitingQueueCapacity: " + waitingQueueCapacity);
+            logger.info(" metricsExport: " + (metricsExportService != null ? "enabled" : "disabled"));
+            logger.info(" countdownRaceExecutor: " + countdownRaceExecutor);
         }
     }
 
@@ -293,9 +561,13 @@ public class SimpleAsyncManager implements AsyncManager {
             return destructiveNormalSync(callback);
         } else { // basically here
             final String keyword = title + buildExecutorHashExp(service);
-            final Runnable task = createRunnable(callback, keyword);
-            final Future<?> nativeFuture = service.submit(task); // real asynchronous
-            return new BasicYourFuture(nativeFuture);
+            final ConcurrentAsyncPoolMetrics metrics = findPoolMetrics(service).orElse(null); // null allowed if overridden
+            final ConcurrentAsyncTask task = new ConcurrentAsyncTask(callback, createRunnable(callback, keyword), keyword, metrics);
+            if (metrics != null) {
+                metrics.recordSubmitted();
+            }
+            service.execute(task); // real asynchronous, may be handled by backpressure policy
+            return new BasicYourFuture(task);
         }
     }
 
@@ -308,16 +580,112 @@ public class SimpleAsyncManager implements AsyncManager {
         return new DestructiveYourFuture();
     }
 
+    // ===================================================================================
+    //                                                                        Supply Entry
+    //                                                                        ============
+    @Override
+    public <RESULT> CompletableFuture<RESULT> supply(ConcurrentAsyncSupplyCall<RESULT> noArgLambda) {
+        assertSupplyCallbackNotNull(noArgLambda);
+        final CompletableFuture<RESULT> resultFuture = new CompletableFuture<RESULT>();
+        final YourFuture yourFuture = async(createSupplyAsyncCall(noArgLambda, resultFuture)); // inherits contexts
+        resultFuture.whenComplete((result, cause) -> {
+            if (cause != null) { // e.g. cancelled, timeout, failure in the process
+                yourFuture.cancel(); // interrupts if still running, no effect if already done
+            }
+        });
+        return resultFuture;
+    }
+
+    @Override
+    public <RESULT> CompletableFuture<RESULT> supply(ConcurrentAsyncSupplyCall<RESULT> noArgLambda, long timeoutMillis) {
+        assertTimeoutMillisPositive(timeoutMillis);
+        return applyTimeout(supply(noArgLambda), timeoutMillis);
+    }
+
+    @Override
+    public <RESULT> CompletableFuture<List<RESULT>> supplyAll(List<ConcurrentAsyncSupplyCall<RESULT>> callList, long timeoutMillis) {
+        assertTimeoutMillisPositive(timeoutMillis);
+        return applyTimeout(LaSupplyFutureUtil.supplyAll(callList, call -> supply(call)), timeoutMillis); // shared scheduler
+    }
+
+    protected <RESULT> ConcurrentAsyncCall createSupplyAsyncCall(ConcurrentAsyncSupplyCall<RESULT> supplyCall,
+            CompletableFuture<RESULT> resultFuture) {
+        return new SupplyAsyncCall<RESULT>(supplyCall, resultFuture);
+    }
+
+    protected static class SupplyAsyncCall<RESULT> implements ConcurrentAsyncCall {
+
+        protected final ConcurrentAsyncSupplyCall<RESULT> supplyCall; // not null
+        protected final CompletableFuture<RESULT> resultFuture; // not null
+
+        public SupplyAsyncCall(ConcurrentAsyncSupplyCall<RESULT> supplyCall, CompletableFuture<RESULT> resultFuture) {
+            this.supplyCall = supplyCall;
+            this.resultFuture = resultFuture;
+        }
+
+        @Override
+        public void callback() {
+            try {
+                resultFuture.complete(supplyCall.callback());
+            } catch (Throwable cause) { // handled by caller via the future
+                resultFuture.completeExceptionally(cause);
+            }
+        }
+
+        /**
+         * Complete the result future exceptionally because the process is never executed.
+         * @param cause The exception that explains why the process is discarded. (NotNull)
+         */
+        public void discard(Throwable cause) { // not to wait for the result forever
+            resultFuture.completeExceptionally(cause);
+        }
+
+        @Override
+        public ConcurrentAsyncImportance importance() {
+            return supplyCall.importance();
+        }
+
+        @Override
+        public ConcurrentAsyncOption option() {
+            return supplyCall.option();
+        }
+
+        @Override
+        public String toString() {
+            return "supply:{" + supplyCall + "}";
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                               Timeout
+    //                                               -------
+    protected <RESULT> CompletableFuture<RESULT> applyTimeout(CompletableFuture<RESULT> future, long timeoutMillis) {
+        return LaSupplyFutureUtil.applyTimeout(future, timeoutMillis, getTimeoutScheduler());
+    }
+
+    protected ScheduledExecutorService getTimeoutScheduler() {
+        if (timeoutScheduler != null) {
+            return timeoutScheduler;
+        }
+        synchronized (this) {
+            if (timeoutScheduler != null) {
+                return timeoutScheduler;
+            }
+            timeoutScheduler = LaSupplyFutureUtil.createTimeoutScheduler(); // shut down when destroyed
+            return timeoutScheduler;
+        }
+    }
+
     // ===================================================================================
     //                                                                     Create Runnable
     //                                                                     ===============
     protected Runnable createRunnable(ConcurrentAsyncCall call, String keyword) { // in caller thread
-        final Map<String, Object> threadCacheMap = inheritThreadCacheContext(call);
+        final ThreadCacheSnapshot threadCacheSnapshot = inheritThreadCacheContext(call);
         final AccessContext accessContext = inheritAccessContext(call);
         final CallbackContext callbackContext = inheritCallbackContext(call);
         final Map<String, Object> variousContextMap = findCallerVariousContextMap();
         return () -> { // in new thread
-            prepareThreadCacheContext(call, threadCacheMap);
+            prepareThreadCacheContext(call, threadCacheSnapshot);
             preparePreparedAccessContext(call, accessContext);
             prepareCallbackContext(call, callbackContext);
             final Object variousPreparedObj = prepareVariousContext(call, variousContextMap);
@@ -380,26 +748,20 @@ public class SimpleAsyncManager implements AsyncManager {
     // ===================================================================================
     //                                                                        Thread Cache
     //                                                                        ============
-    protected Map<String, Object> inheritThreadCacheContext(ConcurrentAsyncCall call) {
+    protected ThreadCacheSnapshot inheritThreadCacheContext(ConcurrentAsyncCall call) {
         return doInheritThreadCacheContext();
     }
 
-    protected Map<String, Object> doInheritThreadCacheContext() {
-        return new HashMap<String, Object>(ThreadCacheContext.getReadOnlyCacheMap());
+    protected ThreadCacheSnapshot doInheritThreadCacheContext() {
+        return ThreadCacheContext.snapshot(); // no copy here, copy-on-write
     }
 
-    protected void prepareThreadCacheContext(ConcurrentAsyncCall call, Map<String, Object> threadCacheMap) {
-        doPrepareThreadCacheContext(threadCacheMap);
+    protected void prepareThreadCacheContext(ConcurrentAsyncCall call, ThreadCacheSnapshot threadCacheSnapshot) {
+        doPrepareThreadCacheContext(threadCacheSnapshot);
     }
 
-    protected void doPrepareThreadCacheContext(Map<String, Object> threadCacheMap) {
-        ThreadCacheContext.initialize();
-        threadCacheMap.forEach((key, value) -> {
-            if (value instanceof ThreadCompleted) { // cannot be inherited
-                return;
-            }
-            ThreadCacheContext.setObject(key, value);
-        });
+    protected void doPrepareThreadCacheContext(ThreadCacheSnapshot threadCacheSnapshot) {
+        ThreadCacheContext.initialize(threadCacheSnapshot); // thread completed values are hidden
     }
 
     protected void clearThreadCacheContext(ConcurrentAsyncCall call) {
@@ -836,20 +1198,20 @@ public class SimpleAsyncManager implements AsyncManager {
         }
         createCountdownRace(option).readyGo(new LaCountdownRaceExecution() {
 
-            protected Map<String, Object> threadCacheMap; // not null after ready
+            protected ThreadCacheSnapshot threadCacheSnapshot; // not null after ready
             protected AccessContext accessContext; // null allowed after ready
             protected CallbackContext callbackContext; // null allowed after ready
 
             @Override
             public void readyCaller() { // in caller thread
-                threadCacheMap = doInheritThreadCacheContext(); // not null
+                threadCacheSnapshot = doInheritThreadCacheContext(); // not null
                 accessContext = doInheritAccessContext(); // null allowed
                 callbackContext = doInheritCallbackContext(() -> {}); // null allowed, dummy call here
             }
 
             @Override
             public void hookBeforeCountdown() { // in new thread
-                doPrepareThreadCacheContext(threadCacheMap);
+                doPrepareThreadCacheContext(threadCacheSnapshot);
                 doPreparePreparedAccessContext(accessContext);
                 doPrepareCallbackContext(callbackContext);
             }
@@ -879,11 +1241,11 @@ public class SimpleAsyncManager implements AsyncManager {
     }
 
     protected LaCountdownRace createCountdownRace(ConcurrentParallelOption option) {
-        return option.getParameterList().map(parameterList -> {
-            return new LaCountdownRace(parameterList);
-        }).orElseGet(() -> {
-            return new LaCountdownRace(5);
+        final List<Object> parameterList = option.getParameterList().orElseGet(() -> {
+            return Collections.nCopies(5, null); // five runners without parameter as before
         });
+        final int concurrencyLimit = option.getConcurrencyLimit().orElse(0); // zero means no limit
+        return new LaCountdownRace(parameterList, countdownRaceExecutor, concurrencyLimit);
     }
 
     protected ConcurrentParallelRunner createConcurrentParallelRunner(LaCountdownRaceRunner nativeRunner) {
@@ -909,6 +1271,23 @@ public class SimpleAsyncManager implements AsyncManager {
         });
     }
 
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    @Override
+    public List<ConcurrentAsyncPoolMetrics> getPoolMetricsList() {
+        final List<ConcurrentAsyncPoolMetrics> metricsList = new ArrayList<ConcurrentAsyncPoolMetrics>(4);
+        findPoolMetricsIfExists(primaryExecutorService).ifPresent(metrics -> metricsList.add(metrics));
+        findPoolMetricsIfExists(secondaryExecutorService).ifPresent(metrics -> metricsList.add(metrics));
+        findPoolMetricsIfExists(tertiaryExecutorService).ifPresent(metrics -> metricsList.add(metrics));
+        findPoolMetricsIfExists(waitingQueueExecutorService).ifPresent(metrics -> metricsList.add(metrics));
+        return Collections.unmodifiableList(metricsList);
+    }
+
+    protected OptionalThing<ConcurrentAsyncPoolMetrics> findPoolMetricsIfExists(ExecutorService executor) { // null allowed
+        return executor != null ? findPoolMetrics(executor) : OptionalThing.empty();
+    }
+
     // ===================================================================================
     //                                                                       Assert Helper
     //                                                                       =============
@@ -918,6 +1297,16 @@ public class SimpleAsyncManager implements AsyncManager {
         }
     }
 
+    protected void assertSupplyCallbackNotNull(ConcurrentAsyncSupplyCall<?> callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("The argument 'callback' should not be null.");
+        }
+    }
+
+    protected void assertTimeoutMillisPositive(long timeoutMillis) {
+        LaSupplyFutureUtil.assertTimeoutMillisPositive(timeoutMillis);
+    }
+
     protected void assertExecutorServiceValid() {
         if (primaryExecutorService == null) {
             throw new IllegalArgumentException("The primaryExecutorService should not be null.");
@@ -47,4 +47,9 @@ public class BasicYourFuture implements YourFuture {
             throw new YourFutureWaitForDoneFailureException(msg, e.getCause());
         }
     }
+
+    @Override
+    public boolean cancel() {
+        return wrapped.cancel(true);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async.future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.lastaflute.core.magic.async.ConcurrentAsyncSupplyCall;
+
+/**
+ * The utility of futures for result-bearing asynchronous process, e.g. timeout, fan-out/fan-in.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class LaSupplyFutureUtil {
+
+    // ===================================================================================
+    //                                                                             Timeout
+    //                                                                             =======
+    /**
+     * Apply the timeout to the future by the scheduler, completed by TimeoutException if over timeout.
+     * @param <RESULT> The type of result.
+     * @param future The future of result to be timed out. (NotNull)
+     * @param timeoutMillis The timeout milliseconds. (Positive)
+     * @param scheduler The scheduler for the timeout, shared in your manager. (NotNull)
+     * @return The same future as the argument. (NotNull)
+     */
+    public static <RESULT> CompletableFuture<RESULT> applyTimeout(CompletableFuture<RESULT> future, long timeoutMillis,
+            ScheduledExecutorService scheduler) {
+        assertTimeoutMillisPositive(timeoutMillis);
+        final ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            final String msg = "The asynchronous process was not done within " + timeoutMillis + " milliseconds.";
+            future.completeExceptionally(new TimeoutException(msg)); // cancels process by the completion hook
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, cause) -> timeout.cancel(false));
+        return future;
+    }
+
+    /**
+     * Apply the timeout to the future by one-shot timer, which is shut down when the future is completed. <br>
+     * It uses one thread per future, so a manager should use shared scheduler instead if it can.
+     * @param <RESULT> The type of result.
+     * @param future The future of result to be timed out. (NotNull)
+     * @param timeoutMillis The timeout milliseconds. (Positive)
+     * @return The same future as the argument. (NotNull)
+     */
+    public static <RESULT> CompletableFuture<RESULT> applyTimeoutByOneShotTimer(CompletableFuture<RESULT> future, long timeoutMillis) {
+        assertTimeoutMillisPositive(timeoutMillis);
+        final ScheduledExecutorService timer = createTimeoutScheduler();
+        future.whenComplete((result, cause) -> timer.shutdownNow()); // no thread is left
+        return applyTimeout(future, timeoutMillis, timer);
+    }
+
+    /**
+     * @return The new-created scheduler for timeout, having one daemon thread. (NotNull)
+     */
+    public static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "lasta-async-timeout");
+            thread.setDaemon(true); // not to block shutdown of application
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true); // not to keep cancelled timeouts until the delay
+        return scheduler;
+    }
+
+    // ===================================================================================
+    //                                                                          Supply All
+    //                                                                          ==========
+    /**
+     * Supply the processes at the same time and gather the results (fan-out/fan-in). <br>
+     * When one process fails, the others are cancelled. (no timeout here)
+     * @param <RESULT> The type of result.
+     * @param callList The list of callback for asynchronous process that returns result. (NotNull, EmptyAllowed)
+     * @param supplier The function to supply the process, e.g. asyncManager.supply(). (NotNull)
+     * @return The future of result list in the same order as the call list. (NotNull)
+     */
+    public static <RESULT> CompletableFuture<List<RESULT>> supplyAll(List<ConcurrentAsyncSupplyCall<RESULT>> callList,
+            Function<ConcurrentAsyncSupplyCall<RESULT>, CompletableFuture<RESULT>> supplier) {
+        if (callList == null) {
+            throw new IllegalArgumentException("The argument 'callList' should not be null.");
+        }
+        final List<CompletableFuture<RESULT>> futureList = new ArrayList<CompletableFuture<RESULT>>(callList.size());
+        try {
+            for (ConcurrentAsyncSupplyCall<RESULT> call : callList) { // fan-out
+                futureList.add(supplier.apply(call)); // may throw e.g. rejected exception by fail-fast policy
+            }
+        } catch (RuntimeException | Error e) { // already-started ones are not needed
+            futureList.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        final CompletableFuture<Void> allFuture = CompletableFuture.allOf(futureList.toArray(new CompletableFuture<?>[futureList.size()]));
+        final CompletableFuture<List<RESULT>> resultFuture = allFuture.thenApply(none -> { // fan-in
+            final List<RESULT> resultList = new ArrayList<RESULT>(futureList.size());
+            for (CompletableFuture<RESULT> future : futureList) {
+                resultList.add(future.join()); // already done
+            }
+            return resultList;
+        });
+        for (CompletableFuture<RESULT> future : futureList) {
+            future.whenComplete((result, cause) -> {
+                if (cause != null) { // fail fast, not waiting for others
+                    resultFuture.completeExceptionally(cause);
+                }
+            });
+        }
+        resultFuture.whenComplete((resultList, cause) -> {
+            if (cause != null) { // others are not needed, e.g. failure, timeout
+                futureList.forEach(future -> future.cancel(true));
+            }
+        });
+        return resultFuture;
+    }
+
+    // ===================================================================================
+    //                                                                       Assert Helper
+    //                                                                       =============
+    public static void assertTimeoutMillisPositive(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("The argument 'timeoutMillis' should be positive: " + timeoutMillis);
+        }
+    }
+}
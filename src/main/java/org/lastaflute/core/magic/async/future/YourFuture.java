@@ -32,6 +32,14 @@ public interface YourFuture {
      */
     void waitForDone();
 
+    /**
+     * Cancel the asynchronous execution, interrupting the thread if running.
+     * @return true if cancelled, false if already done or cannot be cancelled.
+     */
+    default boolean cancel() {
+        return false;
+    }
+
     public static class YourFutureInterruptedException extends RuntimeException {
 
         private static final long serialVersionUID = 1L;
@@ -20,12 +20,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.helper.thread.CountDownRace;
@@ -49,7 +53,9 @@ public class LaCountdownRace { // migrated from DBFlute
     //                                                                           Attribute
     //                                                                           =========
     protected final Map<Integer, Object> _runnerRequestMap; // map:{entryNumber, parameterObject} 
-    protected final ExecutorService _service;
+    protected final ExecutorService _service; // null allowed: when shared executor
+    protected final LaCountdownRaceExecutor _raceExecutor; // null allowed: when own service
+    protected final int _concurrencyLimit; // zero means no limit (all runners at the same time)
 
     // ===================================================================================
     //                                                                         Constructor
@@ -65,6 +71,8 @@ public class LaCountdownRace { // migrated from DBFlute
             _runnerRequestMap.put(entryNumber, null);
         }
         _service = prepareExecutorService();
+        _raceExecutor = null;
+        _concurrencyLimit = 0;
     }
 
     public LaCountdownRace(List<Object> parameterList) { // assigned by parameters (the size is runner count)
@@ -79,6 +87,38 @@ public class LaCountdownRace { // migrated from DBFlute
             ++index;
         }
         _service = prepareExecutorService();
+        _raceExecutor = null;
+        _concurrencyLimit = 0;
+    }
+
+    /**
+     * Create the race executed by the shared executor. <br>
+     * Runners are executed in lanes reserved from the executor, so the limit should be zero
+     * if runners wait for each other e.g. {@link LaCountdownRaceRunner#restart()}.
+     * @param parameterList The list of parameter for runners, the size is runner count. (NotNull)
+     * @param raceExecutor The shared executor for countdown race. (NotNull)
+     * @param concurrencyLimit The max count of runners at the same time in this race. (NotMinus: zero means no limit)
+     */
+    public LaCountdownRace(List<Object> parameterList, LaCountdownRaceExecutor raceExecutor, int concurrencyLimit) {
+        if (parameterList == null) {
+            throw new IllegalArgumentException("The argument 'parameterList' should not be null.");
+        }
+        if (raceExecutor == null) {
+            throw new IllegalArgumentException("The argument 'raceExecutor' should not be null.");
+        }
+        if (concurrencyLimit < 0) {
+            throw new IllegalArgumentException("The argument 'concurrencyLimit' should not be minus: " + concurrencyLimit);
+        }
+        _runnerRequestMap = newRunnerRequestMap(parameterList.size());
+        int index = 0;
+        for (Object parameter : parameterList) {
+            final int entryNumber = index + 1;
+            _runnerRequestMap.put(entryNumber, parameter);
+            ++index;
+        }
+        _service = null; // uses shared executor
+        _raceExecutor = raceExecutor;
+        _concurrencyLimit = concurrencyLimit;
     }
 
     protected Map<Integer, Object> newRunnerRequestMap(int size) {
@@ -110,13 +150,16 @@ public class LaCountdownRace { // migrated from DBFlute
         final LaCountdownRaceLatch ourLatch = new LaCountdownRaceLatch(runnerCount);
         final Object lockObj = new Object();
         final List<Future<Void>> futureList = new ArrayList<Future<Void>>();
+        final List<FutureTask<Void>> taskList = new ArrayList<FutureTask<Void>>(runnerCount);
         for (Entry<Integer, Object> entry : _runnerRequestMap.entrySet()) {
             final Integer entryNumber = entry.getKey();
             final Object parameter = entry.getValue(); // null allowed
             final Callable<Void> callable = createCallable(execution, ready, start, goal, ourLatch, entryNumber, parameter, lockObj);
-            final Future<Void> future = _service.submit(callable);
-            futureList.add(future);
+            final FutureTask<Void> task = new FutureTask<Void>(callable);
+            taskList.add(task);
+            futureList.add(task);
         }
+        dispatchRunner(taskList);
 
         if (_log.isDebugEnabled()) {
             _log.debug("...Ready Go! CountDownRace just begun! (runner=" + runnerCount + ")");
@@ -135,6 +178,69 @@ public class LaCountdownRace { // migrated from DBFlute
         handleFuture(futureList, execution);
     }
 
+    // -----------------------------------------------------
+    //                                       Dispatch Runner
+    //                                       ---------------
+    protected void dispatchRunner(List<FutureTask<Void>> taskList) {
+        if (_raceExecutor != null) {
+            dispatchBySharedExecutor(taskList);
+        } else {
+            dispatchByService(taskList, _service);
+        }
+    }
+
+    protected void dispatchByService(List<FutureTask<Void>> taskList, ExecutorService service) {
+        for (FutureTask<Void> task : taskList) {
+            service.execute(task);
+        }
+    }
+
+    protected void dispatchBySharedExecutor(List<FutureTask<Void>> taskList) {
+        final int runnerCount = taskList.size();
+        final int requestedCount = _concurrencyLimit > 0 ? Math.min(_concurrencyLimit, runnerCount) : runnerCount;
+        final int laneCount = _raceExecutor.reserve(requestedCount);
+        if (laneCount == 0) { // e.g. nested race when no lane
+            dispatchByTemporaryService(taskList);
+            return;
+        }
+        if (_log.isDebugEnabled()) {
+            _log.debug("...Reserving lanes for countdown race: lanes=" + laneCount + ", runners=" + runnerCount + ", " + _raceExecutor);
+        }
+        final Queue<FutureTask<Void>> taskQueue = new ConcurrentLinkedQueue<FutureTask<Void>>(taskList);
+        int executedCount = 0;
+        try {
+            for (int i = 0; i < laneCount; i++) {
+                _raceExecutor.executeLane(() -> { // each lane runs runners until no runner
+                    FutureTask<Void> task;
+                    while ((task = taskQueue.poll()) != null) {
+                        task.run(); // exception is kept in the task
+                    }
+                });
+                ++executedCount;
+            }
+        } catch (RejectedExecutionException e) { // e.g. after shutdown
+            _raceExecutor.release(laneCount - executedCount);
+            if (executedCount == 0) {
+                dispatchByTemporaryService(taskList);
+            } // otherwise executed lanes run all runners
+        }
+    }
+
+    protected void dispatchByTemporaryService(List<FutureTask<Void>> taskList) {
+        if (_log.isDebugEnabled()) {
+            _log.debug("...Using temporary executor for countdown race because of no lane: " + _raceExecutor);
+        }
+        final ExecutorService temporaryService = prepareExecutorService();
+        try {
+            dispatchByService(taskList, temporaryService);
+        } finally {
+            temporaryService.shutdown(); // threads end after runners
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                         Handle Future
+    //                                         -------------
     protected void handleFuture(List<Future<Void>> futureList, LaCountdownRaceExecution execution) {
         final boolean throwImmediatelyByFirstCause = execution.isThrowImmediatelyByFirstCause();
         final List<Throwable> runnerCauseList = new ArrayList<Throwable>();
@@ -228,7 +334,7 @@ public class LaCountdownRace { // migrated from DBFlute
         return new Callable<Void>() {
             public Void call() { // each thread here
                 execution.hookBeforeCountdown();
-                final long threadId = Thread.currentThread().getId();
+                final long threadId = deriveRunnerThreadId();
                 try {
                     ready.countDown();
                     try {
@@ -256,6 +362,11 @@ public class LaCountdownRace { // migrated from DBFlute
         };
     }
 
+    protected long deriveRunnerThreadId() {
+        // lane thread of shared executor runs several runners so unique ID instead of thread ID
+        return _raceExecutor != null ? _raceExecutor.nextRunnerId() : Thread.currentThread().getId();
+    }
+
     protected LaCountdownRaceRunner createRunner(long threadId, LaCountdownRaceLatch ourLatch, int entryNumber, Object parameter,
             Object lockObj) {
         return new LaCountdownRaceRunner(threadId, ourLatch, entryNumber, parameter, lockObj, _runnerRequestMap.size());
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async.race;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shared executor for countdown races, bounded by pool size. <br>
+ * Each race reserves lanes (threads) before running, and runners of the race are executed in the lanes.
+ * So threads are reused among races and the total count of race threads does not exceed the pool size.
+ * <pre>
+ * e.g. pool size 6
+ *  race A (3 runners)             : reserves 3 lanes, runs 3 runners at the same time
+ *  race B (10 runners, limit 2)   : reserves 2 lanes, runs 10 runners by 2 threads
+ *  race C (5 runners)             : waits for lanes released by A or B
+ * </pre>
+ * A nested race in a lane thread does not wait for lanes to avoid dead lock,
+ * it uses a temporary executor if no lane is available. (also when waiting for lanes is timeout)
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class LaCountdownRaceExecutor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final ThreadLocal<Boolean> inLaneLocal = new ThreadLocal<Boolean>();
+    protected static final long DEFAULT_LANE_WAITING_MILLIS = 3000L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String threadNamePrefix; // not null
+    protected final int poolSize; // positive
+    protected final long laneWaitingMillis; // not minus, zero means no waiting
+    protected final Semaphore laneSemaphore; // not null, permits are lanes
+    protected final ThreadPoolExecutor laneExecutor; // not null
+    protected final AtomicLong runnerIdSequence = new AtomicLong(); // for unique ID of runners in lanes
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param threadNamePrefix The prefix of thread name for lanes. (NotNull)
+     * @param poolSize The max count of lane threads. (Positive)
+     */
+    public LaCountdownRaceExecutor(String threadNamePrefix, int poolSize) {
+        this(threadNamePrefix, poolSize, DEFAULT_LANE_WAITING_MILLIS);
+    }
+
+    /**
+     * @param threadNamePrefix The prefix of thread name for lanes. (NotNull)
+     * @param poolSize The max count of lane threads. (Positive)
+     * @param laneWaitingMillis The timeout milliseconds for waiting lanes, temporary executor is used after it. (NotMinus)
+     */
+    public LaCountdownRaceExecutor(String threadNamePrefix, int poolSize, long laneWaitingMillis) {
+        assertArgumentNotNull("threadNamePrefix", threadNamePrefix);
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("The argument 'poolSize' should be positive: " + poolSize);
+        }
+        if (laneWaitingMillis < 0) {
+            throw new IllegalArgumentException("The argument 'laneWaitingMillis' should not be minus: " + laneWaitingMillis);
+        }
+        this.threadNamePrefix = threadNamePrefix;
+        this.poolSize = poolSize;
+        this.laneWaitingMillis = laneWaitingMillis;
+        this.laneSemaphore = new Semaphore(poolSize, /*fair*/true); // to avoid starvation of big race
+        this.laneExecutor = createLaneExecutor();
+    }
+
+    protected ThreadPoolExecutor createLaneExecutor() {
+        // core is same as max so queued lanes are executed by existing threads
+        // and the queue size is limited by lane reservation
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), createLaneThreadFactory());
+        executor.allowCoreThreadTimeOut(true); // no thread if no race
+        return executor;
+    }
+
+    protected ThreadFactory createLaneThreadFactory() {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // not to block shutdown of application
+            return thread;
+        };
+    }
+
+    // ===================================================================================
+    //                                                                        Lane Control
+    //                                                                        ============
+    /**
+     * Reserve lanes for one race, waiting for lanes released by other races until the timeout. <br>
+     * You should release them by executed lanes or {@link #release(int)}.
+     * @param requestedCount The count of requested lanes, over pool size is treated as pool size. (Positive)
+     * @return The count of reserved lanes. (ZeroAllowed: when no lane for nested race or timeout)
+     */
+    public int reserve(int requestedCount) {
+        if (requestedCount <= 0) {
+            throw new IllegalArgumentException("The argument 'requestedCount' should be positive: " + requestedCount);
+        }
+        final int laneCount = Math.min(requestedCount, poolSize);
+        if (isInLane()) { // nested race, waiting may cause dead lock
+            return laneSemaphore.tryAcquire(laneCount) ? laneCount : 0;
+        }
+        try {
+            // not blocking forever e.g. when lanes are occupied by long races
+            return laneSemaphore.tryAcquire(laneCount, laneWaitingMillis, TimeUnit.MILLISECONDS) ? laneCount : 0;
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted while waiting for lanes of countdown race: " + this, e);
+        }
+    }
+
+    /**
+     * Release the reserved lanes that are not executed.
+     * @param laneCount The count of lanes to be released. (NotMinus)
+     */
+    public void release(int laneCount) {
+        if (laneCount > 0) {
+            laneSemaphore.release(laneCount);
+        }
+    }
+
+    /**
+     * Execute the lane (one reserved thread) in the pool. <br>
+     * The lane is released after the execution.
+     * @param lane The runnable of the lane that runs runners. (NotNull)
+     * @throws java.util.concurrent.RejectedExecutionException When the executor has been shut down.
+     */
+    public void executeLane(Runnable lane) {
+        assertArgumentNotNull("lane", lane);
+        laneExecutor.execute(() -> {
+            inLaneLocal.set(true);
+            try {
+                lane.run();
+            } finally {
+                inLaneLocal.remove();
+                laneSemaphore.release();
+            }
+        });
+    }
+
+    protected boolean isInLane() {
+        return inLaneLocal.get() != null;
+    }
+
+    /**
+     * Get the next ID of runner, unique across runners of this executor. <br>
+     * Several runners may run in the same lane thread, so thread ID cannot identify the runner.
+     * @return The new unique ID of runner. (Positive)
+     */
+    public long nextRunnerId() {
+        return runnerIdSequence.incrementAndGet();
+    }
+
+    /**
+     * Shutdown the lane threads, running races are finished as they are. <br>
+     * Races after the shutdown use temporary executor.
+     */
+    public void shutdown() {
+        laneExecutor.shutdown();
+    }
+
+    /**
+     * @return Has the executor been shut down?
+     */
+    public boolean isShutdown() {
+        return laneExecutor.isShutdown();
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final int available = laneSemaphore.availablePermits();
+        return "raceExecutor:{" + threadNamePrefix + ", lanes=" + (poolSize - available) + "/" + poolSize + ", threads="
+                + laneExecutor.getPoolSize() + (laneExecutor.isShutdown() ? ", shutdown" : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * @return The count of lanes not reserved now.
+     */
+    public int getAvailableLaneCount() {
+        return laneSemaphore.availablePermits();
+    }
+}
@@ -103,7 +103,8 @@ public class LaCountdownRaceRunner {
     //                                                                            Accessor
     //                                                                            ========
     /**
-     * Get the thread ID of the car (current thread).
+     * Get the thread ID of the car (current thread). <br>
+     * It is unique ID of the runner instead if shared executor, because a lane thread may run several runners.
      * @return The long value of thread ID.
      */
     public long getThreadId() {
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The low-overhead histogram of elapsed time, lock-free, e.g. for connection pool and transaction metrics. <br>
+ * Values are counted in buckets by power of two of microseconds, so percentiles are approximate (upper bound of bucket).
+ * <pre>
+ * e.g. buckets
+ *  [0] 0us, [1] 1us, [2] 2-3us, [3] 4-7us, ..., [31] over 2^30us (about 18 minutes)
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ElapsedTimeHistogram {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int BUCKET_COUNT = 32;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    protected final LongAdder count = new LongAdder();
+    protected final LongAdder totalNanos = new LongAdder();
+    protected final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param elapsedNanos The elapsed nanoseconds to be recorded. (minus is treated as zero)
+     */
+    public void record(long elapsedNanos) {
+        final long nanos = Math.max(0L, elapsedNanos);
+        bucketCounts.incrementAndGet(toBucketIndex(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    protected int toBucketIndex(long micros) {
+        final int index = 64 - Long.numberOfLeadingZeros(micros); // 0 if zero, 1 if one, 2 if 2-3...
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Reset recorded values, e.g. after exporting them.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts.set(i, 0L);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+    }
+
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * @return The average milliseconds, zero if no record.
+     */
+    public double getAverageMillis() {
+        final long currentCount = count.sum();
+        return currentCount > 0 ? (totalNanos.sum() / 1000000.0) / currentCount : 0.0;
+    }
+
+    /**
+     * @param percentile The percentile to be calculated, e.g. 0.99 means 99th percentile. (0.0 to 1.0)
+     * @return The approximate milliseconds as upper bound of bucket, zero if no record.
+     */
+    public double getPercentileMillis(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("The argument 'percentile' should be 0.0 to 1.0: " + percentile);
+        }
+        final long[] counts = getBucketCounts();
+        long total = 0L;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0L) {
+            return 0.0;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(total * percentile));
+        long accumulated = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank) {
+                return toBucketUpperMicros(i) / 1000.0;
+            }
+        }
+        return getMaxMillis(); // no way, just in case
+    }
+
+    protected long toBucketUpperMicros(int index) {
+        return index == 0 ? 0L : (1L << index) - 1L;
+    }
+
+    /**
+     * @return The new-created array of counts per bucket. (NotNull)
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return counts;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "histogram:{count=" + getCount() + ", avg=" + String.format("%.3f", getAverageMillis()) + "ms, p99="
+                + getPercentileMillis(0.99) + "ms, max=" + getMaxMillis() + "ms}";
+    }
+}
@@ -16,20 +16,29 @@
 package org.lastaflute.core.security;
 
 import java.io.UnsupportedEncodingException;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.lastaflute.core.security.exception.CipherFailureException;
 
 /**
+ * The cryptographer as invertible, which can be used by several threads concurrently. <br>
+ * Cipher instances are not thread-safe so they are pooled and borrowed per encrypting/decrypting. <br>
+ * Authenticated mode (AES-GCM) is also available, whose encrypted text has random IV as prefix.
  * @author jflute (using Commons-Codec logic, thanks)
  */
 public class InvertibleCryptographer {
@@ -41,40 +50,73 @@ public class InvertibleCryptographer {
     public static final String ALGORITHM_BLOWFISH = "Blowfish";
     public static final String ALGORITHM_DES = "DES";
     public static final String ALGORITHM_RSA = "RSA";
+    public static final String TRANSFORMATION_AES_GCM = "AES/GCM/NoPadding";
     public static final String ENCODING_UTF8 = "UTF-8";
+    protected static final int GCM_IV_LENGTH = 12; // bytes, recommended for GCM
+    protected static final int GCM_TAG_LENGTH = 128; // bits
 
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    protected final String algorithm;
+    protected final String algorithm; // for key
+    protected final String transformation; // for cipher, same as algorithm if plain
     protected final SecretKey skey;
     protected final String encoding;
-    protected Cipher encryptingCipher;
-    protected Cipher decryptingCipher;
+    protected final boolean authenticated; // e.g. GCM, initialized per operation with IV
+    protected volatile CipherPool encryptingPool; // null allowed, lazy loaded (limit is overridable)
+    protected volatile CipherPool decryptingPool; // null allowed, lazy loaded (limit is overridable)
+    protected volatile SecureRandom secureRandom; // null allowed, lazy loaded, only for authenticated
+    protected volatile boolean initialized; // for assertion once
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public InvertibleCryptographer(String algorithm, SecretKey skey, String charset) {
+        this(algorithm, algorithm, skey, charset);
+    }
+
+    public InvertibleCryptographer(String algorithm, String skey, String charset) {
+        this(algorithm, algorithm, skey, charset);
+    }
+
+    public InvertibleCryptographer(String algorithm, String transformation, SecretKey skey, String charset) {
         this.algorithm = algorithm;
+        this.transformation = transformation;
         this.skey = skey;
         this.encoding = charset;
+        this.authenticated = isAuthenticatedTransformation(transformation);
     }
 
-    public InvertibleCryptographer(String algorithm, String skey, String charset) {
+    public InvertibleCryptographer(String algorithm, String transformation, String skey, String charset) {
         this.algorithm = algorithm;
+        this.transformation = transformation;
         this.skey = createSKey(skey);
         this.encoding = charset;
+        this.authenticated = isAuthenticatedTransformation(transformation);
     }
 
     protected SecretKey createSKey(String skey) {
         return new SecretKeySpec(skey.getBytes(), algorithm);
     }
 
+    protected boolean isAuthenticatedTransformation(String transformation) {
+        return transformation != null && transformation.contains("/GCM/");
+    }
+
     public static InvertibleCryptographer createAesCipher(String skey) {
         return new InvertibleCryptographer(ALGORITHM_AES, skey, ENCODING_UTF8);
     }
 
+    /**
+     * Create the cryptographer as AES-GCM, authenticated so tampered text cannot be decrypted. <br>
+     * The encrypted text is not compatible with {@link #createAesCipher(String)}.
+     * @param skey The secret key for AES, e.g. 16 bytes. (NotNull)
+     * @return The new-created cryptographer. (NotNull)
+     */
+    public static InvertibleCryptographer createAesGcmCipher(String skey) {
+        return new InvertibleCryptographer(ALGORITHM_AES, TRANSFORMATION_AES_GCM, skey, ENCODING_UTF8);
+    }
+
     public static InvertibleCryptographer createBlowfishCipher(String skey) {
         return new InvertibleCryptographer(ALGORITHM_BLOWFISH, skey, ENCODING_UTF8);
     }
@@ -90,12 +132,19 @@ public class InvertibleCryptographer {
     // ===================================================================================
     //                                                                          Initialize
     //                                                                          ==========
-    protected synchronized void initialize() {
-        if (encryptingCipher != null) {
+    protected void initializeIfNeeds() {
+        if (initialized) {
             return;
         }
-        assertInit();
-        doInitializeCipher();
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            assertInit();
+            encryptingPool = newCipherPool(getCipherPoolLimit());
+            decryptingPool = newCipherPool(getCipherPoolLimit());
+            initialized = true; // after pools are prepared
+        }
     }
 
     protected void assertInit() {
@@ -107,18 +156,20 @@ public class InvertibleCryptographer {
         }
     }
 
-    protected void doInitializeCipher() {
+    protected Cipher createCipher(int mode) {
         try {
-            encryptingCipher = Cipher.getInstance(algorithm);
-            encryptingCipher.init(Cipher.ENCRYPT_MODE, skey);
-            decryptingCipher = Cipher.getInstance(algorithm);
-            decryptingCipher.init(Cipher.DECRYPT_MODE, skey);
+            final Cipher cipher = Cipher.getInstance(transformation);
+            if (!authenticated) { // authenticated cipher is initialized per operation with new IV
+                cipher.init(mode, skey);
+            }
+            return cipher;
         } catch (NoSuchAlgorithmException e) {
-            throw new CipherFailureException("Failed by unknown algorithm: " + algorithm, e);
+            throw new CipherFailureException("Failed by unknown algorithm: " + transformation, e);
         } catch (NoSuchPaddingException e) {
-            throw new CipherFailureException("Failed by no such padding: " + algorithm, e);
+            throw new CipherFailureException("Failed by no such padding: " + transformation, e);
         } catch (InvalidKeyException e) {
             throwCipherFailureInvalidKeyException(e); // frequently ocurred
+            return null; // unreachable
         }
     }
 
@@ -144,24 +195,52 @@ public class InvertibleCryptographer {
      * @return The encrypted text from the plain text. (NotNull, EmptyAllowed: depends on algorithm)
      * @throws CipherFailureException When the cipher fails.
      */
-    public synchronized String encrypt(String plainText) {
+    public String encrypt(String plainText) {
         assertArgumentNotNull("plainText", plainText);
-        if (encryptingCipher == null) {
-            initialize();
-        }
-        return new String(encodeHex(doEncrypt(plainText)));
+        initializeIfNeeds();
+        final Cipher cipher = borrowCipher(encryptingPool, Cipher.ENCRYPT_MODE);
+        final byte[] encrypted = doEncrypt(cipher, plainText); // not returned to pool if failure
+        encryptingPool.giveBack(cipher);
+        return new String(encodeHex(encrypted));
     }
 
-    protected byte[] doEncrypt(String plainText) {
+    protected byte[] doEncrypt(Cipher cipher, String plainText) {
         try {
-            return encryptingCipher.doFinal(plainText.getBytes(encoding));
+            final byte[] plainBytes = plainText.getBytes(encoding);
+            if (authenticated) {
+                final byte[] iv = generateIv();
+                cipher.init(Cipher.ENCRYPT_MODE, skey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+                final byte[] encrypted = cipher.doFinal(plainBytes);
+                final byte[] ivPrefixed = new byte[iv.length + encrypted.length];
+                System.arraycopy(iv, 0, ivPrefixed, 0, iv.length);
+                System.arraycopy(encrypted, 0, ivPrefixed, iv.length, encrypted.length);
+                return ivPrefixed;
+            } else {
+                return cipher.doFinal(plainBytes);
+            }
         } catch (IllegalBlockSizeException e) {
             throw new CipherFailureException("Failed by illegal block size: " + plainText, e);
         } catch (BadPaddingException e) {
             throw new CipherFailureException("Failed by bad padding: " + plainText, e);
         } catch (UnsupportedEncodingException e) {
             throw new CipherFailureException("Failed by unsupported encoding: " + encoding, e);
+        } catch (InvalidKeyException e) {
+            throwCipherFailureInvalidKeyException(e);
+            return null; // unreachable
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new CipherFailureException("Failed by invalid parameter: " + transformation, e);
+        }
+    }
+
+    protected byte[] generateIv() {
+        SecureRandom random = secureRandom;
+        if (random == null) { // no problem if created twice
+            random = new SecureRandom();
+            secureRandom = random;
         }
+        final byte[] iv = new byte[GCM_IV_LENGTH];
+        random.nextBytes(iv);
+        return iv;
     }
 
     /**
@@ -170,25 +249,91 @@ public class InvertibleCryptographer {
      * @return The plain text from the encrypted text. (NotNull, EmptyAllowed: if secret key is empty)
      * @throws CipherFailureException When the cipher fails.
      */
-    public synchronized String decrypt(String encryptedText) {
+    public String decrypt(String encryptedText) {
         assertArgumentNotNull("encryptedText", encryptedText);
-        if (decryptingCipher == null) {
-            initialize();
-        }
+        initializeIfNeeds();
+        final Cipher cipher = borrowCipher(decryptingPool, Cipher.DECRYPT_MODE);
+        final byte[] decrypted = doDecrypt(cipher, encryptedText); // not returned to pool if failure
+        decryptingPool.giveBack(cipher);
         try {
-            return new String(doDecrypt(encryptedText), encoding);
+            return new String(decrypted, encoding);
         } catch (UnsupportedEncodingException e) {
             throw new CipherFailureException("Failed by unsupported encoding: " + encoding, e);
         }
     }
 
-    protected byte[] doDecrypt(String cryptedText) {
+    protected byte[] doDecrypt(Cipher cipher, String cryptedText) {
         try {
-            return decryptingCipher.doFinal(decodeHex(cryptedText.toCharArray()));
+            final byte[] cryptedBytes = decodeHex(cryptedText.toCharArray());
+            if (authenticated) {
+                if (cryptedBytes.length < GCM_IV_LENGTH) {
+                    throw new CipherFailureException("Too short crypted text for IV: " + cryptedText);
+                }
+                cipher.init(Cipher.DECRYPT_MODE, skey, new GCMParameterSpec(GCM_TAG_LENGTH, cryptedBytes, 0, GCM_IV_LENGTH));
+                return cipher.doFinal(cryptedBytes, GCM_IV_LENGTH, cryptedBytes.length - GCM_IV_LENGTH);
+            } else {
+                return cipher.doFinal(cryptedBytes);
+            }
         } catch (IllegalBlockSizeException e) {
             throw new CipherFailureException("Failed by illegal block size: " + cryptedText, e);
-        } catch (BadPaddingException e) {
+        } catch (BadPaddingException e) { // also tag mismatch of authenticated mode
             throw new CipherFailureException("Failed by bad padding: " + cryptedText, e);
+        } catch (InvalidKeyException e) {
+            throwCipherFailureInvalidKeyException(e);
+            return null; // unreachable
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new CipherFailureException("Failed by invalid parameter: " + transformation, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Cipher Pool
+    //                                                                         ===========
+    protected Cipher borrowCipher(CipherPool pool, int mode) {
+        final Cipher pooled = pool.borrow();
+        return pooled != null ? pooled : createCipher(mode); // created if all are used now
+    }
+
+    protected CipherPool newCipherPool(int limit) {
+        return new CipherPool(limit);
+    }
+
+    protected int getCipherPoolLimit() { // called at first operation (not in constructor)
+        return Math.max(Runtime.getRuntime().availableProcessors() * 2, 4);
+    }
+
+    /**
+     * The pool of idle ciphers, lock-free. <br>
+     * Cipher is reset after doFinal() so it can be reused by next borrower.
+     */
+    protected static class CipherPool {
+
+        protected final Queue<Cipher> idleQueue = new ConcurrentLinkedQueue<Cipher>();
+        protected final AtomicInteger idleCount = new AtomicInteger(); // size() of the queue is slow
+        protected final int limit; // of idle ciphers
+
+        public CipherPool(int limit) {
+            this.limit = limit;
+        }
+
+        public Cipher borrow() { // null allowed when no idle
+            final Cipher cipher = idleQueue.poll();
+            if (cipher != null) {
+                idleCount.decrementAndGet();
+            }
+            return cipher;
+        }
+
+        public void giveBack(Cipher cipher) {
+            if (idleCount.incrementAndGet() <= limit) {
+                idleQueue.offer(cipher);
+            } else { // too many idle, e.g. after peak
+                idleCount.decrementAndGet(); // discarded
+            }
+        }
+
+        public int getIdleCount() {
+            return idleCount.get();
         }
     }
 
@@ -250,6 +395,7 @@ public class InvertibleCryptographer {
     //                                                                      ==============
     @Override
     public String toString() {
-        return "{" + algorithm + ", " + encoding + "}"; // don't show secret key for security
+        final String cipherExp = algorithm.equals(transformation) ? algorithm : transformation;
+        return "{" + cipherExp + ", " + encoding + "}"; // don't show secret key for security
     }
 }
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -40,6 +41,7 @@ import org.dbflute.util.DfCollectionUtil;
 import org.dbflute.util.DfResourceUtil;
 import org.dbflute.util.Srl;
 import org.dbflute.util.Srl.ScopeInfo;
+import org.lastaflute.core.smartdeploy.ManagedHotdeploy;
 import org.lastaflute.core.template.exception.TemplateFileParseFailureException;
 
 /**
@@ -84,6 +86,9 @@ public class SimpleTemplateManager implements TemplateManager {
     //                                                                           =========
     protected final FileTextIO textIO = createFileTextIO();
 
+    /** The cache of analyzed template node, key is template path. (NotNull, not used if hot deploy) */
+    protected final Map<String, Node> templateNodeMap = new ConcurrentHashMap<String, Node>();
+
     protected FileTextIO createFileTextIO() {
         return new FileTextIO().encodeAsUTF8().removeUTF8Bom().replaceCrLfToLf();
     }
@@ -108,7 +113,7 @@ public class SimpleTemplateManager implements TemplateManager {
         assertArgumentNotNull("pmb", pmb);
         final String templatePath = pmb.getTemplatePath();
         assertArgumentNotNull("pmb.getTemplatePath()", templatePath);
-        final String evaluated = evaluate(readText(templatePath), pmb);
+        final String evaluated = evaluate(prepareTemplateNode(templatePath), pmb);
         return filterBodyMeta(templatePath, evaluated);
     }
 
@@ -116,10 +121,44 @@ public class SimpleTemplateManager implements TemplateManager {
     public String parse(String templatePath, Map<String, Object> variableMap) {
         assertArgumentNotNull("templatePath", templatePath);
         assertArgumentNotNull("variableMap", variableMap);
-        final String evaluated = evaluate(readText(templatePath), variableMap);
+        final String evaluated = evaluate(prepareTemplateNode(templatePath), variableMap);
         return filterBodyMeta(templatePath, evaluated);
     }
 
+    // -----------------------------------------------------
+    //                                        Template Cache
+    //                                        --------------
+    /**
+     * Prepare the analyzed node of the template, cached per template path. <br>
+     * The node is immutable after analyzing and evaluated by context per parsing,
+     * so the same node can be evaluated by several threads. (not cached if hot deploy for modified template)
+     * @param templatePath The path of template file on classpath. (NotNull)
+     * @return The analyzed node of the template. (NotNull)
+     */
+    protected Node prepareTemplateNode(String templatePath) {
+        if (ManagedHotdeploy.isHotdeploy()) { // e.g. development, template file might be modified
+            return analyzeTemplate(templatePath);
+        }
+        final Node cached = templateNodeMap.get(templatePath);
+        if (cached != null) {
+            return cached;
+        }
+        final Node analyzed = analyzeTemplate(templatePath); // might be analyzed twice at first but no problem
+        final Node existing = templateNodeMap.putIfAbsent(templatePath, analyzed);
+        return existing != null ? existing : analyzed;
+    }
+
+    protected Node analyzeTemplate(String templatePath) {
+        return analyze(filterTemplateText(readText(templatePath), null)); // filtering does not depend on pmb
+    }
+
+    /**
+     * Clear the cache of analyzed templates, e.g. when template files are replaced.
+     */
+    public void clearTemplateCache() {
+        templateNodeMap.clear();
+    }
+
     protected String readText(String templatePath) {
         final InputStream ins = DfResourceUtil.getResourceStream(templatePath);
         if (ins == null) {
@@ -159,7 +198,10 @@ public class SimpleTemplateManager implements TemplateManager {
     //                                              Evaluate
     //                                              --------
     protected String evaluate(String templateText, Object pmb) {
-        final Node node = analyze(filterTemplateText(templateText, pmb));
+        return evaluate(analyze(filterTemplateText(templateText, pmb)), pmb);
+    }
+
+    protected String evaluate(Node node, Object pmb) {
         final CommandContext ctx = prepareContext(pmb);
         node.accept(ctx);
         return ctx.getSql();
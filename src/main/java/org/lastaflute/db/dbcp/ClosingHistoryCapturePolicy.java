@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbcp;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The policy of caller capture (stack trace) in closing history of connection. <br>
+ * The caller is captured only when no request info (e.g. closed by timer),
+ * and the stack trace is expensive so you can decrease it by this policy.
+ * <pre>
+ * e.g.
+ *  ClosingHistoryCapturePolicy.always()                 : as before (default)
+ *  ClosingHistoryCapturePolicy.off()                    : no caller capture
+ *  ClosingHistoryCapturePolicy.sampled(0.01)            : captured at 1% of closing
+ *  ClosingHistoryCapturePolicy.suspectedLeak(60000L)    : only checked-out over 1 minute without check-in
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ClosingHistoryCapturePolicy {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public enum CaptureType {
+        ALWAYS, OFF, SAMPLED, SUSPECTED_LEAK
+    }
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final CaptureType captureType; // not null
+    protected final double samplingRate; // 0.0 to 1.0, used if sampled
+    protected final long leakThresholdMillis; // positive if suspected leak
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected ClosingHistoryCapturePolicy(CaptureType captureType, double samplingRate, long leakThresholdMillis) {
+        this.captureType = captureType;
+        this.samplingRate = samplingRate;
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    /**
+     * @return The policy capturing caller every closing without request info. (NotNull)
+     */
+    public static ClosingHistoryCapturePolicy always() {
+        return new ClosingHistoryCapturePolicy(CaptureType.ALWAYS, 1.0, 0L);
+    }
+
+    /**
+     * @return The policy not capturing caller, request info is saved if it exists. (NotNull)
+     */
+    public static ClosingHistoryCapturePolicy off() {
+        return new ClosingHistoryCapturePolicy(CaptureType.OFF, 0.0, 0L);
+    }
+
+    /**
+     * @param samplingRate The rate of capturing, e.g. 0.01 means 1%. (0.0 to 1.0)
+     * @return The policy capturing caller at the rate. (NotNull)
+     */
+    public static ClosingHistoryCapturePolicy sampled(double samplingRate) {
+        if (samplingRate < 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("The argument 'samplingRate' should be 0.0 to 1.0: " + samplingRate);
+        }
+        return new ClosingHistoryCapturePolicy(CaptureType.SAMPLED, samplingRate, 0L);
+    }
+
+    /**
+     * @param leakThresholdMillis The milliseconds of checked-out without check-in to be suspected as leak. (Positive)
+     * @return The policy capturing caller only for suspected leak connection. (NotNull)
+     */
+    public static ClosingHistoryCapturePolicy suspectedLeak(long leakThresholdMillis) {
+        if (leakThresholdMillis <= 0L) {
+            throw new IllegalArgumentException("The argument 'leakThresholdMillis' should be positive: " + leakThresholdMillis);
+        }
+        return new ClosingHistoryCapturePolicy(CaptureType.SUSPECTED_LEAK, 0.0, leakThresholdMillis);
+    }
+
+    // ===================================================================================
+    //                                                                       Determination
+    //                                                                       =============
+    /**
+     * @param checkingOutMillis The millis of latest check-out. (NullAllowed: no request info)
+     * @param checkingInMillis The millis of latest check-in. (NullAllowed: no request info)
+     * @param currentMillis The current millis for the closing.
+     * @return true if the caller should be captured by stack trace.
+     */
+    public boolean needsCallerCapture(Long checkingOutMillis, Long checkingInMillis, long currentMillis) {
+        switch (captureType) {
+        case ALWAYS:
+            return true;
+        case OFF:
+            return false;
+        case SAMPLED:
+            return samplingRate > 0.0 && ThreadLocalRandom.current().nextDouble() < samplingRate;
+        case SUSPECTED_LEAK:
+            return isSuspectedLeak(checkingOutMillis, checkingInMillis, currentMillis);
+        default:
+            return true; // no way, as before
+        }
+    }
+
+    protected boolean isSuspectedLeak(Long checkingOutMillis, Long checkingInMillis, long currentMillis) {
+        if (checkingOutMillis == null) { // no request info, cannot determine
+            return false;
+        }
+        if (checkingInMillis != null && checkingInMillis >= checkingOutMillis) { // returned to pool
+            return false;
+        }
+        return currentMillis - checkingOutMillis > leakThresholdMillis;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String detail;
+        if (captureType == CaptureType.SAMPLED) {
+            detail = ", rate=" + samplingRate;
+        } else if (captureType == CaptureType.SUSPECTED_LEAK) {
+            detail = ", threshold=" + leakThresholdMillis + "ms";
+        } else {
+            detail = "";
+        }
+        return "closingCapture:{" + captureType + detail + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public CaptureType getCaptureType() {
+        return captureType;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public long getLeakThresholdMillis() {
+        return leakThresholdMillis;
+    }
+}
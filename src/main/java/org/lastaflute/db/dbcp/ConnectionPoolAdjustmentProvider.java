@@ -21,5 +21,11 @@ package org.lastaflute.db.dbcp;
  */
 public interface ConnectionPoolAdjustmentProvider { // for all pools, so hard to use
 
-    // for future
+    /**
+     * Provide the policy of caller capture (stack trace) in closing history of connection.
+     * @return The policy for closing history. (NullAllowed: if null, always captured as default)
+     */
+    default ClosingHistoryCapturePolicy provideClosingHistoryCapturePolicy() {
+        return null;
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbcp;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.lastaflute.core.magic.metrics.ElapsedTimeHistogram;
+import org.lastaflute.jta.dbcp.SimpleConnectionPool;
+
+/**
+ * The metrics of connection pool, recorded continuously with low overhead. <br>
+ * You can get it from the pool component by {@link HookedConnectionPool#getPoolMetrics()}.
+ * <pre>
+ * e.g. check pool exhaustion
+ *  ConnectionPoolMetrics metrics = pool.getPoolMetrics();
+ *  metrics.getCheckOutWaitHistogram().getPercentileMillis(0.99); // wait for free connection
+ *  metrics.getTimeoutCount(); // count of check-out over max wait
+ *  metrics.getPeakInUseCount(); // compare it with max pool size
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ConnectionPoolMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final SimpleConnectionPool pool; // not null, for live counts
+    protected final ElapsedTimeHistogram checkOutWaitHistogram = new ElapsedTimeHistogram();
+    protected final ElapsedTimeHistogram holdHistogram = new ElapsedTimeHistogram();
+    protected final LongAdder checkOutCount = new LongAdder();
+    protected final LongAdder timeoutCount = new LongAdder();
+    protected final LongAdder failureCount = new LongAdder(); // except timeout
+    protected final LongAdder inUseCount = new LongAdder(); // held by application now
+    protected final LongAccumulator peakInUseCount = new LongAccumulator(Math::max, 0L);
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param pool The connection pool of the metrics. (NotNull)
+     */
+    public ConnectionPoolMetrics(SimpleConnectionPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The argument 'pool' should not be null.");
+        }
+        this.pool = pool;
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void recordCheckOut(long waitNanos) {
+        checkOutCount.increment();
+        checkOutWaitHistogram.record(waitNanos);
+    }
+
+    public void recordTimeout(long waitNanos) {
+        timeoutCount.increment();
+        checkOutWaitHistogram.record(waitNanos);
+    }
+
+    public void recordFailure() {
+        failureCount.increment();
+    }
+
+    public void recordHoldBegin() {
+        inUseCount.increment();
+        peakInUseCount.accumulate(inUseCount.sum());
+    }
+
+    public void recordHoldEnd(long holdNanos) {
+        inUseCount.decrement();
+        holdHistogram.record(holdNanos);
+    }
+
+    /**
+     * Reset recorded values except live counts, e.g. after exporting them.
+     */
+    public void reset() {
+        checkOutWaitHistogram.reset();
+        holdHistogram.reset();
+        checkOutCount.reset();
+        timeoutCount.reset();
+        failureCount.reset();
+        peakInUseCount.reset();
+        peakInUseCount.accumulate(inUseCount.sum()); // peak from now
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "poolMetrics:{checkOut=" + getCheckOutCount() + ", timeout=" + getTimeoutCount() + ", failure=" + getFailureCount()
+                + ", inUse=" + getInUseCount() + ", peak=" + getPeakInUseCount() + "/" + getMaxPoolSize() + ", wait="
+                + checkOutWaitHistogram + ", hold=" + holdHistogram + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    // -----------------------------------------------------
+    //                                              Recorded
+    //                                              --------
+    public ElapsedTimeHistogram getCheckOutWaitHistogram() {
+        return checkOutWaitHistogram;
+    }
+
+    public ElapsedTimeHistogram getHoldHistogram() {
+        return holdHistogram;
+    }
+
+    public long getCheckOutCount() {
+        return checkOutCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getInUseCount() {
+        return inUseCount.sum();
+    }
+
+    public long getPeakInUseCount() {
+        return peakInUseCount.get();
+    }
+
+    // -----------------------------------------------------
+    //                                            Live Count
+    //                                            ----------
+    /**
+     * @return The count of active connections (with or without transaction) read from the pool now.
+     */
+    public int getActiveCount() {
+        return pool.getActivePoolSize() + pool.getTxActivePoolSize();
+    }
+
+    /**
+     * @return The count of idle (free) connections read from the pool now.
+     */
+    public int getIdleCount() {
+        return pool.getFreePoolSize();
+    }
+
+    public int getMaxPoolSize() {
+        return pool.getMaxPoolSize();
+    }
+}
@@ -60,6 +60,9 @@ public class ConnectionPoolViewBuilder {
                 sb.append("\n").append("freePool=").append(free);
                 sb.append(", activePool=").append(active).append(", txActivePool=").append(txActive);
             }
+            if (pool instanceof HookedConnectionPool) {
+                sb.append("\n").append(((HookedConnectionPool) pool).getPoolMetrics());
+            }
             final List<String> txViewList = findTransactionViewList(pool);
             if (!txViewList.isEmpty()) {
                 for (String txView : txViewList) {
@@ -17,12 +17,17 @@ package org.lastaflute.db.dbcp;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
 import javax.sql.XAConnection;
 import javax.transaction.Transaction;
 
+import org.lastaflute.core.direction.FwAssistantDirector;
+import org.lastaflute.db.direction.FwDbDirection;
 import org.lastaflute.db.jta.RomanticTransaction;
+import org.lastaflute.db.replication.splitting.ReadWriteSplittingContext;
 import org.lastaflute.jta.dbcp.ConnectionPool;
 import org.lastaflute.jta.dbcp.ConnectionWrapper;
 import org.lastaflute.jta.dbcp.SimpleConnectionPool;
@@ -39,6 +44,19 @@ public class HookedConnectionPool extends SimpleConnectionPool {
     //                                                                          ==========
     private static final Logger logger = LoggerFactory.getLogger(HookedConnectionPool.class);
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The assistant director (AD) for framework. (NotNull: after initialization) */
+    @Resource
+    protected FwAssistantDirector assistantDirector;
+
+    /** The policy of caller capture in closing history. (NotNull: after initialization) */
+    protected ClosingHistoryCapturePolicy closingHistoryCapturePolicy = ClosingHistoryCapturePolicy.always();
+
+    /** The metrics of this pool, recorded continuously. (NullAllowed: lazy loaded, creation is overridable) */
+    protected volatile ConnectionPoolMetrics poolMetrics;
+
     // ===================================================================================
     //                                                                          Initialize
     //                                                                          ==========
@@ -48,12 +66,21 @@ public class HookedConnectionPool extends SimpleConnectionPool {
      */
     @PostConstruct
     public synchronized void initialize() { // called after property set of Di xml
-        // nothing for now, for future
-        //final FwDbDirection direction = assistDbDirection();
-        //final ConnectionPoolAdjustmentProvider provider = direction.assistConnectionPoolAdjustmentProvider();
+        final FwDbDirection direction = assistDbDirection();
+        final ConnectionPoolAdjustmentProvider provider = direction.assistConnectionPoolAdjustmentProvider();
+        if (provider != null) {
+            final ClosingHistoryCapturePolicy policy = provider.provideClosingHistoryCapturePolicy();
+            if (policy != null) {
+                closingHistoryCapturePolicy = policy;
+            }
+        }
         showBootLogging();
     }
 
+    protected FwDbDirection assistDbDirection() {
+        return assistantDirector.assistDbDirection();
+    }
+
     protected void showBootLogging() {
         if (logger.isInfoEnabled()) {
             final String bigTell = (readOnly ? " *readOnly" : "") + (suppressLocalTx ? " *suppressLocalTx" : "");
@@ -66,6 +93,57 @@ public class HookedConnectionPool extends SimpleConnectionPool {
                 logger.info(" validationQuery: \"" + validationQuery + "\"");
                 logger.info(" validationInterval: " + validationInterval + " milliseconds");
             }
+            logger.info(" closingHistory: " + closingHistoryCapturePolicy);
+        }
+    }
+
+    protected ConnectionPoolMetrics createPoolMetrics() {
+        return new ConnectionPoolMetrics(this);
+    }
+
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    @Override
+    public ConnectionWrapper checkOut() throws SQLException {
+        final ConnectionPoolMetrics metrics = getPoolMetrics();
+        final long beginNanos = System.nanoTime();
+        final ConnectionWrapper wrapper;
+        try {
+            wrapper = super.checkOut(); // may wait for free connection
+        } catch (SQLException | RuntimeException e) {
+            final long waitNanos = System.nanoTime() - beginNanos;
+            if (isCheckOutTimeout(waitNanos)) {
+                metrics.recordTimeout(waitNanos);
+            } else {
+                metrics.recordFailure();
+            }
+            throw e;
+        }
+        metrics.recordCheckOut(System.nanoTime() - beginNanos);
+        if (ReadWriteSplittingContext.isReadOnlyConnectionMarkingOnThread() && wrapper instanceof HookedConnectionWrapper) { // read-only tx
+            ((HookedConnectionWrapper) wrapper).markReadOnlyIfNeeds();
+        }
+        return wrapper;
+    }
+
+    protected boolean isCheckOutTimeout(long waitNanos) {
+        return maxWait >= 0 && TimeUnit.NANOSECONDS.toMillis(waitNanos) >= maxWait; // minus max-wait means no limit
+    }
+
+    /**
+     * @return The metrics of this pool, e.g. wait time, hold time, timeout, peak usage. (NotNull)
+     */
+    public ConnectionPoolMetrics getPoolMetrics() {
+        if (poolMetrics != null) {
+            return poolMetrics;
+        }
+        synchronized (this) {
+            if (poolMetrics != null) {
+                return poolMetrics;
+            }
+            poolMetrics = createPoolMetrics(); // not in field initializer, subclass state is ready here
+            return poolMetrics;
         }
     }
 
@@ -86,6 +164,7 @@ public class HookedConnectionPool extends SimpleConnectionPool {
     @Override
     protected ConnectionWrapper createConnectionWrapper(XAConnection xaConnection, Connection physicalConnection,
             ConnectionPool connectionPool, Transaction tx) throws SQLException {
-        return new HookedConnectionWrapper(xaConnection, physicalConnection, connectionPool, tx);
+        return new HookedConnectionWrapper(xaConnection, physicalConnection, connectionPool, tx, closingHistoryCapturePolicy,
+                getPoolMetrics());
     }
 }
@@ -28,6 +28,8 @@ import org.lastaflute.core.magic.ThreadCacheContext;
 import org.lastaflute.jta.dbcp.ConnectionPool;
 import org.lastaflute.jta.dbcp.ConnectionWrapper;
 import org.lastaflute.jta.dbcp.impl.ConnectionWrapperImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author jflute (originated in Seasar)
@@ -35,6 +37,11 @@ import org.lastaflute.jta.dbcp.impl.ConnectionWrapperImpl;
  */
 public class HookedConnectionWrapper extends ConnectionWrapperImpl {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(HookedConnectionWrapper.class);
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -60,12 +67,35 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
     protected String closingReallyUserExp;
     protected Long closingReallyMillis;
 
+    // -----------------------------------------------------
+    //                                        Capture Policy
+    //                                        --------------
+    protected final ClosingHistoryCapturePolicy closingHistoryCapturePolicy; // not null
+
+    // -----------------------------------------------------
+    //                                          Pool Metrics
+    //                                          ------------
+    protected final ConnectionPoolMetrics poolMetrics; // null allowed when no metrics
+    protected volatile long holdBeginNanos; // zero if not held by application
+
+    // -----------------------------------------------------
+    //                                             Read Only
+    //                                             ---------
+    protected boolean readOnlyMarked; // true if marked by read-only transaction, restored at check-in
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public HookedConnectionWrapper(XAConnection xaConnection, Connection physicalConnection, ConnectionPool connectionPool, Transaction tx)
             throws SQLException {
+        this(xaConnection, physicalConnection, connectionPool, tx, ClosingHistoryCapturePolicy.always(), null);
+    }
+
+    public HookedConnectionWrapper(XAConnection xaConnection, Connection physicalConnection, ConnectionPool connectionPool, Transaction tx,
+            ClosingHistoryCapturePolicy closingHistoryCapturePolicy, ConnectionPoolMetrics poolMetrics) throws SQLException {
         super(xaConnection, physicalConnection, connectionPool, tx);
+        this.closingHistoryCapturePolicy = closingHistoryCapturePolicy;
+        this.poolMetrics = poolMetrics;
     }
 
     // ===================================================================================
@@ -76,6 +106,7 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
     //                                          ------------
     @Override
     public void saveCheckOutHistory() {
+        beginHoldMetrics();
         if (ThreadCacheContext.exists()) { // e.g. in action
             checkingOutRequestPath = ThreadCacheContext.findRequestPath();
             checkingOutEntryExp = convertMethodToMethodExp(ThreadCacheContext.findEntryMethod());
@@ -93,9 +124,63 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
             checkingInUserExp = convertUserBeanToUserExp(ThreadCacheContext.findUserBean());
             checkingInMillis = currentTimeMillis();
         }
+        endHoldMetrics();
+        restoreReadOnlyIfNeeds();
         super.saveCheckInHistory();
     }
 
+    // -----------------------------------------------------
+    //                                             Read Only
+    //                                             ---------
+    /**
+     * Mark the physical connection as read-only for read-only transaction. <br>
+     * Database can optimize the transaction, and it is restored when checked-in.
+     */
+    public void markReadOnlyIfNeeds() {
+        if (readOnlyMarked) { // e.g. second check-out in transaction
+            return;
+        }
+        try {
+            final Connection physical = getPhysicalConnection();
+            if (!physical.isReadOnly()) { // not read-only pool
+                physical.setReadOnly(true);
+                readOnlyMarked = true;
+            }
+        } catch (SQLException continued) { // e.g. not supported, read-only is optimization so continued
+            logger.debug("Failed to mark the connection as read-only: {}", this, continued);
+        }
+    }
+
+    protected void restoreReadOnlyIfNeeds() {
+        if (!readOnlyMarked) { // mainly here
+            return;
+        }
+        readOnlyMarked = false;
+        try {
+            getPhysicalConnection().setReadOnly(false);
+        } catch (SQLException continued) { // rare, the connection may be broken so validated later
+            logger.info("Failed to restore the read-only connection: {}", this, continued);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                          Hold Metrics
+    //                                          ------------
+    protected void beginHoldMetrics() {
+        if (poolMetrics != null && holdBeginNanos == 0L) { // first check-out in e.g. transaction
+            holdBeginNanos = System.nanoTime();
+            poolMetrics.recordHoldBegin();
+        }
+    }
+
+    protected void endHoldMetrics() {
+        if (poolMetrics != null && holdBeginNanos != 0L) {
+            final long holdNanos = System.nanoTime() - holdBeginNanos;
+            holdBeginNanos = 0L;
+            poolMetrics.recordHoldEnd(holdNanos);
+        }
+    }
+
     // -----------------------------------------------------
     //                                       Inherit History
     //                                       ---------------
@@ -116,6 +201,8 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
             closingReallyEntryExp = inherited.closingReallyEntryExp;
             closingReallyUserExp = inherited.closingReallyUserExp;
             closingReallyMillis = inherited.closingReallyMillis;
+            holdBeginNanos = inherited.holdBeginNanos; // taken over, not to end twice
+            inherited.holdBeginNanos = 0L;
         }
     }
 
@@ -147,6 +234,7 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
     //                                          ------------
     @Override
     public void closeReally() {
+        endHoldMetrics(); // e.g. released by error while held
         saveClosingHistory();
         super.closeReally();
     }
@@ -159,6 +247,9 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
             closingReallyMillis = currentTimeMillis();
         }
         if (closingReallyRequestPath == null || closingReallyEntryExp == null) { // e.g. by timer
+            if (!needsClosingCallerCapture()) { // stack trace is expensive
+                return;
+            }
             final StackTraceElement[] stackTrace = new Exception().getStackTrace();
             final int requestCallerLevel = 1;
             if (closingReallyRequestPath == null && stackTrace != null && stackTrace.length > requestCallerLevel) {
@@ -171,6 +262,10 @@ public class HookedConnectionWrapper extends ConnectionWrapperImpl {
         }
     }
 
+    protected boolean needsClosingCallerCapture() {
+        return closingHistoryCapturePolicy.needsCallerCapture(checkingOutMillis, checkingInMillis, currentTimeMillis());
+    }
+
     protected String buildCallerExp(int requestCallerLevel, StackTraceElement caller) {
         return "caller" + requestCallerLevel + "::" + caller.getClassName() + "@" + caller.getMethodName() + "()";
     }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbflute.callbackcontext.traceablesql;
+
+/**
+ * The shape of single-row select executed in one request, counted by the fingerprint. <br>
+ * This is confined in the request thread so not thread-safe.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class RequestedSqlShape {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String fingerprint; // not null, normalized SQL with table and command
+    protected final String tableName; // not null, display name
+    protected final String commandName; // not null, e.g. selectEntity
+    protected final String firstSql; // not null, executed SQL with bind marks (no bound values)
+    protected int count; // incremented per execution
+    protected String callSite; // null allowed: until repeated, or not found
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public RequestedSqlShape(String fingerprint, String tableName, String commandName, String firstSql) {
+        this.fingerprint = fingerprint;
+        this.tableName = tableName;
+        this.commandName = commandName;
+        this.firstSql = firstSql;
+    }
+
+    // ===================================================================================
+    //                                                                              Update
+    //                                                                              ======
+    /**
+     * @return The count after increment. (Positive)
+     */
+    public int increment() {
+        return ++count;
+    }
+
+    public void registerCallSite(String callSite) {
+        this.callSite = callSite;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "sqlShape:{" + tableName + "." + commandName + ", count=" + count + (callSite != null ? ", at " + callSite : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public String getFirstSql() {
+        return firstSql;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getCallSite() { // null allowed
+        return callSite;
+    }
+}
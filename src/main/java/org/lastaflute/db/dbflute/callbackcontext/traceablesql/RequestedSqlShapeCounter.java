@@ -0,0 +1,239 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbflute.callbackcontext.traceablesql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.core.magic.ThreadCompleted;
+
+/**
+ * The counter of SQL shapes in one request, to detect N+1 queries. <br>
+ * The fingerprint is table, command and executed SQL with bind marks (values are not included),
+ * so the same SQL in a loop is counted as one shape even if the bound values are different.
+ * <pre>
+ * e.g. for (Member member : memberList) { purchaseBhv.selectEntity(cb -&gt; cb.query().setMemberId_Equal(member.getMemberId())); }
+ *  PURCHASE.selectEntity "select ... where dfloc.MEMBER_ID = ?" : count=memberList.size() (N+1 suspicious)
+ * </pre>
+ * Only single-row selects are counted because only they are used for the detection. <br>
+ * This is confined in the request thread (saved in thread cache) so not thread-safe,
+ * and it is thread-completed so asynchronous child threads do not inherit it.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class RequestedSqlShapeCounter implements ThreadCompleted { // thread cached
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The key of the counter in thread cache. */
+    public static final String FW_SQL_SHAPE_COUNTER_KEY = "fw:sqlShapeCounter";
+
+    /** The limit count of shapes in one request, new shapes are not counted over it. */
+    protected static final int SHAPE_LIMIT = 300;
+
+    /** The count of execution to capture call site, which means the shape starts repeating. */
+    protected static final int CALL_SITE_CAPTURE_COUNT = 2;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Map<String, RequestedSqlShape> shapeMap = new LinkedHashMap<String, RequestedSqlShape>();
+    protected int overLimitCount; // count of executions not counted because of limit
+
+    // ===================================================================================
+    //                                                                        Thread Cache
+    //                                                                        ============
+    /**
+     * Register new counter to the thread cache if the cache exists.
+     */
+    public static void registerOnThread() {
+        if (ThreadCacheContext.exists()) {
+            ThreadCacheContext.setObject(FW_SQL_SHAPE_COUNTER_KEY, new RequestedSqlShapeCounter());
+        }
+    }
+
+    /**
+     * @return The counter registered in the thread cache. (NullAllowed: when not registered e.g. batch)
+     */
+    public static RequestedSqlShapeCounter findOnThread() {
+        return ThreadCacheContext.exists() ? ThreadCacheContext.getObject(FW_SQL_SHAPE_COUNTER_KEY) : null;
+    }
+
+    public static void clearOnThread() {
+        if (ThreadCacheContext.exists()) {
+            ThreadCacheContext.removeObject(FW_SQL_SHAPE_COUNTER_KEY);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Count
+    //                                                                               =====
+    /**
+     * Count the execution of the SQL by its shape.
+     * @param meta The meta of behavior command for the SQL. (NotNull)
+     * @param executedSql The executed SQL with bind marks. (NotNull)
+     */
+    public void count(BehaviorCommandMeta meta, String executedSql) {
+        if (!isSingleRowSelect(meta)) { // not target of detection so no need to build fingerprint
+            return;
+        }
+        final String tableName = meta.getDBMeta().getTableDispName();
+        final String commandName = meta.getCommandName();
+        final String fingerprint = buildFingerprint(tableName, commandName, executedSql);
+        RequestedSqlShape shape = shapeMap.get(fingerprint);
+        if (shape == null) {
+            if (shapeMap.size() >= SHAPE_LIMIT) { // e.g. dynamic SQL in loop
+                ++overLimitCount;
+                return;
+            }
+            shape = new RequestedSqlShape(fingerprint, tableName, commandName, executedSql);
+            shapeMap.put(fingerprint, shape);
+        }
+        final int count = shape.increment();
+        if (count == CALL_SITE_CAPTURE_COUNT) { // only once per shape
+            shape.registerCallSite(findCallSite());
+        }
+    }
+
+    protected String buildFingerprint(String tableName, String commandName, String executedSql) {
+        final StringBuilder sb = new StringBuilder(tableName.length() + commandName.length() + executedSql.length() + 2);
+        sb.append(tableName).append(":").append(commandName).append(":");
+        normalizeSql(sb, executedSql);
+        return sb.toString();
+    }
+
+    protected void normalizeSql(StringBuilder sb, String executedSql) { // without regular expression for performance
+        final int length = executedSql.length();
+        int index = 0;
+        boolean started = false; // to trim leading spaces
+        boolean pendingSpace = false; // to collapse spaces and trim trailing spaces
+        while (index < length) {
+            final char ch = executedSql.charAt(index);
+            if (Character.isWhitespace(ch)) {
+                pendingSpace = true;
+                ++index;
+                continue;
+            }
+            if (pendingSpace && started) {
+                sb.append(' ');
+            }
+            started = true;
+            pendingSpace = false;
+            sb.append(ch);
+            ++index;
+            if (ch == '?') { // e.g. in (?, ?, ?) to in (?), in-scope size is not shape
+                index = skipFollowingBindMark(executedSql, index);
+            }
+        }
+    }
+
+    protected int skipFollowingBindMark(String executedSql, int index) { // returns next index
+        final int length = executedSql.length();
+        int current = index;
+        while (true) {
+            int next = skipWhitespace(executedSql, current);
+            if (next >= length || executedSql.charAt(next) != ',') {
+                return current;
+            }
+            next = skipWhitespace(executedSql, next + 1);
+            if (next >= length || executedSql.charAt(next) != '?') {
+                return current;
+            }
+            current = next + 1;
+        }
+    }
+
+    protected int skipWhitespace(String executedSql, int index) {
+        int current = index;
+        while (current < executedSql.length() && Character.isWhitespace(executedSql.charAt(current))) {
+            ++current;
+        }
+        return current;
+    }
+
+    protected boolean isSingleRowSelect(BehaviorCommandMeta meta) {
+        return meta.isSelect() && meta.getCommandName().startsWith("selectEntity"); // also selectByPK
+    }
+
+    // -----------------------------------------------------
+    //                                             Call Site
+    //                                             ---------
+    protected String findCallSite() { // null allowed
+        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            if (isApplicationCallSite(element.getClassName())) {
+                return buildCallSiteExp(element);
+            }
+        }
+        return null;
+    }
+
+    protected boolean isApplicationCallSite(String className) {
+        return !className.startsWith("java.") && !className.startsWith("javax.") // JDK
+                && !className.startsWith("sun.") && !className.startsWith("jdk.") // JDK internal
+                && !className.startsWith("org.dbflute.") && !className.startsWith("org.lastaflute.") // framework
+                && !className.contains(".dbflute.") // e.g. generated behavior of application
+                && !className.contains("$$"); // e.g. enhanced class by DI container
+    }
+
+    protected String buildCallSiteExp(StackTraceElement element) {
+        final String className = element.getClassName();
+        final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return simpleName + "@" + element.getMethodName() + "():" + element.getLineNumber();
+    }
+
+    // ===================================================================================
+    //                                                                              Detect
+    //                                                                              ======
+    /**
+     * Find single-row select shapes repeated over the limit, which are suspicious of N+1 queries.
+     * @param repeatedLimit The limit count of the same single-row select. (NotMinus)
+     * @return The list of repeated shapes ordered by count descending. (NotNull, EmptyAllowed)
+     */
+    public List<RequestedSqlShape> findRepeatedSingleRowSelectList(int repeatedLimit) {
+        final List<RequestedSqlShape> repeatedList = new ArrayList<RequestedSqlShape>();
+        for (RequestedSqlShape shape : shapeMap.values()) {
+            if (shape.getCount() > repeatedLimit) { // only single-row selects are counted
+                repeatedList.add(shape);
+            }
+        }
+        repeatedList.sort((o1, o2) -> Integer.compare(o2.getCount(), o1.getCount()));
+        return repeatedList;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "sqlShapeCounter:{shapes=" + shapeMap.size() + (overLimitCount > 0 ? ", overLimit=" + overLimitCount : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getShapeCount() {
+        return shapeMap.size();
+    }
+
+    public int getOverLimitCount() {
+        return overLimitCount;
+    }
+}
@@ -25,6 +25,7 @@ import org.dbflute.util.DfTypeUtil;
 import org.lastaflute.db.jta.RomanticTransaction;
 import org.lastaflute.db.jta.TransactionRomanticContext;
 import org.lastaflute.db.jta.romanticist.TransactionCurrentSqlBuilder;
+import org.lastaflute.db.replication.splitting.ReadWriteSplittingContext;
 
 /**
  * @author jflute
@@ -34,6 +35,8 @@ public class RomanticTraceableSqlFireHook implements SqlFireHook {
     @Override
     public void hookBefore(BehaviorCommandMeta meta, SqlFireReadyInfo fireReadyInfo) {
         saveCommandToRomanticTransaction(meta, fireReadyInfo);
+        markWrittenIfNeeds(meta);
+        countSqlShapeIfNeeds(meta, fireReadyInfo);
     }
 
     @Override
@@ -52,6 +55,19 @@ public class RomanticTraceableSqlFireHook implements SqlFireHook {
         }
     }
 
+    protected void markWrittenIfNeeds(BehaviorCommandMeta meta) {
+        if (!meta.isSelect()) { // to pin to MasterDB for read/write splitting (read-your-writes)
+            ReadWriteSplittingContext.markWrittenOnThread();
+        }
+    }
+
+    protected void countSqlShapeIfNeeds(BehaviorCommandMeta meta, SqlFireReadyInfo fireReadyInfo) {
+        final RequestedSqlShapeCounter counter = RequestedSqlShapeCounter.findOnThread();
+        if (counter != null) { // registered by e.g. action hook, to detect N+1 queries
+            counter.count(meta, fireReadyInfo.getSqlLogInfo().getExecutedSql());
+        }
+    }
+
     protected TransactionCurrentSqlBuilder createCurrentSqlBuilder(SqlLogInfo sqlLogInfo) {
         return () -> {
             // to be exact, this is not perfectly thread-safe but no problem,
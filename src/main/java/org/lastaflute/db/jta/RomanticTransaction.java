@@ -19,10 +19,12 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
@@ -35,10 +37,13 @@ import org.dbflute.util.DfTraceViewUtil;
 import org.lastaflute.core.magic.ThreadCacheContext;
 import org.lastaflute.db.jta.romanticist.SavedTransactionMemories;
 import org.lastaflute.db.jta.romanticist.TransactionCurrentSqlBuilder;
+import org.lastaflute.db.jta.romanticist.TransactionCurrentSqlState;
 import org.lastaflute.db.jta.romanticist.TransactionMemoriesProvider;
+import org.lastaflute.db.jta.romanticist.TransactionRecentResultRing;
 import org.lastaflute.db.jta.romanticist.TransactionRomanticMemoriesBuilder;
 import org.lastaflute.db.jta.romanticist.TransactionRomanticSnapshotBuilder;
 import org.lastaflute.db.jta.romanticist.TransactionSavedRecentResult;
+import org.lastaflute.db.replication.splitting.ReadWriteSplittingContext;
 import org.lastaflute.jta.core.LaTransaction;
 import org.lastaflute.jta.dbcp.ConnectionWrapper;
 
@@ -61,20 +66,23 @@ public class RomanticTransaction extends LaTransaction {
     //                                         Current State
     //                                         -------------
     // basically to tell its state when other transactions fail
+    // no synchronized for registration, async processes may share the transaction
     protected long transactionBeginMillis; // set when transaction begins
-    protected Map<String, Set<String>> tableCommandMap; // lazy loaded, needs synchronized, e.g. map:{MEMBER = list:{selectList}}
+    protected boolean readOnly; // set when transaction begins, recent results are not saved if true
 
-    // current state: might be overridden many times, needs synchronized
-    protected String currentTableName; // basically not null in command
-    protected String currentCommand; // basically not null in command
-    protected Long currentSqlBeginMillis; // null allowed (but almost not null)
-    protected TransactionCurrentSqlBuilder currentSqlBuilder; // basically not null in command
+    // table commands in registration order, e.g. [MEMBER@selectList, PURCHASE@insert]
+    protected final Set<String> tableCommandKeySet = ConcurrentHashMap.newKeySet(); // for quick check of existing
+    protected final ConcurrentLinkedQueue<String[]> tableCommandQueue = new ConcurrentLinkedQueue<String[]>(); // [table, command]
+
+    // current state: might be overridden many times, replaced as one object
+    protected volatile TransactionCurrentSqlState currentSqlState; // null allowed when no SQL now
 
     // -----------------------------------------------------
     //                                         Recent Result
     //                                         -------------
     // basically for simple debug of current tranasction
-    protected LinkedList<TransactionSavedRecentResult> recentResultList; // lazy loaded, needs synchronized
+    protected final AtomicReference<TransactionRecentResultRing> recentResultRingRef = // lazy loaded
+            new AtomicReference<TransactionRecentResultRing>();
 
     // ===================================================================================
     //                                                                               Begin
@@ -87,6 +95,7 @@ public class RomanticTransaction extends LaTransaction {
             userBean = ThreadCacheContext.findUserBean();
         }
         transactionBeginMillis = System.currentTimeMillis();
+        readOnly = ReadWriteSplittingContext.isReadOnlyOnThread(); // e.g. read-only action
         super.begin(); // actually begin here
         saveRomanticTransactionToThread();
     }
@@ -136,9 +145,7 @@ public class RomanticTransaction extends LaTransaction {
      * @return The romantic expression for transaction snapshot. (NotNull)
      */
     public String toRomanticSnapshot(ConnectionWrapper wrapper) { // called when other transactions fail
-        synchronized (this) { // blocks registration
-            return createRomanticSnapshotBuilder().buildRomanticSnapshot(this, wrapper);
-        }
+        return createRomanticSnapshotBuilder().buildRomanticSnapshot(this, wrapper); // no lock, resources are thread-safe
     }
 
     protected TransactionRomanticSnapshotBuilder createRomanticSnapshotBuilder() {
@@ -150,9 +157,7 @@ public class RomanticTransaction extends LaTransaction {
      * @return The provider of optional romantic expression for transaction memories. (NotNull)
      */
     public TransactionMemoriesProvider toRomanticMemoriesProvider(String ending) { // called when this transaction fails
-        synchronized (this) { // blocks registration
-            return TransactionRomanticMemoriesBuilder.createMemoriesProvider(this, ending);
-        }
+        return TransactionRomanticMemoriesBuilder.createMemoriesProvider(this, ending); // with snapshot of resources
     }
 
     // ===================================================================================
@@ -178,29 +183,24 @@ public class RomanticTransaction extends LaTransaction {
     //                                         Table Command
     //                                         -------------
     public void registerTableCommand(String tableName, String command, Long beginMillis, TransactionCurrentSqlBuilder sqlBuilder) {
-        synchronized (this) { // toRomanticString() of exception thread looks the resources
-            doRegisterTableCommand(tableName, command, beginMillis, sqlBuilder);
-        }
+        // no synchronized, toRomanticString() of exception thread looks the thread-safe resources
+        doRegisterTableCommand(tableName, command, beginMillis, sqlBuilder);
     }
 
     protected void doRegisterTableCommand(String tableName, String command, Long beginMillis, TransactionCurrentSqlBuilder sqlBuilder) {
-        if (tableCommandMap == null) {
-            tableCommandMap = newTableCommandMap();
+        if (tableCommandKeySet.add(tableName + "@" + command)) { // first time, basically false after that
+            tableCommandQueue.add(new String[] { tableName, command });
         }
-        Set<String> commandSet = tableCommandMap.get(tableName);
-        if (commandSet == null) {
-            commandSet = newCommandSet();
-            tableCommandMap.put(tableName, commandSet);
-        }
-        commandSet.add(command);
-        currentTableName = tableName;
-        currentCommand = command;
-        currentSqlBeginMillis = beginMillis;
-        currentSqlBuilder = sqlBuilder;
+        currentSqlState = createCurrentSqlState(tableName, command, beginMillis, sqlBuilder);
+    }
+
+    protected TransactionCurrentSqlState createCurrentSqlState(String tableName, String command, Long beginMillis,
+            TransactionCurrentSqlBuilder sqlBuilder) {
+        return new TransactionCurrentSqlState(tableName, command, beginMillis, sqlBuilder);
     }
 
     protected Map<String, Set<String>> newTableCommandMap() {
-        return new LinkedHashMap<String, Set<String>>(); // plain because of synchronized
+        return new LinkedHashMap<String, Set<String>>(); // plain because of snapshot
     }
 
     protected Set<String> newCommandSet() {
@@ -211,16 +211,11 @@ public class RomanticTransaction extends LaTransaction {
     //                                         Clear Current
     //                                         -------------
     public void clearCurrent() {
-        synchronized (this) { // toRomanticString() of exception thread looks the resources
-            doClearCurrent();
-        }
+        doClearCurrent();
     }
 
     protected void doClearCurrent() {
-        currentTableName = null;
-        currentCommand = null;
-        currentSqlBeginMillis = null;
-        currentSqlBuilder = null;
+        currentSqlState = null;
     }
 
     // ===================================================================================
@@ -228,36 +223,38 @@ public class RomanticTransaction extends LaTransaction {
     //                                                                       =============
     public void registerRecentResult(String tableName, String command, Long beginMillis, Long endMillis, Class<?> resultType,
             Object resultValue, BehaviorCommandMeta meta) {
-        synchronized (this) { // toRomanticString() of exception thread looks the resources
-            doRegisterRecentResult(tableName, command, beginMillis, endMillis, resultType, resultValue, meta);
+        if (readOnly) { // no rollback memories needed, so skip bookkeeping for performance
+            return;
         }
+        // no synchronized, the ring buffer is lock-free
+        doRegisterRecentResult(tableName, command, beginMillis, endMillis, resultType, resultValue, meta);
     }
 
     public void doRegisterRecentResult(String tableName, String command, Long beginMillis, Long endMillis, Class<?> resultType,
             Object resultValue, BehaviorCommandMeta meta) {
-        if (recentResultList == null) {
-            recentResultList = newRecentResult();
-        }
-        if (recentResultList.size() > getRecentResultSavingLimit()) {
-            recentResultList.removeFirst();
+        final TransactionRecentResultRing ring = prepareRecentResultRing();
+        final long statementNo = ring.nextStatementNo();
+        // converted to summary here so the result value (e.g. selected list) is not retained
+        ring.save(createSavedRecentResult(statementNo, tableName, command, beginMillis, endMillis, resultType, resultValue, meta));
+    }
+
+    protected TransactionRecentResultRing prepareRecentResultRing() {
+        final TransactionRecentResultRing existing = recentResultRingRef.get();
+        if (existing != null) { // mainly here
+            return existing;
         }
-        final long statementNo = prepareRecentResultStatementNo();
-        recentResultList
-                .add(createSavedRecentResult(statementNo, tableName, command, beginMillis, endMillis, resultType, resultValue, meta));
+        recentResultRingRef.compareAndSet(null, newRecentResultRing()); // loser's ring is discarded
+        return recentResultRingRef.get();
     }
 
-    protected LinkedList<TransactionSavedRecentResult> newRecentResult() {
-        return new LinkedList<TransactionSavedRecentResult>(); // plain because of synchronized
+    protected TransactionRecentResultRing newRecentResultRing() {
+        return new TransactionRecentResultRing(getRecentResultSavingLimit());
     }
 
     protected int getRecentResultSavingLimit() {
         return 30;
     }
 
-    protected long prepareRecentResultStatementNo() {
-        return recentResultList.isEmpty() ? 1L : recentResultList.peekLast().getStatementNo() + 1;
-    }
-
     protected TransactionSavedRecentResult createSavedRecentResult(long statementNo, String tableName, String command, Long beginMillis,
             Long endMillis, Class<?> resultType, Object resultValue, BehaviorCommandMeta meta) {
         return new TransactionSavedRecentResult(statementNo, tableName, command, beginMillis, endMillis, resultType, resultValue, meta);
@@ -267,16 +264,11 @@ public class RomanticTransaction extends LaTransaction {
     //                                          Clear Recent
     //                                          ------------
     public void clearRecent() {
-        synchronized (this) { // toRomanticString() of exception thread looks the resources
-            doClearRecent();
-        }
+        doClearRecent();
     }
 
     protected void doClearRecent() {
-        if (recentResultList != null) {
-            recentResultList.clear();
-        }
-        recentResultList = null;
+        recentResultRingRef.set(null);
     }
 
     // ===================================================================================
@@ -298,33 +290,58 @@ public class RomanticTransaction extends LaTransaction {
         return transactionBeginMillis;
     }
 
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return The snapshot map of table commands in registration order, e.g. map:{MEMBER = list:{selectList}} (NotNull, EmptyAllowed)
+     */
     public Map<String, Set<String>> getReadOnlyTableCommandMap() {
-        if (tableCommandMap != null) {
-            return Collections.unmodifiableMap(tableCommandMap);
-        } else {
+        if (tableCommandQueue.isEmpty()) {
             return Collections.emptyMap();
         }
+        final Map<String, Set<String>> tableCommandMap = newTableCommandMap();
+        for (String[] tableCommand : tableCommandQueue) { // weakly consistent
+            tableCommandMap.computeIfAbsent(tableCommand[0], key -> newCommandSet()).add(tableCommand[1]);
+        }
+        return Collections.unmodifiableMap(tableCommandMap);
+    }
+
+    /**
+     * @return The state of current SQL as one object. (NullAllowed: when no SQL now)
+     */
+    public TransactionCurrentSqlState getCurrentSqlState() {
+        return currentSqlState;
     }
 
     public String getCurrentTableName() {
-        return currentTableName;
+        final TransactionCurrentSqlState state = currentSqlState;
+        return state != null ? state.getTableName() : null;
     }
 
     public String getCurrentCommand() {
-        return currentCommand;
+        final TransactionCurrentSqlState state = currentSqlState;
+        return state != null ? state.getCommand() : null;
     }
 
     public Long getCurrentSqlBeginMillis() {
-        return currentSqlBeginMillis;
+        final TransactionCurrentSqlState state = currentSqlState;
+        return state != null ? state.getBeginMillis() : null;
     }
 
     public TransactionCurrentSqlBuilder getCurrentSqlBuilder() {
-        return currentSqlBuilder;
+        final TransactionCurrentSqlState state = currentSqlState;
+        return state != null ? state.getSqlBuilder() : null;
     }
 
+    /**
+     * @return The snapshot list of recent results ordered by statement number. (NotNull, EmptyAllowed)
+     */
     public List<TransactionSavedRecentResult> getReadOnlyRecentResultList() {
-        if (recentResultList != null) {
-            return Collections.unmodifiableList(recentResultList);
+        final TransactionRecentResultRing ring = recentResultRingRef.get();
+        if (ring != null) {
+            return Collections.unmodifiableList(ring.snapshot());
         } else {
             return Collections.emptyList();
         }
@@ -15,6 +15,7 @@
  */
 package org.lastaflute.db.jta.lazytx;
 
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.lastaflute.db.dbflute.callbackcontext.lazytx.LazyTxBehaviorCommandHook;
@@ -56,6 +57,26 @@ public class LazyTransactionArranger {
         oneArgLambda.accept(createLazyTxBehaviorCommandHook());
     }
 
+    /**
+     * Ready lazy transaction handling with key of metrics, e.g. action name. <br>
+     * Metrics are recorded per the key as well as total so you can decide whether lazy is effective per action.
+     * <pre>
+     * public ActionResponse hookBefore(ActionRuntime runtime) {
+     *     String metricsKey = runtime.getActionType().getSimpleName() + "@" + runtime.getExecuteMethod().getName();
+     *     arranger.<span style="color: #CC4747">readyLazyTransaction</span>(metricsKey, hook <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> {
+     *         CallbackContext.<span style="color: #994747">setBehaviorCommandHookOnThread</span>(hook);
+     *     });
+     *     return super.hookBefore(runtime);
+     * }
+     * </pre>
+     * @param metricsKey The key to separate metrics from others. (NotNull)
+     * @param oneArgLambda The consumer of behavior command hook for lazy transaction. (NotNull)
+     */
+    public void readyLazyTransaction(String metricsKey, Consumer<LazyTxBehaviorCommandHook> oneArgLambda) {
+        LazyUserTransaction.readyLazyTransaction(metricsKey);
+        oneArgLambda.accept(createLazyTxBehaviorCommandHook());
+    }
+
     protected LazyTxBehaviorCommandHook createLazyTxBehaviorCommandHook() { // you can override
         return new LazyTxBehaviorCommandHook();
     }
@@ -81,4 +102,20 @@ public class LazyTransactionArranger {
     public void closeLazyTransaction() {
         LazyUserTransaction.closeLazyTransaction();
     }
+
+    /**
+     * Get the total metrics of lazy transaction, e.g. untouched count, commit latency.
+     * @return The metrics shared in application. (NotNull)
+     */
+    public LazyTransactionMetrics getTotalMetrics() {
+        return LazyUserTransaction.getTotalMetrics();
+    }
+
+    /**
+     * Get the metrics of lazy transaction per key specified when ready.
+     * @return The read-only map of metrics, key is metrics key. (NotNull, EmptyAllowed)
+     */
+    public Map<String, LazyTransactionMetrics> getKeyMetricsMap() {
+        return LazyUserTransaction.getKeyMetricsMap();
+    }
 }
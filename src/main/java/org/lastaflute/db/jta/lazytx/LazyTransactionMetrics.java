@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.lazytx;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.lastaflute.core.magic.metrics.ElapsedTimeHistogram;
+
+/**
+ * The metrics of lazy transaction, to know how much lazy transaction saves. <br>
+ * Counters and histograms are lock-free so recorded by all transactions of application.
+ * <pre>
+ * lazyBegin     : logical begin (physical begin is deferred)
+ * physicalBegin : physical begin of lazy transaction (by first update command)
+ * normalBegin   : physical begin without lazy (e.g. not ready lazy, nested transaction)
+ * untouched     : lazy transaction finished without physical begin (round trips saved)
+ * deferred      : time from logical begin to physical begin (connection hold time saved)
+ * physicalHold  : time from physical begin to commit or roll-back of lazy transaction
+ * commit        : latency of physical commit
+ * rollback      : latency of physical roll-back
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class LazyTransactionMetrics {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final LongAdder lazyBeginCount = new LongAdder();
+    protected final LongAdder physicalBeginCount = new LongAdder();
+    protected final LongAdder normalBeginCount = new LongAdder();
+    protected final LongAdder untouchedCount = new LongAdder();
+    protected final ElapsedTimeHistogram deferredHistogram = new ElapsedTimeHistogram();
+    protected final ElapsedTimeHistogram physicalHoldHistogram = new ElapsedTimeHistogram();
+    protected final ElapsedTimeHistogram commitHistogram = new ElapsedTimeHistogram();
+    protected final ElapsedTimeHistogram rollbackHistogram = new ElapsedTimeHistogram();
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void recordLazyBegin() {
+        lazyBeginCount.increment();
+    }
+
+    /**
+     * @param deferredNanos The nanoseconds from logical begin to physical begin. (minus is treated as zero)
+     */
+    public void recordPhysicalBegin(long deferredNanos) {
+        physicalBeginCount.increment();
+        deferredHistogram.record(deferredNanos);
+    }
+
+    public void recordNormalBegin() {
+        normalBeginCount.increment();
+    }
+
+    public void recordUntouched() {
+        untouchedCount.increment();
+    }
+
+    /**
+     * @param holdNanos The nanoseconds from physical begin to commit or roll-back. (minus is treated as zero)
+     */
+    public void recordPhysicalHold(long holdNanos) {
+        physicalHoldHistogram.record(holdNanos);
+    }
+
+    /**
+     * @param elapsedNanos The nanoseconds of physical commit. (minus is treated as zero)
+     */
+    public void recordCommit(long elapsedNanos) {
+        commitHistogram.record(elapsedNanos);
+    }
+
+    /**
+     * @param elapsedNanos The nanoseconds of physical roll-back. (minus is treated as zero)
+     */
+    public void recordRollback(long elapsedNanos) {
+        rollbackHistogram.record(elapsedNanos);
+    }
+
+    /**
+     * Reset recorded values, e.g. after exporting them.
+     */
+    public void reset() {
+        lazyBeginCount.reset();
+        physicalBeginCount.reset();
+        normalBeginCount.reset();
+        untouchedCount.reset();
+        deferredHistogram.reset();
+        physicalHoldHistogram.reset();
+        commitHistogram.reset();
+        rollbackHistogram.reset();
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    /**
+     * @return The rate of lazy transactions finished without physical begin. (0.0 to 1.0, zero if no lazy begin)
+     */
+    public double getUntouchedRate() {
+        final long lazyBegin = lazyBeginCount.sum();
+        return lazyBegin > 0 ? (double) untouchedCount.sum() / lazyBegin : 0.0;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("lazyTxMetrics:{");
+        sb.append("lazyBegin=").append(lazyBeginCount.sum());
+        sb.append(", physicalBegin=").append(physicalBeginCount.sum());
+        sb.append(", normalBegin=").append(normalBeginCount.sum());
+        sb.append(", untouched=").append(untouchedCount.sum());
+        sb.append(String.format(" (%.1f%%)", getUntouchedRate() * 100.0));
+        sb.append(", deferred=").append(deferredHistogram);
+        sb.append(", physicalHold=").append(physicalHoldHistogram);
+        sb.append(", commit=").append(commitHistogram);
+        sb.append(", rollback=").append(rollbackHistogram);
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public long getLazyBeginCount() {
+        return lazyBeginCount.sum();
+    }
+
+    public long getPhysicalBeginCount() {
+        return physicalBeginCount.sum();
+    }
+
+    public long getNormalBeginCount() {
+        return normalBeginCount.sum();
+    }
+
+    public long getUntouchedCount() {
+        return untouchedCount.sum();
+    }
+
+    public ElapsedTimeHistogram getDeferredHistogram() {
+        return deferredHistogram;
+    }
+
+    public ElapsedTimeHistogram getPhysicalHoldHistogram() {
+        return physicalHoldHistogram;
+    }
+
+    public ElapsedTimeHistogram getCommitHistogram() {
+        return commitHistogram;
+    }
+
+    public ElapsedTimeHistogram getRollbackHistogram() {
+        return rollbackHistogram;
+    }
+}
@@ -18,6 +18,9 @@ package org.lastaflute.db.jta.lazytx;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
@@ -53,6 +56,15 @@ public class LazyUserTransaction extends HookedUserTransaction {
     //                                                                          ==========
     private static final Logger logger = LoggerFactory.getLogger(LazyUserTransaction.class);
 
+    /** The limit count of metrics per key, to avoid unbounded growth by e.g. dynamic key. */
+    protected static final int KEY_METRICS_LIMIT = 1000;
+
+    // ===================================================================================
+    //                                                                      Metrics Holder
+    //                                                                      ==============
+    protected static final LazyTransactionMetrics totalMetrics = new LazyTransactionMetrics();
+    protected static final Map<String, LazyTransactionMetrics> keyMetricsMap = new ConcurrentHashMap<String, LazyTransactionMetrics>();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -76,9 +88,11 @@ public class LazyUserTransaction extends HookedUserTransaction {
                 }
                 incrementHierarchyLevel();
                 superDoBegin(); // nested transaction is not lazy fixedly
+                recordMetrics(metrics -> metrics.recordNormalBegin());
             }
         } else { // normal transaction
             superDoBegin();
+            recordMetrics(metrics -> metrics.recordNormalBegin());
         }
     }
 
@@ -87,11 +101,16 @@ public class LazyUserTransaction extends HookedUserTransaction {
             logger.debug("#lazyTx ...Being lazyBegun: {}", buildLazyTxExp());
         }
         markLazyTransactionLazyBegun();
+        final long lazyBegunNanos = System.nanoTime();
+        recordMetrics(metrics -> metrics.recordLazyBegin());
         arrangeLazyProcessIfAllowed(() -> {
             if (logger.isDebugEnabled()) {
                 logger.debug("#lazyTx ...Being realBegun: {}", buildLazyTxExp());
             }
             superDoBegin();
+            final long realBegunNanos = System.nanoTime();
+            ThreadCacheContext.setObject(generateRealBegunNanosKey(), realBegunNanos);
+            recordMetrics(metrics -> metrics.recordPhysicalBegin(realBegunNanos - lazyBegunNanos));
         });
     }
 
@@ -117,17 +136,22 @@ public class LazyUserTransaction extends HookedUserTransaction {
             if (logger.isDebugEnabled()) {
                 logger.debug("#lazyTx ...Committing the transaction: {}", buildLazyTxExp());
             }
+            final long beginNanos = System.nanoTime();
             superDoCommit();
+            final long elapsedNanos = System.nanoTime() - beginNanos;
+            recordMetrics(metrics -> metrics.recordCommit(elapsedNanos));
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("#lazyTx *No commit because of non-begun transaction: {}", buildLazyTxExp());
             }
+            recordMetrics(metrics -> metrics.recordUntouched());
         }
         if (canLazyTransaction()) {
             decrementHierarchyLevel();
             resumeForcedlyBegunLazyTransactionIfNeeds(); // when nested transaction
         }
         if (isLazyTransactionReadyLazy() && isHerarchyLevelZero()) { // lazy transaction is supported only for root
+            recordPhysicalHoldIfNeeds();
             returnToReadyLazy();
         }
     }
@@ -161,17 +185,22 @@ public class LazyUserTransaction extends HookedUserTransaction {
     @Override
     protected void doRollback() throws IllegalStateException, SecurityException, SystemException {
         if (canTerminateTransactionReally()) {
+            final long beginNanos = System.nanoTime();
             superDoRollback();
+            final long elapsedNanos = System.nanoTime() - beginNanos;
+            recordMetrics(metrics -> metrics.recordRollback(elapsedNanos));
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("#lazyTx *No rollback because of non-begun transaction: {}", buildLazyTxExp());
             }
+            recordMetrics(metrics -> metrics.recordUntouched());
         }
         if (canLazyTransaction()) {
             decrementHierarchyLevel();
             resumeForcedlyBegunLazyTransactionIfNeeds(); // when nested transaction
         }
         if (isLazyTransactionReadyLazy() && isHerarchyLevelZero()) { // lazy transaction is supported only for root
+            recordPhysicalHoldIfNeeds();
             returnToReadyLazy();
         }
     }
@@ -180,6 +209,63 @@ public class LazyUserTransaction extends HookedUserTransaction {
         super.doRollback();
     }
 
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    protected void recordPhysicalHoldIfNeeds() {
+        final Long realBegunNanos = ThreadCacheContext.getObject(generateRealBegunNanosKey());
+        if (realBegunNanos != null) { // physically begun by lazy transaction
+            final long holdNanos = System.nanoTime() - realBegunNanos;
+            recordMetrics(metrics -> metrics.recordPhysicalHold(holdNanos));
+        }
+    }
+
+    protected static void recordMetrics(Consumer<LazyTransactionMetrics> recorder) {
+        recorder.accept(totalMetrics);
+        final String metricsKey = ThreadCacheContext.getObject(generateMetricsKeyKey());
+        if (metricsKey != null) { // e.g. action name
+            final LazyTransactionMetrics keyMetrics = findOrCreateKeyMetrics(metricsKey);
+            if (keyMetrics != null) {
+                recorder.accept(keyMetrics);
+            }
+        }
+    }
+
+    protected static LazyTransactionMetrics findOrCreateKeyMetrics(String metricsKey) { // null allowed when over limit
+        final LazyTransactionMetrics cached = keyMetricsMap.get(metricsKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (keyMetricsMap.size() >= KEY_METRICS_LIMIT) { // only total metrics
+            return null;
+        }
+        return keyMetricsMap.computeIfAbsent(metricsKey, key -> new LazyTransactionMetrics());
+    }
+
+    /**
+     * Get the metrics of all transactions handled by lazy user transaction.
+     * @return The metrics shared in application. (NotNull)
+     */
+    public static LazyTransactionMetrics getTotalMetrics() {
+        return totalMetrics;
+    }
+
+    /**
+     * Get the metrics per key specified when ready lazy, e.g. per action.
+     * @return The read-only map of metrics, key is metrics key. (NotNull, EmptyAllowed)
+     */
+    public static Map<String, LazyTransactionMetrics> getKeyMetricsMap() {
+        return Collections.unmodifiableMap(keyMetricsMap);
+    }
+
+    /**
+     * Reset all metrics, e.g. after exporting them.
+     */
+    public static void resetMetrics() {
+        totalMetrics.reset();
+        keyMetricsMap.clear();
+    }
+
     // ===================================================================================
     //                                                                     Hierarchy Level
     //                                                                     ===============
@@ -370,6 +456,18 @@ public class LazyUserTransaction extends HookedUserTransaction {
         markLazyTransactionReadyLazy();
     }
 
+    /**
+     * Ready lazy transaction with key of metrics, e.g. action name.
+     * @param metricsKey The key to separate metrics from others. (NotNull)
+     */
+    public static void readyLazyTransaction(String metricsKey) {
+        if (metricsKey == null) {
+            throw new IllegalArgumentException("The argument 'metricsKey' should not be null.");
+        }
+        readyLazyTransaction();
+        ThreadCacheContext.setObject(generateMetricsKeyKey(), metricsKey);
+    }
+
     public static void beginRealTransactionLazily() {
         final List<IndependentProcessor> lazyList = getLazyProcessList();
         if (!lazyList.isEmpty()) {
@@ -387,6 +485,7 @@ public class LazyUserTransaction extends HookedUserTransaction {
         }
         ThreadCacheContext.removeObject(generateLazyBegunKey());
         ThreadCacheContext.removeObject(generateRealBegunKey());
+        ThreadCacheContext.removeObject(generateRealBegunNanosKey());
         ThreadCacheContext.removeObject(generateLazyProcessListKey());
         ThreadCacheContext.removeObject(generateResumeKey()); // just in case
     }
@@ -396,8 +495,10 @@ public class LazyUserTransaction extends HookedUserTransaction {
             logger.debug("#lazyTx ...Being over: {}", buildLazyTxExp());
         }
         ThreadCacheContext.removeObject(generateReadyLazyKey());
+        ThreadCacheContext.removeObject(generateMetricsKeyKey());
         ThreadCacheContext.removeObject(generateLazyBegunKey());
         ThreadCacheContext.removeObject(generateRealBegunKey());
+        ThreadCacheContext.removeObject(generateRealBegunNanosKey());
         ThreadCacheContext.removeObject(generateLazyProcessListKey());
         ThreadCacheContext.removeObject(generateResumeKey()); // just in case
     }
@@ -447,6 +548,17 @@ public class LazyUserTransaction extends HookedUserTransaction {
         return "lazyTx:realBegun";
     }
 
+    protected static String generateRealBegunNanosKey() {
+        return "lazyTx:realBegunNanos";
+    }
+
+    // -----------------------------------------------------
+    //                                           Metrics Key
+    //                                           -----------
+    protected static String generateMetricsKeyKey() {
+        return "lazyTx:metricsKey";
+    }
+
     // -----------------------------------------------------
     //                                       Hierarchy Level
     //                                       ---------------
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.romanticist;
+
+/**
+ * The immutable state of current SQL in transaction, replaced as one object per SQL.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class TransactionCurrentSqlState {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String tableName; // basically not null in command
+    protected final String command; // basically not null in command
+    protected final Long beginMillis; // null allowed (but almost not null)
+    protected final TransactionCurrentSqlBuilder sqlBuilder; // basically not null in command
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public TransactionCurrentSqlState(String tableName, String command, Long beginMillis, TransactionCurrentSqlBuilder sqlBuilder) {
+        this.tableName = tableName;
+        this.command = command;
+        this.beginMillis = beginMillis;
+        this.sqlBuilder = sqlBuilder;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "currentSql:{" + tableName + "@" + command + ", begin=" + beginMillis + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public Long getBeginMillis() {
+        return beginMillis;
+    }
+
+    public TransactionCurrentSqlBuilder getSqlBuilder() {
+        return sqlBuilder;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.romanticist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The fixed-size ring buffer of recent results in transaction, lock-free. <br>
+ * Statement numbers are sequential in the transaction, and a new result overwrites the oldest slot.
+ * Saved results are summaries (e.g. size, primary key) so selected lists are not retained.
+ * <pre>
+ * e.g. capacity 3
+ *  no:1, no:2, no:3   : slots [1, 2, 3]
+ *  no:4               : slots [4, 2, 3] (snapshot: 2, 3, 4)
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class TransactionRecentResultRing {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int capacity; // positive
+    protected final AtomicReferenceArray<TransactionSavedRecentResult> slots; // not null, element null allowed
+    protected final AtomicLong sequence = new AtomicLong(); // latest statement number
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param capacity The max count of saved results. (Positive)
+     */
+    public TransactionRecentResultRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The argument 'capacity' should be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<TransactionSavedRecentResult>(capacity);
+    }
+
+    // ===================================================================================
+    //                                                                         Save Result
+    //                                                                         ===========
+    /**
+     * @return The new statement number for the next result, sequential from 1.
+     */
+    public long nextStatementNo() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Save the result into the slot for its statement number. <br>
+     * The result is not saved if the slot already has newer result (e.g. slow thread in async).
+     * @param result The saved result that has statement number from {@link #nextStatementNo()}. (NotNull)
+     */
+    public void save(TransactionSavedRecentResult result) {
+        if (result == null) {
+            throw new IllegalArgumentException("The argument 'result' should not be null.");
+        }
+        final long statementNo = result.getStatementNo();
+        final int index = toSlotIndex(statementNo);
+        while (true) {
+            final TransactionSavedRecentResult existing = slots.get(index);
+            if (existing != null && existing.getStatementNo() > statementNo) {
+                return; // already overwritten by newer result
+            }
+            if (slots.compareAndSet(index, existing, result)) {
+                return;
+            }
+        }
+    }
+
+    protected int toSlotIndex(long statementNo) {
+        return (int) ((statementNo - 1) % capacity);
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    /**
+     * @return The new-created list of saved results ordered by statement number. (NotNull, EmptyAllowed)
+     */
+    public List<TransactionSavedRecentResult> snapshot() {
+        final long latestNo = sequence.get();
+        final long oldestNo = Math.max(1L, latestNo - capacity + 1);
+        final List<TransactionSavedRecentResult> resultList = new ArrayList<TransactionSavedRecentResult>(capacity);
+        for (long statementNo = oldestNo; statementNo <= latestNo; statementNo++) {
+            final TransactionSavedRecentResult result = slots.get(toSlotIndex(statementNo));
+            if (result != null && result.getStatementNo() == statementNo) { // skip not-saved-yet or overwritten
+                resultList.add(result);
+            }
+        }
+        return resultList;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "recentResultRing:{latest=" + sequence.get() + ", capacity=" + capacity + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -191,13 +191,13 @@ public class TransactionRomanticSnapshotBuilder {
     //                                                                         Current SQL
     //                                                                         ===========
     protected void setupCurrentSqlExp(StringBuilder sb, RomanticTransaction tx) {
-        final TransactionCurrentSqlBuilder currentSqlBuilder = tx.getCurrentSqlBuilder();
-        if (currentSqlBuilder != null) {
-            final String currentSql = currentSqlBuilder.buildSql();
+        final TransactionCurrentSqlState currentSqlState = tx.getCurrentSqlState(); // read once for consistent state
+        if (currentSqlState != null && currentSqlState.getSqlBuilder() != null) {
+            final String currentSql = currentSqlState.getSqlBuilder().buildSql();
             sb.append("\n/- - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -");
             sb.append(" (SQL now: ");
-            sb.append(tx.getCurrentTableName()).append("@").append(tx.getCurrentCommand());
-            final Long currentSqlBeginMillis = tx.getCurrentSqlBeginMillis();
+            sb.append(currentSqlState.getTableName()).append("@").append(currentSqlState.getCommand());
+            final Long currentSqlBeginMillis = currentSqlState.getBeginMillis();
             if (currentSqlBeginMillis != null) {
                 sb.append(" [").append(tx.buildElapsedTimeExp(currentSqlBeginMillis)).append("]");
             }
@@ -46,6 +46,10 @@ public class BegunTx<RESULT> {
         return TransactionGenre.REQUIRES_NEW.equals(genre);
     }
 
+    public boolean isReadOnly() {
+        return TransactionGenre.READ_ONLY.equals(genre);
+    }
+
     // ===================================================================================
     //                                                                  Transaction Result
     //                                                                  ==================
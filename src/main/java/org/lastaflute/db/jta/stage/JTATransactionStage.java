@@ -19,6 +19,7 @@ import javax.annotation.Resource;
 
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.core.magic.destructive.BowgunDestructiveAdjuster;
+import org.lastaflute.db.replication.splitting.ReadWriteSplittingContext;
 import org.lastaflute.di.tx.TransactionManagerAdapter;
 
 /**
@@ -54,6 +55,7 @@ public class JTATransactionStage implements TransactionStage {
         if (isDestructiveRequiresNewToRequired()) { // destructive (for e.g. UnitTest)
             return required(txLambda); // use outer transaction if it exists
         } else { // basically here
+            final boolean suspended = suspendReadOnlyIfNeeds(); // new transaction is not read-only
             try {
                 return wrapOptional((RESULT) transactionManagerAdapter.requiresNew(adapter -> {
                     return performTx(txLambda, adapter, TransactionGenre.REQUIRES_NEW);
@@ -61,10 +63,56 @@ public class JTATransactionStage implements TransactionStage {
             } catch (Throwable e) {
                 handleTransactionFailure(txLambda, e);
                 return null; // unreachable
+            } finally {
+                resumeReadOnlyIfNeeds(suspended);
             }
         }
     }
 
+    /**
+     * {@inheritDoc} <br>
+     * So write commands in the transaction basically fail by database.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <RESULT> OptionalThing<RESULT> readOnly(TransactionShow<RESULT> txLambda) {
+        final boolean destructive = isDestructiveRequiresNewToRequired();
+        // no connection marking if destructive, the outer transaction's connection may be joined and used for writes later
+        final boolean begun = ReadWriteSplittingContext.beginReadOnlyOnThread(!destructive);
+        try {
+            if (destructive) { // destructive (for e.g. UnitTest)
+                return wrapOptional((RESULT) transactionManagerAdapter.required(adapter -> {
+                    return performTx(txLambda, adapter, TransactionGenre.READ_ONLY);
+                }), txLambda);
+            } else { // basically here
+                return wrapOptional((RESULT) transactionManagerAdapter.requiresNew(adapter -> {
+                    return performTx(txLambda, adapter, TransactionGenre.READ_ONLY);
+                }), txLambda);
+            }
+        } catch (Throwable e) {
+            handleTransactionFailure(txLambda, e);
+            return null; // unreachable
+        } finally {
+            if (begun) {
+                ReadWriteSplittingContext.endReadOnlyOnThread();
+            }
+        }
+    }
+
+    protected boolean suspendReadOnlyIfNeeds() {
+        if (ReadWriteSplittingContext.isReadOnlyOnThread()) { // e.g. requiresNew() in read-only action
+            ReadWriteSplittingContext.endReadOnlyOnThread(); // previous hook is restored, and saved again when resumed
+            return true;
+        }
+        return false;
+    }
+
+    protected void resumeReadOnlyIfNeeds(boolean suspended) {
+        if (suspended) {
+            ReadWriteSplittingContext.beginReadOnlyOnThread();
+        }
+    }
+
     protected <RESULT> void handleTransactionFailure(TransactionShow<RESULT> txLambda, Throwable e) throws Error {
         if (e instanceof RuntimeException) {
             throw (RuntimeException) e;
@@ -82,6 +130,8 @@ public class JTATransactionStage implements TransactionStage {
             return required(txLambda);
         } else if (TransactionGenre.REQUIRES_NEW.equals(genre)) {
             return requiresNew(txLambda);
+        } else if (TransactionGenre.READ_ONLY.equals(genre)) {
+            return readOnly(txLambda);
         } else if (TransactionGenre.NONE.equals(genre)) {
             final BegunTx<RESULT> tx = newBegunTransaction(TransactionGenre.NONE);
             txLambda.perform(tx);
@@ -40,6 +40,11 @@ public class NoneTransactionStage implements TransactionStage {
         return wrapOptional(doPerform(txLambda), txLambda);
     }
 
+    @Override
+    public <RESULT> OptionalThing<RESULT> readOnly(TransactionShow<RESULT> txLambda) {
+        return wrapOptional(doPerform(txLambda), txLambda);
+    }
+
     protected <RESULT> RESULT doPerform(TransactionShow<RESULT> txLambda) {
         final BegunTx<RESULT> tx = newBegunTransaction();
         txLambda.perform(tx);
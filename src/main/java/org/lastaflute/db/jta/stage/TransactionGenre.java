@@ -20,5 +20,5 @@ package org.lastaflute.db.jta.stage;
  */
 public enum TransactionGenre {
 
-    NONE, REQUIRED, REQUIRES_NEW
+    NONE, REQUIRED, REQUIRES_NEW, READ_ONLY // read-only is new transaction with read-only connection
 }
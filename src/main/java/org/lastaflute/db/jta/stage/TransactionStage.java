@@ -66,6 +66,23 @@ public interface TransactionStage {
      */
     <RESULT> OptionalThing<RESULT> requiresNew(TransactionShow<RESULT> txLambda);
 
+    /**
+     * Execute the show in new read-only transaction, roll-backed if exception. <br>
+     * Connections in the transaction are marked as read-only, and selects can be routed to replica by read/write splitter.
+     * <pre>
+     * <span style="color: #994747">List&lt;Member&gt; memberList</span> = (List&lt;Member&gt;)readOnly(<span style="color: #553000">tx</span> <span style="font-size: 120%">-</span>&gt;</span> {
+     *     List&lt;Member&gt; memberList = selectList(...); <span style="color: #3F7E5E">// no write here</span>
+     *     <span style="color: #553000">tx</span>.<span style="color: #CC4747">returns</span>(memberList); <span style="color: #3F7E5E">// for return</span>
+     * }).<span style="color: #994747">get()</span>; <span style="color: #3F7E5E">// optional handling</span>
+     * </pre>
+     * @param <RESULT> The type of transaction result.
+     * @param txLambda The callback for your transaction show on the stage. (NotNull)
+     * @return The optional result of the transaction show. (NullAllowed)
+     */
+    default <RESULT> OptionalThing<RESULT> readOnly(TransactionShow<RESULT> txLambda) {
+        return requiresNew(txLambda); // as plain new transaction if the stage does not support read-only
+    }
+
     /**
      * Execute the show in transaction by selected genre, roll-backed if exception.
      * @param <RESULT> The type of transaction result.
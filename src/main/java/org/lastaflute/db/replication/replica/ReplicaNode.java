@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.replica;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The node of replica (slave DB) for routing, which has its state for selection. <br>
+ * The name is used as selectable data source key, e.g. "slave1" means "slave1DataSource" component.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ReplicaNode {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final double LATENCY_SMOOTHING = 0.2; // weight of new latency for moving average
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final String name; // not null, as selectable data source key
+    protected final int weight; // positive
+    protected final AtomicInteger outstandingCount = new AtomicInteger();
+    protected final AtomicLong latencyAverageNanos = new AtomicLong(); // of SQL execution, exponentially weighted, zero if no measurement
+    protected final AtomicInteger consecutiveFailureCount = new AtomicInteger();
+    protected volatile long ejectedUntilMillis; // zero if not ejected
+    protected final LongAdder successCount = new LongAdder();
+    protected final LongAdder failureCount = new LongAdder();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param name The name of replica as selectable data source key, e.g. slave1. (NotNull)
+     * @param weight The weight of the replica for selection. (Positive)
+     */
+    public ReplicaNode(String name, int weight) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("The argument 'name' should not be null or empty: " + name);
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("The argument 'weight' should be positive: " + weight);
+        }
+        this.name = name;
+        this.weight = weight;
+    }
+
+    // ===================================================================================
+    //                                                                              Access
+    //                                                                              ======
+    public void beginAccess() {
+        outstandingCount.incrementAndGet();
+    }
+
+    public void endAccess() {
+        outstandingCount.decrementAndGet();
+    }
+
+    /**
+     * @param commandLatencyNanos The average nanoseconds of commands (SQL execution) in the access. (ZeroAllowed: no command)
+     */
+    public void recordSuccess(long commandLatencyNanos) {
+        successCount.increment();
+        consecutiveFailureCount.set(0);
+        if (commandLatencyNanos <= 0L) { // e.g. no SQL in the access, not to distort latency
+            return;
+        }
+        latencyAverageNanos.updateAndGet(current -> {
+            if (current == 0L) { // first measurement
+                return commandLatencyNanos;
+            }
+            return (long) (current + LATENCY_SMOOTHING * (commandLatencyNanos - current));
+        });
+    }
+
+    /**
+     * @return The count of consecutive failures after this failure.
+     */
+    public int recordFailure() {
+        failureCount.increment();
+        return consecutiveFailureCount.incrementAndGet();
+    }
+
+    // ===================================================================================
+    //                                                                              Health
+    //                                                                              ======
+    /**
+     * @param currentMillis The current time millis.
+     * @return true if the replica is not ejected now.
+     */
+    public boolean isHealthy(long currentMillis) {
+        return currentMillis >= ejectedUntilMillis; // retried after ejection time as half-open
+    }
+
+    public void eject(long untilMillis) {
+        ejectedUntilMillis = untilMillis;
+        consecutiveFailureCount.set(0); // one more failure chance after ejection
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "replica:{" + name + ", weight=" + weight + ", outstanding=" + outstandingCount.get() + ", latency="
+                + (latencyAverageNanos.get() / 1000L) + "us, success=" + successCount.sum() + ", failure=" + failureCount.sum()
+                + (ejectedUntilMillis > 0L ? ", ejectedUntil=" + ejectedUntilMillis : "") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getOutstandingCount() {
+        return outstandingCount.get();
+    }
+
+    public long getLatencyAverageNanos() {
+        return latencyAverageNanos.get();
+    }
+
+    public long getEjectedUntilMillis() {
+        return ejectedUntilMillis;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.replica;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The router of replicas (slave DBs) to spread read accesses over several replicas. <br>
+ * Each replica is a selectable data source (e.g. "slave1" as "slave1DataSource" component),
+ * and a replica is ejected for a while when connection failures continue.
+ * <pre>
+ * e.g. in your SlaveDBAccessor extending SlaveDBAccessorImpl
+ *  &#64;Override
+ *  protected ReplicaRouter createReplicaRouter() {
+ *      return new ReplicaRouter(ReplicaRoutingStrategy.LEAST_OUTSTANDING) // selection strategy
+ *              .addReplica("slave1", 3).addReplica("slave2", 1) // names and weights
+ *              .ejectBy(3, 30000L); // ejected 30 seconds after 3 consecutive failures
+ *  }
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ReplicaRouter {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final ReplicaRoutingStrategy strategy; // not null
+    protected final List<ReplicaNode> replicaList = new CopyOnWriteArrayList<ReplicaNode>(); // basically fixed after setup
+    protected int ejectionFailureThreshold = 3; // positive
+    protected long ejectionMillis = 30000L; // positive
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param strategy The strategy to select replica. (NotNull)
+     */
+    public ReplicaRouter(ReplicaRoutingStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("The argument 'strategy' should not be null.");
+        }
+        this.strategy = strategy;
+    }
+
+    // ===================================================================================
+    //                                                                               Setup
+    //                                                                               =====
+    /**
+     * @param name The name of replica as selectable data source key, e.g. slave1. (NotNull)
+     * @param weight The weight of the replica for selection. (Positive)
+     * @return this. (NotNull)
+     */
+    public ReplicaRouter addReplica(String name, int weight) {
+        replicaList.add(new ReplicaNode(name, weight));
+        return this;
+    }
+
+    /**
+     * @param failureThreshold The count of consecutive connection failures to eject the replica. (Positive)
+     * @param ejectionMillis The milliseconds of ejection, retried after it. (Positive)
+     * @return this. (NotNull)
+     */
+    public ReplicaRouter ejectBy(int failureThreshold, long ejectionMillis) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("The argument 'failureThreshold' should be positive: " + failureThreshold);
+        }
+        if (ejectionMillis <= 0L) {
+            throw new IllegalArgumentException("The argument 'ejectionMillis' should be positive: " + ejectionMillis);
+        }
+        this.ejectionFailureThreshold = failureThreshold;
+        this.ejectionMillis = ejectionMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                           Selection
+    //                                                                           =========
+    /**
+     * Select one replica from healthy replicas by the strategy.
+     * @return The selected replica. (NullAllowed: when no healthy replica, e.g. all ejected)
+     */
+    public ReplicaNode select() {
+        return select(replica -> true);
+    }
+
+    /**
+     * Select one replica from healthy and acceptable replicas by the strategy.
+     * @param acceptable The determination of acceptable replica, e.g. replication lag is small. (NotNull)
+     * @return The selected replica. (NullAllowed: when no healthy and acceptable replica)
+     */
+    public ReplicaNode select(Predicate<ReplicaNode> acceptable) {
+        final List<ReplicaNode> healthyList = findHealthyList(acceptable);
+        if (healthyList.isEmpty()) {
+            return null;
+        }
+        if (healthyList.size() == 1) {
+            return healthyList.get(0);
+        }
+        switch (strategy) {
+        case LEAST_OUTSTANDING:
+            return selectByLeastOutstanding(healthyList);
+        case LATENCY_AWARE:
+            return selectByLatency(healthyList);
+        default:
+            return selectByWeightedRandom(healthyList);
+        }
+    }
+
+    protected List<ReplicaNode> findHealthyList(Predicate<ReplicaNode> acceptable) {
+        final long currentMillis = currentTimeMillis();
+        final List<ReplicaNode> healthyList = new ArrayList<ReplicaNode>(replicaList.size());
+        for (ReplicaNode replica : replicaList) {
+            if (replica.isHealthy(currentMillis) && acceptable.test(replica)) {
+                healthyList.add(replica);
+            }
+        }
+        return healthyList;
+    }
+
+    protected ReplicaNode selectByWeightedRandom(List<ReplicaNode> healthyList) {
+        int totalWeight = 0;
+        for (ReplicaNode replica : healthyList) {
+            totalWeight += replica.getWeight();
+        }
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (ReplicaNode replica : healthyList) {
+            point -= replica.getWeight();
+            if (point < 0) {
+                return replica;
+            }
+        }
+        return healthyList.get(healthyList.size() - 1); // no way, just in case
+    }
+
+    protected ReplicaNode selectByLeastOutstanding(List<ReplicaNode> healthyList) {
+        return selectByLowestScore(healthyList, replica -> (replica.getOutstandingCount() + 1.0) / replica.getWeight());
+    }
+
+    protected ReplicaNode selectByLatency(List<ReplicaNode> healthyList) {
+        for (ReplicaNode replica : healthyList) {
+            if (replica.getLatencyAverageNanos() == 0L) { // not measured yet
+                return replica;
+            }
+        }
+        return selectByLowestScore(healthyList, replica -> {
+            return replica.getLatencyAverageNanos() * (replica.getOutstandingCount() + 1.0) / replica.getWeight();
+        });
+    }
+
+    protected ReplicaNode selectByLowestScore(List<ReplicaNode> healthyList, ReplicaScoreCalculator calculator) {
+        final int offset = ThreadLocalRandom.current().nextInt(healthyList.size()); // to spread ties
+        ReplicaNode lowest = null;
+        double lowestScore = Double.MAX_VALUE;
+        for (int i = 0; i < healthyList.size(); i++) {
+            final ReplicaNode replica = healthyList.get((offset + i) % healthyList.size());
+            final double score = calculator.calculate(replica);
+            if (lowest == null || score < lowestScore) {
+                lowest = replica;
+                lowestScore = score;
+            }
+        }
+        return lowest;
+    }
+
+    @FunctionalInterface
+    protected static interface ReplicaScoreCalculator {
+
+        double calculate(ReplicaNode replica);
+    }
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    /**
+     * @param replica The accessed replica. (NotNull)
+     * @param commandLatencyNanos The average nanoseconds of commands (SQL execution) in the access. (ZeroAllowed: no command)
+     */
+    public void recordSuccess(ReplicaNode replica, long commandLatencyNanos) {
+        replica.recordSuccess(commandLatencyNanos);
+    }
+
+    /**
+     * Record connection failure of the replica, it is ejected if failures continue over threshold.
+     * @param replica The failed replica. (NotNull)
+     */
+    public void recordFailure(ReplicaNode replica) {
+        final int failureCount = replica.recordFailure();
+        if (failureCount >= ejectionFailureThreshold) {
+            replica.eject(currentTimeMillis() + ejectionMillis);
+            logger.warn("...Ejecting the replica for {}ms by {} consecutive failures: {}", ejectionMillis, failureCount, replica);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis(); // not business time
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "replicaRouter:{" + strategy + ", " + replicaList + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public ReplicaRoutingStrategy getStrategy() {
+        return strategy;
+    }
+
+    public List<ReplicaNode> getReplicaList() {
+        return Collections.unmodifiableList(replicaList);
+    }
+}
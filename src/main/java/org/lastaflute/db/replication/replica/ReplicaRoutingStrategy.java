@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.replica;
+
+/**
+ * The strategy to select one replica (slave DB) from healthy replicas.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public enum ReplicaRoutingStrategy {
+
+    /** Randomly selected in proportion to weight. */
+    WEIGHTED_RANDOM,
+
+    /** Selected by the least count of outstanding requests per weight. */
+    LEAST_OUTSTANDING,
+
+    /** Selected by the lowest average latency considering outstanding requests and weight. */
+    LATENCY_AWARE
+}
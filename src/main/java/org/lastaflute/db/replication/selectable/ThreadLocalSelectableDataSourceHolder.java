@@ -15,9 +15,13 @@
  */
 package org.lastaflute.db.replication.selectable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.annotation.Resource;
 import javax.sql.DataSource;
 
+import org.lastaflute.core.smartdeploy.ManagedHotdeploy;
 import org.lastaflute.di.core.LaContainer;
 import org.lastaflute.di.util.LdiStringUtil;
 
@@ -37,6 +41,9 @@ public class ThreadLocalSelectableDataSourceHolder implements SelectableDataSour
     @Resource
     protected LaContainer container;
 
+    /** The table of resolved data source, key is component name e.g. masterDataSource. (NotNull) */
+    protected final Map<String, DataSource> resolvedDataSourceMap = new ConcurrentHashMap<String, DataSource>();
+
     // ===================================================================================
     //                                                                           Operation
     //                                                                           =========
@@ -49,7 +56,19 @@ public class ThreadLocalSelectableDataSourceHolder implements SelectableDataSour
     }
 
     public DataSource getSelectedDataSource() {
-        return container.getRoot().getComponent(getDataSourceComponentName());
+        final String componentName = getDataSourceComponentName(); // may be overridden
+        if (ManagedHotdeploy.isHotdeploy()) { // components may be reloaded
+            return lookupDataSource(componentName);
+        }
+        final DataSource resolved = resolvedDataSourceMap.get(componentName);
+        if (resolved != null) { // mainly here
+            return resolved;
+        }
+        return resolvedDataSourceMap.computeIfAbsent(componentName, name -> lookupDataSource(name)); // not cached if not found
+    }
+
+    protected DataSource lookupDataSource(String componentName) {
+        return container.getRoot().getComponent(componentName);
     }
 
     protected String getDataSourceComponentName() {
@@ -57,6 +76,17 @@ public class ThreadLocalSelectableDataSourceHolder implements SelectableDataSour
         if (LdiStringUtil.isEmpty(dsName)) {
             throw new IllegalStateException("Not found the current selectable data source key.");
         }
+        return buildDataSourceComponentName(dsName);
+    }
+
+    protected String buildDataSourceComponentName(String dsName) {
         return dsName + "DataSource";
     }
+
+    /**
+     * Clear the table of resolved data source, e.g. when components are replaced.
+     */
+    public void clearResolvedDataSource() {
+        resolvedDataSourceMap.clear();
+    }
 }
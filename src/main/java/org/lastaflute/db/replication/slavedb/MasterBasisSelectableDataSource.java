@@ -20,18 +20,28 @@ import javax.sql.DataSource;
 
 import org.lastaflute.db.replication.selectable.SelectableDataSourceHolder;
 import org.lastaflute.db.replication.selectable.SelectableDataSourceProxy;
+import org.lastaflute.db.replication.splitting.ReadWriteSplitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author jflute
  */
 public class MasterBasisSelectableDataSource extends SelectableDataSourceProxy {
 
+    private static final Logger logger = LoggerFactory.getLogger(MasterBasisSelectableDataSource.class);
+
     @Resource
     private SelectableDataSourceHolder selectableDataSourceHolder; // needs selectable_datasource.xml
 
+    /** The splitter of read/write, lazy-loaded. (NullAllowed: always MasterDB as default) */
+    protected volatile ReadWriteSplitter readWriteSplitter;
+    protected volatile boolean readWriteSplitterPrepared; // for lazy load
+
     /**
      * Get the real data-source selected. <br>
-     * This overrides to return data-source for MasterDB as default. 
+     * This overrides to return data-source for MasterDB as default,
+     * or for replica in read-only scope if read/write splitter exists. 
      * @return The instance of real data-source. (NotNull)
      */
     @Override
@@ -41,11 +51,46 @@ public class MasterBasisSelectableDataSource extends SelectableDataSourceProxy {
             return selectableDataSourceHolder.getSelectedDataSource();
         } else { // means no name set on thread local
             try {
-                selectableDataSourceHolder.switchSelectableDataSourceKey(SlaveDBAccessor.MASTER_DB); // as default
+                selectableDataSourceHolder.switchSelectableDataSourceKey(determineBasisDataSourceKey()); // as default
                 return selectableDataSourceHolder.getSelectedDataSource();
             } finally {
                 selectableDataSourceHolder.switchSelectableDataSourceKey(null); // restore
             }
         }
     }
+
+    protected String determineBasisDataSourceKey() {
+        final ReadWriteSplitter splitter = prepareReadWriteSplitter();
+        if (splitter != null) {
+            final String readKey = splitter.determineReadDataSourceKey();
+            if (readKey != null) { // routed to replica
+                return readKey;
+            }
+        }
+        return SlaveDBAccessor.MASTER_DB;
+    }
+
+    protected ReadWriteSplitter prepareReadWriteSplitter() {
+        if (!readWriteSplitterPrepared) {
+            synchronized (this) { // only once
+                if (!readWriteSplitterPrepared) {
+                    readWriteSplitter = createReadWriteSplitter();
+                    if (readWriteSplitter != null) {
+                        logger.info("[Read/Write Splitter] {}", readWriteSplitter);
+                    }
+                    readWriteSplitterPrepared = true;
+                }
+            }
+        }
+        return readWriteSplitter;
+    }
+
+    /**
+     * Create the splitter of read/write to route read-only scope to replica automatically. <br>
+     * You can override this in your data source that inherits this.
+     * @return The new-created splitter. (NullAllowed: if null, always MasterDB as default)
+     */
+    protected ReadWriteSplitter createReadWriteSplitter() {
+        return null; // always MasterDB as default
+    }
 }
@@ -15,11 +15,17 @@
  */
 package org.lastaflute.db.replication.slavedb;
 
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
 import javax.annotation.Resource;
 
 import org.dbflute.bhv.core.BehaviorCommandHook;
 import org.dbflute.bhv.core.BehaviorCommandMeta;
 import org.dbflute.hook.CallbackContext;
+import org.lastaflute.db.replication.replica.ReplicaNode;
+import org.lastaflute.db.replication.replica.ReplicaRouter;
 import org.lastaflute.db.replication.selectable.SelectableDataSourceHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +46,10 @@ public class SlaveDBAccessorImpl implements SlaveDBAccessor {
     @Resource
     protected SelectableDataSourceHolder selectableDataSourceHolder;
 
+    /** The router of several replicas, lazy-loaded. (NullAllowed: single SlaveDB as default) */
+    protected volatile ReplicaRouter replicaRouter;
+    protected volatile boolean replicaRouterPrepared; // for lazy load
+
     // ===================================================================================
     //                                                                      SlaveDB Access
     //                                                                      ==============
@@ -54,7 +64,12 @@ public class SlaveDBAccessorImpl implements SlaveDBAccessor {
 
     protected <RESULT> RESULT doAccessFixedly(SlaveDBCallback<RESULT> callback) {
         assertCallbackNotNull(callback);
+        final ReplicaRouter router = prepareReplicaRouter();
+        if (router != null) {
+            return doAccessReplica(callback, router);
+        }
         final String currentKey = selectableDataSourceHolder.getCurrentSelectableDataSourceKey();
+        final BehaviorCommandHook previousHook = CallbackContext.getBehaviorCommandHookOnThread(); // e.g. read-only scope
         try {
             final String slaveDB = SLAVE_DB;
             if (logger.isDebugEnabled()) {
@@ -66,6 +81,7 @@ public class SlaveDBAccessorImpl implements SlaveDBAccessor {
         } finally {
             selectableDataSourceHolder.switchSelectableDataSourceKey(currentKey);
             clearForcedMasterCallback();
+            restorePreviousHookIfExists(previousHook);
         }
     }
 
@@ -73,6 +89,141 @@ public class SlaveDBAccessorImpl implements SlaveDBAccessor {
         return "...Accessing to SlaveDB for " + mySchemaDisp() + ": " + slaveDB;
     }
 
+    // -----------------------------------------------------
+    //                                               Replica
+    //                                               -------
+    protected <RESULT> RESULT doAccessReplica(SlaveDBCallback<RESULT> callback, ReplicaRouter router) {
+        final ReplicaNode replica = router.select();
+        if (replica == null) { // e.g. all ejected
+            if (logger.isDebugEnabled()) {
+                logger.debug("...Accessing to MasterDB for " + mySchemaDisp() + " because of no healthy replica: " + router);
+            }
+            return doMasterAccessFixedly(callback);
+        }
+        final String currentKey = selectableDataSourceHolder.getCurrentSelectableDataSourceKey();
+        final String replicaDB = replica.getName();
+        if (logger.isDebugEnabled()) {
+            logger.debug(buildSlaveDBAccessDebugMessage(replicaDB));
+        }
+        replica.beginAccess();
+        final ReplicaCommandTimer commandTimer = new ReplicaCommandTimer();
+        final BehaviorCommandHook previousHook = CallbackContext.getBehaviorCommandHookOnThread(); // e.g. read-only scope
+        try {
+            setupForcedMasterCallback();
+            setupReplicaCommandTimerCallback(replicaDB, commandTimer);
+            selectableDataSourceHolder.switchSelectableDataSourceKey(replicaDB);
+            final RESULT result = callback.callback();
+            router.recordSuccess(replica, commandTimer.getAverageNanos()); // not including application process in callback
+            return result;
+        } catch (RuntimeException e) {
+            if (isReplicaConnectionFailure(e)) {
+                router.recordFailure(replica);
+            }
+            throw e;
+        } finally {
+            replica.endAccess();
+            selectableDataSourceHolder.switchSelectableDataSourceKey(currentKey);
+            clearForcedMasterCallback();
+            restorePreviousHookIfExists(previousHook);
+        }
+    }
+
+    protected void setupReplicaCommandTimerCallback(String replicaDB, ReplicaCommandTimer commandTimer) {
+        CallbackContext.setBehaviorCommandHookOnThread(createReplicaCommandTimerHook(replicaDB, commandTimer));
+    }
+
+    protected BehaviorCommandHook createReplicaCommandTimerHook(String replicaDB, ReplicaCommandTimer commandTimer) {
+        return new BehaviorCommandHook() {
+
+            protected long beginNanos; // zero if not replica command
+
+            public void hookBefore(BehaviorCommandMeta meta) { // after forced master hook
+                if (replicaDB.equals(selectableDataSourceHolder.getCurrentSelectableDataSourceKey())) { // not forced to master
+                    beginNanos = System.nanoTime();
+                }
+            }
+
+            public void hookFinally(BehaviorCommandMeta meta, RuntimeException cause) {
+                if (beginNanos != 0L) {
+                    if (cause == null) { // failure is handled as connection failure if needed
+                        commandTimer.record(System.nanoTime() - beginNanos);
+                    }
+                    beginNanos = 0L;
+                }
+            }
+
+            @Override
+            public boolean inheritsExistingHook() {
+                return true; // chained with forced master hook
+            }
+        };
+    }
+
+    /**
+     * The timer of behavior commands (SQL execution) on the replica in one access. <br>
+     * It is used only in the accessing thread.
+     */
+    protected static class ReplicaCommandTimer {
+
+        protected long totalNanos;
+        protected int commandCount;
+
+        public void record(long elapsedNanos) {
+            totalNanos += elapsedNanos;
+            ++commandCount;
+        }
+
+        /**
+         * @return The average nanoseconds of the commands. (ZeroAllowed: no command on the replica)
+         */
+        public long getAverageNanos() {
+            return commandCount > 0 ? Math.max(1L, totalNanos / commandCount) : 0L;
+        }
+    }
+
+    protected boolean isReplicaConnectionFailure(RuntimeException e) {
+        Throwable current = e;
+        int depth = 0;
+        while (current != null && depth < 20) { // limit just in case of circular cause
+            if (current instanceof SQLTransientConnectionException || current instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (current instanceof SQLException) {
+                final String sqlState = ((SQLException) current).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) { // connection exception class
+                    return true;
+                }
+            }
+            current = current.getCause();
+            ++depth;
+        }
+        return false;
+    }
+
+    protected ReplicaRouter prepareReplicaRouter() {
+        if (!replicaRouterPrepared) {
+            synchronized (this) { // only once
+                if (!replicaRouterPrepared) {
+                    replicaRouter = createReplicaRouter();
+                    if (replicaRouter != null) {
+                        logger.info("[Replica Router] for {}: {}", mySchemaDisp(), replicaRouter);
+                    }
+                    replicaRouterPrepared = true;
+                }
+            }
+        }
+        return replicaRouter;
+    }
+
+    /**
+     * Create the router of replicas to spread SlaveDB accesses over several replicas. <br>
+     * You can override this in your project component that inherits this.
+     * @return The new-created router. (NullAllowed: if null, single SlaveDB as default)
+     */
+    protected ReplicaRouter createReplicaRouter() {
+        return null; // single SlaveDB as default
+    }
+
     // -----------------------------------------------------
     //                                               IfNeeds
     //                                               -------
@@ -179,10 +330,20 @@ public class SlaveDBAccessorImpl implements SlaveDBAccessor {
         return true;
     }
 
-    protected void clearForcedMasterCallback() {
+    protected void clearForcedMasterCallback() { // also clears chained previous hook
         CallbackContext.clearBehaviorCommandHookOnThread();
     }
 
+    /**
+     * Restore the behavior command hook existing before the access, e.g. write detection of read-only scope.
+     * @param previousHook The hook existing before the access. (NullAllowed: then no hook before)
+     */
+    protected void restorePreviousHookIfExists(BehaviorCommandHook previousHook) {
+        if (previousHook != null) { // no chain because of no existing hook here
+            CallbackContext.setBehaviorCommandHookOnThread(previousHook);
+        }
+    }
+
     // ===================================================================================
     //                                                                        Small Helper
     //                                                                        ============
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.splitting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The local stand-in of replication lag measurement, which keeps lags in memory. <br>
+ * The estimated lag is used until the actual lag is updated, e.g. by your heart-beat job
+ * that compares a timestamp written to MasterDB with the one read from the replica.
+ * <pre>
+ * e.g.
+ *  LocalReplicationLagMeasurer measurer = new LocalReplicationLagMeasurer(1000L); // estimated as 1 second
+ *  measurer.updateLag("slave1", 300L); // from your heart-beat job
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class LocalReplicationLagMeasurer implements ReplicationLagMeasurer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final long estimatedLagMillis; // used when not updated
+    protected final Map<String, Long> lagMillisMap = new ConcurrentHashMap<String, Long>(); // key is replica name
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param estimatedLagMillis The estimated milliseconds of lag used until updated. (MinusAllowed: means unknown)
+     */
+    public LocalReplicationLagMeasurer(long estimatedLagMillis) {
+        this.estimatedLagMillis = estimatedLagMillis;
+    }
+
+    // ===================================================================================
+    //                                                                             Measure
+    //                                                                             =======
+    @Override
+    public long measureLagMillis(String replicaName) {
+        final Long lagMillis = lagMillisMap.get(replicaName);
+        return lagMillis != null ? lagMillis : estimatedLagMillis;
+    }
+
+    /**
+     * @param replicaName The name of replica as selectable data source key, e.g. slave1. (NotNull)
+     * @param lagMillis The measured milliseconds of lag. (MinusAllowed: means unknown)
+     */
+    public void updateLag(String replicaName, long lagMillis) {
+        if (replicaName == null) {
+            throw new IllegalArgumentException("The argument 'replicaName' should not be null.");
+        }
+        lagMillisMap.put(replicaName, lagMillis);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "localLag:{estimated=" + estimatedLagMillis + "ms, " + lagMillisMap + "}";
+    }
+}
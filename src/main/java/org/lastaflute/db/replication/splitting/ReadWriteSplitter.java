@@ -0,0 +1,234 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.splitting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.db.replication.replica.ReplicaNode;
+import org.lastaflute.db.replication.replica.ReplicaRouter;
+import org.lastaflute.db.replication.slavedb.SlaveDBAccessor;
+
+/**
+ * The splitter of read/write to route read-only scope to replica (slave DB) automatically. <br>
+ * After a write, the request is pinned to MasterDB (read-your-writes),
+ * and the user is also pinned for the window if specified.
+ * Replicas whose replication lag is over the acceptable lag are not routed.
+ * <pre>
+ * e.g. in your data source extending MasterBasisSelectableDataSource
+ *  &#64;Override
+ *  protected ReadWriteSplitter createReadWriteSplitter() {
+ *      return new ReadWriteSplitter()
+ *              .routeBy(new ReplicaRouter(...)) // or single SlaveDB if no router
+ *              .pinUserToMaster(3000L, bean -&gt; ((UserBean&lt;?&gt;) bean).getUserId()) // 3 seconds after write
+ *              .measureLagBy(new LocalReplicationLagMeasurer(500L), 2000L); // not routed if over 2 seconds
+ *  }
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ReadWriteSplitter {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int USER_PINNING_PURGE_SIZE = 10000; // purge expired pins over this
+    protected static final int USER_PINNING_PURGE_INTERVAL = 1000; // checked once per this count of pinning
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected ReplicaRouter replicaRouter; // null allowed: single SlaveDB
+    protected long userPinningMillis; // zero means request pinning only
+    protected Function<Object, Object> userKeyExtractor = userBean -> userBean; // from user bean (not null) to key
+    protected ReplicationLagMeasurer lagMeasurer; // null allowed: no lag check
+    protected long acceptableLagMillis = Long.MAX_VALUE;
+    protected final Map<Object, Long> userPinnedUntilMap = new ConcurrentHashMap<Object, Long>(); // key is user key
+    protected final AtomicInteger pinningCountSincePurge = new AtomicInteger(); // for amortized purge
+
+    // ===================================================================================
+    //                                                                             Setting
+    //                                                                             =======
+    /**
+     * @param replicaRouter The router of several replicas. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ReadWriteSplitter routeBy(ReplicaRouter replicaRouter) {
+        assertArgumentNotNull("replicaRouter", replicaRouter);
+        this.replicaRouter = replicaRouter;
+        return this;
+    }
+
+    /**
+     * @param windowMillis The milliseconds to pin the user to MasterDB after the user's write. (NotMinus)
+     * @param userKeyExtractor The extractor of user key from user bean, e.g. user ID. (NotNull)
+     * @return this. (NotNull)
+     */
+    public ReadWriteSplitter pinUserToMaster(long windowMillis, Function<Object, Object> userKeyExtractor) {
+        if (windowMillis < 0L) {
+            throw new IllegalArgumentException("The argument 'windowMillis' should not be minus: " + windowMillis);
+        }
+        assertArgumentNotNull("userKeyExtractor", userKeyExtractor);
+        this.userPinningMillis = windowMillis;
+        this.userKeyExtractor = userKeyExtractor;
+        return this;
+    }
+
+    /**
+     * @param lagMeasurer The measurer of replication lag. (NotNull)
+     * @param acceptableLagMillis The max milliseconds of acceptable lag to route to the replica. (NotMinus)
+     * @return this. (NotNull)
+     */
+    public ReadWriteSplitter measureLagBy(ReplicationLagMeasurer lagMeasurer, long acceptableLagMillis) {
+        assertArgumentNotNull("lagMeasurer", lagMeasurer);
+        if (acceptableLagMillis < 0L) {
+            throw new IllegalArgumentException("The argument 'acceptableLagMillis' should not be minus: " + acceptableLagMillis);
+        }
+        this.lagMeasurer = lagMeasurer;
+        this.acceptableLagMillis = acceptableLagMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                        Read Routing
+    //                                                                        ============
+    /**
+     * Determine the data source key for the connection of current thread.
+     * @return The key of replica, e.g. slave, slave1. (NullAllowed: means MasterDB)
+     */
+    public String determineReadDataSourceKey() {
+        ReadWriteSplittingContext.registerSplitterOnThread(this); // for write detection
+        if (!ReadWriteSplittingContext.isReadOnlyOnThread()) { // mainly here if no read-only
+            return null;
+        }
+        if (ReadWriteSplittingContext.isMasterPinnedOnThread() || isCurrentUserPinned()) { // read-your-writes
+            return null;
+        }
+        if (replicaRouter != null) {
+            final ReplicaNode replica = replicaRouter.select(node -> isAcceptableLag(node.getName()));
+            return replica != null ? replica.getName() : null;
+        } else {
+            final String slaveDB = SlaveDBAccessor.SLAVE_DB;
+            return isAcceptableLag(slaveDB) ? slaveDB : null;
+        }
+    }
+
+    protected boolean isAcceptableLag(String replicaName) {
+        if (lagMeasurer == null) {
+            return true;
+        }
+        final long lagMillis = lagMeasurer.measureLagMillis(replicaName);
+        return lagMillis < 0L || lagMillis <= acceptableLagMillis; // unknown is acceptable
+    }
+
+    // ===================================================================================
+    //                                                                        User Pinning
+    //                                                                        ============
+    /**
+     * Pin the current user to MasterDB for the window, called after the user's write.
+     */
+    public void pinCurrentUser() {
+        if (userPinningMillis <= 0L) { // request pinning only
+            return;
+        }
+        final Object userKey = findCurrentUserKey();
+        if (userKey == null) { // e.g. not login
+            return;
+        }
+        final long currentMillis = currentTimeMillis();
+        purgeExpiredUserPinningIfNeeds(currentMillis);
+        userPinnedUntilMap.put(userKey, currentMillis + derivePinningMillis());
+    }
+
+    protected void purgeExpiredUserPinningIfNeeds(long currentMillis) { // not full scan every write
+        if (pinningCountSincePurge.incrementAndGet() < USER_PINNING_PURGE_INTERVAL) { // mainly here
+            return;
+        }
+        pinningCountSincePurge.set(0);
+        if (userPinnedUntilMap.size() > USER_PINNING_PURGE_SIZE) { // expired ones are also removed when checked
+            userPinnedUntilMap.values().removeIf(until -> until <= currentMillis);
+        }
+    }
+
+    protected long derivePinningMillis() { // longer one of window and current lag
+        long pinningMillis = userPinningMillis;
+        if (lagMeasurer != null) {
+            if (replicaRouter != null) {
+                for (ReplicaNode replica : replicaRouter.getReplicaList()) {
+                    pinningMillis = Math.max(pinningMillis, lagMeasurer.measureLagMillis(replica.getName()));
+                }
+            } else {
+                pinningMillis = Math.max(pinningMillis, lagMeasurer.measureLagMillis(SlaveDBAccessor.SLAVE_DB));
+            }
+        }
+        return pinningMillis;
+    }
+
+    protected boolean isCurrentUserPinned() {
+        if (userPinningMillis <= 0L || userPinnedUntilMap.isEmpty()) { // mainly here
+            return false;
+        }
+        final Object userKey = findCurrentUserKey();
+        if (userKey == null) {
+            return false;
+        }
+        final Long pinnedUntil = userPinnedUntilMap.get(userKey);
+        if (pinnedUntil == null) {
+            return false;
+        }
+        if (currentTimeMillis() >= pinnedUntil) { // expired
+            userPinnedUntilMap.remove(userKey, pinnedUntil);
+            return false;
+        }
+        return true;
+    }
+
+    protected Object findCurrentUserKey() {
+        if (!ThreadCacheContext.exists()) {
+            return null;
+        }
+        final Object userBean = ThreadCacheContext.findUserBean();
+        return userBean != null ? userKeyExtractor.apply(userBean) : null;
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis(); // not business time
+    }
+
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "readWriteSplitter:{" + (replicaRouter != null ? replicaRouter : SlaveDBAccessor.SLAVE_DB) + ", userPinning="
+                + userPinningMillis + "ms, lag=" + lagMeasurer + ", acceptable=" + acceptableLagMillis + "ms}";
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.splitting;
+
+import org.dbflute.bhv.core.BehaviorCommandHook;
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.dbflute.hook.CallbackContext;
+import org.lastaflute.core.magic.ThreadCacheContext;
+
+/**
+ * The context of read/write splitting on thread. <br>
+ * Read-only scope is on thread-local, and master pinning is on thread cache (request or job scope).
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ReadWriteSplittingContext {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final String FW_READ_WRITE_SPLITTER = "fw:readWriteSplitter";
+    public static final String FW_MASTER_PINNED = "fw:masterPinned";
+    public static final String FW_USER_PINNING_PENDING = "fw:userPinningPending";
+
+    /** The thread-local for read-only scope. */
+    private static final ThreadLocal<ReadOnlyScope> readOnlyLocal = new ThreadLocal<ReadOnlyScope>();
+
+    /**
+     * The scope of read-only on thread, which keeps the previous hook to restore it at the end.
+     */
+    protected static class ReadOnlyScope {
+
+        protected final BehaviorCommandHook previousHook; // null allowed: no hook before the scope
+        protected final boolean connectionMarking; // false if the scope may join existing transaction
+
+        public ReadOnlyScope(BehaviorCommandHook previousHook, boolean connectionMarking) {
+            this.previousHook = previousHook;
+            this.connectionMarking = connectionMarking;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                           Read Only
+    //                                                                           =========
+    /**
+     * Begin read-only scope on thread, selects in the scope can be routed to replica. <br>
+     * Write commands in the scope pin the request to MasterDB before their connection.
+     * @return true if begun, false if already in read-only scope (then you should not end it).
+     */
+    public static boolean beginReadOnlyOnThread() {
+        return beginReadOnlyOnThread(true);
+    }
+
+    /**
+     * Begin read-only scope on thread, selects in the scope can be routed to replica. <br>
+     * Connections checked out in the scope are marked as read-only only if connection marking is true,
+     * it should be false when the scope may join existing transaction, whose connection may be used for writes.
+     * @param connectionMarking Does it mark connections checked out in the scope as read-only?
+     * @return true if begun, false if already in read-only scope (then you should not end it).
+     */
+    public static boolean beginReadOnlyOnThread(boolean connectionMarking) {
+        if (isReadOnlyOnThread()) { // nested
+            return false;
+        }
+        readOnlyLocal.set(new ReadOnlyScope(CallbackContext.getBehaviorCommandHookOnThread(), connectionMarking));
+        CallbackContext.setBehaviorCommandHookOnThread(createWriteDetectionHook()); // chained with the previous hook
+        return true;
+    }
+
+    protected static BehaviorCommandHook createWriteDetectionHook() {
+        return new BehaviorCommandHook() {
+
+            public void hookBefore(BehaviorCommandMeta meta) {
+                if (!meta.isSelect()) { // before connection so routed to MasterDB
+                    markWrittenOnThread();
+                }
+            }
+
+            public void hookFinally(BehaviorCommandMeta meta, RuntimeException cause) {
+            }
+
+            @Override
+            public boolean inheritsExistingHook() {
+                return true; // not override existing hook
+            }
+        };
+    }
+
+    /**
+     * End read-only scope begun by {@link #beginReadOnlyOnThread()}. <br>
+     * The behavior command hook before the scope is restored, e.g. application hook.
+     */
+    public static void endReadOnlyOnThread() {
+        final ReadOnlyScope scope = readOnlyLocal.get();
+        if (scope == null) { // not in scope
+            return;
+        }
+        readOnlyLocal.remove();
+        CallbackContext.clearBehaviorCommandHookOnThread(); // the write detection hook
+        if (scope.previousHook != null) { // no chain because of no existing hook here
+            CallbackContext.setBehaviorCommandHookOnThread(scope.previousHook);
+        }
+    }
+
+    public static boolean isReadOnlyOnThread() {
+        return readOnlyLocal.get() != null;
+    }
+
+    /**
+     * @return true if in read-only scope that marks connections as read-only.
+     */
+    public static boolean isReadOnlyConnectionMarkingOnThread() {
+        final ReadOnlyScope scope = readOnlyLocal.get();
+        return scope != null && scope.connectionMarking;
+    }
+
+    // ===================================================================================
+    //                                                                       Master Pinned
+    //                                                                       =============
+    /**
+     * Mark written on thread, so the request is pinned to MasterDB. <br>
+     * And the user is also pinned for a while if the splitter has the setting.
+     */
+    public static void markWrittenOnThread() {
+        if (!ThreadCacheContext.exists() || isMasterPinnedOnThread()) { // no scope or already pinned
+            return;
+        }
+        ThreadCacheContext.setObject(FW_MASTER_PINNED, true);
+        final ReadWriteSplitter splitter = ThreadCacheContext.getObject(FW_READ_WRITE_SPLITTER);
+        if (splitter != null) {
+            splitter.pinCurrentUser();
+        } else { // e.g. write detection before first connection
+            ThreadCacheContext.setObject(FW_USER_PINNING_PENDING, true);
+        }
+    }
+
+    public static boolean isMasterPinnedOnThread() {
+        return ThreadCacheContext.exists() && ThreadCacheContext.determineObject(FW_MASTER_PINNED);
+    }
+
+    // ===================================================================================
+    //                                                                            Splitter
+    //                                                                            ========
+    /**
+     * Register the splitter that routes connections of the thread, for write detection.
+     * @param splitter The splitter of read/write. (NotNull)
+     */
+    public static void registerSplitterOnThread(ReadWriteSplitter splitter) {
+        if (!ThreadCacheContext.exists()) {
+            return;
+        }
+        if (ThreadCacheContext.getObject(FW_READ_WRITE_SPLITTER) != splitter) { // basically first time
+            ThreadCacheContext.setObject(FW_READ_WRITE_SPLITTER, splitter);
+        }
+        if (ThreadCacheContext.determineObject(FW_USER_PINNING_PENDING)) {
+            ThreadCacheContext.removeObject(FW_USER_PINNING_PENDING);
+            splitter.pinCurrentUser();
+        }
+    }
+}
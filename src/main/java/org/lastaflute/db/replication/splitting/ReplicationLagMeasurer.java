@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.splitting;
+
+/**
+ * The measurer of replication lag for read/write splitting.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+@FunctionalInterface
+public interface ReplicationLagMeasurer {
+
+    /**
+     * Measure the current replication lag of the replica. <br>
+     * This is called per routing so it should be cheap, e.g. cached value updated by heart-beat.
+     * @param replicaName The name of replica as selectable data source key, e.g. slave, slave1. (NotNull)
+     * @return The milliseconds of lag. (MinusAllowed: means unknown, treated as acceptable)
+     */
+    long measureLagMillis(String replicaName);
+}
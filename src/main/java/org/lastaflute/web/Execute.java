@@ -53,6 +53,15 @@ public @interface Execute {
      */
     boolean suppressTransaction() default false;
 
+    /**
+     * Use read-only transaction for the action instead of default read-write transaction. <br>
+     * Connections are marked as read-only so database can optimize them,
+     * and selects can be routed to replica if read/write splitter is set.
+     * (ignored if suppressTransaction is true)
+     * @return The determination, true or false.
+     */
+    boolean readOnlyTransaction() default false;
+
     /**
      * Suppress validator call check of framework. <br>
      * When validator annotations are specified in your form (or body), <br>
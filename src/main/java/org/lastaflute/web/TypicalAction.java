@@ -124,7 +124,8 @@ public abstract class TypicalAction extends LastaAction implements ActionHook, L
         final GodHandResource resource = createGodHandResource(runtime);
         final EmbeddedMessageKeySupplier supplier = newEmbeddedMessageKeySupplier();
         final AccessContextArranger arranger = newAccessContextArranger();
-        return newGodHandPrologue(resource, supplier, arranger, () -> getUserBean(), () -> myAppType());
+        final TooManySqlOption tooManySqlOption = createTooManySqlOption(runtime); // for e.g. SQL shape counter
+        return newGodHandPrologue(resource, supplier, arranger, () -> getUserBean(), () -> myAppType(), tooManySqlOption);
     }
 
     /**
@@ -142,8 +143,8 @@ public abstract class TypicalAction extends LastaAction implements ActionHook, L
 
     protected GodHandPrologue newGodHandPrologue(GodHandResource resource, EmbeddedMessageKeySupplier keySupplier,
             AccessContextArranger arranger, Supplier<OptionalThing<? extends UserBean<?>>> userBeanSupplier,
-            Supplier<String> appTypeSupplier) {
-        return new GodHandPrologue(resource, keySupplier, arranger, userBeanSupplier, appTypeSupplier);
+            Supplier<String> appTypeSupplier, TooManySqlOption tooManySqlOption) {
+        return new GodHandPrologue(resource, keySupplier, arranger, userBeanSupplier, appTypeSupplier, tooManySqlOption);
     }
 
     @Override
@@ -229,13 +230,17 @@ public abstract class TypicalAction extends LastaAction implements ActionHook, L
     }
 
     protected TooManySqlOption createTooManySqlOption(ActionRuntime runtime) {
-        return new TooManySqlOption(calculateSqlExecutionCountLimit(runtime));
+        return new TooManySqlOption(calculateSqlExecutionCountLimit(runtime), calculateRepeatedSingleRowSelectLimit(runtime));
     }
 
     protected int calculateSqlExecutionCountLimit(ActionRuntime runtime) {
         return runtime.getActionExecute().getSqlExecutionCountLimit().orElse(30);
     }
 
+    protected int calculateRepeatedSingleRowSelectLimit(ActionRuntime runtime) { // for N+1 detection
+        return -1; // minus means no check (default), e.g. 10 to detect N+1 queries
+    }
+
     // -----------------------------------------------------
     //                                      Resource Factory
     //                                      ----------------
@@ -128,6 +128,7 @@ public class RomanticActionCustomizer implements ComponentCustomizer {
         verifyExecuteMethodNotShadowingOthers(actionMapping, actionType);
         verifyExecuteMethodDefinedInConcreteClassOnly(actionMapping, actionType);
         verifyExecuteMethodRestfulIndependent(actionMapping, actionType);
+        actionMapping.compileExecuteRouting(); // after all registration
     }
 
     protected void throwOverloadMethodCannotDefinedException(final Class<?> actionType) {
@@ -374,9 +375,10 @@ public class RomanticActionCustomizer implements ComponentCustomizer {
     protected ExecuteOption createExecuteOption(Execute anno) {
         final String urlPattern = anno.urlPattern();
         final boolean suppressTransaction = anno.suppressTransaction();
+        final boolean readOnlyTransaction = anno.readOnlyTransaction();
         final boolean suppressValidatorCallCheck = anno.suppressValidatorCallCheck();
         final int sqlExecutionCountLimit = anno.sqlExecutionCountLimit();
-        return new ExecuteOption(urlPattern, suppressTransaction, suppressValidatorCallCheck, sqlExecutionCountLimit);
+        return new ExecuteOption(urlPattern, suppressTransaction, readOnlyTransaction, suppressValidatorCallCheck, sqlExecutionCountLimit);
     }
 
     protected ActionExecute newActionExecute(ActionMapping actionMapping, Method executeMethod, ExecuteOption executeOption) {
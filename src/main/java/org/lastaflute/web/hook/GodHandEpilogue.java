@@ -15,6 +15,8 @@
  */
 package org.lastaflute.web.hook;
 
+import java.util.List;
+
 import org.dbflute.bhv.proposal.callback.ExecutedSqlCounter;
 import org.dbflute.hook.CallbackContext;
 import org.dbflute.hook.SqlStringFilter;
@@ -25,6 +27,8 @@ import org.lastaflute.core.remoteapi.CalledRemoteApiCounter;
 import org.lastaflute.core.remoteapi.RequestedRemoteApiCount;
 import org.lastaflute.db.dbflute.accesscontext.PreparedAccessContext;
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RequestedSqlCount;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RequestedSqlShape;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RequestedSqlShapeCounter;
 import org.lastaflute.web.LastaWebKey;
 import org.lastaflute.web.ruts.process.ActionRuntime;
 import org.lastaflute.web.servlet.request.RequestManager;
@@ -66,6 +70,7 @@ public class GodHandEpilogue {
             arrangeNoCacheResponseWhenJsp(runtime);
         }
         handleSqlCount(runtime);
+        handleSqlShape(runtime);
         handleMailCount(runtime);
         handleRemoteApiCount(runtime);
         clearCallbackContext();
@@ -139,6 +144,55 @@ public class GodHandEpilogue {
         return new RequestedSqlCount(counter); // as snapshot
     }
 
+    // ===================================================================================
+    //                                                                           SQL Shape
+    //                                                                           =========
+    /**
+     * Handle shapes of SQL executed in the request, to detect N+1 queries.
+     * @param runtime The runtime meta of action execute. (NotNull)
+     */
+    protected void handleSqlShape(ActionRuntime runtime) {
+        final RequestedSqlShapeCounter counter = RequestedSqlShapeCounter.findOnThread();
+        if (counter == null) {
+            return;
+        }
+        try {
+            final int repeatedLimit = getRepeatedSingleRowSelectLimit(runtime);
+            if (repeatedLimit >= 0) { // minus means no check
+                final List<RequestedSqlShape> repeatedList = counter.findRepeatedSingleRowSelectList(repeatedLimit);
+                if (!repeatedList.isEmpty()) {
+                    handleRepeatedSingleRowSelect(runtime, repeatedList, repeatedLimit);
+                }
+            }
+        } finally {
+            RequestedSqlShapeCounter.clearOnThread();
+        }
+    }
+
+    /**
+     * Handle repeated single-row selects, which are suspicious of N+1 queries.
+     * @param runtime The runtime meta of action execute. (NotNull)
+     * @param repeatedList The list of repeated SQL shapes ordered by count descending. (NotNull, NotEmpty)
+     * @param repeatedLimit The limit count of the same single-row select. (NotMinus: already checked here)
+     */
+    protected void handleRepeatedSingleRowSelect(ActionRuntime runtime, List<RequestedSqlShape> repeatedList, int repeatedLimit) {
+        final String actionDisp = buildActionDisp(runtime);
+        for (RequestedSqlShape shape : repeatedList) {
+            logger.warn("*N+1 suspicious, repeated single-row select: {}/{} {}.{}() in {} at {}\n{}", shape.getCount(), repeatedLimit,
+                    shape.getTableName(), shape.getCommandName(), actionDisp, shape.getCallSite(), shape.getFirstSql());
+        }
+    }
+
+    /**
+     * Get the limit of the same single-row select. <br>
+     * You can override if you need.
+     * @param runtime The runtime meta of action execute. (NotNull)
+     * @return The limit count of repeated single-row select. (MinusAllowed: if minus, no check)
+     */
+    protected int getRepeatedSingleRowSelectLimit(ActionRuntime runtime) {
+        return tooManySqlOption.getRepeatedSingleRowSelectLimit();
+    }
+
     // ===================================================================================
     //                                                                               Mail
     //                                                                              ======
@@ -31,6 +31,7 @@ import org.lastaflute.core.message.MessageManager;
 import org.lastaflute.db.dbflute.accesscontext.AccessContextArranger;
 import org.lastaflute.db.dbflute.accesscontext.AccessContextResource;
 import org.lastaflute.db.dbflute.accesscontext.PreparedAccessContext;
+import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RequestedSqlShapeCounter;
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlFireHook;
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlResultHandler;
 import org.lastaflute.db.dbflute.callbackcontext.traceablesql.RomanticTraceableSqlStringFilter;
@@ -61,12 +62,19 @@ public class GodHandPrologue {
     protected final AccessContextArranger accessContextArranger;
     protected final Supplier<OptionalThing<? extends UserBean<?>>> userBeanSupplier;
     protected final Supplier<String> appTypeSupplier;
+    protected final TooManySqlOption tooManySqlOption; // null allowed: no option, then no SQL shape counter
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public GodHandPrologue(GodHandResource resource, EmbeddedMessageKeySupplier keySupplier, AccessContextArranger accessContextArranger,
             Supplier<OptionalThing<? extends UserBean<?>>> userBeanSupplier, Supplier<String> appTypeSupplier) {
+        this(resource, keySupplier, accessContextArranger, userBeanSupplier, appTypeSupplier, null);
+    }
+
+    public GodHandPrologue(GodHandResource resource, EmbeddedMessageKeySupplier keySupplier, AccessContextArranger accessContextArranger,
+            Supplier<OptionalThing<? extends UserBean<?>>> userBeanSupplier, Supplier<String> appTypeSupplier,
+            TooManySqlOption tooManySqlOption) {
         this.messageManager = resource.getMessageManager();
         this.requestManager = resource.getRequestManager();
         this.sessionManager = resource.getSessionManager();
@@ -76,6 +84,7 @@ public class GodHandPrologue {
         this.accessContextArranger = accessContextArranger;
         this.userBeanSupplier = userBeanSupplier;
         this.appTypeSupplier = appTypeSupplier;
+        this.tooManySqlOption = tooManySqlOption;
     }
 
     // ===================================================================================
@@ -146,6 +155,19 @@ public class GodHandPrologue {
         CallbackContext.setSqlFireHookOnThread(createSqlFireHook(runtime));
         CallbackContext.setSqlStringFilterOnThread(createSqlStringFilter(runtime));
         CallbackContext.setSqlResultHandlerOnThread(createSqlResultHandler());
+        arrangeSqlShapeCounter(runtime);
+    }
+
+    /**
+     * Arrange the counter of SQL shapes to detect N+1 queries, counted by SQL fire hook. <br>
+     * The counter is registered only when the detection is enabled by too-many-SQL option. <br>
+     * This is called by callback process so you should NOT call this directly in your action.
+     * @param runtime The runtime meta of action execute. (NotNull)
+     */
+    protected void arrangeSqlShapeCounter(ActionRuntime runtime) {
+        if (tooManySqlOption != null && tooManySqlOption.getRepeatedSingleRowSelectLimit() >= 0) { // minus means no check
+            RequestedSqlShapeCounter.registerOnThread();
+        }
     }
 
     /**
@@ -24,12 +24,22 @@ public class TooManySqlOption {
     //                                                                           Attribute
     //                                                                           =========
     protected final int sqlExecutionCountLimit;
+    protected final int repeatedSingleRowSelectLimit; // minus means no check
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public TooManySqlOption(int sqlExecutionCountLimit) {
+        this(sqlExecutionCountLimit, -1);
+    }
+
+    /**
+     * @param sqlExecutionCountLimit The limit of SQL execution count in one request. (MinusAllowed: no check)
+     * @param repeatedSingleRowSelectLimit The limit count of the same single-row select in one request. (MinusAllowed: no check)
+     */
+    public TooManySqlOption(int sqlExecutionCountLimit, int repeatedSingleRowSelectLimit) {
         this.sqlExecutionCountLimit = sqlExecutionCountLimit;
+        this.repeatedSingleRowSelectLimit = repeatedSingleRowSelectLimit;
     }
 
     // ===================================================================================
@@ -38,4 +48,8 @@ public class TooManySqlOption {
     public int getSqlExecutionCountLimit() {
         return sqlExecutionCountLimit;
     }
+
+    public int getRepeatedSingleRowSelectLimit() {
+        return repeatedSingleRowSelectLimit;
+    }
 }
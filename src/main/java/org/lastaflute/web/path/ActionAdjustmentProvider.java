@@ -69,6 +69,29 @@ public interface ActionAdjustmentProvider {
         return false;
     }
 
+    // -----------------------------------------------------
+    //                                      Compiled Routing
+    //                                      ----------------
+    /**
+     * Does it suppress compiled routing of actions? <br>
+     * The routing trie is compiled at boot from registered actions (except hot deploy),
+     * so you can suppress it if your actions are registered lazily in your environment.
+     * @return The determination, true or false. If true, actions are searched by guessing names per request.
+     */
+    default boolean isSuppressCompiledActionRouting() {
+        return false;
+    }
+
+    /**
+     * Provide the limit size of cache for paths routed to no action. <br>
+     * Repeated no-routing requests (e.g. from scanners) skip action resolution by the cache,
+     * which is prepared at boot with compiled routing (so unused when hot deploy).
+     * @return The integer for the size. (ZeroAllowed: if zero or minus, no cache)
+     */
+    default int provideNoRoutingCacheLimit() {
+        return 1000; // as default
+    }
+
     // -----------------------------------------------------
     //                                           URL Mapping
     //                                           -----------
@@ -122,6 +145,19 @@ public interface ActionAdjustmentProvider {
         return false;
     }
 
+    // -----------------------------------------------------
+    //                                           Transaction
+    //                                           -----------
+    /**
+     * Does it use read-only transaction for actions requested by safe HTTP method (GET, HEAD)? <br>
+     * Only actions with default transaction are switched, e.g. suppressTransaction is not changed. <br>
+     * You can make the connections read-only (and route selects to replica by read/write splitter) for them.
+     * @return The determination, true or false. If true, read-only transaction for GET and HEAD.
+     */
+    default boolean isReadOnlyTransactionForSafeHttpMethod() {
+        return false;
+    }
+
     // -----------------------------------------------------
     //                                         404 Not Found
     //                                         -------------
@@ -183,6 +219,16 @@ public interface ActionAdjustmentProvider {
         return null;
     }
 
+    /**
+     * Provide the limit length of JSON body kept for error display in streaming parse. <br>
+     * JSON body is parsed from the request stream directly (without whole string) unless debug or in-out logging,
+     * and only the head of the body is kept for e.g. parse failure message.
+     * @return The integer for the length. (MinusAllowed: if minus, no streaming, reads whole body as string)
+     */
+    default int provideJsonBodyStreamingKeptLimit() {
+        return 10000;
+    }
+
     // ===================================================================================
     //                                                                          Validation
     //                                                                          ==========
@@ -27,14 +27,20 @@ import org.dbflute.util.DfCollectionUtil;
 import org.dbflute.util.DfStringUtil;
 import org.dbflute.util.Srl;
 import org.lastaflute.core.direction.FwAssistantDirector;
+import org.lastaflute.core.smartdeploy.ManagedHotdeploy;
 import org.lastaflute.di.core.LaContainer;
 import org.lastaflute.di.naming.NamingConvention;
 import org.lastaflute.di.util.LdiStringUtil;
 import org.lastaflute.web.UrlChain;
 import org.lastaflute.web.direction.FwWebDirection;
 import org.lastaflute.web.exception.ActionClassPackageMismatchException;
+import org.lastaflute.web.path.ActionRoutingTrie.RoutingNode;
 import org.lastaflute.web.ruts.config.ActionExecute;
+import org.lastaflute.web.ruts.config.ActionMapping;
+import org.lastaflute.web.ruts.config.ModuleConfig;
 import org.lastaflute.web.util.LaActionExecuteUtil;
+import org.lastaflute.web.util.LaModuleConfigUtil;
+import org.lastaflute.web.util.LaRequestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -110,7 +116,22 @@ public class ActionPathResolver {
         assertArgumentNotNull("requestPath", requestPath);
         assertArgumentNotNull("handler", handler);
         final MappingPathResource pathResource = customizeActionMapping(requestPath);
-        return mappingActionPath(pathResource, handler);
+        final NoRoutingPathCache noRoutingCache = findNoRoutingCache(); // null allowed
+        if (noRoutingCache == null) { // e.g. hot deploy
+            return mappingActionPath(pathResource, handler);
+        }
+        final String noRoutingKey = buildNoRoutingKey(pathResource); // after customization
+        if (noRoutingCache.contains(noRoutingKey)) { // e.g. repeated requests from scanners
+            return false; // already proven
+        }
+        final NoRoutingDeterminableHandler determinableHandler = new NoRoutingDeterminableHandler(handler);
+        if (mappingActionPath(pathResource, determinableHandler)) {
+            return true;
+        }
+        if (determinableHandler.isDeterminable()) { // independent from request parameters
+            noRoutingCache.register(noRoutingKey);
+        }
+        return false;
     }
 
     protected static class MappingPathResource {
@@ -140,6 +161,51 @@ public class ActionPathResolver {
         }
     }
 
+    // -----------------------------------------------------
+    //                                      No Routing Cache
+    //                                      ----------------
+    protected NoRoutingPathCache findNoRoutingCache() {
+        if (ManagedHotdeploy.isHotdeploy()) { // classes can be changed per request
+            return null;
+        }
+        return getModuleConfig().getNoRoutingCache(); // null allowed
+    }
+
+    protected String buildNoRoutingKey(MappingPathResource pathResource) {
+        // restful execute methods are routed by HTTP method so it is contained
+        final String httpMethod = LaRequestUtil.getRequest().getMethod();
+        final String suffix = pathResource.getActionNameSuffix().map(sfx -> "@" + sfx).orElse("");
+        return httpMethod + " " + pathResource.getMappingPath() + suffix; // e.g. GET /sea/land/, GET /sea/land/@Sp
+    }
+
+    /**
+     * The handler wrapper to determine whether the no-routing is independent from request parameters. <br>
+     * Execute methods without path parameter are found by request parameters (e.g. doUpdate=update),
+     * so the no-routing cannot be cached if the handler is called with empty parameter path.
+     */
+    protected static class NoRoutingDeterminableHandler implements ActionFoundPathHandler {
+
+        protected final ActionFoundPathHandler handler; // not null
+        protected boolean determinable = true; // false if request parameter routing is tried
+
+        public NoRoutingDeterminableHandler(ActionFoundPathHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean handleActionPath(String requestPath, String actionName, String paramPath, ActionExecute methodByParam)
+                throws Exception {
+            if (paramPath == null || paramPath.isEmpty()) { // routing by request parameter
+                determinable = false;
+            }
+            return handler.handleActionPath(requestPath, actionName, paramPath, methodByParam);
+        }
+
+        public boolean isDeterminable() {
+            return determinable;
+        }
+    }
+
     // -----------------------------------------------------
     //                                 Customization Process
     //                                 ---------------------
@@ -175,6 +241,18 @@ public class ActionPathResolver {
     //                                 ActionMapping Process
     //                                 ---------------------
     protected boolean mappingActionPath(MappingPathResource pathResource, ActionFoundPathHandler handler) throws Exception {
+        final ActionRoutingTrie routingTrie = findCompiledRoutingTrie(pathResource);
+        if (routingTrie != null) { // basically production (cool deploy)
+            if (mappingActionPathByTrie(pathResource, handler, routingTrie)) {
+                return true;
+            }
+            // the trie does not know actions not registered yet (e.g. warm deploy registers them when requested)
+            // so falls back to guessing process, not-found paths are cached by no-routing cache after this
+        }
+        return mappingActionPathByGuessing(pathResource, handler);
+    }
+
+    protected boolean mappingActionPathByGuessing(MappingPathResource pathResource, ActionFoundPathHandler handler) throws Exception {
         final String mappingPath = pathResource.getMappingPath();
         final String[] names = LdiStringUtil.split(mappingPath, URL_DELIMITER); // e.g. [sea, land] if /sea/land/
         final LaContainer root = container.getRoot(); // because actions are in root
@@ -273,6 +351,69 @@ public class ActionPathResolver {
         return false;
     }
 
+    // -----------------------------------------------------
+    //                                      Compiled Routing
+    //                                      ----------------
+    protected ActionRoutingTrie findCompiledRoutingTrie(MappingPathResource pathResource) {
+        if (pathResource.getActionNameSuffix().isPresent()) { // e.g. seaLandSpAction, not compiled
+            return null;
+        }
+        if (ManagedHotdeploy.isHotdeploy()) { // actions are lazy-loaded so cannot compile
+            return null;
+        }
+        final ModuleConfig moduleConfig = getModuleConfig();
+        final ActionRoutingTrie trie = moduleConfig.getRoutingTrie(); // null allowed
+        if (trie != null) { // mainly here
+            return trie;
+        }
+        return recompileActionRoutingIfNeeds(moduleConfig); // e.g. invalidated by action registered later
+    }
+
+    protected ActionRoutingTrie recompileActionRoutingIfNeeds(ModuleConfig moduleConfig) { // null allowed
+        if (actionAdjustmentProvider.isSuppressCompiledActionRouting()) {
+            return null;
+        }
+        return doCompileActionRouting(moduleConfig); // null if no action yet
+    }
+
+    protected ModuleConfig getModuleConfig() {
+        return LaModuleConfigUtil.getModuleConfig();
+    }
+
+    protected boolean mappingActionPathByTrie(MappingPathResource pathResource, ActionFoundPathHandler handler, ActionRoutingTrie trie)
+            throws Exception {
+        // same priority as guessing process: shallow path first, and shallow package first in same path
+        final String[] names = LdiStringUtil.split(pathResource.getMappingPath(), URL_DELIMITER); // e.g. [sea, land] if /sea/land/
+        if (names.length == 0) { // root action, / => rootAction
+            final String rootAction = trie.getRootActionName(); // null allowed
+            return rootAction != null && executeHandlerIfFound(pathResource, handler, rootAction, null);
+        }
+        RoutingNode node = trie.getTopNode(); // null if no more action in deep path
+        for (int index = 0; index < names.length; index++) {
+            final String currentName = names[index];
+            if (containsNotAllowedCharacterAsActionPath(currentName)) { // e.g. /Sea/land/, /sea/Land/
+                return false; // cannot use upper case in action path (while, allowed in param path)
+            }
+            node = node != null ? node.findChild(currentName) : null;
+            if (node == null) {
+                continue; // only checking characters of remaining names
+            }
+            final List<String> actionNameList = node.getActionNameList();
+            if (actionNameList.isEmpty()) { // e.g. /sea/ when only sea_seaLandAction
+                continue;
+            }
+            final String paramPath = buildParamPath(names, index + 1);
+            for (String actionName : actionNameList) {
+                if (executeHandlerIfFound(pathResource, handler, actionName, paramPath)) {
+                    return true;
+                }
+            }
+        }
+        // e.g. /sea/land but not found, no root action fallback here because the trie may not know
+        // actions registered lazily (e.g. warm deploy), guessing process decides it with its root fallback
+        return false;
+    }
+
     protected boolean hasActionDef(LaContainer root, String componentName) {
         try {
             return root.hasComponentDef(componentName);
@@ -348,6 +489,106 @@ public class ActionPathResolver {
         return LaActionExecuteUtil.findActionExecute(actionName, paramPath);
     }
 
+    // ===================================================================================
+    //                                                                     Compile Routing
+    //                                                                     ===============
+    /**
+     * Compile the routing trie from the registered action mappings and save it to the module config. <br>
+     * This is basically called at boot after container initialization, and does nothing if hot deploy. <br>
+     * The trie is not compiled if no registered action (e.g. lazy registration), and it is recompiled at next request
+     * when an action is registered later, unknown paths in the trie are resolved by guessing process.
+     * And the cache of no routing paths is also prepared here.
+     * @param moduleConfig The module config that has action mappings. (NotNull)
+     */
+    public void compileActionRouting(ModuleConfig moduleConfig) {
+        assertArgumentNotNull("moduleConfig", moduleConfig);
+        if (ManagedHotdeploy.isHotdeploy()) { // actions are lazy-loaded and can be changed
+            return;
+        }
+        if (!actionAdjustmentProvider.isSuppressCompiledActionRouting()) {
+            final ActionRoutingTrie trie = doCompileActionRouting(moduleConfig);
+            if (trie != null && logger.isInfoEnabled()) {
+                logger.info("...Compiling action routing: " + trie);
+            }
+        }
+        final int noRoutingCacheLimit = actionAdjustmentProvider.provideNoRoutingCacheLimit();
+        if (noRoutingCacheLimit > 0) {
+            moduleConfig.acceptNoRoutingCache(newNoRoutingPathCache(noRoutingCacheLimit));
+        }
+    }
+
+    protected NoRoutingPathCache newNoRoutingPathCache(int limit) {
+        return new NoRoutingPathCache(limit);
+    }
+
+    protected ActionRoutingTrie doCompileActionRouting(ModuleConfig moduleConfig) { // null allowed if no action
+        final List<ActionMapping> mappingList = new ArrayList<ActionMapping>(moduleConfig.getActionMappingList());
+        if (mappingList.isEmpty()) { // e.g. warm deploy, actions are registered when requested
+            return null;
+        }
+        final ActionRoutingTrie trie = newActionRoutingTrie();
+        for (ActionMapping mapping : mappingList) {
+            registerRoutingAction(trie, mapping.getActionName());
+        }
+        moduleConfig.acceptRoutingTrie(trie); // invalidated again when new action is registered
+        return trie;
+    }
+
+    protected ActionRoutingTrie newActionRoutingTrie() {
+        return new ActionRoutingTrie();
+    }
+
+    protected void registerRoutingAction(ActionRoutingTrie trie, String actionName) {
+        final String actionSuffix = namingConvention.getActionSuffix(); // e.g. 'Action'
+        if (!actionName.endsWith(actionSuffix)) { // no way, just in case
+            return;
+        }
+        final String pureName = actionName.substring(0, actionName.length() - actionSuffix.length()); // e.g. sea_seaLand
+        final String classPrefix = substringLastRear(pureName, "_"); // e.g. seaLand
+        final List<String> elementList = splitClassPrefixToPathElement(classPrefix); // e.g. [sea, land]
+        if (elementList == null) { // cannot be restored from path
+            return;
+        }
+        final List<String> packageList; // e.g. [sea]
+        if (pureName.contains("_")) {
+            packageList = splitList(substringLastFront(pureName, "_"), "_");
+        } else {
+            packageList = DfCollectionUtil.emptyList();
+        }
+        if (packageList.size() > elementList.size()) { // e.g. sea_land_seaAction, unreachable by path
+            return;
+        }
+        for (int i = 0; i < packageList.size(); i++) {
+            if (!packageList.get(i).equals(elementList.get(i))) { // e.g. land_seaLandAction, unreachable by path
+                return;
+            }
+        }
+        trie.registerAction(elementList, packageList.size(), actionName);
+        if (packageList.isEmpty() && "root".equals(classPrefix)) {
+            trie.registerRootAction(actionName);
+        }
+    }
+
+    protected List<String> splitClassPrefixToPathElement(String classPrefix) { // null if unreachable
+        if (classPrefix.isEmpty() || Character.isUpperCase(classPrefix.charAt(0))) {
+            return null;
+        }
+        final List<String> elementList = new ArrayList<String>(4);
+        int beginIndex = 0;
+        for (int i = 1; i < classPrefix.length(); i++) {
+            if (Character.isUpperCase(classPrefix.charAt(i))) { // e.g. seaLand => sea, Land
+                elementList.add(initUncap(classPrefix.substring(beginIndex, i)));
+                beginIndex = i;
+            }
+        }
+        elementList.add(initUncap(classPrefix.substring(beginIndex)));
+        final StringBuilder restoredSb = new StringBuilder(classPrefix.length()); // same way as guessing process
+        for (String element : elementList) {
+            restoredSb.append(restoredSb.length() == 0 ? element : initCap(element));
+        }
+        return restoredSb.toString().equals(classPrefix) ? elementList : null;
+    }
+
     // ===================================================================================
     //                                                                  Action URL Reverse
     //                                                                  ==================
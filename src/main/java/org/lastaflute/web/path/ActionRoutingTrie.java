@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.path;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The routing trie of actions compiled from registered action mappings. <br>
+ * Each node is a path element, and it has the action names whose action path ends at the node.
+ * <pre>
+ * e.g. seaAction, sea_seaLandAction, sea_land_seaLandAction
+ *  (top)
+ *   |-sea   : [seaAction]
+ *     |-land : [sea_seaLandAction, sea_land_seaLandAction] *ordered by package depth
+ * </pre>
+ * Registration is only allowed before publishing, and the trie is read-only after that.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ActionRoutingTrie {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final RoutingNode topNode = new RoutingNode(); // not null, means '/'
+    protected String rootActionName; // null allowed, e.g. rootAction
+    protected int actionCount; // for logging
+
+    // ===================================================================================
+    //                                                                        Registration
+    //                                                                        ============
+    /**
+     * Register the action by its path elements.
+     * @param elementList The list of path elements for the action, e.g. [sea, land] if /sea/land/. (NotNull, NotEmpty)
+     * @param packageDepth The count of package elements in the action name, e.g. 1 if sea_seaLandAction.
+     * @param actionName The component name of the action, e.g. sea_seaLandAction. (NotNull)
+     */
+    public void registerAction(List<String> elementList, int packageDepth, String actionName) {
+        assertArgumentNotNull("elementList", elementList);
+        assertArgumentNotNull("actionName", actionName);
+        if (elementList.isEmpty()) {
+            throw new IllegalArgumentException("The argument 'elementList' should not be empty: " + actionName);
+        }
+        RoutingNode current = topNode;
+        for (String element : elementList) {
+            current = current.prepareChild(element);
+        }
+        current.addCandidate(packageDepth, actionName);
+        ++actionCount;
+    }
+
+    /**
+     * Register the root action that handles '/' and unmatched paths as low priority.
+     * @param actionName The component name of the root action, e.g. rootAction. (NotNull)
+     */
+    public void registerRootAction(String actionName) {
+        assertArgumentNotNull("actionName", actionName);
+        rootActionName = actionName;
+    }
+
+    // ===================================================================================
+    //                                                                        Routing Node
+    //                                                                        ============
+    public static class RoutingNode {
+
+        protected Map<String, RoutingNode> childMap; // null allowed, lazy loaded
+        protected List<RoutingCandidate> candidateList; // null allowed, lazy loaded, ordered by package depth
+        protected List<String> actionNameList = Collections.emptyList(); // not null, derived from candidates
+
+        /**
+         * @param element The path element as child, e.g. 'land' if /sea/land/. (NotNull)
+         * @return The child node for the element. (NullAllowed: when not found)
+         */
+        public RoutingNode findChild(String element) {
+            return childMap != null ? childMap.get(element) : null;
+        }
+
+        protected RoutingNode prepareChild(String element) {
+            if (childMap == null) {
+                childMap = new HashMap<String, RoutingNode>(4);
+            }
+            return childMap.computeIfAbsent(element, key -> new RoutingNode());
+        }
+
+        protected void addCandidate(int packageDepth, String actionName) {
+            if (candidateList == null) {
+                candidateList = new ArrayList<RoutingCandidate>(2);
+            }
+            candidateList.add(new RoutingCandidate(packageDepth, actionName));
+            candidateList.sort((o1, o2) -> Integer.compare(o1.packageDepth, o2.packageDepth)); // shallow package first
+            final List<String> nameList = new ArrayList<String>(candidateList.size());
+            for (RoutingCandidate candidate : candidateList) {
+                nameList.add(candidate.actionName);
+            }
+            actionNameList = Collections.unmodifiableList(nameList);
+        }
+
+        /**
+         * @return The read-only list of action names ended at this node, in priority order. (NotNull, EmptyAllowed)
+         */
+        public List<String> getActionNameList() {
+            return actionNameList;
+        }
+    }
+
+    protected static class RoutingCandidate {
+
+        protected final int packageDepth;
+        protected final String actionName;
+
+        public RoutingCandidate(int packageDepth, String actionName) {
+            this.packageDepth = packageDepth;
+            this.actionName = actionName;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "routingTrie:{actions=" + actionCount + ", root=" + rootActionName + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public RoutingNode getTopNode() {
+        return topNode;
+    }
+
+    public String getRootActionName() { // null allowed
+        return rootActionName;
+    }
+
+    public int getActionCount() {
+        return actionCount;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.path;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The bounded cache of request paths already proven to be routed to no action. <br>
+ * Repeated misses (e.g. requests from scanners) can skip action resolution by this. <br>
+ * Only misses independent from request parameters are registered, and all entries are cleared
+ * when the size reaches the limit, so it does not grow without limit during scan storms.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class NoRoutingPathCache {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int limit; // positive
+    protected final Set<String> pathKeySet = ConcurrentHashMap.newKeySet(); // not null, thread-safe
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param limit The limit size of cached paths, all entries are cleared when over it. (Positive)
+     */
+    public NoRoutingPathCache(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("The argument 'limit' should be positive: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    // ===================================================================================
+    //                                                                        Cache Access
+    //                                                                        ============
+    /**
+     * @param pathKey The key of path for routing, e.g. 'GET /sea/land/'. (NotNull)
+     * @return Is the path already proven to be routed to no action?
+     */
+    public boolean contains(String pathKey) {
+        return pathKeySet.contains(pathKey);
+    }
+
+    /**
+     * @param pathKey The key of path proven to be routed to no action, e.g. 'GET /sea/land/'. (NotNull)
+     */
+    public void register(String pathKey) {
+        if (pathKeySet.size() >= limit) { // e.g. scan storm, simply restart caching
+            pathKeySet.clear();
+        }
+        pathKeySet.add(pathKey);
+    }
+
+    /**
+     * Clear all cached paths, e.g. when new action is registered.
+     */
+    public void clear() {
+        pathKeySet.clear();
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "noRoutingCache:{" + pathKeySet.size() + "/" + limit + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public int getLimit() {
+        return limit;
+    }
+
+    public int size() {
+        return pathKeySet.size();
+    }
+}
@@ -40,6 +40,7 @@ public class ResponseReflectingOption {
     protected boolean jsonBeanValidationErrorWarned;
     protected boolean jsonBeanValidatorSuppressed;
     protected boolean jsonEmptyBodyTreatedAsEmptyObject; // for e.g. client fitting
+    protected boolean jsonResponseStreamingEnabled; // opt-in, writes whole string as default
 
     // ===================================================================================
     //                                                                              Facade
@@ -75,6 +76,17 @@ public class ResponseReflectingOption {
         return this;
     }
 
+    /**
+     * Enable writing JSON response by streaming, without building whole JSON string. <br>
+     * Serialization failure in the buffered head (before first flush) becomes error response,
+     * but the response might be committed partially when it fails after the head is flushed.
+     * @return this. (NotNull)
+     */
+    public ResponseReflectingOption enableJsonResponseStreaming() {
+        jsonResponseStreamingEnabled = true;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -91,6 +103,7 @@ public class ResponseReflectingOption {
         sb.append(jsonBeanValidationErrorWarned);
         sb.append(", ").append(jsonBeanValidatorSuppressed);
         sb.append(", ").append(jsonEmptyBodyTreatedAsEmptyObject);
+        sb.append(", ").append(jsonResponseStreamingEnabled);
         sb.append("}");
         sb.append("}");
         return sb.toString();
@@ -124,4 +137,8 @@ public class ResponseReflectingOption {
     public boolean isJsonEmptyBodyTreatedAsEmptyObject() {
         return jsonEmptyBodyTreatedAsEmptyObject;
     }
+
+    public boolean isJsonResponseStreamingEnabled() {
+        return jsonResponseStreamingEnabled;
+    }
 }
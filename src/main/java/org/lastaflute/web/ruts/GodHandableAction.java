@@ -41,6 +41,7 @@ import org.lastaflute.web.exception.ExecuteMethodArgumentMismatchException;
 import org.lastaflute.web.hook.ActionHook;
 import org.lastaflute.web.response.ActionResponse;
 import org.lastaflute.web.ruts.config.ActionExecute;
+import org.lastaflute.web.ruts.config.PreparedExecuteInvoker;
 import org.lastaflute.web.ruts.process.ActionResponseReflector;
 import org.lastaflute.web.ruts.process.ActionRuntime;
 import org.lastaflute.web.ruts.process.exception.ActionCreateFailureException;
@@ -186,7 +187,18 @@ public class GodHandableAction implements VirtualAction {
     }
 
     protected TransactionGenre getExecuteTransactionGenre() {
-        return execute.getTransactionGenre();
+        final TransactionGenre genre = execute.getTransactionGenre();
+        if (TransactionGenre.REQUIRES_NEW.equals(genre) && isReadOnlyTransactionBySafeHttpMethod()) {
+            return TransactionGenre.READ_ONLY;
+        }
+        return genre;
+    }
+
+    protected boolean isReadOnlyTransactionBySafeHttpMethod() { // option
+        if (!requestManager.getActionAdjustmentProvider().isReadOnlyTransactionForSafeHttpMethod()) { // mainly here
+            return false;
+        }
+        return requestManager.isHttpMethodGet() || requestManager.isHttpMethod("head");
     }
 
     protected void hookAfterTxCommitIfExists(ExecuteTransactionResult result) {
@@ -330,6 +342,10 @@ public class GodHandableAction implements VirtualAction {
     //                                         Invoke Action
     //                                         -------------
     protected Object invokeExecuteMethod(Method executeMethod, Object[] requestArgs) {
+        final PreparedExecuteInvoker invoker = execute.getPreparedExecuteInvoker();
+        if (invoker != null && invoker.getExecuteMethod().equals(executeMethod)) { // basically here
+            return invokeExecuteMethodByInvoker(invoker, executeMethod, requestArgs);
+        }
         Object result = null;
         try {
             result = executeMethod.invoke(action, requestArgs); // #to_action just here
@@ -344,8 +360,26 @@ public class GodHandableAction implements VirtualAction {
         return result;
     }
 
+    protected Object invokeExecuteMethodByInvoker(PreparedExecuteInvoker invoker, Method executeMethod, Object[] requestArgs) {
+        if (!invoker.matchesArgument(requestArgs)) { // checked before because not wrapped as reflection
+            final String msg = "Mismatch the request arguments for the parameters: " + Arrays.asList(requestArgs);
+            throwExecuteMethodArgumentMismatchException(executeMethod, requestArgs, new IllegalArgumentException(msg));
+        }
+        Object result = null;
+        try {
+            result = invoker.invoke(action, requestArgs); // #to_action just here
+        } catch (Throwable cause) { // e.g. exception in the method (not wrapped)
+            return handleExecuteMethodThrownCause(executeMethod, requestArgs, cause);
+        }
+        redCardableAssist.checkValidatorCalled();
+        return result;
+    }
+
     protected Object handleExecuteMethodInvocationTargetException(Method executeMethod, Object[] requestArgs, InvocationTargetException e) {
-        final Throwable cause = e.getTargetException();
+        return handleExecuteMethodThrownCause(executeMethod, requestArgs, e.getTargetException());
+    }
+
+    protected Object handleExecuteMethodThrownCause(Method executeMethod, Object[] requestArgs, Throwable cause) {
         if (cause instanceof ValidationErrorException) {
             return handleValidationErrorException((ValidationErrorException) cause);
         }
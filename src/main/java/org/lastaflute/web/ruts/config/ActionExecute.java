@@ -84,6 +84,11 @@ public class ActionExecute implements Serializable {
     protected final ActionRoutingByPathParamDeterminer routingByPathParamDeterminer; // not null
     protected final ActionRoutingByRequestParamDeterminer routingByRequestParamDeterminer; // not null
 
+    // -----------------------------------------------------
+    //                                       Execute Invoker
+    //                                       ---------------
+    protected final transient PreparedExecuteInvoker preparedExecuteInvoker; // null allowed: when reflection is used
+
     // -----------------------------------------------------
     //                                     Lazy-Loaded Cache
     //                                     -----------------
@@ -134,6 +139,9 @@ public class ActionExecute implements Serializable {
         // check finally
         checkExecuteMethod(executeArgAnalyzer);
 
+        // invoker (after checking definition)
+        this.preparedExecuteInvoker = prepareExecuteInvoker();
+
         // routing determiner (should be last in constructor because of dependencies to instance variables)
         this.routingByPathParamDeterminer = createRoutingByPathParamDeterminer();
         this.routingByRequestParamDeterminer = createRoutingByRequestParamDeterminer();
@@ -148,11 +156,34 @@ public class ActionExecute implements Serializable {
         return new ActionRoutingByRequestParamDeterminer(mappingMethodName);
     }
 
+    // -----------------------------------------------------
+    //                                       Execute Invoker
+    //                                       ---------------
+    protected PreparedExecuteInvoker prepareExecuteInvoker() { // null allowed
+        for (Class<?> parameterType : executeMethod.getParameterTypes()) {
+            if (parameterType.isPrimitive()) { // no way, path parameter is wrapper type, just in case
+                return null; // reflection is used
+            }
+        }
+        try {
+            return newPreparedExecuteInvoker(executeMethod);
+        } catch (IllegalAccessException | RuntimeException e) { // e.g. non-public action class
+            return null; // reflection is used
+        }
+    }
+
+    protected PreparedExecuteInvoker newPreparedExecuteInvoker(Method executeMethod) throws IllegalAccessException {
+        return new PreparedExecuteInvoker(executeMethod);
+    }
+
     // -----------------------------------------------------
     //                                           Transaction
     //                                           -----------
     protected TransactionGenre chooseTransactionGenre(ExecuteOption executeOption) {
-        return executeOption.isSuppressTransaction() ? TransactionGenre.NONE : getDefaultTransactionGenre();
+        if (executeOption.isSuppressTransaction()) {
+            return TransactionGenre.NONE;
+        }
+        return executeOption.isReadOnlyTransaction() ? TransactionGenre.READ_ONLY : getDefaultTransactionGenre();
     }
 
     protected TransactionGenre getDefaultTransactionGenre() {
@@ -272,6 +303,13 @@ public class ActionExecute implements Serializable {
         return routingByPathParamDeterminer.determine(paramPath);
     }
 
+    /**
+     * @return Is the target determined by HTTP method and regular expression of URL pattern only?
+     */
+    public boolean isPathParamDeterminedByRegexpOnly() {
+        return routingByPathParamDeterminer.isRegexpOnlyDetermination();
+    }
+
     // -----------------------------------------------------
     //                                  by Request Parameter
     //                                  --------------------
@@ -358,6 +396,13 @@ public class ActionExecute implements Serializable {
         return indexMethod;
     }
 
+    /**
+     * @return The invoker of execute method prepared by method handle. (NullAllowed: when reflection is used)
+     */
+    public PreparedExecuteInvoker getPreparedExecuteInvoker() {
+        return preparedExecuteInvoker;
+    }
+
     public TransactionGenre getTransactionGenre() {
         return transactionGenre;
     }
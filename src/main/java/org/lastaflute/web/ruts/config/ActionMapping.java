@@ -16,12 +16,14 @@
 package org.lastaflute.web.ruts.config;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.util.DfTypeUtil;
+import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.di.core.ComponentDef;
 import org.lastaflute.di.helper.beans.BeanDesc;
 import org.lastaflute.di.helper.beans.factory.BeanDescFactory;
@@ -30,6 +32,8 @@ import org.lastaflute.web.path.ActionAdjustmentProvider;
 import org.lastaflute.web.response.HtmlResponse;
 import org.lastaflute.web.ruts.NextJourney;
 import org.lastaflute.web.ruts.NextJourney.PlannedJourneyProvider;
+import org.lastaflute.web.ruts.config.routing.ActionRoutingByPathParamSelector;
+import org.lastaflute.web.servlet.request.RequestManager;
 import org.lastaflute.web.util.LaServletContextUtil;
 
 /**
@@ -47,6 +51,15 @@ public class ActionMapping {
     protected final ActionAdjustmentProvider adjustmentProvider;
     protected final ArrayMap<String, ActionExecute> executeMap = new ArrayMap<String, ActionExecute>(); // array to get first
 
+    // -----------------------------------------------------
+    //                                     Compiled Resource
+    //                                     -----------------
+    /** The selector of execute by path parameter, compiled after registration. (NullAllowed: not compiled yet) */
+    protected volatile ActionRoutingByPathParamSelector pathParamSelector;
+
+    /** The cache of request manager, used only for restful routing. (NotNull: after lazy-load) */
+    protected volatile RequestManager cachedRequestManager; // null allowed until lazy-loaded, volatile for double-checked locking
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -63,6 +76,24 @@ public class ActionMapping {
     public void registerExecute(ActionExecute execute) {
         // plain name here, may contain restful http method e.g. get$index
         executeMap.put(execute.getExecuteMethod().getName(), execute);
+        pathParamSelector = null; // needs to compile again
+    }
+
+    // -----------------------------------------------------
+    //                                       Compile Routing
+    //                                       ---------------
+    /**
+     * Compile routing resources from the registered executes, e.g. selector by path parameter. <br>
+     * This is called after all executes are registered, basically at boot.
+     */
+    public void compileExecuteRouting() {
+        pathParamSelector = newActionRoutingByPathParamSelector();
+    }
+
+    protected ActionRoutingByPathParamSelector newActionRoutingByPathParamSelector() {
+        return new ActionRoutingByPathParamSelector(new ArrayList<ActionExecute>(executeMap.values()), () -> {
+            return getRequestManager().getHttpMethod().orElse(null);
+        });
     }
 
     // ===================================================================================
@@ -77,6 +108,10 @@ public class ActionMapping {
     //                                                                        ============
     // optional unused for performance
     public ActionExecute findActionExecute(String paramPath) { // null allowed when not found
+        final ActionRoutingByPathParamSelector selector = pathParamSelector;
+        if (selector != null) { // basically here
+            return selector.select(paramPath); // one pass
+        }
         for (ActionExecute execute : executeMap.values()) {
             if (execute.determineTargetByPathParameter(paramPath)) {
                 return execute;
@@ -184,6 +219,23 @@ public class ActionMapping {
         return path.endsWith(".jsp");
     }
 
+    // ===================================================================================
+    //                                                                   Lazy-Loaded Cache
+    //                                                                   =================
+    // #hope no use DI container here
+    protected RequestManager getRequestManager() {
+        if (cachedRequestManager != null) {
+            return cachedRequestManager;
+        }
+        synchronized (this) {
+            if (cachedRequestManager != null) {
+                return cachedRequestManager;
+            }
+            cachedRequestManager = ContainerUtil.getComponent(RequestManager.class);
+        }
+        return cachedRequestManager;
+    }
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
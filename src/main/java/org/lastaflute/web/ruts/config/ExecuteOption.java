@@ -22,6 +22,7 @@ public class ExecuteOption {
 
     protected final String specifiedUrlPattern; // null allowed
     protected final boolean suppressTransaction;
+    protected final boolean readOnlyTransaction;
     protected final boolean suppressValidatorCallCheck;
     protected final int sqlExecutionCountLimit;
 
@@ -33,8 +34,21 @@ public class ExecuteOption {
      */
     public ExecuteOption(String specifiedUrlPattern, boolean suppressTransaction, boolean suppressValidatorCallCheck,
             int sqlExecutionCountLimit) {
+        this(specifiedUrlPattern, suppressTransaction, false, suppressValidatorCallCheck, sqlExecutionCountLimit);
+    }
+
+    /**
+     * @param specifiedUrlPattern The URL pattern specified by action. (NullAllowed)
+     * @param suppressTransaction Does it suppress transaction for action?
+     * @param readOnlyTransaction Does it use read-only transaction for action?
+     * @param sqlExecutionCountLimit The integer for limit of SQL execution count in one request. (MinusAllowed: use default limit)
+     * @param suppressValidatorCallCheck Does it suppress validator call check?
+     */
+    public ExecuteOption(String specifiedUrlPattern, boolean suppressTransaction, boolean readOnlyTransaction,
+            boolean suppressValidatorCallCheck, int sqlExecutionCountLimit) {
         this.specifiedUrlPattern = specifiedUrlPattern;
         this.suppressTransaction = suppressTransaction;
+        this.readOnlyTransaction = readOnlyTransaction;
         this.suppressValidatorCallCheck = suppressValidatorCallCheck;
         this.sqlExecutionCountLimit = sqlExecutionCountLimit;
     }
@@ -47,6 +61,10 @@ public class ExecuteOption {
         return suppressTransaction;
     }
 
+    public boolean isReadOnlyTransaction() {
+        return readOnlyTransaction;
+    }
+
     public boolean isSuppressValidatorCallCheck() {
         return suppressValidatorCallCheck;
     }
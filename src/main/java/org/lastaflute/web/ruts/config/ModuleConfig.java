@@ -16,10 +16,11 @@
 package org.lastaflute.web.ruts.config;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.util.DfTypeUtil;
@@ -27,6 +28,8 @@ import org.lastaflute.core.smartdeploy.ManagedHotdeploy;
 import org.lastaflute.di.Disposable;
 import org.lastaflute.di.DisposableUtil;
 import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
+import org.lastaflute.web.path.ActionRoutingTrie;
+import org.lastaflute.web.path.NoRoutingPathCache;
 
 /**
  * @author modified by jflute (originated in Seasar and Struts)
@@ -42,8 +45,10 @@ public class ModuleConfig implements Disposable, Serializable {
     //                                                                           Attribute
     //                                                                           =========
     protected final Map<String, ActionMapping> actionMappingMap = new HashMap<String, ActionMapping>();
-    protected final List<ActionMapping> actionMappingList = new ArrayList<ActionMapping>();
+    protected final List<ActionMapping> actionMappingList = new CopyOnWriteArrayList<ActionMapping>(); // read while registering
     protected volatile boolean initialized;
+    protected transient volatile ActionRoutingTrie routingTrie; // null allowed: not compiled or invalidated
+    protected transient volatile NoRoutingPathCache noRoutingCache; // null allowed: not prepared
 
     // ===================================================================================
     //                                                                         Constructor
@@ -90,6 +95,63 @@ public class ModuleConfig implements Disposable, Serializable {
     public void addActionMapping(ActionMapping mapping) {
         actionMappingMap.put(mapping.getActionName(), mapping);
         actionMappingList.add(mapping);
+        routingTrie = null; // compiled routing does not know the new action
+        clearNoRoutingCache(); // the new action may handle the paths
+    }
+
+    /**
+     * @return The read-only list of registered action mappings. (NotNull, EmptyAllowed: e.g. before lazy loading)
+     */
+    public List<ActionMapping> getActionMappingList() {
+        return Collections.unmodifiableList(actionMappingList);
+    }
+
+    // ===================================================================================
+    //                                                                    Compiled Routing
+    //                                                                    ================
+    /**
+     * Accept the routing trie compiled from the current action mappings. <br>
+     * It is cleared when an action mapping is added after this or the config is disposed.
+     * @param routingTrie The compiled routing trie. (NotNull)
+     */
+    public void acceptRoutingTrie(ActionRoutingTrie routingTrie) {
+        if (routingTrie == null) {
+            throw new IllegalArgumentException("The argument 'routingTrie' should not be null.");
+        }
+        this.routingTrie = routingTrie;
+    }
+
+    /**
+     * @return The compiled routing trie. (NullAllowed: when not compiled, e.g. hot deploy, or invalidated)
+     */
+    public ActionRoutingTrie getRoutingTrie() {
+        return routingTrie;
+    }
+
+    /**
+     * Accept the cache of paths routed to no action. <br>
+     * It is cleared when an action mapping is added after this or the config is disposed.
+     * @param noRoutingCache The cache of no routing paths. (NotNull)
+     */
+    public void acceptNoRoutingCache(NoRoutingPathCache noRoutingCache) {
+        if (noRoutingCache == null) {
+            throw new IllegalArgumentException("The argument 'noRoutingCache' should not be null.");
+        }
+        this.noRoutingCache = noRoutingCache;
+    }
+
+    /**
+     * @return The cache of paths routed to no action. (NullAllowed: when not prepared, e.g. hot deploy)
+     */
+    public NoRoutingPathCache getNoRoutingCache() {
+        return noRoutingCache;
+    }
+
+    protected void clearNoRoutingCache() {
+        final NoRoutingPathCache cache = noRoutingCache;
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     // ===================================================================================
@@ -98,6 +160,8 @@ public class ModuleConfig implements Disposable, Serializable {
     public void dispose() {
         actionMappingMap.clear();
         actionMappingList.clear();
+        routingTrie = null;
+        clearNoRoutingCache();
         initialized = false;
     }
 
@@ -108,6 +172,6 @@ public class ModuleConfig implements Disposable, Serializable {
     public String toString() {
         final String title = DfTypeUtil.toClassTitle(this);
         final String hash = Integer.toHexString(hashCode());
-        return title + ":{mapping=" + actionMappingMap.size() + "}@" + hash;
+        return title + ":{mapping=" + actionMappingMap.size() + ", " + routingTrie + "}@" + hash;
     }
 }
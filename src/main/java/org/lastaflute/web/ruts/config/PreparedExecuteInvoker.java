@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * The invoker of execute method prepared at boot by method handle. <br>
+ * It is called instead of reflection, so no access check and no wrapping exception per request. <br>
+ * The handle is virtual so the enhanced (e.g. intercepted) method of action instance is called as reflection.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class PreparedExecuteInvoker {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Method executeMethod; // not null
+    protected final Class<?>[] parameterTypes; // not null, no primitive type
+    protected final MethodHandle spreadHandle; // not null, (Object action, Object[] args)Object
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param executeMethod The public execute method of action, which has no primitive parameter. (NotNull)
+     * @throws IllegalAccessException When the method cannot be accessed publicly e.g. non-public class.
+     */
+    public PreparedExecuteInvoker(Method executeMethod) throws IllegalAccessException {
+        assertArgumentNotNull("executeMethod", executeMethod);
+        this.executeMethod = executeMethod;
+        this.parameterTypes = executeMethod.getParameterTypes();
+        for (Class<?> parameterType : parameterTypes) {
+            if (parameterType.isPrimitive()) { // cannot check null argument before invoking
+                throw new IllegalArgumentException("The execute method should not have primitive parameter: " + executeMethod);
+            }
+        }
+        final MethodHandle directHandle = MethodHandles.publicLookup().unreflect(executeMethod);
+        final MethodType genericType = MethodType.genericMethodType(parameterTypes.length + 1); // plus action instance
+        this.spreadHandle = directHandle.asType(genericType).asSpreader(Object[].class, parameterTypes.length);
+    }
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    /**
+     * Does the arguments match with the parameters of the execute method? <br>
+     * You should call this before invoking because mismatch cannot be distinguished from exception in the method.
+     * @param requestArgs The array of arguments for the execute method. (NotNull)
+     * @return The determination, true or false.
+     */
+    public boolean matchesArgument(Object[] requestArgs) {
+        if (requestArgs.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final Object arg = requestArgs[i];
+            if (arg != null && !parameterTypes[i].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invoke the execute method of the action. <br>
+     * Exceptions in the method are thrown as they are (not wrapped).
+     * @param action The instance of action, may be enhanced. (NotNull)
+     * @param requestArgs The array of arguments matched with the parameters. (NotNull)
+     * @return The result of the execute method. (NullAllowed: if the method returns null)
+     * @throws Throwable When the execute method throws something.
+     */
+    public Object invoke(Object action, Object[] requestArgs) throws Throwable {
+        return (Object) spreadHandle.invokeExact(action, requestArgs);
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "invoker:{" + executeMethod.getName() + ", " + spreadHandle.type() + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Method getExecuteMethod() {
+        return executeMethod;
+    }
+}
@@ -87,6 +87,15 @@ public class ActionRoutingByPathParamDeterminer {
         }
     }
 
+    /**
+     * Is the determination only by HTTP method and regular expression of URL pattern? <br>
+     * If true, the determination can be replaced with matching the regular expression after HTTP method.
+     * @return The determination, true or false. (false if optional path parameter exists)
+     */
+    public boolean isRegexpOnlyDetermination() {
+        return !hasOptionalPathParameter();
+    }
+
     protected boolean matchesWithRequestedHttpMethod(RequestManager requestManager, String httpMethod) {
         return requestManager.isHttpMethod(httpMethod);
     }
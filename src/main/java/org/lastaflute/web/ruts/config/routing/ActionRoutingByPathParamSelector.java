@@ -0,0 +1,298 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.config.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.lastaflute.web.ruts.config.ActionExecute;
+
+/**
+ * The selector of action execute by path parameter, compiled from all executes of one action. <br>
+ * URL patterns of executes are combined into one regular expression per HTTP method,
+ * so the execute is selected in one pass instead of matching each pattern. <br>
+ * The selection is same as determining each execute in registration order:
+ * <pre>
+ * o executes for other HTTP method (restful) are excluded beforehand
+ * o consecutive executes determined by regular expression only are combined as alternatives
+ * o executes that have optional path parameter are determined one by one as before
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ActionRoutingByPathParamSelector {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The pattern to find back-reference in regular expression, which cannot be combined. */
+    protected static final Pattern BACK_REFERENCE_PATTERN = Pattern.compile("\\\\[1-9k]");
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final SelectionRoute plainRoute; // not null, for non-restful request
+    protected final Map<String, SelectionRoute> restfulRouteMap; // not null, empty allowed, key is lower-case HTTP method
+    protected final Supplier<String> requestedHttpMethodProvider; // not null, called only when restful exists
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param executeList The list of action executes in registration order. (NotNull)
+     * @param requestedHttpMethodProvider The provider of requested HTTP method, called only when restful execute exists. (NotNull)
+     */
+    public ActionRoutingByPathParamSelector(List<ActionExecute> executeList, Supplier<String> requestedHttpMethodProvider) {
+        assertArgumentNotNull("executeList", executeList);
+        assertArgumentNotNull("requestedHttpMethodProvider", requestedHttpMethodProvider);
+        this.plainRoute = createRoute(executeList, execute -> !execute.getRestfulHttpMethod().isPresent());
+        final Set<String> httpMethodSet = new LinkedHashSet<String>();
+        for (ActionExecute execute : executeList) {
+            execute.getRestfulHttpMethod().ifPresent(httpMethod -> httpMethodSet.add(httpMethod.toLowerCase()));
+        }
+        if (!httpMethodSet.isEmpty()) {
+            final Map<String, SelectionRoute> routeMap = new HashMap<String, SelectionRoute>(httpMethodSet.size());
+            for (String httpMethod : httpMethodSet) {
+                routeMap.put(httpMethod, createRoute(executeList, execute -> {
+                    return execute.getRestfulHttpMethod().map(restful -> restful.equalsIgnoreCase(httpMethod)).orElse(true);
+                }));
+            }
+            this.restfulRouteMap = Collections.unmodifiableMap(routeMap);
+        } else {
+            this.restfulRouteMap = Collections.emptyMap();
+        }
+        this.requestedHttpMethodProvider = requestedHttpMethodProvider;
+    }
+
+    // -----------------------------------------------------
+    //                                         Compile Route
+    //                                         -------------
+    protected SelectionRoute createRoute(List<ActionExecute> executeList, Predicate<ActionExecute> targetDeterminer) {
+        final List<SelectionStep> stepList = new ArrayList<SelectionStep>();
+        List<ActionExecute> combinedList = null; // lazy loaded, consecutive combinable executes
+        for (ActionExecute execute : executeList) {
+            if (!targetDeterminer.test(execute)) {
+                continue;
+            }
+            if (isCombinable(execute)) {
+                if (combinedList == null) {
+                    combinedList = new ArrayList<ActionExecute>();
+                }
+                combinedList.add(execute);
+            } else {
+                if (combinedList != null) {
+                    stepList.add(createCombinedStep(combinedList));
+                    combinedList = null;
+                }
+                stepList.add(new DeterminedStep(execute)); // e.g. optional path parameter
+            }
+        }
+        if (combinedList != null) {
+            stepList.add(createCombinedStep(combinedList));
+        }
+        return new SelectionRoute(stepList);
+    }
+
+    protected boolean isCombinable(ActionExecute execute) {
+        if (!execute.isPathParamDeterminedByRegexpOnly()) { // e.g. optional path parameter
+            return false;
+        }
+        // only simple patterns always matching from beginning, e.g. ^sea/([^/]+)$
+        // (while, user pattern might have alternative or group flag or back-reference)
+        final String regexp = execute.getPreparedUrlPattern().getRegexpPattern().pattern();
+        return regexp.startsWith("^") && !regexp.contains("|") && !regexp.contains("(?")
+                && !BACK_REFERENCE_PATTERN.matcher(regexp).find();
+    }
+
+    protected SelectionStep createCombinedStep(List<ActionExecute> combinedList) {
+        if (combinedList.size() == 1) { // no need to combine
+            return new SingleRegexpStep(combinedList.get(0));
+        }
+        final StringBuilder sb = new StringBuilder();
+        final int[] markerGroups = new int[combinedList.size()];
+        int groupIndex = 0;
+        int index = 0;
+        sb.append("^(?:");
+        for (ActionExecute execute : combinedList) {
+            final Pattern regexpPattern = execute.getPreparedUrlPattern().getRegexpPattern();
+            if (index > 0) {
+                sb.append("|");
+            }
+            sb.append("(").append(regexpPattern.pattern()).append(")"); // marker group to know matched execute
+            markerGroups[index] = ++groupIndex;
+            groupIndex += regexpPattern.matcher("").groupCount(); // skip groups in the pattern
+            ++index;
+        }
+        sb.append(")");
+        final ActionExecute[] executes = combinedList.toArray(new ActionExecute[combinedList.size()]);
+        return new CombinedRegexpStep(Pattern.compile(sb.toString()), markerGroups, executes);
+    }
+
+    // ===================================================================================
+    //                                                                              Select
+    //                                                                              ======
+    /**
+     * @param paramPath The path of parameter for the action, e.g. sea/land. (NotNull, NotEmpty)
+     * @return The selected action execute. (NullAllowed: when not found)
+     */
+    public ActionExecute select(String paramPath) {
+        return chooseRoute().select(paramPath);
+    }
+
+    protected SelectionRoute chooseRoute() {
+        if (restfulRouteMap.isEmpty()) { // mainly here
+            return plainRoute;
+        }
+        final String httpMethod = requestedHttpMethodProvider.get(); // null allowed, just in case
+        if (httpMethod == null) {
+            return plainRoute;
+        }
+        final SelectionRoute restfulRoute = restfulRouteMap.get(httpMethod.toLowerCase());
+        return restfulRoute != null ? restfulRoute : plainRoute;
+    }
+
+    // ===================================================================================
+    //                                                                     Selection Route
+    //                                                                     ===============
+    protected static class SelectionRoute {
+
+        protected final SelectionStep[] steps; // not null, empty allowed
+
+        public SelectionRoute(List<SelectionStep> stepList) {
+            this.steps = stepList.toArray(new SelectionStep[stepList.size()]);
+        }
+
+        public ActionExecute select(String paramPath) {
+            for (SelectionStep step : steps) {
+                final ActionExecute selected = step.select(paramPath);
+                if (selected != null) {
+                    return selected;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "route:" + Arrays.asList(steps);
+        }
+    }
+
+    protected static interface SelectionStep {
+
+        ActionExecute select(String paramPath); // null allowed when not found
+    }
+
+    protected static class CombinedRegexpStep implements SelectionStep {
+
+        protected final Pattern combinedPattern; // not null
+        protected final int[] markerGroups; // not null, same size as executes
+        protected final ActionExecute[] executes; // not null, in registration order
+
+        public CombinedRegexpStep(Pattern combinedPattern, int[] markerGroups, ActionExecute[] executes) {
+            this.combinedPattern = combinedPattern;
+            this.markerGroups = markerGroups;
+            this.executes = executes;
+        }
+
+        @Override
+        public ActionExecute select(String paramPath) {
+            final Matcher matcher = combinedPattern.matcher(paramPath);
+            if (!matcher.find()) {
+                return null;
+            }
+            for (int i = 0; i < markerGroups.length; i++) { // first alternative is matched if several
+                if (matcher.start(markerGroups[i]) >= 0) {
+                    return executes[i];
+                }
+            }
+            return null; // no way
+        }
+
+        @Override
+        public String toString() {
+            return "combined(" + executes.length + ")";
+        }
+    }
+
+    protected static class SingleRegexpStep implements SelectionStep {
+
+        protected final ActionExecute execute; // not null
+
+        public SingleRegexpStep(ActionExecute execute) {
+            this.execute = execute;
+        }
+
+        @Override
+        public ActionExecute select(String paramPath) {
+            return execute.getPreparedUrlPattern().matcher(paramPath).find() ? execute : null;
+        }
+
+        @Override
+        public String toString() {
+            return "single(" + execute.getMappingMethodName() + ")";
+        }
+    }
+
+    protected static class DeterminedStep implements SelectionStep {
+
+        protected final ActionExecute execute; // not null
+
+        public DeterminedStep(ActionExecute execute) {
+            this.execute = execute;
+        }
+
+        @Override
+        public ActionExecute select(String paramPath) {
+            return execute.determineTargetByPathParameter(paramPath) ? execute : null;
+        }
+
+        @Override
+        public String toString() {
+            return "determined(" + execute.getMappingMethodName() + ")";
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void assertArgumentNotNull(String variableName, Object value) {
+        if (variableName == null) {
+            throw new IllegalArgumentException("The variableName should not be null.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("The argument '" + variableName + "' should not be null.");
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "pathParamSelector:{plain=" + plainRoute + ", restful=" + restfulRouteMap + "}";
+    }
+}
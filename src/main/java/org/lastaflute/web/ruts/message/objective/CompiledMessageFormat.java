@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.message.objective;
+
+import java.text.Format;
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * The message format compiled once, which can be used by several threads. <br>
+ * MessageFormat is not thread-safe because of its sub-formats (e.g. {0,number}),
+ * so it is shared only when no sub-format, otherwise cloned per formatting.
+ * <pre>
+ * e.g.
+ *  "{0} is required"         : shared (format() does not change state without sub-format)
+ *  "{0,number,#,##0} or less" : cloned (sub-format has state for formatting)
+ * </pre>
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class CompiledMessageFormat {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final MessageFormat prototype; // not null, not changed after construction
+    protected final boolean shareable; // true if no sub-format
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param pattern The pattern of message format, already escaped. (NotNull)
+     * @param locale The locale for the format. (NullAllowed: same as MessageFormat)
+     */
+    public CompiledMessageFormat(String pattern, Locale locale) {
+        final MessageFormat format = new MessageFormat(pattern);
+        format.setLocale(locale); // after pattern as before (sub-formats are default locale)
+        this.prototype = format;
+        this.shareable = determineShareable(format);
+    }
+
+    protected boolean determineShareable(MessageFormat format) {
+        for (Format subFormat : format.getFormats()) {
+            if (subFormat != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===================================================================================
+    //                                                                              Format
+    //                                                                              ======
+    /**
+     * @param args The array of arguments for the message. (NullAllowed)
+     * @return The formatted message. (NotNull)
+     */
+    public String format(Object[] args) {
+        if (shareable) { // mainly here
+            return prototype.format(args);
+        }
+        return ((MessageFormat) prototype.clone()).format(args); // deep copy of sub-formats
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "compiledFormat:{" + prototype.toPattern() + (shareable ? "" : ", cloned") + "}";
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isShareable() {
+        return shareable;
+    }
+}
@@ -16,11 +16,9 @@
 package org.lastaflute.web.ruts.message.objective;
 
 import java.io.Serializable;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -89,7 +87,9 @@ public class ObjectiveMessageResources implements MessageResources, Disposable,
     //                                                                           =========
     protected boolean returnNull = true; // as default
     protected boolean escape = true; // as default
-    protected final Map<String, MessageFormat> formatMap = new HashMap<String, MessageFormat>();
+
+    /** The cache map of compiled format. The string key is locale key, and nested key is message key. (NotNull) */
+    protected final Map<String, Map<String, CompiledMessageFormat>> formatMap = newConcurrentHashMap();
 
     /**
      * The cache of assistant director, which can be lazy-loaded when you get it.
@@ -217,23 +217,29 @@ public class ObjectiveMessageResources implements MessageResources, Disposable,
     }
 
     protected String formatMessage(Locale locale, String key, Object[] args) {
-        MessageFormat format = null;
-        final String formatKey = messageKey(locale, key);
-        synchronized (formatMap) {
-            format = (MessageFormat) formatMap.get(formatKey);
-            if (format == null) {
-                final String formatString = getMessage(locale, key);
-                if (formatString == null) {
-                    return returnNull ? null : ("???" + formatKey + "???");
-                }
-                format = new MessageFormat(escape(redefineArgsIfNeeds(formatString)));
-                format.setLocale(locale);
-                formatMap.put(formatKey, format);
+        // no global lock, compiled format might be created twice at first but no problem
+        final Map<String, CompiledMessageFormat> localeFormatMap = formatMap.computeIfAbsent(localeKey(locale), lk -> {
+            return newConcurrentHashMap();
+        });
+        CompiledMessageFormat format = localeFormatMap.get(key);
+        if (format == null) {
+            final String formatString = getMessage(locale, key);
+            if (formatString == null) {
+                return returnNull ? null : ("???" + messageKey(locale, key) + "???");
+            }
+            format = newCompiledMessageFormat(escape(redefineArgsIfNeeds(formatString)), locale);
+            final CompiledMessageFormat existing = localeFormatMap.putIfAbsent(key, format);
+            if (existing != null) {
+                format = existing;
             }
         }
         return format.format(args);
     }
 
+    protected CompiledMessageFormat newCompiledMessageFormat(String pattern, Locale locale) {
+        return new CompiledMessageFormat(pattern, locale);
+    }
+
     protected HashSet<String> createCallerKeySet() {
         return new LinkedHashSet<String>(4); // order for exception message
     }
@@ -15,6 +15,7 @@
  */
 package org.lastaflute.web.ruts.process;
 
+import java.io.BufferedReader;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -92,6 +93,7 @@ import org.lastaflute.web.ruts.process.exception.RequestUndefinedParameterInForm
 import org.lastaflute.web.ruts.process.populate.FormSimpleTextParameterFilter;
 import org.lastaflute.web.ruts.process.populate.FormSimpleTextParameterMeta;
 import org.lastaflute.web.ruts.process.populate.FormYourCollectionResource;
+import org.lastaflute.web.ruts.process.populate.JsonBodyHeadKeepingReader;
 import org.lastaflute.web.servlet.filter.RequestLoggingFilter.RequestClientErrorException;
 import org.lastaflute.web.servlet.filter.RequestLoggingFilter.WholeShowErrorFlushAttribute;
 import org.lastaflute.web.servlet.request.RequestManager;
@@ -263,11 +265,19 @@ public class ActionFormMapper {
     //                                                                           =========
     protected boolean handleJsonBody(ActionRuntime runtime, VirtualForm virtualForm) {
         if (isJsonBodyForm(virtualForm.getFormMeta().getFormType())) {
-            mappingJsonBody(runtime, virtualForm, prepareJsonFromRequestBody(virtualForm));
+            if (isJsonBodyStreamingParse()) {
+                streamingJsonBody(runtime, virtualForm, /*list*/false);
+            } else {
+                mappingJsonBody(runtime, virtualForm, prepareJsonFromRequestBody(virtualForm));
+            }
             return true;
         }
         if (isListJsonBodyForm(virtualForm)) {
-            mappingListJsonBody(runtime, virtualForm, prepareJsonFromRequestBody(virtualForm));
+            if (isJsonBodyStreamingParse()) {
+                streamingJsonBody(runtime, virtualForm, /*list*/true);
+            } else {
+                mappingListJsonBody(runtime, virtualForm, prepareJsonFromRequestBody(virtualForm));
+            }
             return true;
         }
         return false;
@@ -293,19 +303,24 @@ public class ActionFormMapper {
             keepRequestBodyForInOutLoggingIfNeeds(body, "json");
             return body;
         } catch (RuntimeException e) {
-            final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
-            br.addNotice("Cannot read request body for JSON.");
-            br.addItem("Advice");
-            br.addElement("Your action expects JSON string on request body.");
-            br.addElement("Make sure your request for JSON body.");
-            br.addElement("Or it should be form...? e.g. SeaBody => SeaForm");
-            br.addItem("Body Class");
-            br.addElement(virtualForm);
-            final String msg = br.buildExceptionMessage();
-            throw new JsonBodyCannotReadFromRequestException(msg, e);
+            throwJsonBodyCannotReadFromRequestException(virtualForm, e);
+            return null; // unreachable
         }
     }
 
+    protected void throwJsonBodyCannotReadFromRequestException(VirtualForm virtualForm, RuntimeException e) {
+        final ExceptionMessageBuilder br = new ExceptionMessageBuilder();
+        br.addNotice("Cannot read request body for JSON.");
+        br.addItem("Advice");
+        br.addElement("Your action expects JSON string on request body.");
+        br.addElement("Make sure your request for JSON body.");
+        br.addElement("Or it should be form...? e.g. SeaBody => SeaForm");
+        br.addItem("Body Class");
+        br.addElement(virtualForm);
+        final String msg = br.buildExceptionMessage();
+        throw new JsonBodyCannotReadFromRequestException(msg, e);
+    }
+
     protected String buildJsonBodyDebugDisplay(String value) {
         // want to show all as parameter, but limit just in case to avoid large logging
         final String trimmed = value.trim();
@@ -406,6 +421,68 @@ public class ActionFormMapper {
         throwRequestJsonParseFailureException(sb.toString(), challengeList, e);
     }
 
+    // -----------------------------------------------------
+    //                                             Streaming
+    //                                             ---------
+    protected boolean isJsonBodyStreamingParse() {
+        // whole body is needed for debug and in-out logging so string as before
+        return getAdjustmentProvider().provideJsonBodyStreamingKeptLimit() >= 0 && !logger.isDebugEnabled()
+                && !InOutLogKeeper.isEnabled(requestManager);
+    }
+
+    protected void streamingJsonBody(ActionRuntime runtime, VirtualForm virtualForm, boolean list) {
+        final JsonBodyHeadKeepingReader reader = prepareJsonReaderFromRequestBody(virtualForm);
+        final Object fromJson;
+        try {
+            if (list) {
+                final ParameterizedType pt = virtualForm.getFormMeta().getListFormParameterParameterizedType().get(); // already checked
+                fromJson = getJsonManager().fromJsonParameteriedReader(reader, pt);
+            } else {
+                fromJson = getJsonManager().fromJsonReader(reader, virtualForm.getFormMeta().getFormType());
+            }
+        } catch (RuntimeException e) {
+            keepRequestBodyForErrorFlush(virtualForm, buildStreamingKeptBody(reader));
+            if (reader.getReadFailure() != null) { // not parse failure
+                throwJsonBodyCannotReadFromRequestException(virtualForm, e);
+            }
+            handleStreamingJsonBodyParseFailure(runtime, virtualForm, list, reader, e);
+            return; // unreachable
+        }
+        keepRequestBodyForErrorFlush(virtualForm, buildStreamingKeptBody(reader));
+        acceptJsonRealForm(virtualForm, fromJson);
+    }
+
+    protected JsonBodyHeadKeepingReader prepareJsonReaderFromRequestBody(VirtualForm virtualForm) {
+        try {
+            final BufferedReader bodyReader = requestManager.getRequestBodyReader();
+            return newJsonBodyHeadKeepingReader(bodyReader, getAdjustmentProvider().provideJsonBodyStreamingKeptLimit());
+        } catch (RuntimeException e) {
+            throwJsonBodyCannotReadFromRequestException(virtualForm, e);
+            return null; // unreachable
+        }
+    }
+
+    protected JsonBodyHeadKeepingReader newJsonBodyHeadKeepingReader(BufferedReader bodyReader, int keptLimit) {
+        return new JsonBodyHeadKeepingReader(bodyReader, keptLimit);
+    }
+
+    protected String buildStreamingKeptBody(JsonBodyHeadKeepingReader reader) {
+        reader.drainUpToLimit(); // parser may stop before EOF, e.g. parse failure
+        final String keptBody = reader.getKeptBody();
+        return reader.isWholeKept() ? keptBody : keptBody + "...(over kept limit)";
+    }
+
+    protected void handleStreamingJsonBodyParseFailure(ActionRuntime runtime, VirtualForm virtualForm, boolean list,
+            JsonBodyHeadKeepingReader reader, RuntimeException e) {
+        // debug challenge needs whole JSON so it cannot be retried if the head only
+        final String json = buildStreamingKeptBody(reader);
+        if (list) {
+            throwListJsonBodyParseFailureException(runtime, virtualForm, json, e);
+        } else {
+            throwJsonBodyParseFailureException(runtime, virtualForm, json, e);
+        }
+    }
+
     // -----------------------------------------------------
     //                                          Assist Logic
     //                                          ------------
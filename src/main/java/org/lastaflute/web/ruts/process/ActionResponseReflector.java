@@ -21,6 +21,7 @@ import java.util.function.Consumer;
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.core.json.JsonManager;
 import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.core.json.engine.RealJsonEngine;
 import org.lastaflute.web.LastaWebKey;
 import org.lastaflute.web.path.ActionAdjustmentProvider;
 import org.lastaflute.web.path.ResponseReflectingOption;
@@ -41,6 +42,7 @@ import org.lastaflute.web.ruts.process.validatebean.ResponseJsonBeanValidator;
 import org.lastaflute.web.servlet.request.RequestManager;
 import org.lastaflute.web.servlet.request.ResponseDownloadResource;
 import org.lastaflute.web.servlet.request.ResponseManager;
+import org.lastaflute.web.servlet.request.stream.WrittenTextCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -265,6 +267,17 @@ public class ActionResponseReflector {
                     final JsonManager jsonManager = requestManager.getJsonManager();
                     final Object jsonResult = response.getJsonResult();
                     final OptionalThing<Consumer<JsonMappingOption>> switcher = response.getMappingOptionSwitcher();
+                    if (isJsonResponseStreaming()) { // no whole string
+                        final RealJsonEngine engine = switcher.map(sw -> prepareSwitchedJsonEngine(jsonManager, sw)).orElse(null);
+                        writeJsonResponseByWriter(response, responseManager, writer -> {
+                            if (engine != null) { // switchMappingOption(), e.g. SwaggerAction@json()
+                                engine.toJsonWriter(jsonResult, writer);
+                            } else { // mainly here
+                                jsonManager.toJsonWriter(jsonResult, writer);
+                            }
+                        });
+                        return;
+                    }
                     if (switcher.isPresent()) { // switchMappingOption(), e.g. SwaggerAction@json()
                         json = toJsonBySwitchedMppingOption(jsonManager, jsonResult, switcher.get());
                     } else { // mainly here
@@ -288,9 +301,39 @@ public class ActionResponseReflector {
     }
 
     protected String toJsonBySwitchedMppingOption(JsonManager jsonManager, Object jsonResult, Consumer<JsonMappingOption> switcher) {
+        return prepareSwitchedJsonEngine(jsonManager, switcher).toJson(jsonResult);
+    }
+
+    protected RealJsonEngine prepareSwitchedJsonEngine(JsonManager jsonManager, Consumer<JsonMappingOption> switcher) {
         final JsonMappingOption option = new JsonMappingOption();
         switcher.accept(option);
-        return jsonManager.newAnotherEngine(OptionalThing.of(option)).toJson(jsonResult);
+        return jsonManager.newAnotherEngine(OptionalThing.of(option));
+    }
+
+    // -----------------------------------------------------
+    //                                             Streaming
+    //                                             ---------
+    protected boolean isJsonResponseStreaming() {
+        // whole string is needed for debug and in-out logging so string as before
+        return adjustResponseReflecting().isJsonResponseStreamingEnabled() && !logger.isDebugEnabled()
+                && !InOutLogKeeper.isEnabled(requestManager);
+    }
+
+    protected void writeJsonResponseByWriter(JsonResponse<?> response, ResponseManager responseManager, WrittenTextCall jsonLambda) {
+        response.getCallback().ifPresent(callback -> {
+            responseManager.writeAsJavaScriptByWriter(writer -> {
+                writer.write(callback);
+                writer.write("(");
+                jsonLambda.callback(writer);
+                writer.write(")");
+            });
+        }).orElse(() -> {
+            if (response.isForcedlyJavaScript()) {
+                responseManager.writeAsJavaScriptByWriter(jsonLambda);
+            } else { /* as JSON (default) */
+                responseManager.writeAsJsonByWriter(jsonLambda);
+            }
+        });
     }
 
     // -----------------------------------------------------
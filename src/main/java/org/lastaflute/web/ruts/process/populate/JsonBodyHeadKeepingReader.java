@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.process.populate;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The reader of JSON body for streaming parse, keeping only head of the body for error display. <br>
+ * Request body can be read only once, so the kept head is used instead of whole body
+ * e.g. for parse failure message and error flush logging.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class JsonBodyHeadKeepingReader extends FilterReader {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int keptLimit; // not minus
+    protected final StringBuilder keptSb; // not null, up to the limit
+    protected boolean overLimit; // true if the body is longer than the limit
+    protected boolean reachedEnd; // true if the body is read until EOF
+    protected IOException readFailure; // null allowed, to distinguish from parse failure
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param bodyReader The reader of request body. (NotNull)
+     * @param keptLimit The limit length of kept head of the body. (NotMinus)
+     */
+    public JsonBodyHeadKeepingReader(Reader bodyReader, int keptLimit) {
+        super(bodyReader);
+        if (keptLimit < 0) {
+            throw new IllegalArgumentException("The argument 'keptLimit' should not be minus: " + keptLimit);
+        }
+        this.keptLimit = keptLimit;
+        this.keptSb = new StringBuilder(Math.min(keptLimit, 256));
+    }
+
+    // ===================================================================================
+    //                                                                                Read
+    //                                                                                ====
+    @Override
+    public int read() throws IOException {
+        final int ch;
+        try {
+            ch = super.read();
+        } catch (IOException e) {
+            readFailure = e;
+            throw e;
+        }
+        if (ch >= 0) {
+            keep(new char[] { (char) ch }, 0, 1);
+        } else {
+            reachedEnd = true;
+        }
+        return ch;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        final int length;
+        try {
+            length = super.read(cbuf, off, len);
+        } catch (IOException e) {
+            readFailure = e;
+            throw e;
+        }
+        if (length > 0) {
+            keep(cbuf, off, length);
+        } else if (length < 0) {
+            reachedEnd = true;
+        }
+        return length;
+    }
+
+    protected void keep(char[] cbuf, int off, int length) {
+        if (overLimit) {
+            return;
+        }
+        final int rest = keptLimit - keptSb.length();
+        if (length <= rest) {
+            keptSb.append(cbuf, off, length);
+        } else {
+            keptSb.append(cbuf, off, rest);
+            overLimit = true;
+        }
+    }
+
+    /**
+     * Read the rest of the body up to the kept limit, e.g. JSON parser stops at its buffer when parse failure. <br>
+     * So the kept body becomes whole body if the body is not over the limit. (read failure is ignored here)
+     */
+    public void drainUpToLimit() {
+        if (readFailure != null) { // cannot read any more
+            return;
+        }
+        final char[] buf = new char[Math.max(Math.min(keptLimit - keptSb.length() + 1, 1024), 1)]; // +1 to detect over
+        try {
+            while (!reachedEnd && !overLimit) {
+                read(buf, 0, buf.length);
+            }
+        } catch (IOException continued) { // already saved as read failure
+        }
+    }
+
+    @Override
+    public boolean markSupported() { // kept head cannot be rewound
+        return false;
+    }
+
+    // ===================================================================================
+    //                                                                           Kept Body
+    //                                                                           =========
+    /**
+     * @return The kept head of the read body, or whole body if not over limit. (NotNull, EmptyAllowed)
+     */
+    public String getKeptBody() {
+        return keptSb.toString();
+    }
+
+    /**
+     * @return Is the whole body kept? (false if the body is longer than the limit or not read until EOF)
+     */
+    public boolean isWholeKept() {
+        return reachedEnd && !overLimit;
+    }
+
+    /**
+     * @return The exception when reading the body. (NullAllowed: when no failure)
+     */
+    public IOException getReadFailure() {
+        return readFailure;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        final String keptExp = keptSb.length() + (overLimit ? "(over)" : "") + (reachedEnd ? "(end)" : "");
+        return "jsonBodyReader:{kept=" + keptExp + ", limit=" + keptLimit + "}";
+    }
+}
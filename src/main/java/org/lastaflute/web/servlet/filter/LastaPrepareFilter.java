@@ -43,6 +43,7 @@ import org.lastaflute.di.core.smart.hot.HotdeployLock;
 import org.lastaflute.web.LastaWebKey;
 import org.lastaflute.web.container.WebLastaContainerDestroyer;
 import org.lastaflute.web.container.WebLastaContainerInitializer;
+import org.lastaflute.web.path.ActionPathResolver;
 import org.lastaflute.web.ruts.config.ModuleConfig;
 import org.lastaflute.web.ruts.message.MessageResources;
 import org.lastaflute.web.ruts.message.RutsMessageResourceGateway;
@@ -106,6 +107,11 @@ public class LastaPrepareFilter implements Filter {
         } catch (Throwable e) {
             handleErrorCause("Failed to hook process.", e);
         }
+        try {
+            compileActionRouting(servletContext); // after all initialization for registered actions
+        } catch (Throwable e) {
+            handleErrorCause("Failed to compile action routing.", e);
+        }
     }
 
     protected void handleErrorCause(String msg, Throwable cause) {
@@ -180,6 +186,14 @@ public class LastaPrepareFilter implements Filter {
         return new RutsMessageResourceGateway(messages);
     }
 
+    // -----------------------------------------------------
+    //                                        Action Routing
+    //                                        --------------
+    protected void compileActionRouting(ServletContext context) {
+        final ModuleConfig moduleConfig = (ModuleConfig) context.getAttribute(LastaWebKey.MODULE_CONFIG_KEY);
+        getActionPathResolver().compileActionRouting(moduleConfig); // no compiling if hot deploy
+    }
+
     // -----------------------------------------------------
     //                                        Curtain Before
     //                                        --------------
@@ -316,4 +330,8 @@ public class LastaPrepareFilter implements Filter {
     protected MessageResourcesHolder getMessageResourceHolder() {
         return ContainerUtil.getComponent(MessageResourcesHolder.class);
     }
+
+    protected ActionPathResolver getActionPathResolver() {
+        return ContainerUtil.getComponent(ActionPathResolver.class);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.lastaflute.web.servlet.request;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -123,6 +125,16 @@ public interface RequestManager extends ScopedAttributeHolder {
      */
     String getRequestBody();
 
+    /**
+     * Get the reader of request body, which can be read only once. <br>
+     * It is for e.g. streaming parse of large body without whole string. <br>
+     * Default implementation wraps the string body for managers that cannot provide the raw reader.
+     * @return The reader of request body, not closed yet. (NotNull)
+     */
+    default BufferedReader getRequestBodyReader() {
+        return new BufferedReader(new StringReader(getRequestBody()));
+    }
+
     // ===================================================================================
     //                                                                       Path Handling
     //                                                                       =============
@@ -16,6 +16,7 @@
 package org.lastaflute.web.servlet.request;
 
 import java.io.IOException;
+import java.io.StringWriter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
@@ -23,6 +24,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.dbflute.optional.OptionalThing;
 import org.lastaflute.core.message.UserMessages;
 import org.lastaflute.web.servlet.request.stream.WrittenStreamCall;
+import org.lastaflute.web.servlet.request.stream.WrittenTextCall;
 
 /**
  * The manager of response. (response facade)
@@ -111,6 +113,46 @@ public interface ResponseManager {
      */
     void writeAsJavaScript(String script);
 
+    /**
+     * Write the JSON to the response by the writer directly (without whole string). <br>
+     * Content type and encoding are same as {@link #writeAsJson(String)}.
+     * <pre>
+     * responseManager.<span style="color: #CC4747">writeAsJsonByWriter</span>(<span style="color: #553000">writer</span> <span style="color: #90226C; font-weight: bold"><span style="font-size: 120%">-</span>&gt;</span> {
+     *     jsonManager.toJsonWriter(<span style="color: #553000">bean</span>, <span style="color: #553000">writer</span>);
+     * });
+     * </pre>
+     * Default implementation builds the whole string and writes it by {@link #writeAsJson(String)}.
+     * @param jsonWriterLambda The callback for writing JSON to the buffered writer of response. (NotNull)
+     */
+    default void writeAsJsonByWriter(WrittenTextCall jsonWriterLambda) {
+        writeAsJson(buildWrittenText(jsonWriterLambda));
+    }
+
+    /**
+     * Write the script to the response by the writer directly (without whole string). <br>
+     * Content type and encoding are same as {@link #writeAsJavaScript(String)}.
+     * Default implementation builds the whole string and writes it by {@link #writeAsJavaScript(String)}.
+     * @param scriptWriterLambda The callback for writing script to the buffered writer of response. (NotNull)
+     */
+    default void writeAsJavaScriptByWriter(WrittenTextCall scriptWriterLambda) {
+        writeAsJavaScript(buildWrittenText(scriptWriterLambda));
+    }
+
+    /**
+     * Build the whole text written by the callback, for the default writer methods.
+     * @param writtenLambda The callback for writing text to the writer. (NotNull)
+     * @return The written text. (NotNull, EmptyAllowed)
+     */
+    default String buildWrittenText(WrittenTextCall writtenLambda) {
+        final StringWriter writer = new StringWriter();
+        try {
+            writtenLambda.callback(writer);
+        } catch (IOException e) { // basically no way because of string writer
+            throw new IllegalStateException("Failed to write the text to the string writer: " + writtenLambda, e);
+        }
+        return writer.toString();
+    }
+
     /**
      * @param xmlStr The written XML string to the response. (NotNull)
      * @param encoding The encoding for the response. (NotNull)
@@ -15,6 +15,7 @@
  */
 package org.lastaflute.web.servlet.request;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -24,6 +25,8 @@ import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.dbflute.util.Srl;
+import org.lastaflute.web.servlet.request.stream.ResponseHeadBufferingWriter;
+import org.lastaflute.web.servlet.request.stream.WrittenTextCall;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,6 +87,52 @@ public class ResponseWritePerformer {
         return 500;
     }
 
+    // -----------------------------------------------------
+    //                                        Writer Calling
+    //                                        --------------
+    public void write(HttpServletResponse response, WrittenTextCall writtenLambda, String contentType, String encoding) {
+        assertArgumentNotNull("response", response);
+        assertArgumentNotNull("writtenLambda", writtenLambda);
+        assertArgumentNotNull("contentType", contentType);
+        assertArgumentNotNull("encoding", encoding);
+        final String contentTypeWithCharset = buildContentTypeWithCharset(contentType, encoding);
+        showWritingResponseByWriter(contentTypeWithCharset);
+        response.setContentType(contentTypeWithCharset);
+        try {
+            // flush and close only when success, and the head is buffered in memory before first flush
+            // so serialization failure before the limit can be handled as error response (not committed yet)
+            final ResponseHeadBufferingWriter out = createResponseHeadBufferingWriter(response, encoding);
+            writtenLambda.callback(out);
+            out.close(); // also flush
+        } catch (IOException e) {
+            String msg = "Failed to write the text by writer: contentType=" + contentType + ", encoding=" + encoding;
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    protected void showWritingResponseByWriter(String contentType) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("#flow ...Writing response as {} by writer", contentType);
+        }
+    }
+
+    protected ResponseHeadBufferingWriter createResponseHeadBufferingWriter(HttpServletResponse response, String encoding) {
+        return new ResponseHeadBufferingWriter(() -> createBufferedWriter(response, encoding), getWriterHeadBufferLimit());
+    }
+
+    protected int getWriterHeadBufferLimit() { // characters kept before the response is committed
+        return 65536;
+    }
+
+    protected BufferedWriter createBufferedWriter(HttpServletResponse response, String encoding) throws IOException {
+        // buffered here because servlet output stream might write to socket per small write
+        return new BufferedWriter(createOutputStreamWriter(response, encoding), getWriterBufferSize());
+    }
+
+    protected int getWriterBufferSize() {
+        return 8192;
+    }
+
     // -----------------------------------------------------
     //                                       Writer Handling
     //                                       ---------------
@@ -36,6 +36,7 @@ import org.lastaflute.web.exception.Forced403ForbiddenException;
 import org.lastaflute.web.exception.Forced404NotFoundException;
 import org.lastaflute.web.path.ActionPathResolver;
 import org.lastaflute.web.servlet.request.stream.WrittenStreamCall;
+import org.lastaflute.web.servlet.request.stream.WrittenTextCall;
 import org.lastaflute.web.util.LaRequestUtil;
 import org.lastaflute.web.util.LaResponseUtil;
 import org.slf4j.Logger;
@@ -206,6 +207,20 @@ public class SimpleResponseManager implements ResponseManager {
         doWrite(script, contentType);
     }
 
+    @Override
+    public void writeAsJsonByWriter(WrittenTextCall jsonWriterLambda) {
+        assertArgumentNotNull("jsonWriterLambda", jsonWriterLambda);
+        final String contentType = "application/json";
+        doWriteByWriter(jsonWriterLambda, contentType);
+    }
+
+    @Override
+    public void writeAsJavaScriptByWriter(WrittenTextCall scriptWriterLambda) {
+        assertArgumentNotNull("scriptWriterLambda", scriptWriterLambda);
+        final String contentType = "application/javascript";
+        doWriteByWriter(scriptWriterLambda, contentType);
+    }
+
     @Override
     public void writeAsXml(String xmlStr, String encoding) {
         assertArgumentNotNull("xmlStr", xmlStr);
@@ -239,6 +254,12 @@ public class SimpleResponseManager implements ResponseManager {
         createResponseWritePerformer().write(getResponse(), text, contentType, encoding);
     }
 
+    protected void doWriteByWriter(WrittenTextCall writtenLambda, String contentType) {
+        assertArgumentNotNull("writtenLambda", writtenLambda);
+        assertArgumentNotNull("contentType", contentType);
+        createResponseWritePerformer().write(getResponse(), writtenLambda, contentType, deriveResponseEncoding());
+    }
+
     protected ResponseWritePerformer createResponseWritePerformer() {
         if (responseWritePerformerCreator != null) {
             final ResponseWritePerformer provided = responseWritePerformerCreator.get();
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.servlet.request.stream;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The writer to response that keeps the head of text in memory until the buffer limit. <br>
+ * The real writer is not opened (so the response is not committed) until the text is over the limit or closed,
+ * so a failure of writing (e.g. JSON serialization) before that can be handled as error response.
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+public class ResponseHeadBufferingWriter extends Writer {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final RealWriterOpener realWriterOpener; // not null
+    protected final int bufferLimit; // not minus
+    protected final StringBuilder headBuffer; // not null, cleared when real writer is opened
+    protected Writer realWriter; // null allowed: until over the limit or closed
+    protected boolean closed;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param realWriterOpener The opener of real writer to response, called only once. (NotNull)
+     * @param bufferLimit The limit length of buffered head before opening real writer. (NotMinus)
+     */
+    public ResponseHeadBufferingWriter(RealWriterOpener realWriterOpener, int bufferLimit) {
+        if (realWriterOpener == null) {
+            throw new IllegalArgumentException("The argument 'realWriterOpener' should not be null.");
+        }
+        if (bufferLimit < 0) {
+            throw new IllegalArgumentException("The argument 'bufferLimit' should not be minus: " + bufferLimit);
+        }
+        this.realWriterOpener = realWriterOpener;
+        this.bufferLimit = bufferLimit;
+        this.headBuffer = new StringBuilder(Math.min(bufferLimit, 1024));
+    }
+
+    @FunctionalInterface
+    public static interface RealWriterOpener {
+
+        /**
+         * @return The opened writer to response. (NotNull)
+         * @throws IOException When the IO failed.
+         */
+        Writer open() throws IOException;
+    }
+
+    // ===================================================================================
+    //                                                                               Write
+    //                                                                               =====
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        assertNotClosed();
+        if (realWriter == null) {
+            if (headBuffer.length() + len <= bufferLimit) {
+                headBuffer.append(cbuf, off, len);
+                return;
+            }
+            openRealWriter();
+        }
+        realWriter.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        assertNotClosed();
+        if (realWriter == null) {
+            if (headBuffer.length() + len <= bufferLimit) {
+                headBuffer.append(str, off, off + len);
+                return;
+            }
+            openRealWriter();
+        }
+        realWriter.write(str, off, len);
+    }
+
+    protected void openRealWriter() throws IOException {
+        realWriter = realWriterOpener.open();
+        if (headBuffer.length() > 0) {
+            realWriter.write(headBuffer.toString());
+            headBuffer.setLength(0);
+        }
+    }
+
+    protected void assertNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException("The writer is already closed: " + toString());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Flush/Close
+    //                                                                         ===========
+    /**
+     * Flush the real writer only if already opened. <br>
+     * The buffered head is not flushed here to keep the response uncommitted until the limit.
+     * @throws IOException When the IO failed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (realWriter != null) {
+            realWriter.flush();
+        }
+    }
+
+    /**
+     * Write the buffered head to the real writer (opening it if needed) and close it (also flush). <br>
+     * Call this only when whole text has been written successfully.
+     * @throws IOException When the IO failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (realWriter == null) {
+            openRealWriter();
+        }
+        closed = true;
+        realWriter.close();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return Is the real writer opened? (true means the response might be already committed)
+     */
+    public boolean isRealWriterOpened() {
+        return realWriter != null;
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return "headBufferingWriter:{buffered=" + headBuffer.length() + ", limit=" + bufferLimit + ", opened=" + (realWriter != null)
+                + (closed ? ", closed" : "") + "}";
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.servlet.request.stream;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * @author jflute
+ * @since 1.1.0 (2026/10/17 Saturday)
+ */
+@FunctionalInterface
+public interface WrittenTextCall {
+
+    /**
+     * @param writer The buffered writer to the response, closed after callback only when success. (NotNull)
+     * @throws IOException When the IO failed.
+     */
+    void callback(Writer writer) throws IOException;
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.json;
+
+import java.time.format.DateTimeFormatter;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.json.engine.GsonJsonEngine;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+
+/**
+ * @author jflute
+ */
+public class AnotherJsonEngineCacheTest extends PlainTestCase {
+
+    public void test_findOrCreate_sameSettings() {
+        // ## Arrange ##
+        AnotherJsonEngineCache cache = new AnotherJsonEngineCache(10);
+
+        // ## Act ##
+        RealJsonEngine first = cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine());
+        RealJsonEngine second = cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine());
+        RealJsonEngine another = cache.findOrCreate(prepareOption("yyyy-MM-dd"), () -> createEngine());
+        RealJsonEngine plain = cache.findOrCreate(OptionalThing.empty(), () -> createEngine());
+
+        // ## Assert ##
+        log(cache);
+        assertSame(first, second);
+        assertNotSame(first, another);
+        assertNotSame(first, plain);
+        assertEquals(3, cache.getVariantCount());
+        assertEquals(0L, cache.getEvictedCount());
+    }
+
+    public void test_findOrCreate_overLimit_evictLeastRecentlyUsed() {
+        // ## Arrange ##
+        AnotherJsonEngineCache cache = new AnotherJsonEngineCache(2);
+        RealJsonEngine sea = cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine());
+        RealJsonEngine land = cache.findOrCreate(prepareOption("yyyy-MM-dd"), () -> createEngine());
+        assertSame(sea, cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine())); // sea is recently used
+
+        // ## Act ##
+        RealJsonEngine piari = cache.findOrCreate(prepareOption("yyyy.MM.dd"), () -> createEngine()); // evicts land
+
+        // ## Assert ##
+        log(cache);
+        assertEquals(2, cache.getVariantCount());
+        assertEquals(1L, cache.getEvictedCount());
+        assertSame(sea, cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine()));
+        assertSame(piari, cache.findOrCreate(prepareOption("yyyy.MM.dd"), () -> createEngine()));
+        assertNotSame(land, cache.findOrCreate(prepareOption("yyyy-MM-dd"), () -> createEngine())); // re-created
+        assertEquals(2L, cache.getEvictedCount()); // evicts sea
+    }
+
+    public void test_findOrCreate_overLimit_stillCachedAfterEviction() {
+        // ## Arrange ##
+        AnotherJsonEngineCache cache = new AnotherJsonEngineCache(1);
+        cache.findOrCreate(prepareOption("yyyy/MM/dd"), () -> createEngine());
+
+        // ## Act ##
+        RealJsonEngine first = cache.findOrCreate(prepareOption("yyyy-MM-dd"), () -> createEngine());
+        RealJsonEngine second = cache.findOrCreate(prepareOption("yyyy-MM-dd"), () -> createEngine());
+
+        // ## Assert ##
+        log(cache);
+        assertSame(first, second); // cached even over limit (not as before)
+        assertEquals(1, cache.getVariantCount());
+        assertEquals(1L, cache.getEvictedCount());
+    }
+
+    protected OptionalThing<JsonMappingOption> prepareOption(String pattern) {
+        return OptionalThing.of(new JsonMappingOption().formatLocalDateBy(DateTimeFormatter.ofPattern(pattern)));
+    }
+
+    protected RealJsonEngine createEngine() {
+        return new GsonJsonEngine(builder -> {}, op -> {});
+    }
+}
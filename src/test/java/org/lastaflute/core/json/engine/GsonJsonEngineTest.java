@@ -15,6 +15,8 @@
  */
 package org.lastaflute.core.json.engine;
 
+import java.io.StringReader;
+import java.lang.reflect.ParameterizedType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -615,6 +617,52 @@ public class GsonJsonEngineTest extends PlainTestCase {
         log(json);
     }
 
+    // ===================================================================================
+    //                                                                         Reader JSON
+    //                                                                         ===========
+    public void test_fromJsonReader_basic() throws Exception {
+        // ## Arrange ##
+        GsonJsonEngine engine = new GsonJsonEngine(builder -> {}, op -> {});
+        String json = "{\"id\":2,\"name\":\"land\",\"status\":{\"status\":\"piari\"},\"stringList\":[\"sea\",\"bonvo\"]}";
+
+        // ## Act ##
+        MockUser fromReader = engine.fromJsonReader(new StringReader(json), MockUser.class);
+
+        // ## Assert ##
+        log(fromReader);
+        MockUser fromString = engine.fromJson(json, MockUser.class);
+        assertEquals(fromString.toString(), fromReader.toString());
+        assertEquals("land", fromReader.name);
+        assertEquals("piari", fromReader.status.status);
+        assertEquals(Arrays.asList("sea", "bonvo"), fromReader.stringList);
+    }
+
+    public void test_fromJsonReader_empty() throws Exception {
+        // ## Arrange ##
+        GsonJsonEngine engine = new GsonJsonEngine(builder -> {}, op -> {});
+
+        // ## Act ##
+        MockUser fromReader = engine.fromJsonReader(new StringReader(""), MockUser.class);
+
+        // ## Assert ##
+        assertNotNull(fromReader); // new-only
+        assertNull(fromReader.name);
+    }
+
+    public void test_fromJsonParameteriedReader_list() throws Exception {
+        // ## Arrange ##
+        GsonJsonEngine engine = new GsonJsonEngine(builder -> {}, op -> {});
+        ParameterizedType listType = (ParameterizedType) MockUser.class.getField("stringList").getGenericType();
+
+        // ## Act ##
+        List<String> fromReader = engine.fromJsonParameteriedReader(new StringReader("[\"sea\",\"land\"]"), listType);
+        List<String> emptyList = engine.fromJsonParameteriedReader(new StringReader(""), listType);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList("sea", "land"), fromReader);
+        assertTrue(emptyList.isEmpty());
+    }
+
     // ===================================================================================
     //                                                                         Thread Safe
     //                                                                         ===========
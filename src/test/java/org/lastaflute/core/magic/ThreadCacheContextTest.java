@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.mail.PostedMailCounter;
+
+/**
+ * @author jflute
+ */
+public class ThreadCacheContextTest extends PlainTestCase {
+
+    public void test_snapshot_copyOnWrite() throws Exception {
+        // ## Arrange ##
+        ThreadCacheContext.initialize();
+        try {
+            ThreadCacheContext.setObject("sea", "mystic");
+            ThreadCacheContext.registerMailCounter(new PostedMailCounter());
+            ThreadCacheSnapshot snapshot = ThreadCacheContext.snapshot();
+            AtomicReference<Object> childSea = new AtomicReference<Object>();
+            AtomicReference<Object> childMail = new AtomicReference<Object>();
+
+            // ## Act ##
+            Thread child = new Thread(() -> {
+                ThreadCacheContext.initialize(snapshot);
+                try {
+                    childSea.set(ThreadCacheContext.getObject("sea"));
+                    childMail.set(ThreadCacheContext.findMailCounter());
+                    ThreadCacheContext.setObject("sea", "bigband"); // child only
+                    ThreadCacheContext.setObject("land", "oneman");
+                } finally {
+                    ThreadCacheContext.clear();
+                }
+            });
+            child.start();
+            child.join();
+            ThreadCacheContext.setObject("piari", "plaza"); // caller only
+
+            // ## Assert ##
+            assertEquals("mystic", childSea.get());
+            assertNull(childMail.get()); // thread completed is not inherited
+            assertEquals("mystic", ThreadCacheContext.getObject("sea"));
+            assertNull(ThreadCacheContext.getObject("land"));
+            assertNotNull(ThreadCacheContext.findMailCounter());
+            assertFalse(snapshot.frozenMap.containsKey("piari"));
+            assertFalse(snapshot.frozenMap.containsKey("land"));
+        } finally {
+            ThreadCacheContext.clear();
+        }
+    }
+
+    public void test_slot_keyedAccess() {
+        // ## Arrange ##
+        ThreadCacheContext.initialize();
+        try {
+            // ## Act ##
+            ThreadCacheContext.registerRequestPath("/sea/");
+            ThreadCacheContext.setObject(ThreadCacheContext.FW_PROCESS_HASH, "abc");
+
+            // ## Assert ##
+            assertEquals("/sea/", ThreadCacheContext.getObject(ThreadCacheContext.FW_REQUEST_PATH));
+            assertEquals("abc", ThreadCacheContext.findProcessHash());
+            assertEquals("/sea/", ThreadCacheContext.getReadOnlyCacheMap().get(ThreadCacheContext.FW_REQUEST_PATH));
+            assertEquals("abc", ThreadCacheContext.removeObject(ThreadCacheContext.FW_PROCESS_HASH));
+            assertNull(ThreadCacheContext.findProcessHash());
+        } finally {
+            ThreadCacheContext.clear();
+        }
+    }
+
+    public void test_readOnlyCacheMap_reusedUntilChange() {
+        // ## Arrange ##
+        ThreadCacheContext.initialize();
+        try {
+            ThreadCacheContext.setObject("sea", "mystic");
+            ThreadCacheContext.registerRequestPath("/sea/");
+
+            // ## Act ##
+            Map<String, Object> firstMap = ThreadCacheContext.getReadOnlyCacheMap();
+            Map<String, Object> secondMap = ThreadCacheContext.getReadOnlyCacheMap();
+            ThreadCacheContext.setObject("land", "oneman");
+            Map<String, Object> changedMap = ThreadCacheContext.getReadOnlyCacheMap();
+            ThreadCacheContext.registerRequestPath("/land/");
+            Map<String, Object> slotChangedMap = ThreadCacheContext.getReadOnlyCacheMap();
+
+            // ## Assert ##
+            assertSame(firstMap, secondMap); // no copy if no change
+            assertNotSame(firstMap, changedMap);
+            assertNull(firstMap.get("land")); // not affected by the change
+            assertEquals("oneman", changedMap.get("land"));
+            assertEquals("/land/", slotChangedMap.get(ThreadCacheContext.FW_REQUEST_PATH));
+            assertEquals("/sea/", changedMap.get(ThreadCacheContext.FW_REQUEST_PATH));
+        } finally {
+            ThreadCacheContext.clear();
+        }
+    }
+
+    public void test_findSlotIndex_applicationKey() {
+        assertEquals(-1, ThreadCacheContext.findSlotIndex("sea"));
+        assertEquals(-1, ThreadCacheContext.findSlotIndex("fw:unknown"));
+        assertEquals(-1, ThreadCacheContext.findSlotIndex(null));
+        assertEquals(ThreadCacheContext.SLOT_REQUEST_PATH, ThreadCacheContext.findSlotIndex(ThreadCacheContext.FW_REQUEST_PATH));
+    }
+}
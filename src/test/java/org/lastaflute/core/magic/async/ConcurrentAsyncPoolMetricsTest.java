@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ConcurrentAsyncPoolMetricsTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                              Record
+    //                                                                              ======
+    public void test_record_statistics() {
+        // ## Arrange ##
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        try {
+            ConcurrentAsyncPoolMetrics metrics = new ConcurrentAsyncPoolMetrics("primary", executor);
+
+            // ## Act ##
+            metrics.recordSubmitted();
+            metrics.recordSubmitted();
+            metrics.recordRejected();
+            metrics.recordDiscarded();
+            metrics.recordStarted(TimeUnit.MILLISECONDS.toNanos(10));
+            metrics.recordStarted(TimeUnit.MILLISECONDS.toNanos(30));
+            metrics.recordFinished(TimeUnit.MILLISECONDS.toNanos(100));
+            metrics.recordFinished(TimeUnit.MILLISECONDS.toNanos(300));
+
+            // ## Assert ##
+            log(metrics);
+            assertEquals("primary", metrics.getPoolTitle());
+            assertEquals(2L, metrics.getSubmittedCount());
+            assertEquals(1L, metrics.getRejectedCount());
+            assertEquals(1L, metrics.getDiscardedCount());
+            assertEquals(2L, metrics.getCompletedCount());
+            assertEquals(20L, metrics.getAverageWaitMillis());
+            assertEquals(30L, metrics.getMaxWaitMillis());
+            assertEquals(200L, metrics.getAverageRunMillis());
+            assertEquals(300L, metrics.getMaxRunMillis());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_reset() {
+        // ## Arrange ##
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        try {
+            ConcurrentAsyncPoolMetrics metrics = new ConcurrentAsyncPoolMetrics("primary", executor);
+            metrics.recordSubmitted();
+            metrics.recordStarted(TimeUnit.MILLISECONDS.toNanos(10));
+            metrics.recordFinished(TimeUnit.MILLISECONDS.toNanos(100));
+
+            // ## Act ##
+            metrics.reset();
+
+            // ## Assert ##
+            assertEquals(0L, metrics.getSubmittedCount());
+            assertEquals(0L, metrics.getCompletedCount());
+            assertEquals(0L, metrics.getAverageWaitMillis()); // no division by zero
+            assertEquals(0L, metrics.getMaxRunMillis());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                       Current State
+    //                                                                       =============
+    public void test_currentState_threadPoolExecutor() throws Exception {
+        // ## Arrange ##
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        try {
+            ConcurrentAsyncPoolMetrics metrics = new ConcurrentAsyncPoolMetrics("secondary", executor);
+            executor.execute(() -> {
+                startedLatch.countDown();
+                try {
+                    blockingLatch.await();
+                } catch (InterruptedException ignored) { // when shutdown
+                }
+            });
+            assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+
+            // ## Act ##
+            executor.execute(() -> {}); // queued
+
+            // ## Assert ##
+            log(metrics);
+            assertEquals(1, metrics.getQueueDepth());
+            assertEquals(1, metrics.getActiveThreadCount());
+            assertEquals(1, metrics.getPoolSize());
+            assertEquals(2, metrics.getMaxPoolSize());
+        } finally {
+            blockingLatch.countDown();
+            executor.shutdown();
+        }
+    }
+
+    public void test_currentState_unknownExecutor() {
+        // ## Arrange ##
+        ExecutorService executor = Executors.newSingleThreadExecutor(); // not thread pool executor (wrapped)
+        try {
+            ConcurrentAsyncPoolMetrics metrics = new ConcurrentAsyncPoolMetrics("tertiary", executor);
+
+            // ## Act ##
+            // ## Assert ##
+            assertEquals(-1, metrics.getQueueDepth());
+            assertEquals(-1, metrics.getActiveThreadCount());
+            assertEquals(-1, metrics.getPoolSize());
+            assertEquals(-1, metrics.getMaxPoolSize());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void test_constructor_illegal() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>());
+        assertException(IllegalArgumentException.class, () -> new ConcurrentAsyncPoolMetrics(null, executor));
+        assertException(IllegalArgumentException.class, () -> new ConcurrentAsyncPoolMetrics("primary", null));
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.core.magic.ThreadCompleted;
+import org.lastaflute.core.magic.async.ConcurrentAsyncCall.ConcurrentAsyncImportance;
+import org.lastaflute.core.magic.async.exception.ConcurrentAsyncRejectedException;
+import org.lastaflute.core.magic.async.future.BasicYourFuture;
+import org.lastaflute.core.magic.async.future.YourFuture;
+
+/**
+ * @author jflute
+ */
+public class SimpleAsyncManagerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Settings/Helper
+    //                                                                     ===============
+    protected CountDownLatch blockingLatch;
+    protected ThreadPoolExecutor executor;
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (blockingLatch != null) {
+            blockingLatch.countDown();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        ThreadCacheContext.clear();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                        Backpressure
+    //                                                                        ============
+    public void test_backpressure_failFast() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).failFast());
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(ConcurrentAsyncRejectedException.class, () -> {
+            executor.execute(createTask(manager, () -> {}));
+        }).handle(cause -> log(cause.getMessage()));
+    }
+
+    public void test_backpressure_discard() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        List<ConcurrentAsyncTask> discardedList = new ArrayList<ConcurrentAsyncTask>();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).discard(task -> {
+            discardedList.add(task);
+        }));
+        ConcurrentAsyncTask newTask = createTask(manager, () -> {});
+
+        // ## Act ##
+        executor.execute(newTask);
+
+        // ## Assert ##
+        assertEquals(1, discardedList.size());
+        assertSame(newTask, discardedList.get(0));
+        assertTrue(newTask.isCancelled()); // not to wait for it forever
+    }
+
+    public void test_backpressure_discardOldest() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        List<ConcurrentAsyncTask> discardedList = new ArrayList<ConcurrentAsyncTask>();
+        List<ConcurrentAsyncTask> queuedList = prepareFullExecutor(manager,
+                new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).discardOldest(task -> {
+                    discardedList.add(task);
+                }));
+        CountDownLatch newLatch = new CountDownLatch(1);
+        ConcurrentAsyncTask newTask = createTask(manager, () -> newLatch.countDown());
+
+        // ## Act ##
+        executor.execute(newTask);
+        blockingLatch.countDown();
+
+        // ## Assert ##
+        assertEquals(1, discardedList.size());
+        assertSame(queuedList.get(0), discardedList.get(0)); // oldest in queue
+        assertTrue(queuedList.get(0).isCancelled());
+        assertTrue(newLatch.await(5, TimeUnit.SECONDS)); // new one is run instead
+    }
+
+    public void test_backpressure_waitingQueue() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).waitingQueue());
+        CountDownLatch newLatch = new CountDownLatch(1);
+        ConcurrentAsyncTask newTask = createTask(manager, () -> newLatch.countDown());
+
+        // ## Act ##
+        executor.execute(newTask); // registered to waiting queue
+        blockingLatch.countDown();
+
+        // ## Assert ##
+        assertTrue(newLatch.await(5, TimeUnit.SECONDS)); // retried after the pool is available
+        assertFalse(newTask.isCancelled());
+    }
+
+    public void test_backpressure_callerRuns_contextRestored() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).callerRuns());
+        MockCompleted completed = new MockCompleted();
+        ThreadCacheContext.initialize();
+        ThreadCacheContext.setObject("sea", "mystic");
+        ThreadCacheContext.setObject("completed", completed);
+        Thread callerThread = Thread.currentThread();
+        AtomicReference<Thread> runThread = new AtomicReference<Thread>();
+        AtomicReference<Object> inheritedSea = new AtomicReference<Object>();
+        AtomicReference<Object> inheritedCompleted = new AtomicReference<Object>();
+
+        // ## Act ##
+        executor.execute(createTask(manager, () -> {
+            runThread.set(Thread.currentThread());
+            inheritedSea.set(ThreadCacheContext.getObject("sea"));
+            inheritedCompleted.set(ThreadCacheContext.getObject("completed"));
+            ThreadCacheContext.setObject("sea", "land"); // not affect caller's
+            ThreadCacheContext.setObject("piari", "bonvo");
+        }));
+
+        // ## Assert ##
+        assertSame(callerThread, runThread.get());
+        assertEquals("mystic", inheritedSea.get()); // inherited by snapshot
+        assertNull(inheritedCompleted.get()); // thread completed is hidden as async child
+        assertTrue(ThreadCacheContext.exists()); // restored after running
+        assertEquals("mystic", ThreadCacheContext.getObject("sea"));
+        assertSame(completed, ThreadCacheContext.getObject("completed"));
+        assertNull(ThreadCacheContext.getObject("piari"));
+    }
+
+    public void test_backpressure_callerRuns_noCallerContext() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).callerRuns());
+        AtomicReference<Thread> runThread = new AtomicReference<Thread>();
+
+        // ## Act ##
+        executor.execute(createTask(manager, () -> runThread.set(Thread.currentThread())));
+
+        // ## Assert ##
+        assertSame(Thread.currentThread(), runThread.get());
+        assertFalse(ThreadCacheContext.exists()); // cleared as before
+    }
+
+    // ===================================================================================
+    //                                                                             Metrics
+    //                                                                             =======
+    public void test_metrics_submitted_and_rejected() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).discard());
+        manager.registerPoolMetrics("primary", executor);
+        manager.primaryExecutorService = executor;
+
+        // ## Act ##
+        executor.execute(createTask(manager, () -> {}));
+
+        // ## Assert ##
+        List<ConcurrentAsyncPoolMetrics> metricsList = manager.getPoolMetricsList();
+        log(metricsList);
+        assertEquals(1, metricsList.size());
+        ConcurrentAsyncPoolMetrics metrics = metricsList.get(0);
+        assertEquals("primary", metrics.getPoolTitle());
+        assertEquals(1L, metrics.getRejectedCount());
+        assertEquals(1L, metrics.getDiscardedCount());
+        assertEquals(1, metrics.getQueueDepth());
+        assertException(UnsupportedOperationException.class, () -> metricsList.add(metrics)); // read-only
+    }
+
+    public void test_metrics_export_to_sink_and_destroy() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1));
+        manager.registerPoolMetrics("primary", executor);
+        manager.primaryExecutorService = executor;
+        CountDownLatch exportedLatch = new CountDownLatch(1);
+        AtomicReference<List<ConcurrentAsyncPoolMetrics>> exportedList = new AtomicReference<List<ConcurrentAsyncPoolMetrics>>();
+        AtomicReference<String> exportingThreadName = new AtomicReference<String>();
+        ConcurrentAsyncExecutorProvider provider = new ConcurrentAsyncExecutorProvider() {
+            @Override
+            public ConcurrentAsyncOption provideDefaultOption() {
+                return null;
+            }
+
+            @Override
+            public ConcurrentAsyncMetricsSink provideMetricsSink() {
+                return metricsList -> {
+                    exportedList.set(metricsList);
+                    exportingThreadName.set(Thread.currentThread().getName());
+                    exportedLatch.countDown();
+                };
+            }
+
+            @Override
+            public Integer provideMetricsExportIntervalSeconds() {
+                return 1;
+            }
+        };
+
+        // ## Act ##
+        manager.metricsExportService = manager.prepareMetricsExport(provider);
+
+        // ## Assert ##
+        assertTrue(exportedLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, exportedList.get().size());
+        assertEquals("lasta-async-metrics", exportingThreadName.get());
+        manager.destroy();
+        assertTrue(manager.metricsExportService.isShutdown()); // no thread left
+        assertTrue(manager.metricsExportService.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    public void test_metrics_noSink() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+
+        // ## Act ##
+        // ## Assert ##
+        assertNull(manager.prepareMetricsExport(null));
+        assertTrue(manager.getPoolMetricsList().isEmpty());
+        manager.destroy(); // no exception
+    }
+
+    // ===================================================================================
+    //                                                                              Supply
+    //                                                                              ======
+    public void test_supply_success() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareBusyExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(2).queueCapacity(2));
+        blockingLatch.countDown(); // no busy
+
+        // ## Act ##
+        CompletableFuture<String> future = manager.supply(() -> "sea");
+        CompletableFuture<List<String>> allFuture = manager.supplyAll(Arrays.asList(() -> "land", () -> "piari"), 5000L);
+
+        // ## Assert ##
+        assertEquals("sea", future.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("land", "piari"), allFuture.get(5, TimeUnit.SECONDS)); // same order as calls
+    }
+
+    public void test_supply_timeout() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareBusyExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1));
+
+        // ## Act ##
+        CompletableFuture<String> future = manager.supply(() -> "sea", 100L); // waiting for the busy thread
+
+        // ## Assert ##
+        assertException(CompletionException.class, () -> future.join()).handle(cause -> {
+            assertTrue(cause.getCause() instanceof TimeoutException);
+        });
+    }
+
+    public void test_supply_rejected() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).failFast());
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(ConcurrentAsyncRejectedException.class, () -> manager.supply(() -> "sea"));
+    }
+
+    public void test_supplyAll_rejected_cancelStarted() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareBusyExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).failFast());
+        AtomicBoolean calledFirst = new AtomicBoolean();
+        List<ConcurrentAsyncSupplyCall<String>> callList = Arrays.asList(() -> {
+            calledFirst.set(true);
+            return "sea";
+        }, () -> "land"); // first is queued, second is rejected
+
+        // ## Act ##
+        assertException(ConcurrentAsyncRejectedException.class, () -> manager.supplyAll(callList, 5000L));
+
+        // ## Assert ##
+        blockingLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(calledFirst.get()); // cancelled before running
+    }
+
+    public void test_supply_discard() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareFullExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).discard());
+
+        // ## Act ##
+        CompletableFuture<String> future = manager.supply(() -> "sea");
+
+        // ## Assert ##
+        assertTrue(future.isCompletedExceptionally()); // not to wait for it forever
+        assertException(CompletionException.class, () -> future.join()).handle(cause -> {
+            assertTrue(cause.getCause() instanceof ConcurrentAsyncRejectedException);
+        });
+    }
+
+    public void test_supply_discardOldest() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        prepareBusyExecutor(manager, new ConcurrentAsyncPoolOption().maxPoolSize(1).queueCapacity(1).discardOldest());
+        CompletableFuture<String> oldestFuture = manager.supply(() -> "sea"); // queued
+
+        // ## Act ##
+        CompletableFuture<String> newFuture = manager.supply(() -> "land");
+        blockingLatch.countDown();
+
+        // ## Assert ##
+        assertException(CompletionException.class, () -> oldestFuture.join()).handle(cause -> {
+            assertTrue(cause.getCause() instanceof ConcurrentAsyncRejectedException);
+        });
+        assertEquals("land", newFuture.get(5, TimeUnit.SECONDS)); // new one is run instead
+    }
+
+    public void test_supply_destroy_timeoutScheduler() throws Exception {
+        // ## Arrange ##
+        MockAsyncManager manager = new MockAsyncManager();
+        ScheduledExecutorService scheduler = manager.getTimeoutScheduler(); // lazy-loaded
+
+        // ## Act ##
+        manager.destroy();
+
+        // ## Assert ##
+        assertTrue(scheduler.isShutdown()); // no thread leak when redeploy
+    }
+
+    public void test_supply_defaultMethod_plainManager() throws Exception {
+        // ## Arrange ##
+        AsyncManager manager = createPlainManager();
+        blockingLatch = new CountDownLatch(1);
+
+        // ## Act ##
+        CompletableFuture<String> future = manager.supply(() -> "sea", 5000L);
+        CompletableFuture<List<String>> allFuture = manager.supplyAll(Arrays.asList(() -> "land", () -> "piari"), 5000L);
+        CompletableFuture<String> timeoutFuture = manager.supply(() -> {
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException ignored) { // when tear down
+            }
+            return "bonvo";
+        }, 100L);
+
+        // ## Assert ##
+        assertEquals("sea", future.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("land", "piari"), allFuture.get(5, TimeUnit.SECONDS));
+        assertException(CompletionException.class, () -> timeoutFuture.join()).handle(cause -> {
+            assertTrue(cause.getCause() instanceof TimeoutException);
+        });
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    /**
+     * @return The list of queued tasks, which are waiting for the blocking task. (NotNull)
+     */
+    protected List<ConcurrentAsyncTask> prepareFullExecutor(MockAsyncManager manager, ConcurrentAsyncPoolOption poolOption)
+            throws InterruptedException {
+        prepareBusyExecutor(manager, poolOption);
+        List<ConcurrentAsyncTask> queuedList = new ArrayList<ConcurrentAsyncTask>();
+        for (int i = 0; i < poolOption.getQueueCapacity(); i++) {
+            ConcurrentAsyncTask queued = createTask(manager, () -> {});
+            executor.execute(queued);
+            queuedList.add(queued);
+        }
+        return queuedList; // so the pool is full
+    }
+
+    /**
+     * Prepare the executor whose one thread is blocked until the latch is released. <br>
+     * The executor is also used as primary and secondary pool of the manager.
+     */
+    protected void prepareBusyExecutor(MockAsyncManager manager, ConcurrentAsyncPoolOption poolOption) throws InterruptedException {
+        executor = (ThreadPoolExecutor) manager.createDefaultExecutorService(createProvider(poolOption), ConcurrentAsyncImportance.PRIMARY);
+        manager.primaryExecutorService = executor;
+        manager.secondaryExecutorService = executor;
+        blockingLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        executor.execute(createTask(manager, () -> {
+            startedLatch.countDown();
+            try {
+                blockingLatch.await();
+            } catch (InterruptedException ignored) { // when tear down
+            }
+        }));
+        assertTrue(startedLatch.await(5, TimeUnit.SECONDS)); // the first thread is busy
+    }
+
+    protected ConcurrentAsyncExecutorProvider createProvider(ConcurrentAsyncPoolOption poolOption) {
+        return new ConcurrentAsyncExecutorProvider() {
+            @Override
+            public ConcurrentAsyncOption provideDefaultOption() {
+                return null;
+            }
+
+            @Override
+            public ConcurrentAsyncPoolOption providePoolOption(ConcurrentAsyncImportance importance) {
+                return poolOption;
+            }
+        };
+    }
+
+    protected ConcurrentAsyncTask createTask(MockAsyncManager manager, ConcurrentAsyncCall call) {
+        return new ConcurrentAsyncTask(call, manager.createRunnable(call, "test"), "test", null);
+    }
+
+    protected AsyncManager createPlainManager() { // e.g. your own manager without timeout scheduler
+        return new AsyncManager() {
+            @Override
+            public YourFuture async(ConcurrentAsyncCall noArgLambda) {
+                return new BasicYourFuture(CompletableFuture.runAsync(() -> noArgLambda.callback()));
+            }
+
+            @Override
+            public void parallel(ConcurrentParallelCall runnerLambda, ConcurrentParallelOpCall opLambda) {
+                throw new UnsupportedOperationException("not used in test");
+            }
+        };
+    }
+
+    protected static class MockAsyncManager extends SimpleAsyncManager {
+
+        public MockAsyncManager() {
+            defaultConcurrentAsyncOption = new ConcurrentAsyncOption();
+            waitingQueueCapacity = 10;
+        }
+    }
+
+    protected static class MockCompleted implements ThreadCompleted {
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.async.race;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LaCountdownRaceTest extends PlainTestCase {
+
+    public void test_readyGo_sharedExecutor_concurrencyLimit() {
+        // ## Arrange ##
+        LaCountdownRaceExecutor raceExecutor = new LaCountdownRaceExecutor("test-race-", 3);
+        List<Object> parameterList = Collections.nCopies(10, null);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<Integer> entrySet = ConcurrentHashMap.newKeySet();
+        Set<String> threadNameSet = ConcurrentHashMap.newKeySet();
+
+        // ## Act ##
+        new LaCountdownRace(parameterList, raceExecutor, 2).readyGo(runner -> {
+            int current = running.incrementAndGet();
+            maxRunning.accumulateAndGet(current, Math::max);
+            entrySet.add(runner.getEntryNumber());
+            threadNameSet.add(Thread.currentThread().getName());
+            runner.teaBreak(20L);
+            running.decrementAndGet();
+        });
+
+        // ## Assert ##
+        log(raceExecutor, maxRunning, threadNameSet);
+        assertEquals(10, entrySet.size());
+        assertTrue(maxRunning.get() <= 2);
+        threadNameSet.forEach(name -> assertTrue(name.startsWith("test-race-")));
+    }
+
+    public void test_readyGo_sharedExecutor_nested() {
+        // ## Arrange ##
+        LaCountdownRaceExecutor raceExecutor = new LaCountdownRaceExecutor("test-race-", 2);
+        AtomicInteger count = new AtomicInteger();
+
+        // ## Act ##
+        new LaCountdownRace(Collections.nCopies(2, null), raceExecutor, 0).readyGo(runner -> {
+            new LaCountdownRace(Collections.nCopies(3, null), raceExecutor, 0).readyGo(nested -> {
+                count.incrementAndGet();
+            });
+        });
+
+        // ## Assert ##
+        assertEquals(6, count.get()); // no dead lock by temporary executor
+    }
+
+    public void test_readyGo_sharedExecutor_uniqueThreadId() {
+        // ## Arrange ##
+        LaCountdownRaceExecutor raceExecutor = new LaCountdownRaceExecutor("test-race-", 2);
+        Set<Long> threadIdSet = ConcurrentHashMap.newKeySet();
+
+        // ## Act ##
+        try {
+            new LaCountdownRace(Collections.nCopies(10, null), raceExecutor, 2).readyGo(runner -> {
+                threadIdSet.add(runner.getThreadId());
+            });
+        } finally {
+            raceExecutor.shutdown();
+        }
+
+        // ## Assert ##
+        assertEquals(10, threadIdSet.size()); // unique even if runners share lane threads
+    }
+
+    public void test_reserve_timeout() {
+        // ## Arrange ##
+        LaCountdownRaceExecutor raceExecutor = new LaCountdownRaceExecutor("test-race-", 2, 50L);
+        assertEquals(2, raceExecutor.reserve(2)); // all lanes are occupied
+        AtomicInteger count = new AtomicInteger();
+
+        // ## Act ##
+        try {
+            assertEquals(0, raceExecutor.reserve(1)); // not blocking forever
+            new LaCountdownRace(Collections.nCopies(3, null), raceExecutor, 0).readyGo(runner -> {
+                count.incrementAndGet();
+            });
+        } finally {
+            raceExecutor.release(2);
+            raceExecutor.shutdown();
+        }
+
+        // ## Assert ##
+        assertEquals(3, count.get()); // by temporary executor
+        assertEquals(2, raceExecutor.getAvailableLaneCount());
+    }
+
+    public void test_shutdown() {
+        // ## Arrange ##
+        LaCountdownRaceExecutor raceExecutor = new LaCountdownRaceExecutor("test-race-", 2);
+        AtomicInteger count = new AtomicInteger();
+
+        // ## Act ##
+        raceExecutor.shutdown();
+        new LaCountdownRace(Collections.nCopies(3, null), raceExecutor, 0).readyGo(runner -> {
+            count.incrementAndGet();
+        });
+
+        // ## Assert ##
+        log(raceExecutor);
+        assertTrue(raceExecutor.isShutdown());
+        assertEquals(3, count.get()); // by temporary executor
+        assertEquals(2, raceExecutor.getAvailableLaneCount()); // released when rejected
+    }
+
+    public void test_constructor_illegal() {
+        assertException(IllegalArgumentException.class, () -> new LaCountdownRaceExecutor("test-race-", 0));
+        assertException(IllegalArgumentException.class, () -> new LaCountdownRaceExecutor("test-race-", 1, -1L));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.magic.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ElapsedTimeHistogramTest extends PlainTestCase {
+
+    public void test_record_percentile() {
+        // ## Arrange ##
+        ElapsedTimeHistogram histogram = new ElapsedTimeHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(500L)); // bucket 256-511us
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(100L)); // bucket 65536-131071us
+
+        // ## Act ##
+        double p50 = histogram.getPercentileMillis(0.50);
+        double p100 = histogram.getPercentileMillis(1.0);
+
+        // ## Assert ##
+        log(histogram, p50, p100);
+        assertEquals(100L, histogram.getCount());
+        assertEquals(100L, histogram.getMaxMillis());
+        assertEquals(0.511, p50);
+        assertEquals(131.071, p100);
+    }
+
+    public void test_reset() {
+        // ## Arrange ##
+        ElapsedTimeHistogram histogram = new ElapsedTimeHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3L));
+
+        // ## Act ##
+        histogram.reset();
+
+        // ## Assert ##
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0.0, histogram.getPercentileMillis(0.99));
+    }
+}
@@ -16,6 +16,8 @@
 package org.lastaflute.core.security;
 
 import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.utflute.core.cannonball.CannonballOption;
+import org.lastaflute.core.security.exception.CipherFailureException;
 
 /**
  * @author jflute
@@ -35,4 +37,71 @@ public class InvertibleCryptographerTest extends PlainTestCase {
         log(encrypted, decrypted);
         assertEquals("abc", decrypted);
     }
+
+    public void test_AES_GCM() throws Exception {
+        // ## Arrange ##
+        String key = "1234567890123456"; // 16 byte
+        InvertibleCryptographer cipher = InvertibleCryptographer.createAesGcmCipher(key);
+
+        // ## Act ##
+        String first = cipher.encrypt("abc");
+        String second = cipher.encrypt("abc");
+
+        // ## Assert ##
+        log(first, second);
+        assertFalse(first.equals(second)); // random IV
+        assertEquals("abc", cipher.decrypt(first));
+        assertEquals("abc", cipher.decrypt(second));
+        String tampered = first.substring(0, first.length() - 1) + (first.endsWith("0") ? "1" : "0");
+        assertException(CipherFailureException.class, () -> cipher.decrypt(tampered));
+    }
+
+    public void test_AES_threads() throws Exception {
+        // ## Arrange ##
+        String key = "1234567890123456"; // 16 byte
+        InvertibleCryptographer cipher = InvertibleCryptographer.createAesCipher(key);
+        String expected = cipher.encrypt("abc");
+
+        // ## Act ##
+        // ## Assert ##
+        cannonball(car -> {
+            for (int i = 0; i < 100; i++) {
+                String encrypted = cipher.encrypt("abc");
+                assertEquals(expected, encrypted);
+                assertEquals("abc", cipher.decrypt(encrypted));
+            }
+        }, new CannonballOption().threadCount(8));
+    }
+
+    public void test_AES_cipherPoolLimit_overridden() throws Exception {
+        // ## Arrange ##
+        String key = "1234567890123456"; // 16 byte
+        MockPoolLimitCryptographer cipher = new MockPoolLimitCryptographer(key, 1);
+
+        // ## Act ##
+        cannonball(car -> {
+            for (int i = 0; i < 20; i++) {
+                assertEquals("abc", cipher.decrypt(cipher.encrypt("abc")));
+            }
+        }, new CannonballOption().threadCount(4));
+
+        // ## Assert ##
+        assertEquals(1, cipher.encryptingPool.getIdleCount()); // subclass field is available (lazy loaded)
+        assertEquals(1, cipher.decryptingPool.getIdleCount());
+    }
+
+    protected static class MockPoolLimitCryptographer extends InvertibleCryptographer {
+
+        protected final int poolLimit; // not initialized yet in super constructor
+
+        public MockPoolLimitCryptographer(String skey, int poolLimit) {
+            super(ALGORITHM_AES, skey, ENCODING_UTF8);
+            this.poolLimit = poolLimit;
+        }
+
+        @Override
+        protected int getCipherPoolLimit() {
+            return poolLimit;
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.core.template;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class SimpleTemplateManagerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                      Template Cache
+    //                                                                      ==============
+    public void test_parse_templateNodeCached() {
+        // ## Arrange ##
+        MockTemplateManager manager = new MockTemplateManager();
+        manager.textMap.put("sea.dfmail", "Hello, /*pmb.name*/\n/*IF pmb.vip*/you are VIP\n/*END*/bye");
+
+        // ## Act ##
+        String first = manager.parse("sea.dfmail", prepareVariableMap("mystic", true));
+        String second = manager.parse("sea.dfmail", prepareVariableMap("land", false));
+
+        // ## Assert ##
+        log(first, second);
+        assertEquals(1, manager.readCount.get()); // analyzed once
+        assertContainsAll(first, "Hello, mystic", "you are VIP", "bye");
+        assertContainsAll(second, "Hello, land", "bye");
+        assertNotContains(second, "mystic"); // evaluated by new context per parsing
+        assertNotContains(second, "VIP");
+    }
+
+    public void test_parse_templateNodeCached_perPath() {
+        // ## Arrange ##
+        MockTemplateManager manager = new MockTemplateManager();
+        manager.textMap.put("sea.dfmail", "sea: /*pmb.name*/");
+        manager.textMap.put("land.dfmail", "land: /*pmb.name*/");
+
+        // ## Act ##
+        String sea = manager.parse("sea.dfmail", prepareVariableMap("mystic", false));
+        String land = manager.parse("land.dfmail", prepareVariableMap("oneman", false));
+        manager.parse("sea.dfmail", prepareVariableMap("mystic", false));
+
+        // ## Assert ##
+        assertContains(sea, "sea: mystic");
+        assertContains(land, "land: oneman");
+        assertEquals(2, manager.readCount.get());
+    }
+
+    public void test_clearTemplateCache() {
+        // ## Arrange ##
+        MockTemplateManager manager = new MockTemplateManager();
+        manager.textMap.put("sea.dfmail", "sea: /*pmb.name*/");
+        manager.parse("sea.dfmail", prepareVariableMap("mystic", false));
+        manager.textMap.put("sea.dfmail", "replaced: /*pmb.name*/");
+
+        // ## Act ##
+        String cached = manager.parse("sea.dfmail", prepareVariableMap("mystic", false));
+        manager.clearTemplateCache();
+        String reloaded = manager.parse("sea.dfmail", prepareVariableMap("mystic", false));
+
+        // ## Assert ##
+        assertContains(cached, "sea: mystic");
+        assertContains(reloaded, "replaced: mystic");
+        assertEquals(2, manager.readCount.get());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected Map<String, Object> prepareVariableMap(String name, boolean vip) {
+        Map<String, Object> variableMap = new HashMap<String, Object>();
+        variableMap.put("name", name);
+        variableMap.put("vip", vip);
+        return variableMap;
+    }
+
+    protected static class MockTemplateManager extends SimpleTemplateManager {
+
+        protected final Map<String, String> textMap = new HashMap<String, String>();
+        protected final AtomicInteger readCount = new AtomicInteger();
+
+        @Override
+        protected String readText(String templatePath) {
+            readCount.incrementAndGet();
+            return textMap.get(templatePath);
+        }
+    }
+}
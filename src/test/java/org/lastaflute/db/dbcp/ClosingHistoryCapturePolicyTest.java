@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbcp;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.db.dbcp.ClosingHistoryCapturePolicy.CaptureType;
+
+/**
+ * @author jflute
+ */
+public class ClosingHistoryCapturePolicyTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                       Always or Off
+    //                                                                       =============
+    public void test_always() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy policy = ClosingHistoryCapturePolicy.always();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(CaptureType.ALWAYS, policy.getCaptureType());
+        assertTrue(policy.needsCallerCapture(null, null, 1000L)); // e.g. by timer
+        assertTrue(policy.needsCallerCapture(100L, 200L, 1000L));
+    }
+
+    public void test_off() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy policy = ClosingHistoryCapturePolicy.off();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(CaptureType.OFF, policy.getCaptureType());
+        assertFalse(policy.needsCallerCapture(null, null, 1000L));
+        assertFalse(policy.needsCallerCapture(100L, null, 999999L));
+    }
+
+    // ===================================================================================
+    //                                                                             Sampled
+    //                                                                             =======
+    public void test_sampled_edgeRate() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy neverPolicy = ClosingHistoryCapturePolicy.sampled(0.0);
+        ClosingHistoryCapturePolicy everyPolicy = ClosingHistoryCapturePolicy.sampled(1.0);
+
+        // ## Act ##
+        // ## Assert ##
+        for (int i = 0; i < 100; i++) {
+            assertFalse(neverPolicy.needsCallerCapture(null, null, 1000L));
+            assertTrue(everyPolicy.needsCallerCapture(null, null, 1000L));
+        }
+    }
+
+    public void test_sampled_partOfClosing() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy policy = ClosingHistoryCapturePolicy.sampled(0.5);
+
+        // ## Act ##
+        int capturedCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (policy.needsCallerCapture(null, null, 1000L)) {
+                ++capturedCount;
+            }
+        }
+
+        // ## Assert ##
+        log("capturedCount: " + capturedCount);
+        assertTrue(capturedCount > 0); // almost impossible to fail
+        assertTrue(capturedCount < 1000);
+    }
+
+    public void test_sampled_illegalRate() {
+        assertException(IllegalArgumentException.class, () -> ClosingHistoryCapturePolicy.sampled(-0.1));
+        assertException(IllegalArgumentException.class, () -> ClosingHistoryCapturePolicy.sampled(1.1));
+    }
+
+    // ===================================================================================
+    //                                                                      Suspected Leak
+    //                                                                      ==============
+    public void test_suspectedLeak_overThreshold_captured() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy policy = ClosingHistoryCapturePolicy.suspectedLeak(1000L);
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(policy.needsCallerCapture(100L, null, 1101L)); // never checked-in
+        assertTrue(policy.needsCallerCapture(500L, 300L, 1501L)); // checked-in before latest check-out
+    }
+
+    public void test_suspectedLeak_skipped() {
+        // ## Arrange ##
+        ClosingHistoryCapturePolicy policy = ClosingHistoryCapturePolicy.suspectedLeak(1000L);
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(policy.needsCallerCapture(null, null, 99999L)); // no request info
+        assertFalse(policy.needsCallerCapture(100L, null, 1100L)); // just threshold
+        assertFalse(policy.needsCallerCapture(100L, 200L, 99999L)); // returned to pool
+        assertFalse(policy.needsCallerCapture(100L, 100L, 99999L)); // same millis
+    }
+
+    public void test_suspectedLeak_illegalThreshold() {
+        assertException(IllegalArgumentException.class, () -> ClosingHistoryCapturePolicy.suspectedLeak(0L));
+        assertException(IllegalArgumentException.class, () -> ClosingHistoryCapturePolicy.suspectedLeak(-1L));
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    public void test_toString() {
+        assertEquals("closingCapture:{ALWAYS}", ClosingHistoryCapturePolicy.always().toString());
+        assertEquals("closingCapture:{SAMPLED, rate=0.01}", ClosingHistoryCapturePolicy.sampled(0.01).toString());
+        assertEquals("closingCapture:{SUSPECTED_LEAK, threshold=60000ms}", ClosingHistoryCapturePolicy.suspectedLeak(60000L).toString());
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbcp;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.jta.dbcp.SimpleConnectionPool;
+
+/**
+ * @author jflute
+ */
+public class HookedConnectionPoolTest extends PlainTestCase {
+
+    public void test_getPoolMetrics_lazyCreated() {
+        // ## Arrange ##
+        MockMetricsConnectionPool pool = new MockMetricsConnectionPool();
+
+        // ## Act ##
+        ConnectionPoolMetrics metrics = pool.getPoolMetrics();
+
+        // ## Assert ##
+        assertNotNull(metrics);
+        assertSame(metrics, pool.getPoolMetrics()); // created only once
+        assertEquals("sea", ((MockConnectionPoolMetrics) metrics).title); // subclass state is ready
+    }
+
+    protected static class MockMetricsConnectionPool extends HookedConnectionPool {
+
+        protected final String metricsTitle; // not ready in super class field initializer
+
+        public MockMetricsConnectionPool() {
+            metricsTitle = "sea";
+        }
+
+        @Override
+        protected ConnectionPoolMetrics createPoolMetrics() {
+            return new MockConnectionPoolMetrics(this, metricsTitle);
+        }
+    }
+
+    protected static class MockConnectionPoolMetrics extends ConnectionPoolMetrics {
+
+        protected final String title;
+
+        public MockConnectionPoolMetrics(SimpleConnectionPool pool, String title) {
+            super(pool);
+            this.title = title;
+        }
+    }
+}
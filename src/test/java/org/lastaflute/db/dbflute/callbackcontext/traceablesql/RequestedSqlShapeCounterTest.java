@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.dbflute.callbackcontext.traceablesql;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.core.magic.ThreadCacheSnapshot;
+
+/**
+ * @author jflute
+ */
+public class RequestedSqlShapeCounterTest extends PlainTestCase {
+
+    public void test_buildFingerprint_normalized() {
+        // ## Arrange ##
+        RequestedSqlShapeCounter counter = new RequestedSqlShapeCounter();
+
+        // ## Act ##
+        String first = counter.buildFingerprint("MEMBER", "selectList", "select *\n  from MEMBER where MEMBER_ID in (?, ?)");
+        String second = counter.buildFingerprint("MEMBER", "selectList", "select * from MEMBER where MEMBER_ID in (?,?,  ?)");
+        String another = counter.buildFingerprint("MEMBER", "selectEntity", "select * from MEMBER where MEMBER_ID in (?, ?)");
+
+        // ## Assert ##
+        log(first);
+        assertEquals("MEMBER:selectList:select * from MEMBER where MEMBER_ID in (?)", first);
+        assertEquals(first, second);
+        assertFalse(first.equals(another));
+    }
+
+    public void test_buildFingerprint_spaceAndBindMark() {
+        // ## Arrange ##
+        RequestedSqlShapeCounter counter = new RequestedSqlShapeCounter();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("M:c:select ? , 'a' from M", counter.buildFingerprint("M", "c", "  select ?\t, 'a'\r\nfrom M  "));
+        assertEquals("M:c:where A = ? and B in (?)", counter.buildFingerprint("M", "c", "where A = ? and B in (? ,\n ?)"));
+        assertEquals("M:c:values (?) , x", counter.buildFingerprint("M", "c", "values (?, ?) , x"));
+        assertEquals("M:c:?", counter.buildFingerprint("M", "c", "?,?,?"));
+        assertEquals("M:c:", counter.buildFingerprint("M", "c", " \n "));
+    }
+
+    public void test_registerOnThread_notInheritedToChild() throws Exception {
+        // ## Arrange ##
+        ThreadCacheContext.initialize();
+        try {
+            RequestedSqlShapeCounter.registerOnThread();
+            ThreadCacheSnapshot snapshot = ThreadCacheContext.snapshot();
+            AtomicReference<RequestedSqlShapeCounter> childCounter = new AtomicReference<RequestedSqlShapeCounter>();
+
+            // ## Act ##
+            Thread child = new Thread(() -> {
+                ThreadCacheContext.initialize(snapshot);
+                try {
+                    childCounter.set(RequestedSqlShapeCounter.findOnThread());
+                } finally {
+                    ThreadCacheContext.clear();
+                }
+            });
+            child.start();
+            child.join();
+
+            // ## Assert ##
+            assertNull(childCounter.get()); // thread completed is not inherited
+            assertNotNull(RequestedSqlShapeCounter.findOnThread());
+        } finally {
+            ThreadCacheContext.clear();
+        }
+    }
+
+    public void test_isApplicationCallSite() {
+        // ## Arrange ##
+        RequestedSqlShapeCounter counter = new RequestedSqlShapeCounter();
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(counter.isApplicationCallSite("org.docksidestage.app.web.member.MemberListAction"));
+        assertFalse(counter.isApplicationCallSite("org.docksidestage.dbflute.exbhv.MemberBhv"));
+        assertFalse(counter.isApplicationCallSite("org.docksidestage.app.logic.MemberLogic$$EnhancedByLasta"));
+        assertFalse(counter.isApplicationCallSite("org.lastaflute.web.ruts.GodHandableAction"));
+        assertFalse(counter.isApplicationCallSite("java.lang.Thread"));
+    }
+
+    public void test_findRepeatedSingleRowSelectList() {
+        // ## Arrange ##
+        RequestedSqlShapeCounter counter = new RequestedSqlShapeCounter();
+        RequestedSqlShape entity = new RequestedSqlShape("e", "PURCHASE", "selectEntity", "select ...");
+        RequestedSqlShape byPK = new RequestedSqlShape("p", "MEMBER", "selectByPK", "select ...");
+        for (int i = 0; i < 5; i++) {
+            entity.increment();
+        }
+        byPK.increment();
+        counter.shapeMap.put(entity.getFingerprint(), entity);
+        counter.shapeMap.put(byPK.getFingerprint(), byPK);
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(1, counter.findRepeatedSingleRowSelectList(3).size());
+        assertEquals(entity, counter.findRepeatedSingleRowSelectList(3).get(0));
+        assertTrue(counter.findRepeatedSingleRowSelectList(5).isEmpty());
+    }
+}
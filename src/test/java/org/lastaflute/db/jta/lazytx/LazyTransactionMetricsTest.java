@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.lazytx;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LazyTransactionMetricsTest extends PlainTestCase {
+
+    public void test_record_basic() {
+        // ## Arrange ##
+        LazyTransactionMetrics metrics = new LazyTransactionMetrics();
+
+        // ## Act ##
+        metrics.recordLazyBegin();
+        metrics.recordLazyBegin();
+        metrics.recordLazyBegin();
+        metrics.recordPhysicalBegin(TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordPhysicalHold(TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.recordCommit(TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.recordUntouched();
+        metrics.recordUntouched();
+        metrics.recordNormalBegin();
+        metrics.recordRollback(TimeUnit.MILLISECONDS.toNanos(1));
+
+        // ## Assert ##
+        log(metrics);
+        assertEquals(3L, metrics.getLazyBeginCount());
+        assertEquals(1L, metrics.getPhysicalBeginCount());
+        assertEquals(1L, metrics.getNormalBeginCount());
+        assertEquals(2L, metrics.getUntouchedCount());
+        assertEquals(2.0 / 3.0, metrics.getUntouchedRate(), 0.001);
+        assertEquals(1L, metrics.getDeferredHistogram().getCount());
+        assertEquals(20L, metrics.getPhysicalHoldHistogram().getMaxMillis());
+        assertEquals(1L, metrics.getCommitHistogram().getCount());
+        assertEquals(1L, metrics.getRollbackHistogram().getCount());
+    }
+
+    public void test_reset() {
+        // ## Arrange ##
+        LazyTransactionMetrics metrics = new LazyTransactionMetrics();
+        metrics.recordLazyBegin();
+        metrics.recordUntouched();
+        metrics.recordCommit(1000L);
+
+        // ## Act ##
+        metrics.reset();
+
+        // ## Assert ##
+        assertEquals(0L, metrics.getLazyBeginCount());
+        assertEquals(0L, metrics.getUntouchedCount());
+        assertEquals(0.0, metrics.getUntouchedRate());
+        assertEquals(0L, metrics.getCommitHistogram().getCount());
+    }
+}
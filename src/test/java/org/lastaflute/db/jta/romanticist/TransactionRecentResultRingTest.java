@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.romanticist;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class TransactionRecentResultRingTest extends PlainTestCase {
+
+    public void test_snapshot_overwritten() {
+        // ## Arrange ##
+        TransactionRecentResultRing ring = new TransactionRecentResultRing(3);
+        for (int i = 0; i < 4; i++) {
+            ring.save(createResult(ring.nextStatementNo()));
+        }
+
+        // ## Act ##
+        List<TransactionSavedRecentResult> resultList = ring.snapshot();
+
+        // ## Assert ##
+        log(ring, resultList);
+        assertEquals(3, resultList.size());
+        assertEquals(2L, resultList.get(0).getStatementNo());
+        assertEquals(4L, resultList.get(2).getStatementNo());
+    }
+
+    public void test_save_olderResult_ignored() {
+        // ## Arrange ##
+        TransactionRecentResultRing ring = new TransactionRecentResultRing(2);
+        long first = ring.nextStatementNo();
+        ring.nextStatementNo();
+        long third = ring.nextStatementNo();
+        ring.save(createResult(third)); // faster thread
+
+        // ## Act ##
+        ring.save(createResult(first)); // slow thread, same slot
+
+        // ## Assert ##
+        List<Long> noList = ring.snapshot().stream().map(result -> result.getStatementNo()).collect(Collectors.toList());
+        assertEquals(1, noList.size());
+        assertEquals(third, noList.get(0).longValue());
+    }
+
+    protected TransactionSavedRecentResult createResult(long statementNo) {
+        return new TransactionSavedRecentResult(statementNo, "MEMBER", "selectCursor", 1L, 2L, void.class, null, null);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.jta.stage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dbflute.bhv.core.BehaviorCommandHook;
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.dbflute.hook.CallbackContext;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.db.replication.splitting.ReadWriteSplittingContext;
+import org.lastaflute.di.tx.TransactionCallback;
+import org.lastaflute.di.tx.TransactionManagerAdapter;
+
+/**
+ * @author jflute
+ */
+public class JTATransactionStageTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Settings/Helper
+    //                                                                     ===============
+    protected final List<String> adapterCallList = new ArrayList<String>();
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (ReadWriteSplittingContext.isReadOnlyOnThread()) {
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+        }
+        CallbackContext.clearCallbackContextOnThread();
+        super.tearDown();
+    }
+
+    // ===================================================================================
+    //                                                                           Read Only
+    //                                                                           =========
+    public void test_readOnly_genre() throws Exception {
+        // ## Arrange ##
+        JTATransactionStage stage = prepareStage();
+
+        // ## Act ##
+        Object result = stage.readOnly(tx -> {
+            assertTrue(tx.isReadOnly());
+            assertTrue(ReadWriteSplittingContext.isReadOnlyOnThread());
+            assertTrue(ReadWriteSplittingContext.isReadOnlyConnectionMarkingOnThread()); // new connection
+            tx.returns("sea");
+        }).get();
+
+        // ## Assert ##
+        assertEquals("sea", result);
+        assertEquals("[requiresNew]", adapterCallList.toString()); // new transaction
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+    }
+
+    public void test_readOnly_destructive_noConnectionMarking() throws Exception {
+        // ## Arrange ##
+        JTATransactionStage stage = prepareStage(new JTATransactionStage() {
+            @Override
+            protected boolean isDestructiveRequiresNewToRequired() {
+                return true;
+            }
+        });
+
+        // ## Act ##
+        stage.readOnly(tx -> {
+            assertTrue(tx.isReadOnly());
+            assertTrue(ReadWriteSplittingContext.isReadOnlyOnThread());
+            assertFalse(ReadWriteSplittingContext.isReadOnlyConnectionMarkingOnThread()); // may join outer transaction
+        });
+
+        // ## Assert ##
+        assertEquals("[required]", adapterCallList.toString());
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+    }
+
+    public void test_selectable_readOnly() throws Exception {
+        // ## Arrange ##
+        JTATransactionStage stage = prepareStage();
+
+        // ## Act ##
+        stage.selectable(tx -> {
+            assertTrue(tx.isReadOnly());
+            assertTrue(ReadWriteSplittingContext.isReadOnlyOnThread());
+        }, TransactionGenre.READ_ONLY);
+
+        // ## Assert ##
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+    }
+
+    // ===================================================================================
+    //                                                                      Suspend/Resume
+    //                                                                      ==============
+    public void test_requiresNew_suspendReadOnly() throws Exception {
+        // ## Arrange ##
+        JTATransactionStage stage = prepareStage();
+        BehaviorCommandHook appHook = createEmptyHook();
+        CallbackContext.setBehaviorCommandHookOnThread(appHook);
+        List<Boolean> readOnlyList = new ArrayList<Boolean>();
+
+        // ## Act ##
+        stage.readOnly(tx -> {
+            readOnlyList.add(ReadWriteSplittingContext.isReadOnlyOnThread());
+            stage.requiresNew(newTx -> {
+                readOnlyList.add(ReadWriteSplittingContext.isReadOnlyOnThread()); // suspended
+                assertFalse(newTx.isReadOnly());
+                assertSame(appHook, CallbackContext.getBehaviorCommandHookOnThread()); // restored while suspended
+            });
+            readOnlyList.add(ReadWriteSplittingContext.isReadOnlyOnThread()); // resumed
+        });
+
+        // ## Assert ##
+        assertEquals("[true, false, true]", readOnlyList.toString());
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+        assertSame(appHook, CallbackContext.getBehaviorCommandHookOnThread()); // not cleared by the scope
+    }
+
+    public void test_requiresNew_notReadOnly_noSuspend() throws Exception {
+        // ## Arrange ##
+        JTATransactionStage stage = prepareStage();
+
+        // ## Act ##
+        boolean suspended = stage.suspendReadOnlyIfNeeds();
+        stage.resumeReadOnlyIfNeeds(suspended);
+
+        // ## Assert ##
+        assertFalse(suspended);
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected JTATransactionStage prepareStage() throws Exception {
+        return prepareStage(new JTATransactionStage());
+    }
+
+    protected JTATransactionStage prepareStage(JTATransactionStage stage) throws Exception {
+        Field field = JTATransactionStage.class.getDeclaredField("transactionManagerAdapter");
+        field.setAccessible(true);
+        field.set(stage, createMockAdapter());
+        return stage;
+    }
+
+    protected TransactionManagerAdapter createMockAdapter() {
+        final Class<?>[] interfaces = new Class<?>[] { TransactionManagerAdapter.class };
+        return (TransactionManagerAdapter) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+            final String methodName = method.getName();
+            if (methodName.equals("required") || methodName.equals("requiresNew")) {
+                adapterCallList.add(methodName);
+                return ((TransactionCallback) args[0]).execute((TransactionManagerAdapter) proxy); // without real transaction
+            }
+            return null; // e.g. setRollbackOnly()
+        });
+    }
+
+    protected BehaviorCommandHook createEmptyHook() {
+        return new BehaviorCommandHook() {
+            public void hookBefore(BehaviorCommandMeta meta) {
+            }
+
+            public void hookFinally(BehaviorCommandMeta meta, RuntimeException cause) {
+            }
+        };
+    }
+}
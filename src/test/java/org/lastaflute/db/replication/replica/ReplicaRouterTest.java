@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.replica;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ReplicaRouterTest extends PlainTestCase {
+
+    public void test_select_weightedRandom() {
+        // ## Arrange ##
+        ReplicaRouter router = new ReplicaRouter(ReplicaRoutingStrategy.WEIGHTED_RANDOM).addReplica("slave1", 3).addReplica("slave2", 1);
+        Map<String, Integer> countMap = new HashMap<String, Integer>();
+
+        // ## Act ##
+        for (int i = 0; i < 4000; i++) {
+            countMap.merge(router.select().getName(), 1, Integer::sum);
+        }
+
+        // ## Assert ##
+        log(countMap);
+        assertTrue(countMap.get("slave1") > countMap.get("slave2") * 2);
+    }
+
+    public void test_select_leastOutstanding() {
+        // ## Arrange ##
+        ReplicaRouter router = new ReplicaRouter(ReplicaRoutingStrategy.LEAST_OUTSTANDING).addReplica("slave1", 1).addReplica("slave2", 1);
+        ReplicaNode busy = router.getReplicaList().get(0);
+        busy.beginAccess();
+
+        // ## Act ##
+        ReplicaNode selected = router.select();
+
+        // ## Assert ##
+        assertEquals("slave2", selected.getName());
+    }
+
+    public void test_recordFailure_ejected() {
+        // ## Arrange ##
+        ReplicaRouter router = new ReplicaRouter(ReplicaRoutingStrategy.WEIGHTED_RANDOM).addReplica("slave1", 1).ejectBy(2, 60000L);
+        ReplicaNode replica = router.getReplicaList().get(0);
+
+        // ## Act ##
+        router.recordFailure(replica);
+        ReplicaNode first = router.select();
+        router.recordFailure(replica);
+        ReplicaNode second = router.select();
+
+        // ## Assert ##
+        log(router);
+        assertEquals("slave1", first.getName());
+        assertNull(second); // ejected so master
+    }
+
+    public void test_select_latencyAware() {
+        // ## Arrange ##
+        ReplicaRouter router = new ReplicaRouter(ReplicaRoutingStrategy.LATENCY_AWARE).addReplica("slave1", 1).addReplica("slave2", 1);
+        ReplicaNode slow = router.getReplicaList().get(0);
+        ReplicaNode fast = router.getReplicaList().get(1);
+        router.recordSuccess(slow, 5000000L);
+        router.recordSuccess(fast, 1000000L);
+        router.recordSuccess(fast, 0L); // no command in the access
+
+        // ## Act ##
+        ReplicaNode selected = router.select();
+
+        // ## Assert ##
+        assertEquals("slave2", selected.getName());
+        assertEquals(1000000L, fast.getLatencyAverageNanos()); // not distorted by no-command access
+        assertEquals(2L, fast.getSuccessCount());
+    }
+}
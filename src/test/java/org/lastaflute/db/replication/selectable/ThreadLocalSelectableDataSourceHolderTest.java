@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.selectable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ThreadLocalSelectableDataSourceHolderTest extends PlainTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        ThreadLocalSelectableDataSourceHolder.selectableDataSourceKey.remove();
+        super.tearDown();
+    }
+
+    public void test_getSelectedDataSource_cached() {
+        // ## Arrange ##
+        MockDataSourceHolder holder = new MockDataSourceHolder();
+
+        // ## Act ##
+        holder.switchSelectableDataSourceKey("master");
+        DataSource firstMaster = holder.getSelectedDataSource();
+        DataSource secondMaster = holder.getSelectedDataSource();
+        holder.switchSelectableDataSourceKey("slave");
+        DataSource slave = holder.getSelectedDataSource();
+
+        // ## Assert ##
+        assertSame(firstMaster, secondMaster);
+        assertNotSame(firstMaster, slave);
+        assertEquals(2, holder.lookupNameList.size()); // once per key
+        assertEquals("masterDataSource", holder.lookupNameList.get(0));
+        assertEquals("slaveDataSource", holder.lookupNameList.get(1));
+    }
+
+    public void test_getSelectedDataSource_overriddenComponentName() {
+        // ## Arrange ##
+        MockDataSourceHolder holder = new MockDataSourceHolder() {
+            @Override
+            protected String getDataSourceComponentName() {
+                return "sea" + super.getDataSourceComponentName();
+            }
+        };
+        holder.switchSelectableDataSourceKey("master");
+
+        // ## Act ##
+        DataSource first = holder.getSelectedDataSource();
+        DataSource second = holder.getSelectedDataSource();
+
+        // ## Assert ##
+        assertSame(first, second);
+        assertEquals(1, holder.lookupNameList.size());
+        assertEquals("seamasterDataSource", holder.lookupNameList.get(0)); // by the overridden hook
+    }
+
+    public void test_getSelectedDataSource_noKey() {
+        // ## Arrange ##
+        MockDataSourceHolder holder = new MockDataSourceHolder();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> holder.getSelectedDataSource());
+        assertTrue(holder.lookupNameList.isEmpty());
+    }
+
+    protected static class MockDataSourceHolder extends ThreadLocalSelectableDataSourceHolder {
+
+        protected final List<String> lookupNameList = new ArrayList<String>();
+
+        @Override
+        protected DataSource lookupDataSource(String componentName) {
+            lookupNameList.add(componentName);
+            return createMockDataSource(componentName);
+        }
+
+        protected DataSource createMockDataSource(String componentName) {
+            final Class<?>[] interfaces = new Class<?>[] { DataSource.class };
+            return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+                final String methodName = method.getName();
+                if (methodName.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (methodName.equals("equals")) {
+                    return proxy == args[0];
+                } else if (methodName.equals("toString")) {
+                    return componentName;
+                }
+                return null; // not used
+            });
+        }
+    }
+}
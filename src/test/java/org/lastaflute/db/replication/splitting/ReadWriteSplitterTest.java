@@ -0,0 +1,226 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.db.replication.splitting;
+
+import javax.sql.DataSource;
+
+import org.dbflute.bhv.core.BehaviorCommandHook;
+import org.dbflute.bhv.core.BehaviorCommandMeta;
+import org.dbflute.hook.CallbackContext;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.magic.ThreadCacheContext;
+import org.lastaflute.db.replication.selectable.SelectableDataSourceHolder;
+import org.lastaflute.db.replication.slavedb.SlaveDBAccessorImpl;
+
+/**
+ * @author jflute
+ */
+public class ReadWriteSplitterTest extends PlainTestCase {
+
+    @Override
+    protected void tearDown() throws Exception {
+        ThreadCacheContext.clear();
+        super.tearDown();
+    }
+
+    public void test_determineReadDataSourceKey_requestPinned() {
+        // ## Arrange ##
+        ReadWriteSplitter splitter = new ReadWriteSplitter();
+        ThreadCacheContext.initialize();
+
+        // ## Act ##
+        String notReadOnly = splitter.determineReadDataSourceKey();
+        boolean begun = ReadWriteSplittingContext.beginReadOnlyOnThread();
+        String readOnly;
+        String written;
+        try {
+            readOnly = splitter.determineReadDataSourceKey();
+            ReadWriteSplittingContext.markWrittenOnThread();
+            written = splitter.determineReadDataSourceKey();
+        } finally {
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+        }
+
+        // ## Assert ##
+        assertTrue(begun);
+        assertNull(notReadOnly);
+        assertEquals("slave", readOnly);
+        assertNull(written); // read-your-writes
+    }
+
+    public void test_determineReadDataSourceKey_userPinned() {
+        // ## Arrange ##
+        ReadWriteSplitter splitter = new ReadWriteSplitter().pinUserToMaster(60000L, bean -> bean);
+        ThreadCacheContext.initialize();
+        ThreadCacheContext.registerUserBean("sea");
+        splitter.determineReadDataSourceKey(); // registered to thread
+        ReadWriteSplittingContext.markWrittenOnThread();
+        ThreadCacheContext.clear(); // end of request
+
+        // ## Act ##
+        ThreadCacheContext.initialize(); // next request of the user
+        ThreadCacheContext.registerUserBean("sea");
+        ReadWriteSplittingContext.beginReadOnlyOnThread();
+        String pinned;
+        String another;
+        try {
+            pinned = splitter.determineReadDataSourceKey();
+            ThreadCacheContext.registerUserBean("land");
+            another = splitter.determineReadDataSourceKey();
+        } finally {
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+        }
+
+        // ## Assert ##
+        assertNull(pinned);
+        assertEquals("slave", another);
+    }
+
+    public void test_determineReadDataSourceKey_lagOver() {
+        // ## Arrange ##
+        LocalReplicationLagMeasurer measurer = new LocalReplicationLagMeasurer(100L);
+        ReadWriteSplitter splitter = new ReadWriteSplitter().measureLagBy(measurer, 1000L);
+        ThreadCacheContext.initialize();
+        ReadWriteSplittingContext.beginReadOnlyOnThread();
+        String acceptable;
+        String over;
+        try {
+            // ## Act ##
+            acceptable = splitter.determineReadDataSourceKey();
+            measurer.updateLag("slave", 3000L);
+            over = splitter.determineReadDataSourceKey();
+        } finally {
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+        }
+
+        // ## Assert ##
+        assertEquals("slave", acceptable);
+        assertNull(over);
+    }
+
+    public void test_pinCurrentUser_purgeAmortized() {
+        // ## Arrange ##
+        MockTimeReadWriteSplitter splitter = new MockTimeReadWriteSplitter();
+        splitter.pinUserToMaster(1L, bean -> bean);
+        ThreadCacheContext.initialize();
+        int expiredCount = ReadWriteSplitter.USER_PINNING_PURGE_SIZE + 1;
+        for (int i = 0; i < expiredCount; i++) {
+            ThreadCacheContext.registerUserBean("sea" + i);
+            splitter.pinCurrentUser();
+        }
+        splitter.mockMillis = 100L; // the pins are expired
+
+        // ## Act ##
+        int interval = ReadWriteSplitter.USER_PINNING_PURGE_INTERVAL;
+        int beforePurgeCount = interval - (expiredCount % interval) - 1; // next one is at the interval
+        for (int i = 0; i < beforePurgeCount; i++) {
+            ThreadCacheContext.registerUserBean("land" + i);
+            splitter.pinCurrentUser();
+        }
+        int notPurgedSize = splitter.userPinnedUntilMap.size();
+        ThreadCacheContext.registerUserBean("piari");
+        splitter.pinCurrentUser(); // at the interval
+
+        // ## Assert ##
+        assertEquals(expiredCount + beforePurgeCount, notPurgedSize); // no full scan every write
+        assertEquals(beforePurgeCount + 1, splitter.userPinnedUntilMap.size()); // only not-expired
+    }
+
+    public void test_endReadOnlyOnThread_previousHookRestored() {
+        // ## Arrange ##
+        BehaviorCommandHook appHook = new BehaviorCommandHook() {
+            public void hookBefore(BehaviorCommandMeta meta) {
+            }
+
+            public void hookFinally(BehaviorCommandMeta meta, RuntimeException cause) {
+            }
+        };
+        CallbackContext.setBehaviorCommandHookOnThread(appHook);
+        try {
+            // ## Act ##
+            ReadWriteSplittingContext.beginReadOnlyOnThread();
+            BehaviorCommandHook scopeHook = CallbackContext.getBehaviorCommandHookOnThread();
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+
+            // ## Assert ##
+            assertNotSame(appHook, scopeHook); // chained with write detection
+            assertSame(appHook, CallbackContext.getBehaviorCommandHookOnThread());
+            assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+        } finally {
+            CallbackContext.clearCallbackContextOnThread();
+        }
+    }
+
+    public void test_endReadOnlyOnThread_noPreviousHook() {
+        // ## Arrange ##
+        ReadWriteSplittingContext.beginReadOnlyOnThread();
+
+        // ## Act ##
+        ReadWriteSplittingContext.endReadOnlyOnThread();
+
+        // ## Assert ##
+        assertNull(CallbackContext.getBehaviorCommandHookOnThread());
+        assertFalse(ReadWriteSplittingContext.isReadOnlyOnThread());
+    }
+
+    public void test_readOnly_slaveDBAccess_writeDetectionKept() {
+        // ## Arrange ##
+        SlaveDBAccessorImpl accessor = new SlaveDBAccessorImpl() {
+            {
+                selectableDataSourceHolder = new SelectableDataSourceHolder() {
+                    protected String currentKey = "master";
+
+                    public void switchSelectableDataSourceKey(String key) {
+                        currentKey = key;
+                    }
+
+                    public String getCurrentSelectableDataSourceKey() {
+                        return currentKey;
+                    }
+
+                    public DataSource getSelectedDataSource() {
+                        return null; // not used here
+                    }
+                };
+            }
+        };
+        ReadWriteSplittingContext.beginReadOnlyOnThread();
+        try {
+            BehaviorCommandHook scopeHook = CallbackContext.getBehaviorCommandHookOnThread();
+
+            // ## Act ##
+            BehaviorCommandHook accessHook = accessor.accessFixedly(() -> CallbackContext.getBehaviorCommandHookOnThread());
+
+            // ## Assert ##
+            assertNotSame(scopeHook, accessHook); // chained with forced master
+            assertSame(scopeHook, CallbackContext.getBehaviorCommandHookOnThread()); // write detection is still here
+        } finally {
+            ReadWriteSplittingContext.endReadOnlyOnThread();
+            CallbackContext.clearCallbackContextOnThread();
+        }
+        assertNull(CallbackContext.getBehaviorCommandHookOnThread());
+    }
+
+    protected static class MockTimeReadWriteSplitter extends ReadWriteSplitter {
+
+        protected long mockMillis;
+
+        @Override
+        protected long currentTimeMillis() {
+            return mockMillis;
+        }
+    }
+}
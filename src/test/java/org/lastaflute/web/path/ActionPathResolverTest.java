@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lastaflute.unit.UnitLastaFluteTestCase;
+import org.lastaflute.web.path.ActionPathResolver.MappingPathResource;
+import org.lastaflute.web.ruts.config.ModuleConfig;
+
+/**
+ * @author jflute
+ */
+public class ActionPathResolverTest extends UnitLastaFluteTestCase {
+
+    // ===================================================================================
+    //                                                                        Routing Trie
+    //                                                                        ============
+    public void test_mappingActionPath_byTrie_found() throws Exception {
+        // ## Arrange ##
+        MockActionPathResolver resolver = createResolver(prepareTrie());
+        resolver.acceptAction("sea_seaLandAction", "3");
+        resolver.acceptAction("seaAction", "");
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(resolver.mappingActionPath(newResource("/sea/land/3"), (req, actionName, paramPath, execute) -> true));
+        assertEquals(Arrays.asList("sea_seaLandAction(3)"), resolver.handledList);
+        assertFalse(resolver.guessed);
+
+        resolver.handledList.clear();
+        assertTrue(resolver.mappingActionPath(newResource("/sea/"), (req, actionName, paramPath, execute) -> true));
+        assertEquals(Arrays.asList("seaAction()"), resolver.handledList);
+        assertFalse(resolver.guessed);
+    }
+
+    public void test_mappingActionPath_byTrie_rootAction() throws Exception {
+        // ## Arrange ##
+        MockActionPathResolver resolver = createResolver(prepareTrie());
+        resolver.acceptAction("rootAction", "");
+        resolver.acceptAction("rootAction", "piari");
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(resolver.mappingActionPath(newResource("/"), (req, actionName, paramPath, execute) -> true));
+        assertEquals(Arrays.asList("rootAction()"), resolver.handledList);
+        assertFalse(resolver.guessed);
+
+        assertTrue(resolver.mappingActionPath(newResource("/piari"), (req, actionName, paramPath, execute) -> true));
+        assertEquals(Arrays.asList("rootAction()"), resolver.handledList); // root with param path is by guessing
+        assertTrue(resolver.guessed);
+    }
+
+    public void test_mappingActionPath_byTrie_partial_notRootFallback() throws Exception {
+        // ## Arrange ##
+        ActionRoutingTrie trie = new ActionRoutingTrie(); // e.g. warm deploy, only root action is registered yet
+        trie.registerAction(Arrays.asList("root"), 0, "rootAction");
+        trie.registerRootAction("rootAction");
+        MockActionPathResolver resolver = createResolver(trie);
+        resolver.acceptAction("rootAction", "sea/3"); // root execute accepts path params
+
+        // ## Act ##
+        boolean handled = resolver.mappingActionPath(newResource("/sea/3"), (req, actionName, paramPath, execute) -> true);
+
+        // ## Assert ##
+        assertTrue(handled);
+        assertTrue(resolver.handledList.isEmpty()); // not handed to root action by the trie
+        assertTrue(resolver.guessed); // guessing process registers seaAction
+    }
+
+    public void test_mappingActionPath_byTrie_upperCase() throws Exception {
+        // ## Arrange ##
+        MockActionPathResolver resolver = createResolver(prepareTrie());
+        resolver.acceptAction("sea_seaLandAction", "");
+        resolver.guessingResult = false; // also not found by guessing process
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(resolver.mappingActionPath(newResource("/sea/Land/"), (req, actionName, paramPath, execute) -> true));
+        assertTrue(resolver.handledList.isEmpty());
+    }
+
+    public void test_mappingActionPath_trieMissed_fallbackToGuessing() throws Exception {
+        // ## Arrange ##
+        MockActionPathResolver resolver = createResolver(prepareTrie()); // e.g. bonvoAction is registered lazily
+
+        // ## Act ##
+        boolean handled = resolver.mappingActionPath(newResource("/bonvo/"), (req, actionName, paramPath, execute) -> true);
+
+        // ## Assert ##
+        assertTrue(handled);
+        assertTrue(resolver.guessed);
+    }
+
+    public void test_mappingActionPath_noTrie_suppressed() throws Exception {
+        // ## Arrange ##
+        MockActionPathResolver resolver = createResolver(null);
+        resolver.actionAdjustmentProvider = new ActionAdjustmentProvider() {
+            @Override
+            public boolean isSuppressCompiledActionRouting() {
+                return true;
+            }
+        };
+
+        // ## Act ##
+        boolean handled = resolver.mappingActionPath(newResource("/sea/"), (req, actionName, paramPath, execute) -> true);
+
+        // ## Assert ##
+        assertTrue(handled);
+        assertTrue(resolver.guessed);
+        assertNull(resolver.moduleConfig.getRoutingTrie());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected ActionRoutingTrie prepareTrie() {
+        ActionRoutingTrie trie = new ActionRoutingTrie();
+        trie.registerAction(Arrays.asList("sea"), 0, "seaAction");
+        trie.registerAction(Arrays.asList("sea", "land"), 1, "sea_seaLandAction");
+        trie.registerAction(Arrays.asList("root"), 0, "rootAction");
+        trie.registerRootAction("rootAction");
+        return trie;
+    }
+
+    protected MockActionPathResolver createResolver(ActionRoutingTrie trie) {
+        ModuleConfig moduleConfig = new ModuleConfig();
+        if (trie != null) {
+            moduleConfig.acceptRoutingTrie(trie);
+        }
+        MockActionPathResolver resolver = new MockActionPathResolver(moduleConfig);
+        resolver.actionAdjustmentProvider = new ActionAdjustmentProvider() {
+        };
+        return resolver;
+    }
+
+    protected MappingPathResource newResource(String requestPath) {
+        return new MappingPathResource(requestPath, requestPath, null);
+    }
+
+    protected static class MockActionPathResolver extends ActionPathResolver {
+
+        protected final ModuleConfig moduleConfig;
+        protected final Map<String, List<String>> acceptedMap = new HashMap<String, List<String>>(); // action name to param paths
+        protected final List<String> handledList = new ArrayList<String>();
+        protected boolean guessed;
+        protected boolean guessingResult = true; // as found by container
+
+        public MockActionPathResolver(ModuleConfig moduleConfig) {
+            this.moduleConfig = moduleConfig;
+        }
+
+        public void acceptAction(String actionName, String paramPath) {
+            acceptedMap.computeIfAbsent(actionName, key -> new ArrayList<String>()).add(paramPath);
+        }
+
+        @Override
+        protected ModuleConfig getModuleConfig() {
+            return moduleConfig;
+        }
+
+        @Override
+        protected boolean executeHandlerIfFound(MappingPathResource pathResource, ActionFoundPathHandler handler, String actionName,
+                String paramPath) throws Exception {
+            final String realParamPath = paramPath != null ? paramPath : "";
+            final List<String> paramPathList = acceptedMap.get(actionName);
+            if (paramPathList != null && paramPathList.contains(realParamPath)) { // as execute method found
+                handledList.add(actionName + "(" + realParamPath + ")");
+                return handler.handleActionPath(pathResource.getRequestPath(), actionName, realParamPath, null);
+            }
+            return false;
+        }
+
+        @Override
+        protected boolean mappingActionPathByGuessing(MappingPathResource pathResource, ActionFoundPathHandler handler) {
+            guessed = true;
+            return guessingResult;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.path;
+
+import java.util.Arrays;
+
+import org.lastaflute.unit.UnitLastaFluteTestCase;
+import org.lastaflute.web.path.ActionRoutingTrie.RoutingNode;
+
+/**
+ * @author jflute
+ */
+public class ActionRoutingTrieTest extends UnitLastaFluteTestCase {
+
+    public void test_registerAction_priority() {
+        // ## Arrange ##
+        ActionRoutingTrie trie = new ActionRoutingTrie();
+
+        // ## Act ##
+        trie.registerAction(Arrays.asList("sea", "land"), 2, "sea_land_seaLandAction");
+        trie.registerAction(Arrays.asList("sea"), 0, "seaAction");
+        trie.registerAction(Arrays.asList("sea", "land"), 0, "seaLandAction");
+        trie.registerAction(Arrays.asList("sea", "land"), 1, "sea_seaLandAction");
+        trie.registerAction(Arrays.asList("root"), 0, "rootAction");
+        trie.registerRootAction("rootAction");
+
+        // ## Assert ##
+        RoutingNode sea = trie.getTopNode().findChild("sea");
+        assertNotNull(sea);
+        assertEquals(Arrays.asList("seaAction"), sea.getActionNameList());
+        RoutingNode land = sea.findChild("land");
+        assertNotNull(land);
+        assertEquals(Arrays.asList("seaLandAction", "sea_seaLandAction", "sea_land_seaLandAction"), land.getActionNameList());
+        assertNull(land.findChild("piari"));
+        assertNull(trie.getTopNode().findChild("land"));
+        assertEquals("rootAction", trie.getRootActionName());
+        assertEquals(5, trie.getActionCount());
+        log(trie);
+    }
+
+    public void test_registerAction_middleNode() {
+        // ## Arrange ##
+        ActionRoutingTrie trie = new ActionRoutingTrie();
+
+        // ## Act ##
+        trie.registerAction(Arrays.asList("sea", "land"), 1, "sea_seaLandAction");
+
+        // ## Assert ##
+        RoutingNode sea = trie.getTopNode().findChild("sea");
+        assertNotNull(sea);
+        assertTrue(sea.getActionNameList().isEmpty());
+        assertNull(trie.getRootActionName());
+    }
+}
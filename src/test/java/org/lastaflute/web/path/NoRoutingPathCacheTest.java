@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.path;
+
+import org.lastaflute.unit.UnitLastaFluteTestCase;
+
+/**
+ * @author jflute
+ */
+public class NoRoutingPathCacheTest extends UnitLastaFluteTestCase {
+
+    public void test_register_basic() {
+        // ## Arrange ##
+        NoRoutingPathCache cache = new NoRoutingPathCache(3);
+
+        // ## Act ##
+        cache.register("GET /sea/");
+        cache.register("GET /sea/"); // duplicate
+
+        // ## Assert ##
+        log(cache);
+        assertTrue(cache.contains("GET /sea/"));
+        assertFalse(cache.contains("POST /sea/")); // HTTP method is different
+        assertFalse(cache.contains("GET /land/"));
+        assertEquals(1, cache.size());
+    }
+
+    public void test_register_clearAllAtLimit() {
+        // ## Arrange ##
+        NoRoutingPathCache cache = new NoRoutingPathCache(3);
+        cache.register("GET /sea/");
+        cache.register("GET /land/");
+        cache.register("GET /piari/");
+        assertEquals(3, cache.size());
+
+        // ## Act ##
+        cache.register("GET /bonvo/"); // over limit
+
+        // ## Assert ##
+        log(cache);
+        assertEquals(1, cache.size()); // restarted
+        assertTrue(cache.contains("GET /bonvo/"));
+        assertFalse(cache.contains("GET /sea/"));
+        assertFalse(cache.contains("GET /land/"));
+        assertFalse(cache.contains("GET /piari/"));
+    }
+
+    public void test_register_bounded() {
+        // ## Arrange ##
+        NoRoutingPathCache cache = new NoRoutingPathCache(10);
+
+        // ## Act ##
+        for (int i = 0; i < 1000; i++) { // e.g. scan storm
+            cache.register("GET /scan" + i + "/");
+        }
+
+        // ## Assert ##
+        assertTrue(cache.size() <= cache.getLimit());
+        assertTrue(cache.contains("GET /scan999/"));
+    }
+
+    public void test_clear() {
+        // ## Arrange ##
+        NoRoutingPathCache cache = new NoRoutingPathCache(3);
+        cache.register("GET /sea/");
+
+        // ## Act ##
+        cache.clear(); // e.g. new action registered
+
+        // ## Assert ##
+        assertFalse(cache.contains("GET /sea/"));
+        assertEquals(0, cache.size());
+    }
+
+    public void test_constructor_illegalLimit() {
+        try {
+            new NoRoutingPathCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+}
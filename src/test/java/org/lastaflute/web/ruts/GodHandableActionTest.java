@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.db.jta.stage.NoneTransactionStage;
+import org.lastaflute.db.jta.stage.TransactionGenre;
+import org.lastaflute.unit.mock.web.MockRequestManager;
+import org.lastaflute.web.Execute;
+import org.lastaflute.web.LastaAction;
+import org.lastaflute.web.path.ActionAdjustmentProvider;
+import org.lastaflute.web.response.HtmlResponse;
+import org.lastaflute.web.ruts.config.ActionExecute;
+import org.lastaflute.web.ruts.config.ActionMapping;
+import org.lastaflute.web.ruts.config.ActionMappingBasicTest;
+import org.lastaflute.web.ruts.process.ActionRuntime;
+
+/**
+ * @author jflute
+ */
+public class GodHandableActionTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                   Transaction Genre
+    //                                                                   =================
+    public void test_transactionGenre_readOnlyExecute() throws Exception {
+        assertEquals(TransactionGenre.READ_ONLY, prepareGodHand("readOnly", "post", false).getExecuteTransactionGenre());
+        assertEquals(TransactionGenre.READ_ONLY, prepareGodHand("readOnly", "post", true).getExecuteTransactionGenre());
+    }
+
+    public void test_transactionGenre_safeHttpMethod() throws Exception {
+        assertEquals(TransactionGenre.READ_ONLY, prepareGodHand("index", "get", true).getExecuteTransactionGenre());
+        assertEquals(TransactionGenre.READ_ONLY, prepareGodHand("index", "head", true).getExecuteTransactionGenre());
+        assertEquals(TransactionGenre.REQUIRES_NEW, prepareGodHand("index", "post", true).getExecuteTransactionGenre());
+        assertEquals(TransactionGenre.REQUIRES_NEW, prepareGodHand("index", "put", true).getExecuteTransactionGenre());
+    }
+
+    public void test_transactionGenre_safeHttpMethod_notEnabled() throws Exception {
+        assertEquals(TransactionGenre.REQUIRES_NEW, prepareGodHand("index", "get", false).getExecuteTransactionGenre());
+        assertEquals(TransactionGenre.REQUIRES_NEW, prepareGodHand("index", "head", false).getExecuteTransactionGenre());
+    }
+
+    public void test_transactionGenre_suppressTransaction() throws Exception {
+        assertEquals(TransactionGenre.NONE, prepareGodHand("suppressed", "get", true).getExecuteTransactionGenre()); // not switched
+    }
+
+    private static class GenreAction extends LastaAction {
+
+        @Execute
+        public HtmlResponse index() {
+            return HtmlResponse.asEmptyBody();
+        }
+
+        @Execute(readOnlyTransaction = true)
+        public HtmlResponse readOnly() {
+            return HtmlResponse.asEmptyBody();
+        }
+
+        @Execute(suppressTransaction = true)
+        public HtmlResponse suppressed() {
+            return HtmlResponse.asEmptyBody();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected GodHandableAction prepareGodHand(String methodName, String httpMethod, boolean readOnlyForSafe) throws Exception {
+        ActionMapping mapping = ActionMappingBasicTest.prepareMapping(GenreAction.class);
+        ActionExecute execute = mapping.getActionExecute(GenreAction.class.getMethod(methodName));
+        ActionRuntime runtime = new ActionRuntime("/genre/", execute, null);
+        MockRequestManager requestManager = new MockRequestManager() {
+            @Override
+            public boolean isHttpMethod(String specified) {
+                return httpMethod.equalsIgnoreCase(specified);
+            }
+
+            @Override
+            public boolean isHttpMethodGet() {
+                return isHttpMethod("get");
+            }
+
+            @Override
+            public ActionAdjustmentProvider getActionAdjustmentProvider() {
+                return new ActionAdjustmentProvider() {
+                    @Override
+                    public boolean isReadOnlyTransactionForSafeHttpMethod() {
+                        return readOnlyForSafe;
+                    }
+                };
+            }
+        };
+        return new GodHandableAction(runtime, null, NoneTransactionStage.DEFAULT_INSTANCE, requestManager) {
+            @Override
+            protected Object createAction() {
+                return null; // not used
+            }
+
+            @Override
+            protected RedCardableAssist createRedCardableAssist() {
+                return null; // not used
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.config;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.lastaflute.unit.UnitLastaFluteTestCase;
+
+/**
+ * @author jflute
+ */
+public class PreparedExecuteInvokerTest extends UnitLastaFluteTestCase {
+
+    // ===================================================================================
+    //                                                                              Invoke
+    //                                                                              ======
+    public void test_invoke_basic() throws Throwable {
+        // ## Arrange ##
+        Method method = InvokerSeaAction.class.getMethod("index", String.class, Integer.class);
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(method);
+        InvokerSeaAction action = new InvokerSeaAction();
+        Object[] args = new Object[] { "land", 3 };
+
+        // ## Act ##
+        Object result = invoker.invoke(action, args);
+
+        // ## Assert ##
+        log(invoker, result);
+        assertEquals("land:3", result);
+        assertEquals(method.invoke(action, args), result); // same as reflection
+        assertEquals("land:null", invoker.invoke(action, new Object[] { "land", null }));
+    }
+
+    public void test_invoke_void() throws Throwable {
+        // ## Arrange ##
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(InvokerSeaAction.class.getMethod("nothing"));
+
+        // ## Act ##
+        Object result = invoker.invoke(new InvokerSeaAction(), new Object[] {});
+
+        // ## Assert ##
+        assertNull(result);
+    }
+
+    public void test_invoke_enhanced() throws Throwable {
+        // ## Arrange ##
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(InvokerSeaAction.class.getMethod("index", String.class, Integer.class));
+
+        // ## Act ##
+        Object result = invoker.invoke(new EnhancedInvokerSeaAction(), new Object[] { "land", 3 });
+
+        // ## Assert ##
+        assertEquals("enhanced:land:3", result); // virtual call like reflection
+    }
+
+    // ===================================================================================
+    //                                                                           Exception
+    //                                                                           =========
+    public void test_invoke_runtimeException_notWrapped() throws Exception {
+        // ## Arrange ##
+        Method method = InvokerSeaAction.class.getMethod("index", String.class, Integer.class);
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(method);
+        Object[] args = new Object[] { "broken", 3 };
+        Throwable reflectionCause = null;
+        try {
+            method.invoke(new InvokerSeaAction(), args);
+            fail();
+        } catch (InvocationTargetException e) {
+            reflectionCause = e.getTargetException();
+        }
+
+        // ## Act ##
+        try {
+            invoker.invoke(new InvokerSeaAction(), args);
+            // ## Assert ##
+            fail();
+        } catch (Throwable e) {
+            log(e.getMessage());
+            assertEquals(IllegalStateException.class, e.getClass()); // as unwrapped by reflection
+            assertEquals(reflectionCause.getClass(), e.getClass());
+            assertEquals(reflectionCause.getMessage(), e.getMessage());
+        }
+    }
+
+    public void test_invoke_checkedException_notWrapped() throws Exception {
+        // ## Arrange ##
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(InvokerSeaAction.class.getMethod("checked", String.class));
+
+        // ## Act ##
+        try {
+            invoker.invoke(new InvokerSeaAction(), new Object[] { "land" });
+            // ## Assert ##
+            fail();
+        } catch (Throwable e) {
+            log(e.getMessage());
+            assertEquals(IOException.class, e.getClass());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Argument
+    //                                                                            ========
+    public void test_matchesArgument() throws Exception {
+        // ## Arrange ##
+        PreparedExecuteInvoker invoker = new PreparedExecuteInvoker(InvokerSeaAction.class.getMethod("index", String.class, Integer.class));
+
+        // ## Act ##
+        // ## Assert ##
+        assertTrue(invoker.matchesArgument(new Object[] { "land", 3 }));
+        assertTrue(invoker.matchesArgument(new Object[] { null, null }));
+        assertFalse(invoker.matchesArgument(new Object[] { "land" })); // length
+        assertFalse(invoker.matchesArgument(new Object[] { "land", "3" })); // type
+        assertFalse(invoker.matchesArgument(new Object[] { 3, "land" })); // order
+    }
+
+    public void test_constructor_primitiveParameter() throws Exception {
+        try {
+            new PreparedExecuteInvoker(InvokerSeaAction.class.getMethod("primitive", int.class));
+            fail();
+        } catch (IllegalArgumentException e) {
+            log(e.getMessage());
+        }
+    }
+
+    public void test_constructor_nonPublicClass() throws Exception {
+        try {
+            new PreparedExecuteInvoker(HiddenSeaAction.class.getMethod("index"));
+            fail();
+        } catch (IllegalAccessException e) { // reflection is used instead
+            log(e.getMessage());
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Action
+    //                                                                         ===========
+    public static class InvokerSeaAction {
+
+        public String index(String first, Integer second) {
+            if ("broken".equals(first)) {
+                throw new IllegalStateException("broken in action");
+            }
+            return first + ":" + second;
+        }
+
+        public void nothing() {
+        }
+
+        public String checked(String first) throws IOException {
+            throw new IOException("checked in action: " + first);
+        }
+
+        public String primitive(int first) {
+            return String.valueOf(first);
+        }
+    }
+
+    public static class EnhancedInvokerSeaAction extends InvokerSeaAction {
+
+        @Override
+        public String index(String first, Integer second) { // as intercepted
+            return "enhanced:" + super.index(first, second);
+        }
+    }
+
+    private static class HiddenSeaAction {
+
+        @SuppressWarnings("unused")
+        public String index() {
+            return "hidden";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.config.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.lastaflute.unit.UnitLastaFluteTestCase;
+import org.lastaflute.web.Execute;
+import org.lastaflute.web.LastaAction;
+import org.lastaflute.web.response.HtmlResponse;
+import org.lastaflute.web.ruts.config.ActionExecute;
+import org.lastaflute.web.ruts.config.ActionMapping;
+import org.lastaflute.web.ruts.config.ActionMappingBasicTest;
+
+/**
+ * @author jflute
+ */
+public class ActionRoutingByPathParamSelectorTest extends UnitLastaFluteTestCase {
+
+    // ===================================================================================
+    //                                                                         Overlapping
+    //                                                                         ===========
+    public void test_select_overlapping_sameAsOneByOne() {
+        // ## Arrange ##
+        ActionMapping mapping = ActionMappingBasicTest.prepareMapping(OverlappingAction.class);
+        List<ActionExecute> executeList = new ArrayList<ActionExecute>(mapping.getExecuteMap().values());
+        ActionRoutingByPathParamSelector selector = new ActionRoutingByPathParamSelector(executeList, () -> "get");
+        log(selector);
+
+        // ## Act ##
+        // ## Assert ##
+        List<String> pathList = Arrays.asList("sea", "1", "-1", "sea/land", "sea/1", "1/2", "named/1", "named/sea", "named/sea/land",
+                "land/sea", "land/1", "land/sea/piari", "sea/land/piari", "named", "land");
+        for (String paramPath : pathList) {
+            ActionExecute expected = selectOneByOne(executeList, paramPath);
+            ActionExecute actual = selector.select(paramPath);
+            log(paramPath + " => " + (actual != null ? actual.getExecuteMethod().getName() : null));
+            assertEquals("paramPath=" + paramPath, expected, actual);
+        }
+    }
+
+    public void test_select_overlapping_expected() {
+        // ## Arrange ##
+        ActionMapping mapping = ActionMappingBasicTest.prepareMapping(OverlappingAction.class);
+        List<ActionExecute> executeList = new ArrayList<ActionExecute>(mapping.getExecuteMap().values());
+        ActionRoutingByPathParamSelector selector = new ActionRoutingByPathParamSelector(executeList, () -> "get");
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals("index", selector.select("sea/land").getExecuteMethod().getName()); // only index
+        assertEquals("index", selector.select("1/2").getExecuteMethod().getName()); // only index
+        assertNull(selector.select("sea/land/piari"));
+    }
+
+    private static class OverlappingAction extends LastaAction {
+
+        @Execute
+        public HtmlResponse index(String first, String second) { // overlaps with named/{} and land/{}
+            return HtmlResponse.asEmptyBody();
+        }
+
+        @Execute
+        public HtmlResponse named(Integer first) {
+            return HtmlResponse.asEmptyBody();
+        }
+
+        @Execute
+        public HtmlResponse land(String first) {
+            return HtmlResponse.asEmptyBody();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Mapping Select
+    //                                                                      ==============
+    public void test_findActionExecute_compiledSameAsOneByOne() {
+        // ## Arrange ##
+        ActionMapping mapping = ActionMappingBasicTest.prepareMapping(OverlappingAction.class);
+        List<ActionExecute> executeList = new ArrayList<ActionExecute>(mapping.getExecuteMap().values());
+
+        // ## Act ##
+        // ## Assert ##
+        for (String paramPath : Arrays.asList("sea/land", "named/1", "land/sea", "sea/land/piari")) {
+            assertEquals(selectOneByOne(executeList, paramPath), mapping.findActionExecute(paramPath));
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected ActionExecute selectOneByOne(List<ActionExecute> executeList, String paramPath) { // as before compiled
+        for (ActionExecute execute : executeList) {
+            if (execute.determineTargetByPathParameter(paramPath)) {
+                return execute;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.message.objective;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class CompiledMessageFormatTest extends PlainTestCase {
+
+    public void test_format_shareable() {
+        // ## Arrange ##
+        CompiledMessageFormat format = new CompiledMessageFormat("{0} is required for {1}", Locale.ENGLISH);
+
+        // ## Act ##
+        String message = format.format(new Object[] { "sea", "land" });
+
+        // ## Assert ##
+        log(format);
+        assertTrue(format.isShareable());
+        assertEquals("sea is required for land", message);
+    }
+
+    public void test_format_subFormat_cloned() {
+        // ## Arrange ##
+        CompiledMessageFormat format = new CompiledMessageFormat("{0,number,#,##0} or less", Locale.ENGLISH);
+
+        // ## Act ##
+        String message = format.format(new Object[] { 12345 });
+
+        // ## Assert ##
+        log(format);
+        assertFalse(format.isShareable());
+        assertEquals("12,345 or less", message);
+    }
+
+    public void test_format_threadSafe() throws Exception {
+        // ## Arrange ##
+        CompiledMessageFormat format = new CompiledMessageFormat("{0,number,#,##0} of {1}", Locale.ENGLISH);
+        ExecutorService service = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futureList = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                final int base = i * 1000;
+                futureList.add(service.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        int number = base + j;
+                        String expected = String.format(Locale.ENGLISH, "%,d of %s", number, "sea" + number);
+                        if (!expected.equals(format.format(new Object[] { number, "sea" + number }))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            // ## Act ##
+            // ## Assert ##
+            for (Future<Boolean> future : futureList) {
+                assertTrue(future.get());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+}
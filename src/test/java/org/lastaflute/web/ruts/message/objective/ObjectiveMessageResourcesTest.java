@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.message.objective;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ObjectiveMessageResourcesTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                      Format Message
+    //                                                                      ==============
+    public void test_formatMessage_cached() {
+        // ## Arrange ##
+        MockMessageResources resources = new MockMessageResources();
+        resources.messageMap.put("errors.required", "{0} is required");
+
+        // ## Act ##
+        String first = resources.formatMessage(Locale.ENGLISH, "errors.required", new Object[] { "sea" });
+        String second = resources.formatMessage(Locale.ENGLISH, "errors.required", new Object[] { "land" });
+
+        // ## Assert ##
+        assertEquals("sea is required", first);
+        assertEquals("land is required", second);
+        assertEquals(1, resources.loadedCount.get()); // compiled once
+    }
+
+    public void test_formatMessage_perLocale() {
+        // ## Arrange ##
+        MockMessageResources resources = new MockMessageResources();
+        resources.messageMap.put("errors.required", "{0} is required");
+
+        // ## Act ##
+        String english = resources.formatMessage(Locale.ENGLISH, "errors.required", new Object[] { "sea" });
+        String german = resources.formatMessage(Locale.GERMAN, "errors.required", new Object[] { "land" });
+        String englishAgain = resources.formatMessage(Locale.ENGLISH, "errors.required", new Object[] { "piari" });
+
+        // ## Assert ##
+        assertEquals("sea is required", english);
+        assertEquals("land is required", german);
+        assertEquals("piari is required", englishAgain);
+        assertEquals(2, resources.loadedCount.get()); // compiled per locale
+    }
+
+    public void test_formatMessage_escapedQuote() {
+        // ## Arrange ##
+        MockMessageResources resources = new MockMessageResources();
+        resources.messageMap.put("errors.quoted", "{0} isn't allowed");
+
+        // ## Act ##
+        String message = resources.formatMessage(Locale.ENGLISH, "errors.quoted", new Object[] { "sea" });
+
+        // ## Assert ##
+        assertEquals("sea isn't allowed", message);
+    }
+
+    public void test_formatMessage_notFound() {
+        // ## Arrange ##
+        MockMessageResources resources = new MockMessageResources();
+
+        // ## Act ##
+        // ## Assert ##
+        assertNull(resources.formatMessage(Locale.ENGLISH, "errors.none", new Object[] { "sea" }));
+        resources.returnNull = false;
+        assertContains(resources.formatMessage(Locale.ENGLISH, "errors.none", new Object[] { "sea" }), "???");
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected static class MockMessageResources extends ObjectiveMessageResources {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final Map<String, String> messageMap = new HashMap<String, String>();
+        protected final AtomicInteger loadedCount = new AtomicInteger();
+
+        @Override
+        public String getMessage(Locale locale, String key) {
+            loadedCount.incrementAndGet();
+            return messageMap.get(key);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.ruts.process.populate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.json.engine.GsonJsonEngine;
+import org.lastaflute.unit.mock.web.MockRequestManager;
+
+/**
+ * @author jflute
+ */
+public class JsonBodyHeadKeepingReaderTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Kept Body
+    //                                                                           =========
+    public void test_keptBody_whole() throws Exception {
+        // ## Arrange ##
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader("{\"name\":\"sea\"}"), 100);
+
+        // ## Act ##
+        MockBody body = new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class);
+
+        // ## Assert ##
+        assertEquals("sea", body.name);
+        assertEquals("{\"name\":\"sea\"}", reader.getKeptBody());
+        assertTrue(reader.isWholeKept());
+        assertNull(reader.getReadFailure());
+    }
+
+    public void test_keptBody_overLimit() throws Exception {
+        // ## Arrange ##
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader("{\"name\":\"mystic\"}"), 5);
+
+        // ## Act ##
+        MockBody body = new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class);
+
+        // ## Assert ##
+        assertEquals("mystic", body.name); // parsed as whole
+        assertEquals("{\"nam", reader.getKeptBody()); // head only
+        assertFalse(reader.isWholeKept());
+    }
+
+    public void test_keptBody_singleCharRead() throws Exception {
+        // ## Arrange ##
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader("abc"), 2);
+
+        // ## Act ##
+        int first = reader.read();
+        int second = reader.read();
+        int third = reader.read();
+        int end = reader.read();
+
+        // ## Assert ##
+        assertEquals('a', first);
+        assertEquals('b', second);
+        assertEquals('c', third);
+        assertEquals(-1, end);
+        assertEquals("ab", reader.getKeptBody());
+        assertFalse(reader.isWholeKept());
+    }
+
+    public void test_keptBody_zeroLimit() throws Exception {
+        // ## Arrange ##
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader("{}"), 0);
+
+        // ## Act ##
+        new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class);
+
+        // ## Assert ##
+        assertEquals("", reader.getKeptBody());
+        assertFalse(reader.isWholeKept());
+    }
+
+    public void test_keptBody_illegalLimit() throws Exception {
+        assertException(IllegalArgumentException.class, () -> new JsonBodyHeadKeepingReader(new StringReader("{}"), -1));
+    }
+
+    // ===================================================================================
+    //                                                                        Read Failure
+    //                                                                        ============
+    public void test_readFailure_kept() throws Exception {
+        // ## Arrange ##
+        IOException failure = new IOException("broken body");
+        Reader brokenReader = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw failure;
+            }
+
+            @Override
+            public void close() throws IOException {
+            }
+        };
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(brokenReader, 10);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(RuntimeException.class, () -> new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class));
+        assertEquals(failure, reader.getReadFailure()); // distinguished from parse failure
+    }
+
+    public void test_parseFailure_noReadFailure() throws Exception {
+        // ## Arrange ##
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader("{\"name\":"), 10);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(RuntimeException.class, () -> new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class));
+        assertNull(reader.getReadFailure());
+        assertEquals("{\"name\":", reader.getKeptBody());
+    }
+
+    public void test_parseFailure_drainUpToLimit_whole() throws Exception {
+        // ## Arrange ##
+        String json = "{\"name\":}" + buildSpaces(3000) + "\"sea\""; // longer than parser buffer
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader(json), 5000);
+        assertException(RuntimeException.class, () -> new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class));
+        assertFalse(reader.isWholeKept()); // parser stops at its buffer
+
+        // ## Act ##
+        reader.drainUpToLimit();
+
+        // ## Assert ##
+        assertTrue(reader.isWholeKept());
+        assertEquals(json, reader.getKeptBody());
+    }
+
+    public void test_parseFailure_drainUpToLimit_over() throws Exception {
+        // ## Arrange ##
+        String json = "{\"name\":}" + buildSpaces(3000) + "\"sea\"";
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(new StringReader(json), 2000);
+        assertException(RuntimeException.class, () -> new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class));
+
+        // ## Act ##
+        reader.drainUpToLimit();
+
+        // ## Assert ##
+        assertFalse(reader.isWholeKept());
+        assertEquals(json.substring(0, 2000), reader.getKeptBody());
+    }
+
+    // ===================================================================================
+    //                                                                        Request Body
+    //                                                                        ============
+    public void test_requestBodyReader_defaultFallback() throws Exception {
+        // ## Arrange ##
+        MockRequestManager requestManager = new MockRequestManager() {
+            @Override
+            public String getRequestBody() {
+                return "{\"name\":\"land\"}";
+            }
+        };
+
+        // ## Act ##
+        BufferedReader bodyReader = requestManager.getRequestBodyReader(); // default method wraps string body
+        JsonBodyHeadKeepingReader reader = new JsonBodyHeadKeepingReader(bodyReader, 100);
+        MockBody body = new GsonJsonEngine(builder -> {}, op -> {}).fromJsonReader(reader, MockBody.class);
+
+        // ## Assert ##
+        assertEquals("land", body.name);
+        assertEquals("{\"name\":\"land\"}", reader.getKeptBody());
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected String buildSpaces(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    public static class MockBody {
+        public String name;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.web.servlet.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Proxy;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class ResponseWritePerformerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                      Writer Calling
+    //                                                                      ==============
+    public void test_write_byWriter_success() throws Exception {
+        // ## Arrange ##
+        MockResponseWritePerformer performer = new MockResponseWritePerformer(100);
+
+        // ## Act ##
+        performer.write(createMockResponse(), writer -> {
+            writer.write("{\"sea\":");
+            writer.write("\"mystic\"}");
+        }, "application/json", "UTF-8");
+
+        // ## Assert ##
+        assertTrue(performer.opened);
+        assertEquals("{\"sea\":\"mystic\"}", performer.output.toString("UTF-8"));
+    }
+
+    public void test_write_byWriter_overBufferLimit() throws Exception {
+        // ## Arrange ##
+        MockResponseWritePerformer performer = new MockResponseWritePerformer(4);
+
+        // ## Act ##
+        performer.write(createMockResponse(), writer -> {
+            writer.write("[1,");
+            writer.write("2,3]");
+        }, "application/json", "UTF-8");
+
+        // ## Assert ##
+        assertEquals("[1,2,3]", performer.output.toString("UTF-8"));
+    }
+
+    public void test_write_byWriter_serializationFailure_notCommitted() throws Exception {
+        // ## Arrange ##
+        MockResponseWritePerformer performer = new MockResponseWritePerformer(100);
+
+        // ## Act ##
+        // ## Assert ##
+        IllegalStateException cause = new IllegalStateException("serialization failure");
+        assertException(IllegalStateException.class, () -> {
+            performer.write(createMockResponse(), writer -> {
+                writer.write("{\"sea\":");
+                writer.flush(); // e.g. by JSON engine, not committed yet
+                throw cause;
+            }, "application/json", "UTF-8");
+        }).handle(e -> assertEquals(cause, e)); // propagated as it is
+        assertFalse(performer.opened); // so error response can be written (not 200 with broken body)
+        assertEquals(0, performer.output.size());
+    }
+
+    public void test_write_byWriter_ioFailure_notCommitted() throws Exception {
+        // ## Arrange ##
+        MockResponseWritePerformer performer = new MockResponseWritePerformer(100);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            performer.write(createMockResponse(), writer -> {
+                writer.write("{");
+                throw new IOException("io failure");
+            }, "application/json", "UTF-8");
+        }).handle(e -> assertEquals(IOException.class, e.getCause().getClass()));
+        assertFalse(performer.opened);
+    }
+
+    public void test_write_byWriter_failureAfterFlushedHead() throws Exception {
+        // ## Arrange ##
+        MockResponseWritePerformer performer = new MockResponseWritePerformer(2);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            performer.write(createMockResponse(), writer -> {
+                writer.write("[1,2");
+                throw new IllegalStateException("serialization failure");
+            }, "application/json", "UTF-8");
+        });
+        assertTrue(performer.opened); // committed might be, but exception is still propagated
+    }
+
+    // ===================================================================================
+    //                                                                         Test Helper
+    //                                                                         ===========
+    protected HttpServletResponse createMockResponse() {
+        return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletResponse.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("setContentType")) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException("Not supported in this test: " + method);
+                });
+    }
+
+    protected static class MockResponseWritePerformer extends ResponseWritePerformer {
+
+        protected final int headBufferLimit;
+        protected final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        protected boolean opened;
+
+        public MockResponseWritePerformer(int headBufferLimit) {
+            this.headBufferLimit = headBufferLimit;
+        }
+
+        @Override
+        protected OutputStreamWriter createOutputStreamWriter(HttpServletResponse response, String encoding) throws IOException {
+            opened = true; // means committed in real response
+            return new OutputStreamWriter(output, encoding);
+        }
+
+        @Override
+        protected int getWriterHeadBufferLimit() {
+            return headBufferLimit;
+        }
+    }
+}